@@ -20,6 +20,7 @@ import org.wikipediacleaner.api.data.RecentChange;
 import org.wikipediacleaner.api.data.Section;
 import org.wikipediacleaner.api.data.TemplateData;
 import org.wikipediacleaner.api.data.User;
+import org.wikipediacleaner.utils.CompactStringSet;
 
 
 /**
@@ -229,6 +230,20 @@ public interface API {
       Collection<Page> pages, boolean usePageId,
       boolean withRedirects) throws APIException;
 
+  /**
+   * Retrieves the contents of a list of pages, using the contents kept on disk
+   * for pages which haven't been modified since they were last retrieved.
+   * (<code>action=query</code>, <code>prop=revisions</code>).
+   * 
+   * @param wiki Wiki.
+   * @param pages List of pages.
+   * @throws APIException
+   * @see <a href="http://www.mediawiki.org/wiki/API:Properties#revisions_.2F_rv">API:Properties#revisions</a>
+   */
+  public void retrieveContentsWithCache(
+      EnumWikipedia wiki,
+      Collection<Page> pages) throws APIException;
+
   /**
    * Initialize the disambiguation flags of a list of <code>pages</code>.
    * (<code>action=query</code>, <code>prop=categories</code>) or
@@ -347,6 +362,21 @@ public interface API {
       EnumWikipedia wiki, Page category,
       int depth, boolean limit, int max) throws APIException;
 
+  /**
+   * Retrieves the titles of the members of a category, without creating pages.
+   * (<code>action=query</code>, <code>list=categorymembers</code>).
+   * 
+   * @param wiki Wiki.
+   * @param category Category.
+   * @param namespaces Limit to some namespaces.
+   * @param titles Builder to be filled with the titles of category members.
+   * @throws APIException
+   * @see <a href="http://www.mediawiki.org/wiki/API:Categorymembers">API:Categorymembers</a>
+   */
+  public void retrieveCategoryMemberTitles(
+      EnumWikipedia wiki, Page category,
+      List<Integer> namespaces, CompactStringSet.Builder titles) throws APIException;
+
   /**
    * Retrieves the pages in which <code>page</code> is embedded.
    * (<code>action=query</code>, <code>list=embeddedin</code>).
@@ -362,6 +392,21 @@ public interface API {
       EnumWikipedia wiki, Page page,
       List<Integer> namespaces, boolean limit) throws APIException;
 
+  /**
+   * Retrieves the titles of the pages in which <code>page</code> is embedded, without creating pages.
+   * (<code>action=query</code>, <code>list=embeddedin</code>).
+   * 
+   * @param wiki Wiki.
+   * @param page Page.
+   * @param namespaces Limit to some namespaces.
+   * @param titles Builder to be filled with the titles of embedding pages.
+   * @throws APIException
+   * @see <a href="http://www.mediawiki.org/wiki/API:Embeddedin">API:Embeddedin</a>
+   */
+  public void retrieveEmbeddedInTitles(
+      EnumWikipedia wiki, Page page,
+      List<Integer> namespaces, CompactStringSet.Builder titles) throws APIException;
+
   /**
    * Retrieves the pages which have a given property.
    * (<code>action=query</code>, <code>list=pageswithprop</code>).
@@ -376,6 +421,22 @@ public interface API {
       EnumWikipedia wiki,
       String property, boolean limit) throws APIException;
 
+  /**
+   * Retrieves the titles of the pages which have a given property, without creating pages.
+   * (<code>action=query</code>, <code>list=pageswithprop</code>).
+   * 
+   * @param wiki Wiki.
+   * @param property Property name.
+   * @param namespaces Limit to some namespaces.
+   * @param titles Builder to be filled with the titles of pages.
+   * @throws APIException
+   * @see <a href="http://www.mediawiki.org/wiki/API:Pageswithprop">API:Pageswithprop</a>
+   */
+  public void retrievePagesWithPropTitles(
+      EnumWikipedia wiki,
+      String property, List<Integer> namespaces,
+      CompactStringSet.Builder titles) throws APIException;
+
   /**
    * Retrieves the pages which are protected in creation indefinitely.
    * (<code>action=query</code>, <code>list=protectedtitles</code>).
@@ -432,6 +493,25 @@ public interface API {
       EnumWikipedia wiki,
       String start, List<RecentChange> recentChanges) throws APIException;
 
+  /**
+   * Retrieves recent changes made since a given time.
+   * (<code>action=query</code>, <code>list=recentchanges</code>).
+   * 
+   * @param wiki Wiki.
+   * @param start The timestamp from which modifications are requested.
+   * @param namespaces Limit to some namespaces.
+   * @param type Limit to some type of changes.
+   * @param recentChanges The list of recent changes to be filled.
+   * @param max Maximum number of changes.
+   * @return The timestamp of the last change, or null if there are more changes than the maximum.
+   * @throws APIException
+   * @see <a href="http://www.mediawiki.org/wiki/API:Recentchanges">API:Recentchanges</a>
+   */
+  public String getRecentChangesSince(
+      EnumWikipedia wiki,
+      String start, List<Integer> namespaces, String type,
+      List<RecentChange> recentChanges, int max) throws APIException;
+
   /**
    * Retrieves similar pages.
    * (<code>action=query</code>, <code>list=search</code>).
@@ -41,6 +41,7 @@ public class APIFactory {
 
     // Initialize WMF Labs access
     connectionManger = new MultiThreadedHttpConnectionManager();
+    connectionManger.getParams().setDefaultMaxConnectionsPerHost(CheckWiki.MAX_CONNECTIONS);
     httpClient = createHttpClient(connectionManger);
     HttpServer labs = new HttpServer(httpClient, "http://tools.wmflabs.org/");
 
@@ -8,6 +8,7 @@
 package org.wikipediacleaner.api;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
@@ -29,6 +30,7 @@ import org.wikipediacleaner.api.execution.ExpandTemplatesCallable;
 import org.wikipediacleaner.api.execution.LinksWRCallable;
 import org.wikipediacleaner.api.execution.ParseTextCallable;
 import org.wikipediacleaner.api.execution.TemplatesCallable;
+import org.wikipediacleaner.api.request.ApiRequest;
 import org.wikipediacleaner.gui.swing.worker.UpdateDabWarningTools;
 import org.wikipediacleaner.i18n.GT;
 import org.wikipediacleaner.utils.Configuration;
@@ -116,15 +118,42 @@ public class MediaWiki extends MediaWikiController {
       EnumWikipedia wikipedia, Collection<Page> pages,
       boolean block, boolean usePageId, boolean withRedirects,
       boolean doAnalysis) throws APIException {
+    retrieveContents(
+        wikipedia, pages, block, false,
+        usePageId, withRedirects, doAnalysis);
+  }
+
+  /**
+   * Retrieve page contents.
+   * 
+   * Pages are grouped in batches as large as a single request allows,
+   * and the batches are retrieved in parallel.
+   * 
+   * @param wikipedia Wikipedia.
+   * @param pages Pages.
+   * @param block Flag indicating if the call should block until completed.
+   * @param returnPages Flag indicating if each batch of pages should be returned once its task is finished.
+   * @param usePageId True if page identifiers should be used.
+   * @param withRedirects Flag indicating if redirects information should be retrieved.
+   * @param doAnalysis True if page analysis should be done.
+   * @throws APIException
+   */
+  public void retrieveContents(
+      EnumWikipedia wikipedia, Collection<Page> pages,
+      boolean block, boolean returnPages,
+      boolean usePageId, boolean withRedirects,
+      boolean doAnalysis) throws APIException {
     if (pages == null) {
       return;
     }
     final API api = APIFactory.getAPI();
-    for (Page page : pages) {
+    List<Collection<Page>> splitPages = ApiRequest.splitListPages(
+        pages, ApiRequest.getMaxPagesPerQuery(wikipedia), usePageId);
+    for (Collection<Page> tmpPages : splitPages) {
       addTask(new ContentsCallable(
           wikipedia, this, api,
-          page, null,
-          usePageId, withRedirects, null,
+          tmpPages, returnPages,
+          usePageId, withRedirects,
           doAnalysis));
     }
     block(block);
@@ -181,9 +210,7 @@ public class MediaWiki extends MediaWikiController {
       return 0;
     }
     UpdateDabWarningTools dabWarnings = new UpdateDabWarningTools(wiki, null, false, false);
-    for (Page page : pages) {
-      retrieveContents(wiki, page, false, true, false, true, false); // TODO: withRedirects=false ?
-    }
+    retrieveContents(wiki, Arrays.asList(pages), false, true, false, true, false); // TODO: withRedirects=false ?
     int count = 0;
     final API api = APIFactory.getAPI();
     StringBuilder details = new StringBuilder();
@@ -191,84 +218,89 @@ public class MediaWiki extends MediaWikiController {
     boolean secured = config.getBoolean(null, ConfigurationValueBoolean.SECURE_URL);
     while (hasRemainingTask() && !shouldStop()) {
       Object result = getNextResult();
-      if ((result != null) && (result instanceof Page)) {
-        boolean changed = false;
-        List<String> replacementsDone = new ArrayList<String>();
-        Page page = (Page) result;
-        String oldContents = page.getContents();
-        if (oldContents != null) {
-          String newContents = oldContents;
-          details.setLength(0);
-          for (Entry<String, List<AutomaticFixing>> replacement : replacements.entrySet()) {
-            replacementsDone.clear();
-            String tmpContents = AutomaticFixing.apply(replacement.getValue(), newContents, replacementsDone);
-            if (!newContents.equals(tmpContents)) {
-              newContents = tmpContents;
+      if ((result != null) && (result instanceof Collection<?>)) {
+        for (Object resultPage : (Collection<?>) result) {
+          if (!(resultPage instanceof Page) || shouldStop()) {
+            continue;
+          }
+          boolean changed = false;
+          List<String> replacementsDone = new ArrayList<String>();
+          Page page = (Page) resultPage;
+          String oldContents = page.getContents();
+          if (oldContents != null) {
+            String newContents = oldContents;
+            details.setLength(0);
+            for (Entry<String, List<AutomaticFixing>> replacement : replacements.entrySet()) {
+              replacementsDone.clear();
+              String tmpContents = AutomaticFixing.apply(replacement.getValue(), newContents, replacementsDone);
+              if (!newContents.equals(tmpContents)) {
+                newContents = tmpContents;
 
-              // Update description
-              if (description != null) {
-                if (!changed) {
-                  String title =
-                    "<a href=\"" + wiki.getSettings().getURL(page.getTitle(), false, secured) + "\">" +
-                    page.getTitle() + "</a>";
-                  description.append(GT._("Page {0}:", title));
-                  description.append("\n");
-                  description.append("<ul>\n");
-                  changed = true;
-                }
-                for (String replacementDone : replacementsDone) {
-                  description.append("<li>");
-                  description.append(replacementDone);
-                  description.append("</li>\n");
+                // Update description
+                if (description != null) {
+                  if (!changed) {
+                    String title =
+                      "<a href=\"" + wiki.getSettings().getURL(page.getTitle(), false, secured) + "\">" +
+                      page.getTitle() + "</a>";
+                    description.append(GT._("Page {0}:", title));
+                    description.append("\n");
+                    description.append("<ul>\n");
+                    changed = true;
+                  }
+                  for (String replacementDone : replacementsDone) {
+                    description.append("<li>");
+                    description.append(replacementDone);
+                    description.append("</li>\n");
+                  }
                 }
-              }
 
-              // Memorize replacement
-              if ((replacement.getKey() != null) && (replacement.getKey().length() > 0)) {
-                if (details.length() > 0) {
-                  details.append(", ");
+                // Memorize replacement
+                if ((replacement.getKey() != null) && (replacement.getKey().length() > 0)) {
+                  if (details.length() > 0) {
+                    details.append(", ");
+                  }
+                  details.append(replacement.getKey());
                 }
-                details.append(replacement.getKey());
               }
             }
-          }
 
-          // Page contents has been modified
-          if (!oldContents.equals(newContents)) {
-            // Initialize comment
-            StringBuilder fullComment = new StringBuilder();
-            fullComment.append(wiki.createUpdatePageComment(comment, details.toString()));
+            // Page contents has been modified
+            if (!oldContents.equals(newContents)) {
+              // Initialize comment
+              StringBuilder fullComment = new StringBuilder();
+              fullComment.append(wiki.createUpdatePageComment(comment, details.toString()));
 
-            // Apply automatic Check Wiki fixing
-            if (automaticCW) {
-              List<CheckErrorAlgorithm> algorithms = CheckErrorAlgorithms.getAlgorithms(wiki);
-              List<CheckErrorAlgorithm> usedAlgorithms = new ArrayList<CheckErrorAlgorithm>();
-              newContents = AutomaticFormatter.tidyArticle(
-                  page, newContents, algorithms, false, usedAlgorithms);
-              if (!usedAlgorithms.isEmpty()) {
-                fullComment.append(" / ");
-                fullComment.append(wiki.getCWConfiguration().getComment(usedAlgorithms));
-                if (description != null) {
-                  for (CheckErrorAlgorithm algorithm : usedAlgorithms) {
-                    description.append("<li>");
-                    description.append(algorithm.getShortDescriptionReplaced());
-                    description.append("</li>\n");
+              // Apply automatic Check Wiki fixing
+              if (automaticCW) {
+                List<CheckErrorAlgorithm> algorithms = CheckErrorAlgorithms.getAlgorithms(wiki);
+                List<CheckErrorAlgorithm> usedAlgorithms = new ArrayList<CheckErrorAlgorithm>();
+                newContents = AutomaticFormatter.tidyArticle(
+                    page, newContents, algorithms, false, usedAlgorithms);
+                if (!usedAlgorithms.isEmpty()) {
+                  fullComment.append(" / ");
+                  fullComment.append(wiki.getCWConfiguration().getComment(usedAlgorithms));
+                  if (description != null) {
+                    for (CheckErrorAlgorithm algorithm : usedAlgorithms) {
+                      description.append("<li>");
+                      description.append(algorithm.getShortDescriptionReplaced());
+                      description.append("</li>\n");
+                    }
                   }
                 }
               }
-            }
-            if ((description != null) && (changed)) {
-              description.append("</ul>\n");
-            }
+              if ((description != null) && (changed)) {
+                description.append("</ul>\n");
+              }
 
-            // Save page
-            setText(GT._("Updating page {0}", page.getTitle()));
-            count++;
-            if (save) {
-              api.updatePage(wiki, page, newContents, fullComment.toString(), false, false);
-              if (updateDabWarning) {
-                dabWarnings.updateWarning(
-                    Collections.singletonList(page), null, null, null);
+              // Save page
+              setText(GT._("Updating page {0}", page.getTitle()));
+              count++;
+              if (save) {
+                api.updatePage(wiki, page, newContents, fullComment.toString(), false, false);
+                if (updateDabWarning) {
+                  dabWarnings.updateWarning(
+                      Collections.singletonList(page), null, null, null);
+                }
               }
             }
           }
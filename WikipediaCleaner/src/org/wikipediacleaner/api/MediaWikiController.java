@@ -7,16 +7,19 @@
 
 package org.wikipediacleaner.api;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 
 import org.wikipediacleaner.utils.Configuration;
 import org.wikipediacleaner.utils.ConfigurationValueInteger;
@@ -31,7 +34,12 @@ public abstract class MediaWikiController implements MediaWikiListener {
 
   private final MediaWikiListener listener;
   private final ExecutorService executor;
-  private final List<Future<?>> results;
+
+  /** Queue of completed tasks, in the order they finish */
+  private final CompletionService<Object> completion;
+
+  /** Tasks submitted and not yet retrieved */
+  private final Set<Future<Object>> results;
 
   /**
    * Create a MediaWikiController.
@@ -41,7 +49,8 @@ public abstract class MediaWikiController implements MediaWikiListener {
   protected MediaWikiController(MediaWikiListener listener) {
     this.listener = listener;
     this.executor = getStaticExecutor();
-    results = new LinkedList<Future<?>>();
+    this.completion = new ExecutorCompletionService<Object>(executor);
+    results = new HashSet<Future<Object>>();
   }
 
   /**
@@ -71,9 +80,10 @@ public abstract class MediaWikiController implements MediaWikiListener {
    * 
    * @param task The task itself.
    */
+  @SuppressWarnings("unchecked")
   protected void addTask(Callable<?> task) {
     synchronized (results) {
-      Future<?> result = executor.submit(task);
+      Future<Object> result = completion.submit((Callable<Object>) task);
       if (!shouldStop()) {
         results.add(result);
       }
@@ -89,67 +99,134 @@ public abstract class MediaWikiController implements MediaWikiListener {
     }
   }
 
+  /**
+   * @return Count of tasks submitted and not yet retrieved.
+   */
+  protected int getRemainingTaskCount() {
+    synchronized (results) {
+      return results.size();
+    }
+  }
+
   /**
    * Stop remaining tasks.
+   * 
+   * Cancelled tasks are still delivered by the completion queue,
+   * so they will be cleaned up by the next calls to retrieve results.
    */
   protected void stopRemainingTasks() {
+    List<Future<Object>> tmpResults = null;
     synchronized (results) {
-      for (Future<?> result : results) {
-        result.cancel(false);
-      }
+      tmpResults = new ArrayList<Future<Object>>(results);
+    }
+    for (Future<Object> result : tmpResults) {
+      result.cancel(false);
     }
   }
 
   /**
+   * Wait for the next completed task, in the order tasks complete.
+   * 
    * @return The result of one of the completed remaining tasks.
    * @throws APIException Exception.
    */
   protected Object getNextResult() throws APIException {
     while (hasRemainingTask()) {
-      Future<?> result = getNextDoneResult();
-      if (result != null) {
+      try {
+        Future<Object> result = completion.take();
+        if (removeResult(result)) {
+          return getResult(result);
+        }
+      } catch (InterruptedException e) {
+        // Nothing to do
+      } catch (CancellationException e) {
+        //
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Wait for the next completed task, in the order tasks complete.
+   * 
+   * @param timeout Maximum time to wait.
+   * @param unit Unit of the timeout.
+   * @return The result of one of the completed remaining tasks,
+   *         null if no task completed before the timeout.
+   * @throws APIException Exception.
+   * @throws InterruptedException Interrupted while waiting.
+   */
+  protected Object getNextResult(long timeout, TimeUnit unit)
+      throws APIException, InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    while (hasRemainingTask()) {
+      long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        return null;
+      }
+      Future<Object> result = completion.poll(remaining, TimeUnit.NANOSECONDS);
+      if (result == null) {
+        return null;
+      }
+      if (removeResult(result)) {
         try {
-          return result.get(10, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-          // Nothing to do
-        } catch (ExecutionException e) {
-          Throwable cause = e.getCause();
-          if (cause instanceof APIException) {
-            throw (APIException) cause;
-          }
-          return cause;
-        } catch (TimeoutException e) {
-          // Shouldn't arrive
+          return getResult(result);
         } catch (CancellationException e) {
           //
         }
       }
-      try {
-        Thread.sleep(100);
-      } catch (InterruptedException e) {
-        // Nothing to do
-      }
     }
     return null;
   }
 
   /**
+   * Retrieve a completed task without waiting.
+   * 
    * @return The result of one of the completed remaining tasks.
    */
   protected Future<?> getNextDoneResult() {
-    if (hasRemainingTask()) {
-      synchronized (results) {
-        for (Future<?> result : results) {
-          if (result.isDone()) {
-            results.remove(result);
-            return result;
-          }
-        }
+    while (hasRemainingTask()) {
+      Future<Object> result = completion.poll();
+      if (result == null) {
+        return null;
+      }
+      if (removeResult(result)) {
+        return result;
       }
     }
     return null;
   }
 
+  /**
+   * @param result Completed task.
+   * @return True if the task was a remaining task.
+   */
+  private boolean removeResult(Future<Object> result) {
+    synchronized (results) {
+      return results.remove(result);
+    }
+  }
+
+  /**
+   * @param result Completed task.
+   * @return Result of the task.
+   * @throws APIException Exception.
+   */
+  private Object getResult(Future<Object> result) throws APIException {
+    try {
+      return result.get();
+    } catch (InterruptedException e) {
+      // Shouldn't arrive, the task is already completed
+      return null;
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof APIException) {
+        throw (APIException) cause;
+      }
+      return cause;
+    }
+  }
+
   /**
    * @param text Text to display.
    */
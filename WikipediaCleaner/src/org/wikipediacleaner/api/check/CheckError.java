@@ -168,12 +168,7 @@ public class CheckError {
     }
 
     // Add / Replace error
-    for (int i = errors.size(); i > 0; i--) {
-      if (errors.get(i - 1).getErrorNumber() == errorNumber) {
-        errors.remove(i - 1);
-      }
-    }
-    errors.add(error);
+    addCheckError(errors, error);
   }
 
   /**
@@ -254,12 +249,7 @@ public class CheckError {
     }
 
     // Add / Replace error
-    for (int i = errors.size(); i > 0; i--) {
-      if (errors.get(i - 1).getErrorNumber() == errorNumber) {
-        errors.remove(i - 1);
-      }
-    }
-    errors.add(error);
+    addCheckError(errors, error);
   }
 
   /**
@@ -290,6 +280,18 @@ public class CheckError {
     }
 
     // Add / Replace error
+    addCheckError(errors, error);
+  }
+
+  /**
+   * Add an error to a list of errors, replacing the error with the same number.
+   * 
+   * @param errors Errors list.
+   * @param error Error.
+   */
+  public static void addCheckError(
+      List<CheckError> errors, CheckError error) {
+    int errorNumber = error.getErrorNumber();
     for (int i = errors.size(); i > 0; i--) {
       if (errors.get(i - 1).getErrorNumber() == errorNumber) {
         errors.remove(i - 1);
@@ -17,6 +17,12 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.wikipediacleaner.api.API;
 import org.wikipediacleaner.api.APIException;
@@ -32,6 +38,8 @@ import org.wikipediacleaner.api.constants.WPCConfiguration;
 import org.wikipediacleaner.api.constants.WPCConfigurationString;
 import org.wikipediacleaner.api.data.DataManager;
 import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.utils.Configuration;
+import org.wikipediacleaner.utils.ConfigurationValueInteger;
 
 
 /**
@@ -44,6 +52,11 @@ public class CheckWiki {
    */
   private final static boolean useBotList = true;
 
+  /**
+   * Maximum number of simultaneous connections to WMF labs.
+   */
+  public final static int MAX_CONNECTIONS = 10;
+
   /**
    * Access to WMF labs.
    */
@@ -54,12 +67,23 @@ public class CheckWiki {
    */
   private final List<WeakReference<CheckWikiListener>> listeners;
 
+  /**
+   * Executor for retrieving lists of pages in the background.
+   */
+  private ThreadPoolExecutor listExecutor;
+
+  /**
+   * Queue of pages to be marked as fixed.
+   */
+  private final MarkAsFixedQueue markQueue;
+
   /**
    * @param labs WMF Labs
    */
   public CheckWiki(HttpServer labs) {
     this.labs = labs;
     this.listeners = new ArrayList<WeakReference<CheckWikiListener>>();
+    this.markQueue = new MarkAsFixedQueue(this);
   }
 
   /**
@@ -108,9 +132,78 @@ public class CheckWiki {
     }
   }
 
+  /**
+   * Retrieve list of pages for a given error in the background.
+   * 
+   * The list is added to the list of errors as soon as it is retrieved
+   * (modifications of the list of errors are synchronized on the list),
+   * and listeners are notified so that they can display it.
+   * The number of lists retrieved simultaneously is limited by the configuration.
+   * 
+   * @param algorithm Algorithm.
+   * @param errorLimit Maximum number of pages.
+   * @param wiki Wiki.
+   * @param errors List of errors.
+   * @return Result of the retrieval.
+   */
+  public Future<Void> retrievePagesInBackground(
+      final CheckErrorAlgorithm algorithm, final int errorLimit,
+      final EnumWikipedia wiki,
+      final List<CheckError> errors) {
+    return getListExecutor().submit(new Callable<Void>() {
+
+      /**
+       * @see java.util.concurrent.Callable#call()
+       */
+      @Override
+      public Void call() throws APIException {
+        List<CheckError> tmpErrors = new ArrayList<CheckError>(1);
+        retrievePages(algorithm, errorLimit, wiki, tmpErrors);
+        synchronized (errors) {
+          for (CheckError error : tmpErrors) {
+            CheckError.addCheckError(errors, error);
+          }
+        }
+        notifyErrorsRetrieved(errors);
+        return null;
+      }
+    });
+  }
+
+  /**
+   * @return Executor for retrieving lists of pages in the background.
+   */
+  private synchronized ExecutorService getListExecutor() {
+    Configuration config = Configuration.getConfiguration();
+    int nThreads = config.getInt(
+        null,
+        ConfigurationValueInteger.CHECK_NB_THREADS);
+    nThreads = Math.max(1, Math.min(nThreads, MAX_CONNECTIONS));
+    if (listExecutor == null) {
+      // Idle threads are stopped so that they don't keep the application running
+      ThreadPoolExecutor executor = new ThreadPoolExecutor(
+          nThreads, nThreads, 60, TimeUnit.SECONDS,
+          new LinkedBlockingQueue<Runnable>());
+      executor.allowCoreThreadTimeOut(true);
+      listExecutor = executor;
+    } else if (listExecutor.getMaximumPoolSize() != nThreads) {
+      // Resize the pool if the configuration has changed (core size can't exceed maximum size)
+      if (nThreads > listExecutor.getMaximumPoolSize()) {
+        listExecutor.setMaximumPoolSize(nThreads);
+        listExecutor.setCorePoolSize(nThreads);
+      } else {
+        listExecutor.setCorePoolSize(nThreads);
+        listExecutor.setMaximumPoolSize(nThreads);
+      }
+    }
+    return listExecutor;
+  }
+
   /**
    * Mark a page as fixed.
    * 
+   * The notification is sent to WMF labs in the background.
+   * 
    * @param page Page.
    * @param errorNumber Error number.
    * @return True if it has been done.
@@ -122,30 +215,58 @@ public class CheckWiki {
       if (error > CheckErrorAlgorithm.MAX_ERROR_NUMBER_WITH_LIST) {
         return true;
       }
-      EnumWikipedia wiki = page.getWikipedia();
-      String code = wiki.getSettings().getCodeCheckWiki().replace("-", "_");
-      Map<String, String> properties = new HashMap<String, String>();
-      properties.put("id", Integer.toString(error));
-      properties.put("project", code);
-
-      // WMF Labs
-      properties.put("title", page.getTitle());
-      if (!useBotList) {
-        properties.put("view", "only");
-        labs.sendPost("checkwiki/cgi-bin/checkwiki.cgi", properties, null);
-      } else {
-        properties.put("action", "mark");
-        labs.sendPost("checkwiki/cgi-bin/checkwiki_bots.cgi", properties, null);
-      }
-
+      markQueue.add(page.getWikipedia(), error, page.getTitle());
     } catch (NumberFormatException e) {
       return false;
-    } catch (APIException e) {
-      return false;
     }
     return true;
   }
 
+  /**
+   * @return Number of pages waiting to be marked as fixed.
+   */
+  public int getMarkAsFixedBacklog() {
+    return markQueue.getBacklog();
+  }
+
+  /**
+   * Memorize the pages waiting to be marked as fixed, and wait for them to be marked.
+   * 
+   * Pages still waiting after the timeout are marked as fixed at the next session.
+   * 
+   * @param timeout Maximum time to wait (in seconds).
+   * @return True if all pages have been marked as fixed.
+   */
+  public boolean flushMarkAsFixed(int timeout) {
+    return markQueue.flush(timeout);
+  }
+
+  /**
+   * Send notification that a page is fixed.
+   * 
+   * @param wiki Wiki.
+   * @param errorNumber Error number.
+   * @param title Page title.
+   * @throws APIException
+   */
+  void sendMarkAsFixed(
+      EnumWikipedia wiki, int errorNumber, String title) throws APIException {
+    String code = wiki.getSettings().getCodeCheckWiki().replace("-", "_");
+    Map<String, String> properties = new HashMap<String, String>();
+    properties.put("id", Integer.toString(errorNumber));
+    properties.put("project", code);
+
+    // WMF Labs
+    properties.put("title", title);
+    if (!useBotList) {
+      properties.put("view", "only");
+      labs.sendPost("checkwiki/cgi-bin/checkwiki.cgi", properties, null);
+    } else {
+      properties.put("action", "mark");
+      labs.sendPost("checkwiki/cgi-bin/checkwiki_bots.cgi", properties, null);
+    }
+  }
+
   /**
    * Checks a page for errors.
    * 
@@ -194,7 +315,17 @@ public class CheckWiki {
    * @param listener Listener to be added to the list of registered listeners.
    */
   public void addListener(CheckWikiListener listener) {
-    listeners.add(new WeakReference<CheckWikiListener>(listener));
+    if (listener == null) {
+      return;
+    }
+    synchronized (listeners) {
+      for (WeakReference<CheckWikiListener> listenerRef : listeners) {
+        if (listenerRef.get() == listener) {
+          return;
+        }
+      }
+      listeners.add(new WeakReference<CheckWikiListener>(listener));
+    }
   }
 
   /**
@@ -237,6 +368,26 @@ public class CheckWiki {
     }
   }
 
+  /**
+   * Internal notification when a list of pages is added to a list of errors.
+   * 
+   * @param errors List of errors.
+   */
+  void notifyErrorsRetrieved(List<CheckError> errors) {
+    synchronized (listeners) {
+      Iterator<WeakReference<CheckWikiListener>> itListener = listeners.iterator();
+      while (itListener.hasNext()) {
+        WeakReference<CheckWikiListener> listenerRef = itListener.next();
+        CheckWikiListener listener = listenerRef.get();
+        if (listener == null) {
+          itListener.remove();
+        } else {
+          listener.errorsRetrieved(errors);
+        }
+      }
+    }
+  }
+
   /**
    * @param wiki Wiki.
    * @param algorithm Algorithm.
@@ -316,5 +467,8 @@ public class CheckWiki {
       }
     }
     CheckErrorAlgorithms.initializeAlgorithms(wiki);
+
+    // Send notifications not sent during previous sessions
+    markQueue.restore(wiki);
   }
 }
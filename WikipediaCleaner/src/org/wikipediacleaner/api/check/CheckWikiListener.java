@@ -8,6 +8,8 @@
 
 package org.wikipediacleaner.api.check;
 
+import java.util.List;
+
 import org.wikipediacleaner.api.data.Page;
 
 
@@ -23,4 +25,12 @@ public interface CheckWikiListener {
    * @param errorNumber Error for which the page is fixed.
    */
   public void pageFixed(Page page, int errorNumber);
+
+  /**
+   * Callback called when a list of pages is added to a list of errors.
+   * May be called outside the event dispatch thread.
+   * 
+   * @param errors List of errors (modifications are synchronized on the list).
+   */
+  public void errorsRetrieved(List<CheckError> errors);
 }
@@ -7,6 +7,9 @@
 
 package org.wikipediacleaner.api.check;
 
+import java.util.HashMap;
+import java.util.Map;
+
 
 /**
  * List of HTML characters.
@@ -391,17 +394,55 @@ public enum HtmlCharacters {
    * @return HTML character for the given entity number.
    */
   public static HtmlCharacters getCharacterByEntityNumber(int number) {
-    for (HtmlCharacters character : HtmlCharacters.values()) {
-      if (character.getNumber() == number) {
-        return character;
+    if ((number < 0) || (number >= charactersByNumber.length)) {
+      return null;
+    }
+    return charactersByNumber[number];
+  }
+
+  /**
+   * @param name Entity name.
+   * @return HTML character for the given entity name.
+   */
+  public static HtmlCharacters getCharacterByEntityName(String name) {
+    if (name == null) {
+      return null;
+    }
+    return charactersByName.get(name);
+  }
+
+  /**
+   * HTML characters by entity number (entity number first, then alternative number).
+   */
+  private final static HtmlCharacters[] charactersByNumber;
+
+  /**
+   * HTML characters by entity name.
+   */
+  private final static Map<String, HtmlCharacters> charactersByName;
+
+  static {
+    int maxNumber = 0;
+    for (HtmlCharacters character : values()) {
+      maxNumber = Math.max(maxNumber, Math.max(character.number, character.alternativeNumber));
+    }
+    charactersByNumber = new HtmlCharacters[maxNumber + 1];
+    for (HtmlCharacters character : values()) {
+      if (charactersByNumber[character.number] == null) {
+        charactersByNumber[character.number] = character;
       }
     }
-    for (HtmlCharacters character : HtmlCharacters.values()) {
-      if (character.getAlternativeNumber() == number) {
-        return character;
+    for (HtmlCharacters character : values()) {
+      if (charactersByNumber[character.alternativeNumber] == null) {
+        charactersByNumber[character.alternativeNumber] = character;
+      }
+    }
+    charactersByName = new HashMap<String, HtmlCharacters>();
+    for (HtmlCharacters character : values()) {
+      if ((character.name != null) && !charactersByName.containsKey(character.name)) {
+        charactersByName.put(character.name, character);
       }
     }
-    return null;
   }
 
   /**
@@ -0,0 +1,150 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.check;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * Matcher for finding HTML entity names in a text (trie of entity names).
+ *
+ * Names beginning at a given position are found in a time proportional
+ * to the length of the longest name, whatever the number of HTML characters.
+ */
+public class HtmlCharactersMatcher {
+
+  /**
+   * HTML characters managed by the matcher.
+   */
+  private final List<HtmlCharacters> characters;
+
+  /**
+   * Root of the trie.
+   */
+  private final Node root;
+
+  /**
+   * @param characters HTML characters (HTML characters without name are ignored).
+   */
+  public HtmlCharactersMatcher(List<HtmlCharacters> characters) {
+    this.characters = new ArrayList<HtmlCharacters>(characters);
+    this.root = new Node();
+    for (int position = 0; position < this.characters.size(); position++) {
+      String name = this.characters.get(position).getName();
+      if ((name != null) && (name.length() > 0)) {
+        Node node = root;
+        for (int i = 0; i < name.length(); i++) {
+          node = node.getOrCreateChild(name.charAt(i));
+        }
+        node.addPosition(position);
+      }
+    }
+  }
+
+  /**
+   * @param text Text.
+   * @param index Index of the beginning of the name (after the ampersand).
+   * @return HTML characters whose name begins at the index, in the order given to the matcher.
+   */
+  public List<HtmlCharacters> findNames(String text, int index) {
+    int[] positions = null;
+    int count = 0;
+    Node node = root;
+    int currentIndex = index;
+    while ((node != null) && (currentIndex < text.length())) {
+      node = node.getChild(text.charAt(currentIndex));
+      if ((node != null) && (node.positions != null)) {
+        if (positions == null) {
+          positions = new int[node.positions.length];
+        } else if (count + node.positions.length > positions.length) {
+          positions = Arrays.copyOf(positions, count + node.positions.length);
+        }
+        System.arraycopy(node.positions, 0, positions, count, node.positions.length);
+        count += node.positions.length;
+      }
+      currentIndex++;
+    }
+    if (count == 0) {
+      return Collections.emptyList();
+    }
+    Arrays.sort(positions, 0, count);
+    List<HtmlCharacters> result = new ArrayList<HtmlCharacters>(count);
+    for (int i = 0; i < count; i++) {
+      result.add(characters.get(positions[i]));
+    }
+    return result;
+  }
+
+  /**
+   * Node of the trie.
+   */
+  private static class Node {
+
+    /**
+     * Characters leading to the children (sorted).
+     */
+    private char[] chars = new char[0];
+
+    /**
+     * Children (same order as chars).
+     */
+    private Node[] children = new Node[0];
+
+    /**
+     * Positions of the HTML characters whose name ends at this node.
+     */
+    int[] positions;
+
+    /**
+     * @param c Character.
+     * @return Child for the character.
+     */
+    Node getChild(char c) {
+      int index = Arrays.binarySearch(chars, c);
+      return (index >= 0) ? children[index] : null;
+    }
+
+    /**
+     * @param c Character.
+     * @return Child for the character (created if needed).
+     */
+    Node getOrCreateChild(char c) {
+      int index = Arrays.binarySearch(chars, c);
+      if (index >= 0) {
+        return children[index];
+      }
+      index = -index - 1;
+      char[] newChars = new char[chars.length + 1];
+      Node[] newChildren = new Node[children.length + 1];
+      System.arraycopy(chars, 0, newChars, 0, index);
+      System.arraycopy(children, 0, newChildren, 0, index);
+      newChars[index] = c;
+      newChildren[index] = new Node();
+      System.arraycopy(chars, index, newChars, index + 1, chars.length - index);
+      System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+      chars = newChars;
+      children = newChildren;
+      return newChildren[index];
+    }
+
+    /**
+     * @param position Position of an HTML character whose name ends at this node.
+     */
+    void addPosition(int position) {
+      if (positions == null) {
+        positions = new int[] { position };
+      } else {
+        positions = Arrays.copyOf(positions, positions.length + 1);
+        positions[positions.length - 1] = position;
+      }
+    }
+  }
+}
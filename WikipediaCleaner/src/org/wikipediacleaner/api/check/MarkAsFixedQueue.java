@@ -0,0 +1,331 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.check;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.wikipediacleaner.api.APIException;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.utils.Configuration;
+import org.wikipediacleaner.utils.ConfigurationValueInteger;
+
+
+/**
+ * Queue of pages to be marked as fixed on Check Wiki.
+ *
+ * Notifications are sent in the background by a limited number of threads,
+ * a notification already waiting to be sent is not added a second time,
+ * and failed notifications are sent again later with an increasing delay.
+ * Notifications not sent yet are memorized in the configuration,
+ * so that they are sent when WPCleaner is restarted.
+ */
+class MarkAsFixedQueue {
+
+  /**
+   * Delay before sending again a failed notification (in seconds).
+   */
+  private final static int RETRY_DELAY = 5;
+
+  /**
+   * Maximum delay before sending again a failed notification (in seconds).
+   */
+  private final static int MAX_RETRY_DELAY = 300;
+
+  /**
+   * Maximum number of attempts for a notification during a session.
+   */
+  private final static int MAX_ATTEMPTS = 6;
+
+  /**
+   * Delay before memorizing the notifications not sent yet (in seconds).
+   */
+  private final static int SAVE_DELAY = 2;
+
+  /**
+   * Check Wiki access.
+   */
+  private final CheckWiki checkWiki;
+
+  /**
+   * Notifications waiting to be sent, by wiki.
+   */
+  private final Map<EnumWikipedia, Set<String>> pending;
+
+  /**
+   * Notifications that couldn't be sent during this session, by wiki.
+   */
+  private final Map<EnumWikipedia, Set<String>> failed;
+
+  /**
+   * Wikis for which memorized notifications have been restored.
+   */
+  private final Set<EnumWikipedia> restored;
+
+  /**
+   * Wikis for which notifications need to be memorized.
+   */
+  private final Set<EnumWikipedia> modified;
+
+  /**
+   * True if memorizing the notifications is already planned.
+   */
+  private boolean saveScheduled;
+
+  /**
+   * Executor for sending notifications.
+   */
+  private ScheduledThreadPoolExecutor executor;
+
+  /**
+   * @param checkWiki Check Wiki access.
+   */
+  MarkAsFixedQueue(CheckWiki checkWiki) {
+    this.checkWiki = checkWiki;
+    this.pending = new EnumMap<EnumWikipedia, Set<String>>(EnumWikipedia.class);
+    this.failed = new EnumMap<EnumWikipedia, Set<String>>(EnumWikipedia.class);
+    this.restored = EnumSet.noneOf(EnumWikipedia.class);
+    this.modified = EnumSet.noneOf(EnumWikipedia.class);
+    this.saveScheduled = false;
+  }
+
+  /**
+   * Add a notification to the queue.
+   *
+   * @param wiki Wiki.
+   * @param errorNumber Error number.
+   * @param title Page title.
+   */
+  synchronized void add(EnumWikipedia wiki, int errorNumber, String title) {
+    restore(wiki);
+    addEntry(wiki, Integer.toString(errorNumber) + "|" + title);
+  }
+
+  /**
+   * Add notifications memorized during a previous session to the queue.
+   *
+   * @param wiki Wiki.
+   */
+  synchronized void restore(EnumWikipedia wiki) {
+    if ((wiki == null) || !restored.add(wiki)) {
+      return;
+    }
+    Configuration config = Configuration.getConfiguration();
+    List<String> entries = config.getStringList(wiki, Configuration.ARRAY_CHECK_MARK_PENDING);
+    for (String entry : entries) {
+      if (entry.indexOf('|') > 0) {
+        addEntry(wiki, entry);
+      }
+    }
+  }
+
+  /**
+   * @return Number of notifications waiting to be sent.
+   */
+  synchronized int getBacklog() {
+    int count = 0;
+    for (Set<String> entries : pending.values()) {
+      count += entries.size();
+    }
+    return count;
+  }
+
+  /**
+   * Add a notification to the queue (lock must be held).
+   *
+   * @param wiki Wiki.
+   * @param entry Notification (error number and page title).
+   */
+  private void addEntry(EnumWikipedia wiki, String entry) {
+    Set<String> entries = pending.get(wiki);
+    if (entries == null) {
+      entries = new LinkedHashSet<String>();
+      pending.put(wiki, entries);
+    }
+    if (!entries.add(entry)) {
+      return;
+    }
+    Set<String> failedEntries = failed.get(wiki);
+    if (failedEntries != null) {
+      failedEntries.remove(entry);
+    }
+    setModified(wiki);
+    getExecutor().execute(new Sender(wiki, entry, 1));
+  }
+
+  /**
+   * Plan memorizing the notifications of a wiki (lock must be held).
+   *
+   * @param wiki Wiki.
+   */
+  private void setModified(EnumWikipedia wiki) {
+    modified.add(wiki);
+    if (!saveScheduled) {
+      saveScheduled = true;
+      getExecutor().schedule(new Runnable() {
+
+        /**
+         * @see java.lang.Runnable#run()
+         */
+        @Override
+        public void run() {
+          save();
+        }
+      }, SAVE_DELAY, TimeUnit.SECONDS);
+    }
+  }
+
+  /**
+   * Memorize the notifications not sent yet.
+   */
+  synchronized void save() {
+    saveScheduled = false;
+    if (modified.isEmpty()) {
+      return;
+    }
+    Configuration config = Configuration.getConfiguration();
+    for (EnumWikipedia wiki : modified) {
+      List<String> entries = new ArrayList<String>();
+      if (pending.get(wiki) != null) {
+        entries.addAll(pending.get(wiki));
+      }
+      if (failed.get(wiki) != null) {
+        entries.addAll(failed.get(wiki));
+      }
+      config.setStringList(wiki, Configuration.ARRAY_CHECK_MARK_PENDING, entries);
+    }
+    modified.clear();
+    config.save();
+  }
+
+  /**
+   * Memorize the notifications not sent yet, and wait for them to be sent.
+   *
+   * @param timeout Maximum time to wait (in seconds).
+   * @return True if all notifications have been sent.
+   */
+  synchronized boolean flush(int timeout) {
+    save();
+    long end = System.currentTimeMillis() + timeout * 1000L;
+    try {
+      long remaining = end - System.currentTimeMillis();
+      while ((getBacklog() > 0) && (remaining > 0)) {
+        wait(remaining);
+        remaining = end - System.currentTimeMillis();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    save();
+    return getBacklog() == 0;
+  }
+
+  /**
+   * @return Executor for sending notifications.
+   */
+  private ScheduledThreadPoolExecutor getExecutor() {
+    if (executor == null) {
+      Configuration config = Configuration.getConfiguration();
+      int nThreads = config.getInt(
+          null,
+          ConfigurationValueInteger.CHECK_NB_THREADS);
+      nThreads = Math.max(1, Math.min(nThreads, CheckWiki.MAX_CONNECTIONS));
+      executor = new ScheduledThreadPoolExecutor(nThreads, new ThreadFactory() {
+
+        /**
+         * @param r Runnable.
+         * @return Daemon thread.
+         * @see java.util.concurrent.ThreadFactory#newThread(java.lang.Runnable)
+         */
+        @Override
+        public Thread newThread(Runnable r) {
+          Thread thread = new Thread(r, "Check Wiki mark as fixed");
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+    }
+    return executor;
+  }
+
+  /**
+   * Send a notification.
+   */
+  private class Sender implements Runnable {
+
+    /** Wiki. */
+    private final EnumWikipedia wiki;
+
+    /** Notification (error number and page title). */
+    private final String entry;
+
+    /** Number of the attempt. */
+    private final int attempt;
+
+    /**
+     * @param wiki Wiki.
+     * @param entry Notification (error number and page title).
+     * @param attempt Number of the attempt.
+     */
+    Sender(EnumWikipedia wiki, String entry, int attempt) {
+      this.wiki = wiki;
+      this.entry = entry;
+      this.attempt = attempt;
+    }
+
+    /**
+     * @see java.lang.Runnable#run()
+     */
+    @Override
+    public void run() {
+      boolean done = false;
+      try {
+        int separator = entry.indexOf('|');
+        int errorNumber = Integer.parseInt(entry.substring(0, separator));
+        checkWiki.sendMarkAsFixed(wiki, errorNumber, entry.substring(separator + 1));
+        done = true;
+      } catch (NumberFormatException e) {
+        done = true;
+      } catch (APIException e) {
+        //
+      } catch (RuntimeException e) {
+        // Failed attempt
+      }
+      synchronized (MarkAsFixedQueue.this) {
+        if (!done && (attempt < MAX_ATTEMPTS)) {
+          int delay = Math.min(RETRY_DELAY << (attempt - 1), MAX_RETRY_DELAY);
+          getExecutor().schedule(
+              new Sender(wiki, entry, attempt + 1),
+              delay, TimeUnit.SECONDS);
+          return;
+        }
+        pending.get(wiki).remove(entry);
+        MarkAsFixedQueue.this.notifyAll();
+        if (!done) {
+          // Sent again at next session
+          Set<String> failedEntries = failed.get(wiki);
+          if (failedEntries == null) {
+            failedEntries = new LinkedHashSet<String>();
+            failed.put(wiki, failedEntries);
+          }
+          failedEntries.add(entry);
+        } else {
+          setModified(wiki);
+        }
+      }
+    }
+  }
+}
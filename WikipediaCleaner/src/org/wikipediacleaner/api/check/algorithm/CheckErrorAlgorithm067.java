@@ -132,10 +132,8 @@ public class CheckErrorAlgorithm067 extends CheckErrorAlgorithmBase {
                 }
                 if ((testIndex >= 0) && (contents.charAt(testIndex) == '&')) {
                   String name = contents.substring(testIndex + 1, punctuationIndex);
-                  for (HtmlCharacters htmlCharacter : HtmlCharacters.values()) {
-                    if (name.equals(htmlCharacter.getName())) {
-                      punctuationFound = false;
-                    }
+                  if (HtmlCharacters.getCharacterByEntityName(name) != null) {
+                    punctuationFound = false;
                   }
                 }
               }
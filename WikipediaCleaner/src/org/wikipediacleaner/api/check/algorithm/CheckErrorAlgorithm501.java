@@ -16,6 +16,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Matcher;
 
 import org.wikipediacleaner.api.check.Actionnable;
@@ -32,6 +33,7 @@ import org.wikipediacleaner.api.data.PageElementTag;
 import org.wikipediacleaner.api.data.PageElementTemplate;
 import org.wikipediacleaner.api.data.Suggestion;
 import org.wikipediacleaner.api.data.Suggestion.ElementarySuggestion;
+import org.wikipediacleaner.api.data.SuggestionMatcher;
 import org.wikipediacleaner.gui.swing.component.MWPaneReplaceAllAction;
 import org.wikipediacleaner.i18n.GT;
 import org.wikipediacleaner.utils.Configuration;
@@ -211,19 +213,30 @@ public class CheckErrorAlgorithm501 extends CheckErrorAlgorithmBase {
       List<Replacement> replacements, int slowRegexp) {
     boolean result = false;
 
-    // Check every suggestion
+    // Find which suggestions may match in each chunk
     List<ContentsChunk> chunks = computeContentsChunks(analysis, true);
     String contents = analysis.getContents();
+    SuggestionMatcher suggestionMatcher = analysis.getWPCConfiguration().getSuggestionMatcher();
+    List<Set<Suggestion>> candidates = findCandidates(suggestionMatcher, contents, chunks);
+
+    // Check every suggestion
     Iterator<Suggestion> itSuggestion = suggestions.iterator();
     List<Replacement> tmpReplacements = new ArrayList<CheckErrorAlgorithm501.Replacement>();
     while (itSuggestion.hasNext()) {
       Suggestion suggestion = itSuggestion.next();
       if (!suggestion.isOtherPattern()) {
+        itSuggestion.remove();
+        if (!mayMatch(suggestionMatcher, suggestion, candidates, null)) {
+          continue;
+        }
         Performance perf = new Performance("Slow regular expression");
         perf.setThreshold(slowRegexp);
-        itSuggestion.remove();
         Matcher matcher = suggestion.initMatcher(contents);
-        for (ContentsChunk chunk : chunks) {
+        for (int numChunk = 0; numChunk < chunks.size(); numChunk++) {
+          if (!mayMatch(suggestionMatcher, suggestion, candidates, numChunk)) {
+            continue;
+          }
+          ContentsChunk chunk = chunks.get(numChunk);
           matcher.region(chunk.getBegin(), chunk.getEnd());
           int authorizedBegin = chunk.getBegin();
           while (matcher.find()) {
@@ -283,19 +296,30 @@ public class CheckErrorAlgorithm501 extends CheckErrorAlgorithmBase {
       List<Replacement> replacements, int slowRegexp) {
     boolean result = false;
 
-    // Check every suggestion
+    // Find which suggestions may match in each chunk
     List<ContentsChunk> chunks = computeContentsChunks(analysis, false);
     String contents = analysis.getContents();
+    SuggestionMatcher suggestionMatcher = analysis.getWPCConfiguration().getSuggestionMatcher();
+    List<Set<Suggestion>> candidates = findCandidates(suggestionMatcher, contents, chunks);
+
+    // Check every suggestion
     Iterator<Suggestion> itSuggestion = suggestions.iterator();
     List<Replacement> tmpReplacements = new ArrayList<CheckErrorAlgorithm501.Replacement>();
     while (itSuggestion.hasNext()) {
       Suggestion suggestion = itSuggestion.next();
       if (suggestion.isOtherPattern()) {
+        itSuggestion.remove();
+        if (!mayMatch(suggestionMatcher, suggestion, candidates, null)) {
+          continue;
+        }
         Performance perf = new Performance("Slow regular expression");
         perf.setThreshold(slowRegexp);
-        itSuggestion.remove();
         Matcher matcher = suggestion.initMatcher(contents);
-        for (ContentsChunk chunk : chunks) {
+        for (int numChunk = 0; numChunk < chunks.size(); numChunk++) {
+          if (!mayMatch(suggestionMatcher, suggestion, candidates, numChunk)) {
+            continue;
+          }
+          ContentsChunk chunk = chunks.get(numChunk);
           matcher.region(chunk.getBegin(), chunk.getEnd());
           int authorizedBegin = chunk.getBegin();
           while (matcher.find()) {
@@ -322,6 +346,52 @@ public class CheckErrorAlgorithm501 extends CheckErrorAlgorithmBase {
     return result;
   }
 
+  /**
+   * Find which suggestions may match in each chunk.
+   * 
+   * @param suggestionMatcher Matcher for suggestions.
+   * @param contents Text.
+   * @param chunks List of contents chunks.
+   * @return For each chunk, suggestions with required texts present in the chunk.
+   */
+  private List<Set<Suggestion>> findCandidates(
+      SuggestionMatcher suggestionMatcher,
+      String contents, List<ContentsChunk> chunks) {
+    if (suggestionMatcher == null) {
+      return null;
+    }
+    List<Set<Suggestion>> candidates = new ArrayList<Set<Suggestion>>(chunks.size());
+    for (ContentsChunk chunk : chunks) {
+      candidates.add(suggestionMatcher.findCandidates(
+          contents, chunk.getBegin(), chunk.getEnd()));
+    }
+    return candidates;
+  }
+
+  /**
+   * @param suggestionMatcher Matcher for suggestions.
+   * @param suggestion Suggestion.
+   * @param candidates For each chunk, suggestions with required texts present in the chunk.
+   * @param numChunk Chunk number (null for any chunk).
+   * @return True if the suggestion may match in the chunk.
+   */
+  private boolean mayMatch(
+      SuggestionMatcher suggestionMatcher, Suggestion suggestion,
+      List<Set<Suggestion>> candidates, Integer numChunk) {
+    if ((suggestionMatcher == null) || (candidates == null)) {
+      return true;
+    }
+    if (numChunk != null) {
+      return suggestionMatcher.mayMatch(suggestion, candidates.get(numChunk.intValue()));
+    }
+    for (Set<Suggestion> chunkCandidates : candidates) {
+      if (suggestionMatcher.mayMatch(suggestion, chunkCandidates)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * Decide if a potential spelling error should be kept as error.
    * 
@@ -636,7 +706,7 @@ public class CheckErrorAlgorithm501 extends CheckErrorAlgorithmBase {
       }
     }
 
-    return chunks;
+    return new ArrayList<ContentsChunk>(chunks);
   }
 
   /**
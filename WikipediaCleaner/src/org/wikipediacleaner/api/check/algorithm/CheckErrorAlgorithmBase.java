@@ -29,6 +29,7 @@ import org.wikipediacleaner.api.constants.WPCConfigurationString;
 import org.wikipediacleaner.api.data.MagicWord;
 import org.wikipediacleaner.api.data.Page;
 import org.wikipediacleaner.api.data.PageAnalysis;
+import org.wikipediacleaner.api.data.TextPatch;
 import org.wikipediacleaner.gui.swing.component.MWPane;
 import org.wikipediacleaner.i18n.GT;
 
@@ -359,21 +360,19 @@ public abstract class CheckErrorAlgorithmBase implements CheckErrorAlgorithm {
    */
   public String fixUsingFirstReplacement(String fixName, PageAnalysis analysis) {
     String result = analysis.getContents();
+    TextPatch patch = new TextPatch();
     List<CheckErrorResult> errors = new ArrayList<CheckErrorResult>();
     if (analyze(analysis, errors, false)) {
-      for (int i = errors.size(); i > 0; i--) {
-        CheckErrorResult errorResult = errors.get(i - 1);
+      for (CheckErrorResult errorResult : errors) {
         String newText = errorResult.getFirstReplacement();
         if (newText != null) {
-          String tmp =
-            result.substring(0, errorResult.getStartPosition()) +
-            newText +
-            result.substring(errorResult.getEndPosition());
-          result = tmp;
+          patch.addEdit(
+              errorResult.getStartPosition(), errorResult.getEndPosition(),
+              newText);
         }
       }
     }
-    return result;
+    return patch.apply(result);
   }
 
   /**
@@ -384,22 +383,20 @@ public abstract class CheckErrorAlgorithmBase implements CheckErrorAlgorithm {
    */
   public String fixUsingAutomaticReplacement(PageAnalysis analysis) {
     String result = analysis.getContents();
+    TextPatch patch = new TextPatch();
     List<CheckErrorResult> errors = new ArrayList<CheckErrorResult>();
     if (analyze(analysis, errors, true)) {
       Collections.sort(errors);
-      for (int i = errors.size(); i > 0; i--) {
-        CheckErrorResult errorResult = errors.get(i - 1);
+      for (CheckErrorResult errorResult : errors) {
         String newText = errorResult.getAutomaticReplacement();
         if (newText != null) {
-          String tmp =
-            result.substring(0, errorResult.getStartPosition()) +
-            newText +
-            result.substring(errorResult.getEndPosition());
-          result = tmp;
+          patch.addEdit(
+              errorResult.getStartPosition(), errorResult.getEndPosition(),
+              newText);
         }
       }
     }
-    return result;
+    return patch.apply(result);
   }
 
   /**
@@ -410,22 +407,20 @@ public abstract class CheckErrorAlgorithmBase implements CheckErrorAlgorithm {
    */
   public String fixUsingAutomaticBotReplacement(PageAnalysis analysis) {
     String result = analysis.getContents();
+    TextPatch patch = new TextPatch();
     List<CheckErrorResult> errors = new ArrayList<CheckErrorResult>();
     if (analyze(analysis, errors, true)) {
       Collections.sort(errors);
-      for (int i = errors.size(); i > 0; i--) {
-        CheckErrorResult errorResult = errors.get(i - 1);
+      for (CheckErrorResult errorResult : errors) {
         String newText = errorResult.getAutomaticBotReplacement();
         if (newText != null) {
-          String tmp =
-            result.substring(0, errorResult.getStartPosition()) +
-            newText +
-            result.substring(errorResult.getEndPosition());
-          result = tmp;
+          patch.addEdit(
+              errorResult.getStartPosition(), errorResult.getEndPosition(),
+              newText);
         }
       }
     }
-    return result;
+    return patch.apply(result);
   }
 
   /**
@@ -437,17 +432,16 @@ public abstract class CheckErrorAlgorithmBase implements CheckErrorAlgorithm {
    */
   public String fixUsingRemove(String fixName, PageAnalysis analysis) {
     String result = analysis.getContents();
+    TextPatch patch = new TextPatch();
     List<CheckErrorResult> errors = new ArrayList<CheckErrorResult>();
     if (analyze(analysis, errors, false)) {
-      for (int i = errors.size(); i > 0; i--) {
-        CheckErrorResult errorResult = errors.get(i - 1);
-        String tmp =
-          result.substring(0, errorResult.getStartPosition()) +
-          result.substring(errorResult.getEndPosition());
-        result = tmp;
+      for (CheckErrorResult errorResult : errors) {
+        patch.addEdit(
+            errorResult.getStartPosition(), errorResult.getEndPosition(),
+            null);
       }
     }
-    return result;
+    return patch.apply(result);
   }
 
   /**
@@ -12,6 +12,7 @@ import java.util.List;
 
 import org.wikipediacleaner.api.check.CheckErrorResult;
 import org.wikipediacleaner.api.check.HtmlCharacters;
+import org.wikipediacleaner.api.check.HtmlCharactersMatcher;
 import org.wikipediacleaner.api.check.CheckErrorResult.ErrorLevel;
 import org.wikipediacleaner.api.data.PageAnalysis;
 import org.wikipediacleaner.api.data.PageElementExternalLink;
@@ -44,6 +45,21 @@ public abstract class CheckErrorAlgorithmHtmlNamedEntities extends CheckErrorAlg
    */
   protected abstract List<HtmlCharacters> getHtmlCharacters();
 
+  /**
+   * Matcher for HTML characters managed by this error.
+   */
+  private HtmlCharactersMatcher matcher;
+
+  /**
+   * @return Matcher for HTML characters managed by this error.
+   */
+  private synchronized HtmlCharactersMatcher getMatcher() {
+    if (matcher == null) {
+      matcher = new HtmlCharactersMatcher(getHtmlCharacters());
+    }
+    return matcher;
+  }
+
   /**
    * Analyze a page to check if errors are present.
    * 
@@ -62,6 +78,7 @@ public abstract class CheckErrorAlgorithmHtmlNamedEntities extends CheckErrorAlg
 
     // Analyzing the text from the beginning
     boolean result = false;
+    HtmlCharactersMatcher tmpMatcher = getMatcher();
     String contents = analysis.getContents();
     int ampersandIndex = contents.indexOf('&');
     int maxLength = contents.length();
@@ -86,11 +103,9 @@ public abstract class CheckErrorAlgorithmHtmlNamedEntities extends CheckErrorAlg
       }
 
       if (shouldMatch) {
-        for (HtmlCharacters htmlCharacter : getHtmlCharacters()) {
+        for (HtmlCharacters htmlCharacter : tmpMatcher.findNames(contents, ampersandIndex + 1)) {
           String name = htmlCharacter.getName();
-          if ((name != null) &&
-              contents.startsWith(name, ampersandIndex + 1) &&
-              htmlCharacter.shouldReplaceName()) {
+          if (htmlCharacter.shouldReplaceName()) {
             ErrorLevel errorLevel = ErrorLevel.ERROR;
 
             // Analyze semicolon after the name
@@ -0,0 +1,399 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.constants;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wikipediacleaner.api.API;
+import org.wikipediacleaner.api.APIException;
+import org.wikipediacleaner.api.data.DataManager;
+import org.wikipediacleaner.api.data.Namespace;
+import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.data.RecentChange;
+import org.wikipediacleaner.utils.CompactStringSet;
+import org.wikipediacleaner.utils.Configuration;
+
+
+/**
+ * Index of disambiguation pages kept between sessions.
+ *
+ * Titles are stored in a memory-mapped file in the cache directory of the wiki,
+ * described by a properties file telling how and when they were loaded.
+ * A recent index is refreshed from the recent changes
+ * instead of loading again all disambiguation pages,
+ * unless pages have been moved or templates changing the disambiguation status
+ * of the pages using them have been modified.
+ */
+class DisambiguationIndex {
+
+  private final static Log log = LogFactory.getLog(DisambiguationIndex.class);
+
+  /**
+   * Name of the file describing the index.
+   */
+  private final static String PROPERTIES_FILE = "disambiguation.properties";
+
+  /**
+   * Prefix of the files holding the titles.
+   */
+  private final static String INDEX_PREFIX = "disambiguation-";
+
+  /**
+   * Suffix of the files holding the titles.
+   */
+  private final static String INDEX_SUFFIX = ".idx";
+
+  /**
+   * Property for the name of the file holding the titles.
+   */
+  private final static String PROPERTY_FILE = "file";
+
+  /**
+   * Property for the way disambiguation pages are found.
+   */
+  private final static String PROPERTY_SOURCE = "source";
+
+  /**
+   * Property for the timestamp of the last change taken into account (time of the wiki).
+   */
+  private final static String PROPERTY_TIMESTAMP = "timestamp";
+
+  /**
+   * Property for the time of the last complete load (local time).
+   */
+  private final static String PROPERTY_LOADED = "loaded";
+
+  /**
+   * Property for the templates which may change the disambiguation status of pages.
+   */
+  private final static String PROPERTY_TEMPLATES = "templates";
+
+  /**
+   * List of name spaces for disambiguation pages.
+   */
+  private final static List<Integer> NAMESPACES = Collections.singletonList(Namespace.MAIN);
+
+  /**
+   * List of name spaces checked for modifications.
+   */
+  private final static List<Integer> MODIFIED_NAMESPACES = Arrays.asList(
+      Integer.valueOf(Namespace.MAIN), Integer.valueOf(Namespace.TEMPLATE));
+
+  /**
+   * Maximum age of the last complete load for refreshing the index (7 days).
+   */
+  private final static long MAX_AGE = 7L * 24 * 60 * 60 * 1000;
+
+  /**
+   * Maximum number of recent changes for refreshing the index.
+   */
+  private final static int MAX_CHANGES = 5000;
+
+  /**
+   * Wiki.
+   */
+  private final EnumWikipedia wiki;
+
+  /**
+   * Directory holding the index (null if not available).
+   */
+  private final File directory;
+
+  /**
+   * @param wiki Wiki.
+   */
+  DisambiguationIndex(EnumWikipedia wiki) {
+    this.wiki = wiki;
+    this.directory = Configuration.getConfiguration().getCacheDirectory(wiki);
+  }
+
+  /**
+   * Load the disambiguation pages, refreshing the index if possible.
+   *
+   * @param api Wikipedia API.
+   * @return Titles of disambiguation pages (null if they can't be found).
+   * @throws APIException
+   */
+  CompactStringSet load(API api) throws APIException {
+    String source = wiki.getDisambiguationSource();
+    if (source == null) {
+      return null;
+    }
+
+    // Refresh the index
+    CompactStringSet result = refresh(api, source);
+    if (result != null) {
+      return result;
+    }
+
+    // Load all disambiguation pages
+    List<RecentChange> recentChanges = new ArrayList<RecentChange>();
+    String timestamp = api.getRecentChanges(wiki, null, recentChanges);
+    long loaded = System.currentTimeMillis();
+    CompactStringSet.Builder builder = new CompactStringSet.Builder();
+    wiki.constructDisambiguationTitles(api, NAMESPACES, builder);
+
+    // Templates changing the disambiguation status of the pages using them
+    CompactStringSet.Builder templates = new CompactStringSet.Builder();
+    wiki.constructDisambiguationTitles(
+        api, Collections.singletonList(Namespace.TEMPLATE), templates);
+    List<Page> dabTemplates = wiki.getDisambiguationTemplates();
+    if (dabTemplates != null) {
+      for (Page dabTemplate : dabTemplates) {
+        templates.add(dabTemplate.getTitle());
+      }
+    }
+    return save(source, timestamp, loaded, builder.build(), templates.build());
+  }
+
+  /**
+   * Refresh the index with the recent changes.
+   *
+   * @param api Wikipedia API.
+   * @param source Way disambiguation pages are found.
+   * @return Titles of disambiguation pages (null if the index can't be refreshed).
+   * @throws APIException
+   */
+  private CompactStringSet refresh(API api, String source) throws APIException {
+
+    // Check the description of the index
+    Properties properties = readProperties();
+    if ((properties == null) ||
+        !source.equals(properties.getProperty(PROPERTY_SOURCE))) {
+      return null;
+    }
+    String timestamp = properties.getProperty(PROPERTY_TIMESTAMP);
+    String fileName = properties.getProperty(PROPERTY_FILE);
+    String templatesList = properties.getProperty(PROPERTY_TEMPLATES);
+    long loaded = 0;
+    try {
+      loaded = Long.parseLong(properties.getProperty(PROPERTY_LOADED, ""));
+    } catch (NumberFormatException e) {
+      return null;
+    }
+    long age = System.currentTimeMillis() - loaded;
+    if ((timestamp == null) || (fileName == null) || (templatesList == null) ||
+        (age < 0) || (age > MAX_AGE)) {
+      return null;
+    }
+    Set<String> templates = new HashSet<String>();
+    for (String template : templatesList.split("\\|")) {
+      if (template.length() > 0) {
+        templates.add(template);
+      }
+    }
+    CompactStringSet current = null;
+    try {
+      current = CompactStringSet.read(new File(directory, fileName));
+    } catch (IOException e) {
+      log.warn("Unable to read disambiguation pages: " + e.getMessage());
+      return null;
+    }
+
+    // Page moves aren't reported for the new title, even from other name spaces
+    List<RecentChange> logs = new ArrayList<RecentChange>();
+    if (api.getRecentChangesSince(
+        wiki, timestamp, null, RecentChange.TYPE_LOG, logs, MAX_CHANGES) == null) {
+      return null;
+    }
+    for (RecentChange change : logs) {
+      if (RecentChange.LOG_TYPE_MOVE.equals(change.getLogType())) {
+        log.info("Pages moved, loading again all disambiguation pages");
+        return null;
+      }
+    }
+
+    // Find pages modified since the last refresh
+    List<RecentChange> changes = new ArrayList<RecentChange>();
+    String lastChange = api.getRecentChangesSince(
+        wiki, timestamp, MODIFIED_NAMESPACES, null, changes, MAX_CHANGES);
+    if (lastChange == null) {
+      return null;
+    }
+    Set<String> titles = new HashSet<String>();
+    Set<String> templateTitles = new HashSet<String>();
+    for (RecentChange change : changes) {
+      if (change.getNamespace() == Namespace.TEMPLATE) {
+        templateTitles.add(change.getTitle());
+      } else {
+        titles.add(change.getTitle());
+      }
+    }
+
+    // Modified templates may change the disambiguation status of many pages
+    if (!templateTitles.isEmpty()) {
+      List<Page> templatePages = new ArrayList<Page>(templateTitles.size());
+      for (String title : templateTitles) {
+        if (templates.contains(title)) {
+          log.info("Template " + title + " modified, loading again all disambiguation pages");
+          return null;
+        }
+        templatePages.add(DataManager.getPage(wiki, title, null, null, null));
+      }
+      api.initializeDisambiguationStatus(wiki, templatePages, true);
+      for (Page templatePage : templatePages) {
+        if (Boolean.TRUE.equals(templatePage.isDisambiguationPage())) {
+          log.info("Template " + templatePage.getTitle() + " modified, loading again all disambiguation pages");
+          return null;
+        }
+      }
+    }
+    if (titles.isEmpty()) {
+      return current;
+    }
+    List<Page> pages = new ArrayList<Page>(titles.size());
+    for (String title : titles) {
+      pages.add(DataManager.getPage(wiki, title, null, null, null));
+    }
+    api.retrieveInfo(wiki, pages);
+    api.initializeDisambiguationStatus(wiki, pages, true);
+
+    // Update the index
+    CompactStringSet.Builder builder = new CompactStringSet.Builder();
+    for (String title : current) {
+      if (!titles.contains(title)) {
+        builder.add(title);
+      }
+    }
+    for (Page page : pages) {
+      if (!page.isRedirect() && Boolean.TRUE.equals(page.isDisambiguationPage())) {
+        builder.add(page.getTitle());
+      }
+    }
+    return save(source, lastChange, loaded, builder.build(), templates);
+  }
+
+  /**
+   * Save the index.
+   *
+   * @param source Way disambiguation pages are found.
+   * @param timestamp Timestamp of the last change taken into account.
+   * @param loaded Time of the last complete load.
+   * @param titles Titles of disambiguation pages.
+   * @param templates Templates which may change the disambiguation status of pages.
+   * @return Titles of disambiguation pages (memory-mapped if saved).
+   */
+  private CompactStringSet save(
+      String source, String timestamp, long loaded,
+      CompactStringSet titles, Iterable<String> templates) {
+    if (directory == null) {
+      return titles;
+    }
+
+    // A new file is used each time, previous one may still be mapped
+    File file = null;
+    try {
+      file = File.createTempFile(INDEX_PREFIX, INDEX_SUFFIX, directory);
+      titles.write(file);
+      CompactStringSet result = CompactStringSet.read(file);
+      Properties properties = new Properties();
+      properties.setProperty(PROPERTY_FILE, file.getName());
+      properties.setProperty(PROPERTY_SOURCE, source);
+      if (timestamp != null) {
+        properties.setProperty(PROPERTY_TIMESTAMP, timestamp);
+      }
+      properties.setProperty(PROPERTY_LOADED, Long.toString(loaded));
+      StringBuilder templatesList = new StringBuilder();
+      for (String template : templates) {
+        if (templatesList.length() > 0) {
+          templatesList.append('|');
+        }
+        templatesList.append(template);
+      }
+      properties.setProperty(PROPERTY_TEMPLATES, templatesList.toString());
+      writeProperties(properties);
+      deleteFiles(file);
+      return result;
+    } catch (IOException e) {
+      log.warn("Unable to save disambiguation pages: " + e.getMessage());
+      if (file != null) {
+        file.delete();
+      }
+      return titles;
+    }
+  }
+
+  /**
+   * @return Description of the index (null if not available).
+   */
+  private Properties readProperties() {
+    if (directory == null) {
+      return null;
+    }
+    File file = new File(directory, PROPERTIES_FILE);
+    if (!file.isFile()) {
+      return null;
+    }
+    InputStream input = null;
+    try {
+      input = new FileInputStream(file);
+      Properties properties = new Properties();
+      properties.load(input);
+      return properties;
+    } catch (IOException e) {
+      log.warn("Unable to read " + file.getName() + ": " + e.getMessage());
+      return null;
+    } finally {
+      if (input != null) {
+        try {
+          input.close();
+        } catch (IOException e) {
+          //
+        }
+      }
+    }
+  }
+
+  /**
+   * @param properties Description of the index.
+   * @throws IOException
+   */
+  private void writeProperties(Properties properties) throws IOException {
+    OutputStream output = new FileOutputStream(new File(directory, PROPERTIES_FILE));
+    try {
+      properties.store(output, "Disambiguation pages");
+    } finally {
+      output.close();
+    }
+  }
+
+  /**
+   * Delete files holding previous versions of the index.
+   *
+   * @param current File holding the current version of the index.
+   */
+  private void deleteFiles(File current) {
+    File[] files = directory.listFiles();
+    if (files == null) {
+      return;
+    }
+    for (File file : files) {
+      String name = file.getName();
+      if (name.startsWith(INDEX_PREFIX) &&
+          name.endsWith(INDEX_SUFFIX) &&
+          !name.equals(current.getName())) {
+        // Files still mapped can't be deleted on some systems, they will be deleted later
+        file.delete();
+      }
+    }
+  }
+}
@@ -9,7 +9,6 @@ package org.wikipediacleaner.api.constants;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
@@ -86,6 +85,7 @@ import org.wikipediacleaner.api.data.Namespace;
 import org.wikipediacleaner.api.data.Page;
 import org.wikipediacleaner.api.impl.CommentDecorator;
 import org.wikipediacleaner.api.impl.ProgramCommentDecorator;
+import org.wikipediacleaner.utils.CompactStringSet;
 import org.wikipediacleaner.utils.Configuration;
 import org.wikipediacleaner.utils.ConfigurationValueBoolean;
 
@@ -172,8 +172,9 @@ public enum EnumWikipedia {
   private final AbstractWikiSettings settings;
 
   private final String configPage;
-  private Set<String> disambiguationPages;
+  private CompactStringSet disambiguationPages;
   private List<Page> disambiguationTemplates;
+  private final Object disambiguationTemplatesLock = new Object();
 
   /**
    * Wiki configuration.
@@ -248,12 +249,32 @@ public enum EnumWikipedia {
     if (pageTitle == null) {
       return null;
     }
-    String result = pageTitle.replaceAll(" ", " ");
-    result = result.replaceAll("_", " ");
-    result = result.replaceAll(" +", " ");
-    result = result.trim();
-    result = Page.getStringUcFirst(result);
-    return result;
+    return Page.normalizeTitle(pageTitle, getCaseSensitiveness(pageTitle));
+  }
+
+  /**
+   * @param pageTitle Title.
+   * @return Case sensitiveness for the first letter of the title.
+   */
+  private EnumCaseSensitiveness getCaseSensitiveness(String pageTitle) {
+    Namespace main = wikiConfiguration.getNamespace(Namespace.MAIN);
+    if ((main == null) ||
+        (main.getCaseSensitiveness() != EnumCaseSensitiveness.CASE_SENSITIVE)) {
+      return EnumCaseSensitiveness.FIRST_LETTER;
+    }
+
+    // Namespace names always begin with an upper case letter
+    int colonIndex = pageTitle.indexOf(':');
+    if (colonIndex > 0) {
+      String namespaceName = pageTitle.substring(0, colonIndex).replace('_', ' ');
+      Namespace namespace = wikiConfiguration.getNamespaceByName(namespaceName);
+      if ((namespace != null) &&
+          (namespace.getId() != null) &&
+          (namespace.getId().intValue() != Namespace.MAIN)) {
+        return EnumCaseSensitiveness.FIRST_LETTER;
+      }
+    }
+    return EnumCaseSensitiveness.CASE_SENSITIVE;
   }
 
   /**
@@ -420,20 +441,96 @@ public enum EnumWikipedia {
     return null;
   }
 
+  /**
+   * @return Description of the way disambiguation pages are found (null if not possible).
+   */
+  String getDisambiguationSource() {
+    WPCConfiguration config = getConfiguration();
+
+    // Use __DISAMBIG__ magic word if set
+    boolean useDisambig = config.getBoolean(WPCConfigurationBoolean.DAB_USE_DISAMBIG_MAGIC_WORD);
+    if (useDisambig) {
+      return "pageswithprop:disambiguation";
+    }
+
+    // Use categories if they are defined
+    List<Page> dabCategories = config.getDisambiguationCategories();
+    if ((dabCategories != null) && (dabCategories.size() > 0)) {
+      StringBuilder source = new StringBuilder("categorymembers:");
+      for (int i = 0; i < dabCategories.size(); i++) {
+        if (i > 0) {
+          source.append('|');
+        }
+        source.append(dabCategories.get(i).getTitle());
+      }
+      return source.toString();
+    }
+
+    // Use disambiguation templates
+    if (disambiguationTemplates != null) {
+      StringBuilder source = new StringBuilder("embeddedin:");
+      for (int i = 0; i < disambiguationTemplates.size(); i++) {
+        if (i > 0) {
+          source.append('|');
+        }
+        source.append(disambiguationTemplates.get(i).getTitle());
+      }
+      return source.toString();
+    }
+
+    return null;
+  }
+
+  /**
+   * Construct list of titles of disambiguation pages, without creating pages.
+   * 
+   * @param api Wikipedia API.
+   * @param namespaces List of name spaces.
+   * @param titles Builder to be filled with the titles of disambiguation pages.
+   * @throws APIException
+   */
+  void constructDisambiguationTitles(
+      API api, List<Integer> namespaces,
+      CompactStringSet.Builder titles) throws APIException {
+
+    WPCConfiguration config = getConfiguration();
+
+    // Use __DISAMBIG__ magic word if set
+    boolean useDisambig = config.getBoolean(WPCConfigurationBoolean.DAB_USE_DISAMBIG_MAGIC_WORD);
+    if (useDisambig) {
+      api.retrievePagesWithPropTitles(this, "disambiguation", namespaces, titles);
+      return;
+    }
+
+    // Use categories if they are defined
+    List<Page> dabCategories = config.getDisambiguationCategories();
+    if ((dabCategories != null) && (dabCategories.size() > 0)) {
+      for (Page dabCategory : dabCategories) {
+        api.retrieveCategoryMemberTitles(this, dabCategory, namespaces, titles);
+      }
+      return;
+    }
+
+    // Use disambiguation templates
+    if (disambiguationTemplates != null) {
+      for (Page dabTemplate : disambiguationTemplates) {
+        api.retrieveEmbeddedInTitles(this, dabTemplate, namespaces, titles);
+      }
+    }
+  }
+
   /**
    * Load all disambiguation pages.
    * 
+   * The list of disambiguation pages is kept between sessions,
+   * and only refreshed with the recent changes when it's recent enough.
+   * 
    * @param api Wikipedia API.
    * @throws APIException
    */
   public void loadDisambiguationPages(API api) throws APIException {
     try {
-      List<Page> tmpPages = constuctDisambiguationPages(api);
-      HashSet<String> tmpResult = new HashSet<String>();
-      for (Page page : tmpPages) {
-        tmpResult.add(page.getTitle());
-      }
-      disambiguationPages = tmpResult;
+      disambiguationPages = new DisambiguationIndex(this).load(api);
     } catch (APIException e) {
       disambiguationPages = null;
       throw e;
@@ -447,9 +544,7 @@ public enum EnumWikipedia {
     if (dabPages == null) {
       return;
     }
-    HashSet<String> tmpResult = new HashSet<String>(dabPages.size());
-    tmpResult.addAll(dabPages);
-    disambiguationPages = tmpResult;
+    disambiguationPages = new CompactStringSet(dabPages);
   }
 
   /**
@@ -496,7 +591,7 @@ public enum EnumWikipedia {
    */
   public void initDisambiguationTemplates(API api) {
     if (disambiguationTemplates == null) {
-      synchronized (api) {
+      synchronized (disambiguationTemplatesLock) {
         Page page = DataManager.getPage(
             this, "Mediawiki:Disambiguationspage",
             null, null, null);
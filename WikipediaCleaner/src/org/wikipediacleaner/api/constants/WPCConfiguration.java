@@ -31,12 +31,14 @@ import org.wikipediacleaner.api.data.PageElementTag.Parameter;
 import org.wikipediacleaner.api.data.PageAnalysisUtils;
 import org.wikipediacleaner.api.data.PageElementTemplate;
 import org.wikipediacleaner.api.data.Suggestion;
+import org.wikipediacleaner.api.data.SuggestionMatcher;
 import org.wikipediacleaner.api.data.TemplateMatch;
 import org.wikipediacleaner.api.data.TemplateMatcher;
 import org.wikipediacleaner.api.data.TemplateMatcher1L;
 import org.wikipediacleaner.api.data.TemplateMatcher1L2T;
 import org.wikipediacleaner.api.data.TemplateMatcher1LT;
 import org.wikipediacleaner.i18n.GT;
+import org.wikipediacleaner.utils.FileCache;
 
 
 /**
@@ -103,6 +105,7 @@ public class WPCConfiguration {
     initDefaultEncyclopedicNamespaces();
     disambiguationCategories = null;
     suggestions = null;
+    suggestionMatcher = null;
     templateMatchers = new HashMap<String, List<TemplateMatcher>>();
     templatesAfterAskHelp = null;
     wiktionaryMatches = null;
@@ -577,6 +580,16 @@ public class WPCConfiguration {
    */
   private Map<String, Suggestion> suggestions;
 
+  /**
+   * Matcher for spelling suggestions.
+   */
+  private SuggestionMatcher suggestionMatcher;
+
+  /**
+   * Lock for initializing suggestions.
+   */
+  private final Object suggestionsLock = new Object();
+
   /**
    * Initialize suggestions for text replacements.
    * 
@@ -584,7 +597,7 @@ public class WPCConfiguration {
    */
   public void initSuggestions(API api, boolean forceInit) {
     if ((suggestions == null) || forceInit) {
-      synchronized (api) {
+      synchronized (suggestionsLock) {
 
         // Load all pages contents
         Map<String, Page> pages = new HashMap<String, Page>();
@@ -608,54 +621,37 @@ public class WPCConfiguration {
           }
         }
         try {
-          api.retrieveContents(wiki, pages.values(), false, false);
+          api.retrieveContentsWithCache(wiki, pages.values());
         } catch (APIException e) {
           System.err.println("Exception retrieving contents for suggestions");
         }
 
-        // Construct suggestions
+        // Construct suggestions, reusing suggestions extracted from pages not modified
+        FileCache cache = new FileCache(wiki, "suggestions");
+        List<String> suggestionIgnore = getStringList(WPCConfigurationStringList.SUGGESTION_IGNORE);
         Map<String, Suggestion> tmpMap = new HashMap<String, Suggestion>();
         if (suggestionPages != null) {
-          List<String> suggestionIgnore = getStringList(WPCConfigurationStringList.SUGGESTION_IGNORE);
           for (String[] elements : suggestionPages) {
             if (elements.length >= 4) {
-              String pageName = elements[0];
-              String[] elementsReplacement = elements[3].split(",");
-              Page page = pages.get(pageName);
-              if ((page != null) && (page.getContents() != null)) {
-                String contents = page.getContents();
-                PageAnalysis analysis = page.getAnalysis(contents, true);
-                Collection<PageElementTemplate> templates = analysis.getTemplates(elements[1]);
-                for (PageElementTemplate template : templates) {
-                  String chapterId = PageAnalysisUtils.getCurrentChapterId(analysis, template.getBeginIndex());
-                  if ((suggestionIgnore == null) || (!suggestionIgnore.contains(chapterId))) {
-                    String patternText = template.getParameterValue(elements[2]);
-                    Suggestion suggestion = tmpMap.get(patternText);
-                    if (suggestion == null) {
-                      String chapter = PageAnalysisUtils.getCurrentChapterId(analysis, template.getBeginIndex());
-                      suggestion = Suggestion.createSuggestion(patternText, false, chapter);
-                      if (suggestion != null) {
-                        tmpMap.put(patternText, suggestion);
-                      }
-                    }
-                    if (suggestion != null) {
-                      boolean automatic = false;
-                      if (elements.length > 4) {
-                        suggestion.setComment(template.getParameterValue(elements[4]));
-                        if (elements.length > 6) {
-                          if (elements[6].equalsIgnoreCase(template.getParameterValue(elements[5]))) {
-                            automatic = true;
-                          }
-                        }
-                      }
-                      for (String elementReplacement : elementsReplacement) {
-                        String replacementText = template.getParameterValue(elementReplacement);
-                        if ((replacementText != null) &&
-                            (replacementText.length() > 0)) {
-                          suggestion.addReplacement(replacementText, automatic);
-                        }
-                      }
-                    }
+              Page page = pages.get(elements[0]);
+              List<String[]> records = getSuggestionRecords(
+                  cache, page, elements, suggestionIgnore);
+              for (String[] record : records) {
+                String patternText = record[0];
+                Suggestion suggestion = tmpMap.get(patternText);
+                if (suggestion == null) {
+                  suggestion = Suggestion.createSuggestion(patternText, false, record[1]);
+                  if (suggestion != null) {
+                    tmpMap.put(patternText, suggestion);
+                  }
+                }
+                if (suggestion != null) {
+                  if (elements.length > 4) {
+                    suggestion.setComment(record[2]);
+                  }
+                  boolean automatic = Boolean.parseBoolean(record[3]);
+                  for (int i = 4; i < record.length; i++) {
+                    suggestion.addReplacement(record[i], automatic);
                   }
                 }
               }
@@ -665,53 +661,174 @@ public class WPCConfiguration {
 
         // Construct suggestions from AWB format
         if (suggestionTypoPages != null) {
-          List<String> suggestionIgnore = getStringList(WPCConfigurationStringList.SUGGESTION_IGNORE);
           for (String suggestionPage : suggestionTypoPages) {
             Page page = pages.get(suggestionPage);
-            if ((page != null) && (page.getContents() != null)) {
-              String contents = page.getContents();
-              PageAnalysis analysis = page.getAnalysis(contents, true);
-              Collection<PageElementTag> tags = analysis.getTags(PageElementTag.TAG_OTHER_TYPO);
-              for (PageElementTag tag : tags) {
-                String chapterId = PageAnalysisUtils.getCurrentChapterId(analysis, tag.getBeginIndex());
-                if ((suggestionIgnore == null) || (!suggestionIgnore.contains(chapterId))) {
-                  Parameter word = tag.getParameter("word");
-                  Parameter find = tag.getParameter("find");
-                  Parameter replace = tag.getParameter("replace");
-                  Parameter disabled = tag.getParameter("disabled");
-                  if ((word != null) && (find != null) && (replace != null) && (disabled == null)) {
-                    String wordValue = word.getValue();
-                    String findValue = find.getValue();
-                    String replaceValue = replace.getValue();
-                    if ((wordValue != null) && (findValue != null) && (replaceValue != null)) {
-                      String cleanFindValue = Suggestion.cleanPattern(findValue);
-                      if (cleanFindValue == null) {
-                        System.err.println("Rejecting " + wordValue + " : " + findValue);
-                      } else {
-                        Suggestion suggestion = tmpMap.get(cleanFindValue);
-                        if (suggestion == null) {
-                          String chapter = PageAnalysisUtils.getCurrentChapterId(analysis, tag.getBeginIndex());
-                          suggestion = Suggestion.createSuggestion(cleanFindValue, true, chapter);
-                          if (suggestion != null) {
-                            tmpMap.put(cleanFindValue, suggestion);
-                          }
-                        }
-                        if (suggestion != null) {
-                          suggestion.setComment("Typo AWB " + wordValue);
-                          suggestion.addReplacement(replaceValue, false);
-                        }
-                      }
-                    }
-                  }
+            List<String[]> records = getSuggestionTypoRecords(
+                cache, page, suggestionIgnore);
+            for (String[] record : records) {
+              String cleanFindValue = record[0];
+              Suggestion suggestion = tmpMap.get(cleanFindValue);
+              if (suggestion == null) {
+                suggestion = Suggestion.createSuggestion(cleanFindValue, true, record[1]);
+                if (suggestion != null) {
+                  tmpMap.put(cleanFindValue, suggestion);
                 }
               }
+              if (suggestion != null) {
+                suggestion.setComment("Typo AWB " + record[2]);
+                suggestion.addReplacement(record[3], false);
+              }
             }
           }
         }
 
         suggestions = tmpMap;
+        suggestionMatcher = null;
+      }
+    }
+  }
+
+  /**
+   * Extract suggestions from templates in a page.
+   * 
+   * Each record contains the pattern, the chapter, the comment,
+   * the automatic flag and the replacements.
+   * 
+   * @param cache Cache of suggestions extracted from pages.
+   * @param page Page.
+   * @param elements Description of the templates.
+   * @param suggestionIgnore Chapters to be ignored.
+   * @return Suggestions extracted from the page.
+   */
+  private List<String[]> getSuggestionRecords(
+      FileCache cache, Page page, String[] elements,
+      List<String> suggestionIgnore) {
+    if ((page == null) || (page.getContents() == null)) {
+      return Collections.emptyList();
+    }
+
+    // Use suggestions extracted from the same revision
+    String key = getSuggestionKey(page, elements, suggestionIgnore);
+    String version = (page.getRevisionId() != null) ? page.getRevisionId().toString() : null;
+    List<String[]> records = cache.getRecords(key, version);
+    if (records != null) {
+      return records;
+    }
+
+    // Analyze the page
+    records = new ArrayList<String[]>();
+    String[] elementsReplacement = elements[3].split(",");
+    String contents = page.getContents();
+    PageAnalysis analysis = page.getAnalysis(contents, true);
+    Collection<PageElementTemplate> templates = analysis.getTemplates(elements[1]);
+    for (PageElementTemplate template : templates) {
+      String chapterId = PageAnalysisUtils.getCurrentChapterId(analysis, template.getBeginIndex());
+      if ((suggestionIgnore == null) || (!suggestionIgnore.contains(chapterId))) {
+        List<String> record = new ArrayList<String>();
+        record.add(template.getParameterValue(elements[2]));
+        record.add(chapterId);
+        boolean automatic = false;
+        String comment = null;
+        if (elements.length > 4) {
+          comment = template.getParameterValue(elements[4]);
+          if (elements.length > 6) {
+            if (elements[6].equalsIgnoreCase(template.getParameterValue(elements[5]))) {
+              automatic = true;
+            }
+          }
+        }
+        record.add(comment);
+        record.add(Boolean.toString(automatic));
+        for (String elementReplacement : elementsReplacement) {
+          String replacementText = template.getParameterValue(elementReplacement);
+          if ((replacementText != null) &&
+              (replacementText.length() > 0)) {
+            record.add(replacementText);
+          }
+        }
+        records.add(record.toArray(new String[record.size()]));
       }
     }
+    cache.putRecords(key, version, records);
+    return records;
+  }
+
+  /**
+   * Extract suggestions from AWB typo tags in a page.
+   * 
+   * Each record contains the pattern, the chapter, the word and the replacement.
+   * 
+   * @param cache Cache of suggestions extracted from pages.
+   * @param page Page.
+   * @param suggestionIgnore Chapters to be ignored.
+   * @return Suggestions extracted from the page.
+   */
+  private List<String[]> getSuggestionTypoRecords(
+      FileCache cache, Page page, List<String> suggestionIgnore) {
+    if ((page == null) || (page.getContents() == null)) {
+      return Collections.emptyList();
+    }
+
+    // Use suggestions extracted from the same revision
+    String key = getSuggestionKey(page, new String[] { PageElementTag.TAG_OTHER_TYPO }, suggestionIgnore);
+    String version = (page.getRevisionId() != null) ? page.getRevisionId().toString() : null;
+    List<String[]> records = cache.getRecords(key, version);
+    if (records != null) {
+      return records;
+    }
+
+    // Analyze the page
+    records = new ArrayList<String[]>();
+    String contents = page.getContents();
+    PageAnalysis analysis = page.getAnalysis(contents, true);
+    Collection<PageElementTag> tags = analysis.getTags(PageElementTag.TAG_OTHER_TYPO);
+    for (PageElementTag tag : tags) {
+      String chapterId = PageAnalysisUtils.getCurrentChapterId(analysis, tag.getBeginIndex());
+      if ((suggestionIgnore == null) || (!suggestionIgnore.contains(chapterId))) {
+        Parameter word = tag.getParameter("word");
+        Parameter find = tag.getParameter("find");
+        Parameter replace = tag.getParameter("replace");
+        Parameter disabled = tag.getParameter("disabled");
+        if ((word != null) && (find != null) && (replace != null) && (disabled == null)) {
+          String wordValue = word.getValue();
+          String findValue = find.getValue();
+          String replaceValue = replace.getValue();
+          if ((wordValue != null) && (findValue != null) && (replaceValue != null)) {
+            String cleanFindValue = Suggestion.cleanPattern(findValue);
+            if (cleanFindValue == null) {
+              System.err.println("Rejecting " + wordValue + " : " + findValue);
+            } else {
+              records.add(new String[] { cleanFindValue, chapterId, wordValue, replaceValue });
+            }
+          }
+        }
+      }
+    }
+    cache.putRecords(key, version, records);
+    return records;
+  }
+
+  /**
+   * @param page Page.
+   * @param elements Description of the suggestions in the page.
+   * @param suggestionIgnore Chapters to be ignored.
+   * @return Key for the suggestions extracted from the page.
+   */
+  private static String getSuggestionKey(
+      Page page, String[] elements, List<String> suggestionIgnore) {
+    StringBuilder key = new StringBuilder(page.getTitle());
+    for (String element : elements) {
+      key.append('\t');
+      key.append(element);
+    }
+    key.append('\n');
+    if (suggestionIgnore != null) {
+      for (String ignore : suggestionIgnore) {
+        key.append('\t');
+        key.append(ignore);
+      }
+    }
+    return key.toString();
   }
 
   /**
@@ -721,6 +838,20 @@ public class WPCConfiguration {
     return suggestions;
   }
 
+  /**
+   * @return Matcher for finding which suggestions may match in a text.
+   */
+  public synchronized SuggestionMatcher getSuggestionMatcher() {
+    Map<String, Suggestion> tmpSuggestions = suggestions;
+    if (tmpSuggestions == null) {
+      return null;
+    }
+    if (suggestionMatcher == null) {
+      suggestionMatcher = new SuggestionMatcher(tmpSuggestions.values());
+    }
+    return suggestionMatcher;
+  }
+
   /* ================================================================================= */
   /* Template matches                                                                  */
   /* ================================================================================= */
@@ -7,7 +7,9 @@
 
 package org.wikipediacleaner.api.constants;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -15,7 +17,9 @@ import org.wikipediacleaner.api.HttpUtils;
 import org.wikipediacleaner.api.data.Interwiki;
 import org.wikipediacleaner.api.data.Language;
 import org.wikipediacleaner.api.data.MagicWord;
+import org.wikipediacleaner.api.data.MagicWordMatcher;
 import org.wikipediacleaner.api.data.Namespace;
+import org.wikipediacleaner.api.data.Page;
 
 
 /**
@@ -94,6 +98,16 @@ public class WikiConfiguration {
    */
   private List<Namespace> namespaces;
 
+  /**
+   * Namespaces indexed by id.
+   */
+  private Map<Integer, Namespace> namespacesById;
+
+  /**
+   * Namespaces indexed by alias.
+   */
+  private Map<String, Namespace> namespacesByName;
+
   /**
    * @return List of namespaces
    */
@@ -106,9 +120,25 @@ public class WikiConfiguration {
    */
   public void setNamespaces(List<Namespace> namespaces) {
     this.namespaces = namespaces;
+    Map<Integer, Namespace> tmpById = new HashMap<Integer, Namespace>();
+    Map<String, Namespace> tmpByName = new HashMap<String, Namespace>();
     if (namespaces != null) {
       Collections.sort(namespaces);
+      for (Namespace n : namespaces) {
+        if (n != null) {
+          if ((n.getId() != null) && !tmpById.containsKey(n.getId())) {
+            tmpById.put(n.getId(), n);
+          }
+          for (String alias : n.getAliases()) {
+            if (!tmpByName.containsKey(alias)) {
+              tmpByName.put(alias, n);
+            }
+          }
+        }
+      }
     }
+    this.namespacesById = tmpById;
+    this.namespacesByName = tmpByName;
   }
 
   /**
@@ -116,15 +146,21 @@ public class WikiConfiguration {
    * @return Matching namespace.
    */
   public Namespace getNamespace(int id) {
-    if (namespaces == null) {
+    if (namespacesById == null) {
       return null;
     }
-    for (Namespace n : namespaces) {
-      if ((n != null) && (n.getId() != null) && (id == n.getId().intValue())) {
-        return n;
-      }
+    return namespacesById.get(Integer.valueOf(id));
+  }
+
+  /**
+   * @param name Namespace name.
+   * @return First namespace for which the name is a possible name.
+   */
+  public Namespace getNamespaceByName(String name) {
+    if ((name == null) || (namespacesByName == null)) {
+      return null;
     }
-    return null;
+    return namespacesByName.get(Page.getStringUcFirst(name.trim()));
   }
 
   /**
@@ -147,10 +183,9 @@ public class WikiConfiguration {
       }
       if (colonIndex > 0) {
         String possibleNamespace = title.substring(0, colonIndex);
-        for (Namespace n : namespaces) {
-          if (n.isPossibleName(possibleNamespace)) {
-            return n.getTitle() + ":" + n.getCaseSensitiveness().normalize(title.substring(colonIndex + 1));
-          }
+        Namespace n = getNamespaceByName(possibleNamespace);
+        if (n != null) {
+          return n.getTitle() + ":" + n.getCaseSensitiveness().normalize(title.substring(colonIndex + 1));
         }
       }
       return namespace.getTitle() + ":" + namespace.getCaseSensitiveness().normalize(title);
@@ -213,6 +248,16 @@ public class WikiConfiguration {
    */
   private Map<String, MagicWord> magicWords;
 
+  /**
+   * Matcher for function magic words.
+   */
+  private MagicWordMatcher functionMagicWordMatcher;
+
+  /**
+   * Matcher for image magic words.
+   */
+  private MagicWordMatcher imgMagicWordMatcher;
+
   /**
    * @param name Magic word name.
    * @return Magic word.
@@ -246,20 +291,10 @@ public class WikiConfiguration {
    * @return Matching Magic Word if the text is an alias for a Function Magic Word.
    */
   public MagicWord getFunctionMagicWord(String text, boolean colon) {
-    List<String> functionMagicWords = MagicWord.getFunctionMagicWords();
-    String colonText = text + ":";
-    for (String functionMagicWord : functionMagicWords) {
-      MagicWord magicWord = getMagicWordByName(functionMagicWord);
-      if (magicWord != null) {
-        if (magicWord.isPossibleAlias(text)) {
-          return magicWord;
-        }
-        if (colon && magicWord.isPossibleAlias(colonText)) {
-          return magicWord;
-        }
-      }
+    if (functionMagicWordMatcher == null) {
+      return null;
     }
-    return null;
+    return functionMagicWordMatcher.getMagicWord(text, colon);
   }
 
   /**
@@ -267,14 +302,10 @@ public class WikiConfiguration {
    * @return Matching Magic Word if the text is an alias for a Image Magic Word.
    */
   public MagicWord getImgMagicWord(String text) {
-    List<String> imgMagicWords = MagicWord.getImgMagicWords();
-    for (String imgMagicWord : imgMagicWords) {
-      MagicWord magicWord = getMagicWordByName(imgMagicWord);
-      if ((magicWord != null) && magicWord.isPossibleAlias(text)) {
-        return magicWord;
-      }
+    if (imgMagicWordMatcher == null) {
+      return null;
     }
-    return null;
+    return imgMagicWordMatcher.getMagicWord(text);
   }
 
   /**
@@ -282,5 +313,22 @@ public class WikiConfiguration {
    */
   public void setMagicWords(Map<String, MagicWord> magicWords) {
     this.magicWords = magicWords;
+    this.functionMagicWordMatcher = createMagicWordMatcher(MagicWord.getFunctionMagicWords());
+    this.imgMagicWordMatcher = createMagicWordMatcher(MagicWord.getImgMagicWords());
+  }
+
+  /**
+   * @param names Magic word names.
+   * @return Matcher for the magic words.
+   */
+  private MagicWordMatcher createMagicWordMatcher(List<String> names) {
+    List<MagicWord> tmpMagicWords = new ArrayList<MagicWord>(names.size());
+    for (String name : names) {
+      MagicWord magicWord = getMagicWordByName(name);
+      if (magicWord != null) {
+        tmpMagicWords.add(magicWord);
+      }
+    }
+    return new MagicWordMatcher(tmpMagicWords);
   }
 }
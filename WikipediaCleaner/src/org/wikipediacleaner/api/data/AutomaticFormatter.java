@@ -304,6 +304,7 @@ public class AutomaticFormatter {
     PageAnalysis analysis = page.getAnalysis(contents, true);
 
     // Analyze each default sort
+    TextPatch patch = new TextPatch();
     for (PageElementFunction function : analysis.getDefaultSorts()) {
 
       // Count carriage returns after default sort
@@ -327,12 +328,13 @@ public class AutomaticFormatter {
           ((nbCr < min) || (nbCr > max))) {
         PageElementCategory category = analysis.isInCategory(index);
         if (category != null) {
-          contents = changeCharacters(
-              contents, function.getEndIndex(), '\n',
-              normalizeValue(nbCr, min, max), category.getBeginIndex());
+          patch.addEdit(
+              function.getEndIndex(), category.getBeginIndex(),
+              repeatCharacter('\n', normalizeValue(nbCr, min, max)));
         }
       }
     }
+    contents = patch.apply(contents);
 
     return contents;
   }
@@ -664,11 +666,25 @@ public class AutomaticFormatter {
    */
   private static String changeCharacters(
       String contents, int begin, char character, int count, int end) {
-    StringBuilder sb = new StringBuilder(contents.substring(0, begin));
+    StringBuilder sb = new StringBuilder(contents.length() - (end - begin) + count);
+    sb.append(contents, 0, begin);
+    for (int i = 0; i < count; i++) {
+      sb.append(character);
+    }
+    sb.append(contents, end, contents.length());
+    return sb.toString();
+  }
+
+  /**
+   * @param character Character.
+   * @param count Number of characters.
+   * @return String made of the character repeated.
+   */
+  private static String repeatCharacter(char character, int count) {
+    StringBuilder sb = new StringBuilder(count);
     for (int i = 0; i < count; i++) {
       sb.append(character);
     }
-    sb.append(contents.substring(end));
     return sb.toString();
   }
 
@@ -10,7 +10,10 @@ package org.wikipediacleaner.api.data;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.utils.Configuration;
@@ -36,13 +39,9 @@ public class DataManager {
 
     // Check in the known pages
     if (knownPages != null) {
-      for (Page page : knownPages) {
-        if ((page != null) &&
-            (page.getWikipedia() == wikipedia) &&
-            (Page.areSameTitle(page.getTitle(), title)) &&
-            ((revisionId == null) || (revisionId.equals(page.getRevisionId().toString())))) {
-          return page;
-        }
+      Page page = getKnownPage(wikipedia, title, revisionId, knownPages);
+      if (page != null) {
+        return page;
       }
     }
 
@@ -56,13 +55,9 @@ public class DataManager {
       int colonIndex = page.getTitle().indexOf(':');
       if (colonIndex > 0) {
         String namespaceText = page.getTitle().substring(0, colonIndex);
-        List<Namespace> namespaces = wikipedia.getWikiConfiguration().getNamespaces();
-        if (namespaces != null) {
-          for (Namespace namespace : namespaces) {
-            if (namespace.isPossibleName(namespaceText)) {
-              page.setNamespace(namespace.getId());
-            }
-          }
+        Namespace namespace = wikipedia.getWikiConfiguration().getNamespaceByName(namespaceText);
+        if (namespace != null) {
+          page.setNamespace(namespace.getId());
         }
       }
       if (page.getNamespace() == null) {
@@ -71,16 +66,139 @@ public class DataManager {
     }
 
     // Manage comments
-    Configuration config = Configuration.getConfiguration();
-    Object comment = config.getPojo(
-        wikipedia, Configuration.POJO_PAGE_COMMENTS, page.getTitle(), PageComment.class);
-    if (comment instanceof PageComment) {
-      page.setComment((PageComment) comment);
+    PageComment comment = getPageComment(wikipedia, page.getTitle());
+    if (comment != null) {
+      page.setComment(comment);
     }
 
     return page;
   }
 
+  // ==========================================================================
+  // Known pages
+  // ==========================================================================
+
+  /**
+   * Find a page in a list of known pages.
+   * 
+   * When the list is a KnownPages, its index by normalized title is used.
+   * 
+   * @param wikipedia Wikipedia.
+   * @param title Page title.
+   * @param revisionId Revision id.
+   * @param knownPages Already known pages.
+   * @return Known page matching the title and revision id if any.
+   */
+  private static Page getKnownPage(
+      EnumWikipedia wikipedia,
+      String title, String revisionId,
+      List<Page> knownPages) {
+    if (knownPages instanceof KnownPages) {
+      String normalizedTitle = Page.normalizeTitle(title);
+      if (normalizedTitle == null) {
+        return null;
+      }
+      return ((KnownPages) knownPages).getPage(wikipedia, normalizedTitle, revisionId);
+    }
+    for (Page page : knownPages) {
+      if ((page != null) &&
+          (page.getWikipedia() == wikipedia) &&
+          (Page.areSameTitle(page.getTitle(), title)) &&
+          ((revisionId == null) || (revisionId.equals(page.getRevisionId().toString())))) {
+        return page;
+      }
+    }
+    return null;
+  }
+
+  // ==========================================================================
+  // Page comments
+  // ==========================================================================
+
+  /**
+   * Page comments for each wiki, loaded once from the configuration.
+   */
+  private final static Map<EnumWikipedia, Map<String, PageComment>> pageComments =
+      new EnumMap<EnumWikipedia, Map<String, PageComment>>(EnumWikipedia.class);
+
+  /**
+   * @param wikipedia Wikipedia.
+   * @return Page comments for the wiki.
+   */
+  private static Map<String, PageComment> getPageComments(EnumWikipedia wikipedia) {
+    Map<String, PageComment> comments = pageComments.get(wikipedia);
+    if (comments == null) {
+      comments = new HashMap<String, PageComment>();
+      Configuration config = Configuration.getConfiguration();
+      Map<String, Object> pojos = config.getPojoMap(
+          wikipedia, Configuration.POJO_PAGE_COMMENTS, PageComment.class);
+      for (Map.Entry<String, Object> pojo : pojos.entrySet()) {
+        if (pojo.getValue() instanceof PageComment) {
+          comments.put(pojo.getKey(), (PageComment) pojo.getValue());
+        }
+      }
+      pageComments.put(wikipedia, comments);
+    }
+    return comments;
+  }
+
+  /**
+   * @param wikipedia Wikipedia.
+   * @param title Page title.
+   * @return Comment for the page if any.
+   */
+  private static PageComment getPageComment(EnumWikipedia wikipedia, String title) {
+    if ((wikipedia == null) || (title == null)) {
+      return null;
+    }
+    synchronized (pageComments) {
+      return getPageComments(wikipedia).get(title);
+    }
+  }
+
+  /**
+   * Memorize the comment of a page.
+   * 
+   * @param page Page.
+   * @param comment Comment.
+   */
+  public static void addPageComment(Page page, PageComment comment) {
+    if ((page == null) || (comment == null)) {
+      return;
+    }
+    page.setComment(comment);
+    synchronized (pageComments) {
+      Configuration config = Configuration.getConfiguration();
+      config.addPojo(page.getWikipedia(), Configuration.POJO_PAGE_COMMENTS, comment, page.getTitle());
+      if ((page.getWikipedia() != null) && (page.getTitle() != null)) {
+        getPageComments(page.getWikipedia()).put(page.getTitle(), comment);
+      }
+    }
+  }
+
+  /**
+   * Forget the comment of a page.
+   * 
+   * @param page Page.
+   */
+  public static void removePageComment(Page page) {
+    if (page == null) {
+      return;
+    }
+    page.setComment(null);
+    synchronized (pageComments) {
+      Configuration config = Configuration.getConfiguration();
+      config.removePojo(page.getWikipedia(), Configuration.POJO_PAGE_COMMENTS, page.getTitle());
+      if ((page.getWikipedia() != null) && (page.getTitle() != null)) {
+        getPageComments(page.getWikipedia()).remove(page.getTitle());
+      }
+    }
+  }
+
+  // ==========================================================================
+  // Dates
+  // ==========================================================================
+
   /**
    * Date formatter for ISO 8601 Date and Time.
    */
@@ -98,4 +216,16 @@ public class DataManager {
       return iso8601DateTime.parse(date);
     }
   }
+
+  /**
+   * Format a date in ISO 8601 format.
+   * 
+   * @param date Date.
+   * @return Date in ISO 8601 format (as read by convertIso8601DateTime).
+   */
+  public static String formatIso8601DateTime(Date date) {
+    synchronized (iso8601DateTime) {
+      return iso8601DateTime.format(date);
+    }
+  }
 }
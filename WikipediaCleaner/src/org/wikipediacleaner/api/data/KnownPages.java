@@ -0,0 +1,128 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.data;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+
+
+/**
+ * List of already known pages, indexed by normalized title.
+ *
+ * The index is built when needed and kept as long as the list
+ * and the titles of the pages are not modified.
+ */
+public class KnownPages extends ArrayList<Page> {
+
+  private static final long serialVersionUID = -4514786342381206931L;
+
+  /**
+   * Lock for the index.
+   */
+  private final transient Object indexLock = new Object();
+
+  /**
+   * Index of the pages by normalized title (in the order of the list).
+   */
+  private transient Map<String, List<Page>> index;
+
+  /**
+   * Modification count of the list when the index was built.
+   */
+  private transient int indexedModCount;
+
+  /**
+   * Modification count of page titles when the index was built.
+   */
+  private transient int indexedTitleModifications;
+
+  /**
+   * Create an empty list of known pages.
+   */
+  public KnownPages() {
+    super();
+  }
+
+  /**
+   * @param initialCapacity Initial capacity of the list.
+   */
+  public KnownPages(int initialCapacity) {
+    super(initialCapacity);
+  }
+
+  /**
+   * Replace a page in the list.
+   *
+   * @param index Index of the page.
+   * @param page New page.
+   * @return Page previously in the list.
+   * @see java.util.ArrayList#set(int, java.lang.Object)
+   */
+  @Override
+  public Page set(int index, Page page) {
+    // Replacing a page is not a structural modification for ArrayList
+    modCount++;
+    return super.set(index, page);
+  }
+
+  /**
+   * Find a page in the list.
+   *
+   * @param wikipedia Wikipedia.
+   * @param normalizedTitle Normalized page title.
+   * @param revisionId Revision id.
+   * @return Page matching the title and revision id if any.
+   */
+  Page getPage(
+      EnumWikipedia wikipedia,
+      String normalizedTitle, String revisionId) {
+    synchronized (indexLock) {
+      if ((index == null) ||
+          (indexedModCount != modCount) ||
+          (indexedTitleModifications != Page.getTitleModifications())) {
+        buildIndex();
+      }
+      List<Page> pages = index.get(normalizedTitle);
+      if (pages != null) {
+        for (Page page : pages) {
+          if ((page.getWikipedia() == wikipedia) &&
+              ((revisionId == null) || (revisionId.equals(page.getRevisionId().toString())))) {
+            return page;
+          }
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Build the index of the pages by normalized title.
+   */
+  private void buildIndex() {
+    indexedModCount = modCount;
+    indexedTitleModifications = Page.getTitleModifications();
+    index = new HashMap<String, List<Page>>(size() * 2);
+    for (Page page : this) {
+      if (page != null) {
+        String normalizedTitle = Page.normalizeTitle(page.getTitle());
+        if (normalizedTitle != null) {
+          List<Page> pages = index.get(normalizedTitle);
+          if (pages == null) {
+            pages = new ArrayList<Page>(1);
+            index.put(normalizedTitle, pages);
+          }
+          pages.add(page);
+        }
+      }
+    }
+  }
+}
@@ -9,6 +9,8 @@ package org.wikipediacleaner.api.data;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 
 /**
@@ -31,6 +33,16 @@ public class MagicWord implements Comparable<MagicWord> {
    */
   private boolean caseSensitive;
 
+  /**
+   * Flag indicating if the magic word can be used with a #.
+   */
+  private final boolean sharp;
+
+  /**
+   * Patterns for aliases with $1 (same order as aliases, null for other aliases).
+   */
+  private final Pattern[] aliasPatterns;
+
   public final static String ABBREVIATE                  = "abbreviate";
   public final static String ARTICLE_PATH                = "articlepath";
   public final static String ANCHOR_ENCODE               = "anchorencode";
@@ -432,6 +444,24 @@ public class MagicWord implements Comparable<MagicWord> {
     this.name = name;
     this.aliases = aliases;
     this.caseSensitive = caseSensitive;
+    boolean tmpSharp = false;
+    for (String magicWord : sharpMagicWords) {
+      if (magicWord.equals(name)) {
+        tmpSharp = true;
+      }
+    }
+    this.sharp = tmpSharp;
+    this.aliasPatterns = new Pattern[(aliases != null) ? aliases.size() : 0];
+    for (int i = 0; i < aliasPatterns.length; i++) {
+      String alias = aliases.get(i);
+      if ((alias != null) && alias.contains("$1")) {
+        try {
+          aliasPatterns[i] = Pattern.compile(alias.replaceAll("\\$1", ".*"));
+        } catch (PatternSyntaxException e) {
+          // Alias will never match
+        }
+      }
+    }
   }
 
   /**
@@ -448,6 +478,51 @@ public class MagicWord implements Comparable<MagicWord> {
     return aliases;
   }
 
+  /**
+   * @return Flag indicating if the name is case sensitive.
+   */
+  public boolean isCaseSensitive() {
+    return caseSensitive;
+  }
+
+  /**
+   * @return Flag indicating if the magic word can be used with a #.
+   */
+  public boolean isSharp() {
+    return sharp;
+  }
+
+  /**
+   * @return Flag indicating if some aliases contain $1.
+   */
+  boolean hasPatternAliases() {
+    for (Pattern aliasPattern : aliasPatterns) {
+      if (aliasPattern != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @param text Text to check.
+   * @return Flag indicating if the text matches an alias containing $1.
+   */
+  boolean isPossiblePatternAlias(String text) {
+    if (text == null) {
+      return false;
+    }
+    if (sharp && (text.length() > 0) && (text.charAt(0) == '#')) {
+      text = text.substring(1);
+    }
+    for (Pattern aliasPattern : aliasPatterns) {
+      if ((aliasPattern != null) && aliasPattern.matcher(text).matches()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * @param text Text to check.
    * @return Flag indicating if the text is a possible alias.
@@ -465,20 +540,18 @@ public class MagicWord implements Comparable<MagicWord> {
     if (text == null) {
       return false;
     }
-    if ((text.length() > 0) && (text.charAt(0) == '#')) {
-      boolean sharp = false;
-      for (String magicWord : sharpMagicWords) {
-        if (magicWord.equals(name)) {
-          sharp = true;
-        }
-      }
-      if (sharp) {
-        text = text.substring(1);
-      }
+    if (sharp && (text.length() > 0) && (text.charAt(0) == '#')) {
+      text = text.substring(1);
     }
-    for (String alias : aliases) {
+    boolean anyPattern = ".*".equals(pattern);
+    for (int i = 0; i < aliases.size(); i++) {
+      String alias = aliases.get(i);
       if (alias.contains("$1")) {
-        if (text.matches(alias.replaceAll("\\$1", pattern))) {
+        if (anyPattern && (i < aliasPatterns.length)) {
+          if ((aliasPatterns[i] != null) && aliasPatterns[i].matcher(text).matches()) {
+            return true;
+          }
+        } else if (text.matches(alias.replaceAll("\\$1", pattern))) {
           return true;
         }
       } else if (alias.equals(text)) {
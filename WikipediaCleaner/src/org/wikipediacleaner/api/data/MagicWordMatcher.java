@@ -0,0 +1,181 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.data;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Matcher for finding which magic word of a list a text is an alias for.
+ *
+ * Aliases without $1 are found with a lookup in hash maps,
+ * only aliases with $1 need to be checked one by one.
+ * The result is the same as checking each magic word of the list in order
+ * with {@link MagicWord#isPossibleAlias(String)}.
+ */
+public class MagicWordMatcher {
+
+  /**
+   * Magic words (in order).
+   */
+  private final MagicWord[] magicWords;
+
+  /**
+   * Aliases of magic words that can't be used with a #.
+   */
+  private final Map<String, Integer> aliases;
+
+  /**
+   * Aliases (case folded) of case insensitive magic words that can't be used with a #.
+   */
+  private final Map<String, Integer> foldedAliases;
+
+  /**
+   * Aliases of magic words that can be used with a #.
+   */
+  private final Map<String, Integer> sharpAliases;
+
+  /**
+   * Aliases (case folded) of case insensitive magic words that can be used with a #.
+   */
+  private final Map<String, Integer> foldedSharpAliases;
+
+  /**
+   * Positions of the magic words with aliases containing $1 (in order).
+   */
+  private final int[] patternMagicWords;
+
+  /**
+   * @param magicWords Magic words (in order).
+   */
+  public MagicWordMatcher(List<MagicWord> magicWords) {
+    this.magicWords = magicWords.toArray(new MagicWord[magicWords.size()]);
+    this.aliases = new HashMap<String, Integer>();
+    this.foldedAliases = new HashMap<String, Integer>();
+    this.sharpAliases = new HashMap<String, Integer>();
+    this.foldedSharpAliases = new HashMap<String, Integer>();
+    int[] tmpPatternMagicWords = new int[this.magicWords.length];
+    int patternCount = 0;
+    for (int num = 0; num < this.magicWords.length; num++) {
+      MagicWord magicWord = this.magicWords[num];
+      Integer position = Integer.valueOf(num);
+      Map<String, Integer> tmpAliases = magicWord.isSharp() ? sharpAliases : aliases;
+      Map<String, Integer> tmpFoldedAliases = magicWord.isSharp() ? foldedSharpAliases : foldedAliases;
+      if (magicWord.getAliases() != null) {
+        for (String alias : magicWord.getAliases()) {
+          if ((alias != null) && !alias.contains("$1")) {
+            if (!tmpAliases.containsKey(alias)) {
+              tmpAliases.put(alias, position);
+            }
+            if (!magicWord.isCaseSensitive()) {
+              String foldedAlias = foldCase(alias);
+              if (!tmpFoldedAliases.containsKey(foldedAlias)) {
+                tmpFoldedAliases.put(foldedAlias, position);
+              }
+            }
+          }
+        }
+      }
+      if (magicWord.hasPatternAliases()) {
+        tmpPatternMagicWords[patternCount] = num;
+        patternCount++;
+      }
+    }
+    this.patternMagicWords = new int[patternCount];
+    System.arraycopy(tmpPatternMagicWords, 0, this.patternMagicWords, 0, patternCount);
+  }
+
+  /**
+   * @param text Text.
+   * @return First magic word for which the text is a possible alias.
+   */
+  public MagicWord getMagicWord(String text) {
+    int position = getPosition(text, magicWords.length);
+    return (position < magicWords.length) ? magicWords[position] : null;
+  }
+
+  /**
+   * @param text Text.
+   * @param colon True if a colon can be added to the text.
+   * @return First magic word for which the text (or the text with a colon) is a possible alias.
+   */
+  public MagicWord getMagicWord(String text, boolean colon) {
+    int position = getPosition(text, magicWords.length);
+    if (colon && (text != null)) {
+      position = getPosition(text + ":", position);
+    }
+    return (position < magicWords.length) ? magicWords[position] : null;
+  }
+
+  /**
+   * @param text Text.
+   * @param maxPosition Position of the best magic word already found.
+   * @return Position of the first magic word for which the text is a possible alias.
+   */
+  private int getPosition(String text, int maxPosition) {
+    if (text == null) {
+      return maxPosition;
+    }
+    int position = maxPosition;
+
+    // Magic words that can't be used with a #
+    position = getPosition(aliases, text, position);
+    if (!foldedAliases.isEmpty()) {
+      position = getPosition(foldedAliases, foldCase(text), position);
+    }
+
+    // Magic words that can be used with a #
+    String sharpText = text;
+    if ((text.length() > 0) && (text.charAt(0) == '#')) {
+      sharpText = text.substring(1);
+    }
+    position = getPosition(sharpAliases, sharpText, position);
+    if (!foldedSharpAliases.isEmpty()) {
+      position = getPosition(foldedSharpAliases, foldCase(sharpText), position);
+    }
+
+    // Aliases with $1
+    for (int num : patternMagicWords) {
+      if (num >= position) {
+        break;
+      }
+      if (magicWords[num].isPossiblePatternAlias(text)) {
+        return num;
+      }
+    }
+    return position;
+  }
+
+  /**
+   * @param aliasMap Aliases.
+   * @param text Text.
+   * @param maxPosition Position of the best magic word already found.
+   * @return Position of the best magic word.
+   */
+  private static int getPosition(Map<String, Integer> aliasMap, String text, int maxPosition) {
+    Integer position = aliasMap.get(text);
+    if ((position != null) && (position.intValue() < maxPosition)) {
+      return position.intValue();
+    }
+    return maxPosition;
+  }
+
+  /**
+   * @param text Text.
+   * @return Text with case folded the same way as String.equalsIgnoreCase().
+   */
+  private static String foldCase(String text) {
+    char[] chars = text.toCharArray();
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+    }
+    return new String(chars);
+  }
+}
@@ -15,9 +15,12 @@ import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.wikipediacleaner.api.constants.EnumCaseSensitiveness;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.constants.WPCConfiguration;
 import org.wikipediacleaner.api.constants.WikiConfiguration;
@@ -95,29 +98,142 @@ public class Page implements Comparable<Page> {
     if ((title1 == null) || (title2 == null)) {
       return false;
     }
+    if (title1.equals(title2)) {
+      return true;
+    }
     title1 = normalizeTitle(title1);
     title2 = normalizeTitle(title2);
     return title1.equals(title2);
   }
 
+  /**
+   * Maximum number of titles kept in the cache of normalized titles.
+   */
+  private final static int MAX_NORMALIZED_TITLES = 100000;
+
+  /**
+   * Cache of normalized titles.
+   * 
+   * Each normalized title is associated to itself and to the titles normalized into it,
+   * so that the same instance is shared by all titles normalized into the same title.
+   */
+  private final static ConcurrentHashMap<String, String> normalizedTitles = new ConcurrentHashMap<String, String>();
+
   /**
    * @param pageTitle Title.
    * @return Normalized title.
    */
   public static String normalizeTitle(String pageTitle) {
-    // TODO: should be by Wiki (capitalization of first letter)
+    return normalizeTitle(pageTitle, EnumCaseSensitiveness.FIRST_LETTER);
+  }
+
+  /**
+   * @param pageTitle Title.
+   * @param caseSensitiveness Case sensitiveness for the first letter of the title.
+   * @return Normalized title.
+   */
+  public static String normalizeTitle(
+      String pageTitle, EnumCaseSensitiveness caseSensitiveness) {
     if (pageTitle == null) {
       return null;
     }
-    String result = pageTitle.trim();
-    result = result.replaceAll(" ", " ");
-    result = result.replaceAll("_", " ");
-    result = result.replaceAll(" +", " ");
-    result = result.trim();
-    result = Page.getStringUcFirst(result);
+    if (caseSensitiveness == EnumCaseSensitiveness.CASE_SENSITIVE) {
+      return normalizeTitle(pageTitle, false);
+    }
+    String result = normalizedTitles.get(pageTitle);
+    if (result == null) {
+      String normalized = normalizeTitle(pageTitle, true);
+      if (normalizedTitles.size() >= MAX_NORMALIZED_TITLES) {
+        normalizedTitles.clear();
+      }
+      result = normalizedTitles.putIfAbsent(normalized, normalized);
+      if (result == null) {
+        result = normalized;
+      }
+      if (normalized != pageTitle) {
+        normalizedTitles.put(pageTitle, result);
+      }
+    }
     return result;
   }
 
+  /**
+   * Normalize a title: trim, replace non-breaking spaces and underscores by spaces,
+   * replace consecutive spaces by a single space.
+   * 
+   * @param pageTitle Title.
+   * @param ucFirst True if the first letter should be upper case.
+   * @return Normalized title (the title itself if it is already normalized).
+   */
+  private static String normalizeTitle(String pageTitle, boolean ucFirst) {
+
+    // Find the trimmed part
+    int length = pageTitle.length();
+    int begin = 0;
+    while ((begin < length) && isTitleSpace(pageTitle.charAt(begin))) {
+      begin++;
+    }
+    int end = length;
+    while ((end > begin) && isTitleSpace(pageTitle.charAt(end - 1))) {
+      end--;
+    }
+    if (begin >= end) {
+      return (length > 0) ? "" : pageTitle;
+    }
+
+    // Check if the title is already normalized
+    boolean normalized = (begin == 0) && (end == length);
+    boolean previousSpace = false;
+    for (int index = begin; normalized && (index < end); index++) {
+      char currentChar = pageTitle.charAt(index);
+      if (currentChar == ' ') {
+        normalized = !previousSpace;
+        previousSpace = true;
+      } else {
+        normalized = (currentChar != '\u00A0') && (currentChar != '_');
+        previousSpace = false;
+      }
+    }
+    if (normalized &&
+        (!ucFirst || !Character.isLowerCase(pageTitle.charAt(0)))) {
+      return pageTitle;
+    }
+
+    // Normalize the title
+    char[] buffer = new char[end - begin];
+    int count = 0;
+    previousSpace = false;
+    for (int index = begin; index < end; index++) {
+      char currentChar = pageTitle.charAt(index);
+      if ((currentChar == '\u00A0') || (currentChar == '_')) {
+        currentChar = ' ';
+      }
+      if (currentChar == ' ') {
+        if (!previousSpace) {
+          buffer[count] = currentChar;
+          count++;
+        }
+        previousSpace = true;
+      } else {
+        buffer[count] = currentChar;
+        count++;
+        previousSpace = false;
+      }
+    }
+    if (ucFirst && Character.isLowerCase(buffer[0])) {
+      buffer[0] = Character.toUpperCase(buffer[0]);
+    }
+    return new String(buffer, 0, count);
+  }
+
+  /**
+   * @param character Character.
+   * @return True if the character is removed at the beginning and end of titles.
+   */
+  private static boolean isTitleSpace(char character) {
+    return (character <= ' ') || (character == '\u00A0') || (character == '_');
+  }
+
   /**
    * @return Page id.
    */
@@ -223,10 +339,25 @@ public class Page implements Comparable<Page> {
     return title;
   }
 
+  /**
+   * Number of modifications of page titles.
+   */
+  private final static AtomicInteger titleModifications = new AtomicInteger();
+
+  /**
+   * @return Number of modifications of page titles (to detect outdated indexes by title).
+   */
+  static int getTitleModifications() {
+    return titleModifications.get();
+  }
+
   /**
    * @param title Title.
    */
   public void setTitle(String title) {
+    if ((title == null) ? (this.title != null) : !title.equals(this.title)) {
+      titleModifications.incrementAndGet();
+    }
     this.title = title;
   }
 
@@ -994,13 +1125,13 @@ public class Page implements Comparable<Page> {
    * @param update True to update the analysis stored with the page.
    * @return Page analysis for the current page contents.
    */
-  public PageAnalysis getAnalysis(String currentContents, boolean update) {
+  public synchronized PageAnalysis getAnalysis(String currentContents, boolean update) {
     if (currentContents == null) {
       return new PageAnalysis(this, null);
     }
     PageAnalysis result = null;
     if ((analysis == null) || (!currentContents.equals(analysis.getContents()))) {
-      result = new PageAnalysis(this, currentContents);
+      result = new PageAnalysis(this, currentContents, analysis);
       if ((update) || (analysis == null)) {
         analysis = result;
       }
@@ -8,6 +8,7 @@
 package org.wikipediacleaner.api.data;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -42,14 +43,32 @@ public class PageAnalysis {
    */
   private boolean checkSpelling;
 
+  /**
+   * Previous analysis of the page, used for analyzing only the modified parts of the text.
+   */
+  private PageAnalysis previousAnalysis;
+
   /**
    * @param page Page.
    * @param contents Page contents (may differ from page.getContents()).
    */
   PageAnalysis(Page page, String contents) {
+    this(page, contents, null);
+  }
+
+  /**
+   * @param page Page.
+   * @param contents Page contents (may differ from page.getContents()).
+   * @param previous Previous analysis of the page (may be null).
+   */
+  PageAnalysis(Page page, String contents, PageAnalysis previous) {
     this.page = page;
     this.contents = (contents != null) ? contents : page.getContents();
     this.areas = new PageElementAreas();
+    if ((previous != null) && (previous.page == page) &&
+        (previous.thirdLevelAreas != null)) {
+      this.previousAnalysis = previous;
+    }
 
     // Default configuration
     Configuration config = Configuration.getConfiguration();
@@ -363,6 +382,9 @@ public class PageAnalysis {
 
       // Update areas of non wiki text
       areas.addComments(comments);
+
+      // Index elements
+      commentIndex = new PageElementIndex<PageElementComment>(comments);
     }
   }
 
@@ -426,6 +448,9 @@ public class PageAnalysis {
 
       // Update areas of non wiki text
       areas.addTags(tags);
+
+      // Index elements
+      tagIndex = new PageElementIndex<PageElementTag>(tags);
     }
   }
 
@@ -438,44 +463,19 @@ public class PageAnalysis {
         return;
       }
       secondLevelAnalysis();
-      internalLinks = new ArrayList<PageElementInternalLink>();
-      images = new ArrayList<PageElementImage>();
-      categories = new ArrayList<PageElementCategory>();
-      interwikiLinks = new ArrayList<PageElementInterwikiLink>();
-      languageLinks = new ArrayList<PageElementLanguageLink>();
-      functions = new ArrayList<PageElementFunction>();
-      magicWords = new ArrayList<PageElementMagicWord>();
-      templates = new ArrayList<PageElementTemplate>();
-      parameters = new ArrayList<PageElementParameter>();
-      titles = new ArrayList<PageElementTitle>();
-      externalLinks = new ArrayList<PageElementExternalLink>();
 
-      // Go through all the text of the page
-      int maxIndex = (contents != null) ? contents.length() : 0;
-      int currentIndex = 0;
-      while (currentIndex < maxIndex) {
+      // Analyze only the modified parts of the text if possible
+      PageAnalysis previous = previousAnalysis;
+      previousAnalysis = null;
+      boolean done = false;
+      if (previous != null) {
+        done = thirdLevelIncrementalAnalysis(previous);
+      }
 
-        // Checking if the current index is in wiki text area.
-        int nextIndex = areas.getEndArea(currentIndex);
-        if (nextIndex > currentIndex) {
-          currentIndex = nextIndex;
-        } else {
-          if (contents.startsWith("[[", currentIndex)) {
-            currentIndex = analyze2SquareBrackets(currentIndex);
-          } else if (contents.startsWith("[", currentIndex)) {
-            currentIndex = analyze1SquareBracket(currentIndex);
-          } else if (contents.startsWith("{{{", currentIndex)) {
-            currentIndex = analyze3CurlyBrackets(currentIndex);
-          } else if (contents.startsWith("{{", currentIndex)) {
-            currentIndex = analyze2CurlyBrackets(currentIndex);
-          } else if (contents.startsWith("=", currentIndex)) {
-            currentIndex = analyze1Equal(currentIndex);
-          } else if (contents.startsWith("__", currentIndex)) {
-            currentIndex = analyze2Undescore(currentIndex);
-          } else {
-            currentIndex = analyzeText(currentIndex);
-          }
-        }
+      // Go through all the text of the page
+      if (!done) {
+        initializeThirdLevel();
+        analyzeThirdLevel(0, (contents != null) ? contents.length() : 0);
       }
 
       // Update areas of non wiki text
@@ -490,7 +490,472 @@ public class PageAnalysis {
       areas.addParameters(parameters);
       areas.addTitles(titles);
       areas.addExternalLinks(externalLinks);
+
+      // Index elements
+      internalLinkIndex = new PageElementIndex<PageElementInternalLink>(internalLinks);
+      imageIndex = new PageElementIndex<PageElementImage>(images);
+      categoryIndex = new PageElementIndex<PageElementCategory>(categories);
+      interwikiLinkIndex = new PageElementIndex<PageElementInterwikiLink>(interwikiLinks);
+      languageLinkIndex = new PageElementIndex<PageElementLanguageLink>(languageLinks);
+      templateIndex = new PageElementIndex<PageElementTemplate>(templates);
+      foundTemplateIndex = null;
+      functionIndex = new PageElementIndex<PageElementFunction>(functions);
+      defaultSortIndex = new PageElementIndex<PageElementFunction>(getDefaultSorts());
+      magicWordIndex = new PageElementIndex<PageElementMagicWord>(magicWords);
+      parameterIndex = new PageElementIndex<PageElementParameter>(parameters);
+      titleIndex = new PageElementIndex<PageElementTitle>(titles);
+      externalLinkIndex = new PageElementIndex<PageElementExternalLink>(externalLinks);
+      thirdLevelAreas = areas.snapshot();
+    }
+  }
+
+  /**
+   * Initialize lists of elements for the third level analysis.
+   */
+  private void initializeThirdLevel() {
+    internalLinks = new ArrayList<PageElementInternalLink>();
+    images = new ArrayList<PageElementImage>();
+    categories = new ArrayList<PageElementCategory>();
+    interwikiLinks = new ArrayList<PageElementInterwikiLink>();
+    languageLinks = new ArrayList<PageElementLanguageLink>();
+    functions = new ArrayList<PageElementFunction>();
+    magicWords = new ArrayList<PageElementMagicWord>();
+    templates = new ArrayList<PageElementTemplate>();
+    foundTemplateIndex = null;
+    parameters = new ArrayList<PageElementParameter>();
+    titles = new ArrayList<PageElementTitle>();
+    externalLinks = new ArrayList<PageElementExternalLink>();
+    unmatchedOpenings = new ArrayList<Integer>();
+  }
+
+  /**
+   * Perform a third level analysis of a part of the page.
+   * 
+   * @param beginIndex Begin index of the part.
+   * @param endIndex End index of the part.
+   * @return True if the analysis stopped exactly at the end of the part.
+   */
+  private boolean analyzeThirdLevel(int beginIndex, int endIndex) {
+    int currentIndex = beginIndex;
+    while (currentIndex < endIndex) {
+
+      // Checking if the current index is in wiki text area.
+      int nextIndex = areas.getEndArea(currentIndex);
+      if (nextIndex > currentIndex) {
+        currentIndex = nextIndex;
+      } else {
+        if (contents.startsWith("[[", currentIndex)) {
+          currentIndex = analyze2SquareBrackets(currentIndex);
+        } else if (contents.startsWith("[", currentIndex)) {
+          currentIndex = analyze1SquareBracket(currentIndex);
+        } else if (contents.startsWith("{{{", currentIndex)) {
+          currentIndex = analyze3CurlyBrackets(currentIndex);
+        } else if (contents.startsWith("{{", currentIndex)) {
+          currentIndex = analyze2CurlyBrackets(currentIndex);
+        } else if (contents.startsWith("=", currentIndex)) {
+          currentIndex = analyze1Equal(currentIndex);
+        } else if (contents.startsWith("__", currentIndex)) {
+          currentIndex = analyze2Undescore(currentIndex);
+        } else {
+          currentIndex = analyzeText(currentIndex);
+        }
+      }
     }
+    return (currentIndex == endIndex);
+  }
+
+  // ==========================================================================
+  // Incremental analysis
+  // ==========================================================================
+
+  /**
+   * Non wiki text areas at the end of the third level analysis.
+   * Set only when the third level analysis is done,
+   * so that a next analysis can use it without waiting.
+   */
+  private volatile PageElementAreas thirdLevelAreas;
+
+  /**
+   * Positions of "[[", "{{" and "{{{" not resulting in an element.
+   * The analysis of these positions may have looked far after them.
+   */
+  private List<Integer> unmatchedOpenings;
+
+  /**
+   * Characters that may change the structure of the page when added or removed.
+   */
+  private final static String STRUCTURE_CHARACTERS = "[]{}|=<>_:\n";
+
+  /**
+   * Number of characters around a modification that must not be structure characters.
+   */
+  private final static int STRUCTURE_MARGIN = 3;
+
+  /**
+   * Perform a third level analysis of the page, re-analyzing only the modified parts.
+   * 
+   * Elements of the previous analysis outside the modified parts are kept
+   * (moved if needed), while the modified parts are analyzed again.
+   * This is possible only if the modifications don't change the analysis
+   * of the parts before them.
+   * 
+   * @param previous Previous analysis of the page (third level analysis done).
+   * @return True if the analysis has been done.
+   */
+  private boolean thirdLevelIncrementalAnalysis(PageAnalysis previous) {
+    if ((contents == null) || (previous.contents == null)) {
+      return false;
+    }
+
+    // Check that modifications don't change the structure of the page
+    TextPatch patch = TextPatch.createPatch(previous.contents, contents);
+    if (!isSameElements(previous.comments, comments, patch) ||
+        !isSameElements(previous.tags, tags, patch)) {
+      return false;
+    }
+    int[] changedAreas = previous.getChangedAreas(patch);
+    if (changedAreas == null) {
+      return false;
+    }
+
+    // Analyze the page, area by area
+    initializeThirdLevel();
+    List<List<? extends PageElement>> oldElements = previous.getThirdLevelElements();
+    List<List<? extends PageElement>> newElements = getThirdLevelElements();
+    int[] positions = new int[oldElements.size()];
+    int[] sizes = new int[newElements.size()];
+    int unmatchedPosition = 0;
+    int delta = 0;
+    for (int area = 0; area <= changedAreas.length; area += 4) {
+
+      // Keep elements before the changed area
+      int oldBegin = (area < changedAreas.length) ?
+          changedAreas[area] : previous.contents.length();
+      if (!copyThirdLevelElements(previous, positions, oldBegin, delta)) {
+        return false;
+      }
+      while ((unmatchedPosition < previous.unmatchedOpenings.size()) &&
+             (previous.unmatchedOpenings.get(unmatchedPosition).intValue() < oldBegin)) {
+        unmatchedOpenings.add(Integer.valueOf(
+            previous.unmatchedOpenings.get(unmatchedPosition).intValue() + delta));
+        unmatchedPosition++;
+      }
+
+      // Analyze again the changed area
+      if (area < changedAreas.length) {
+        int oldEnd = changedAreas[area + 1];
+        int newBegin = changedAreas[area + 2];
+        int newEnd = changedAreas[area + 3];
+        for (int num = 0; num < oldElements.size(); num++) {
+          List<? extends PageElement> elements = oldElements.get(num);
+          while ((positions[num] < elements.size()) &&
+                 (elements.get(positions[num]).getBeginIndex() < oldEnd)) {
+            positions[num]++;
+          }
+          sizes[num] = newElements.get(num).size();
+        }
+        while ((unmatchedPosition < previous.unmatchedOpenings.size()) &&
+               (previous.unmatchedOpenings.get(unmatchedPosition).intValue() < oldEnd)) {
+          unmatchedPosition++;
+        }
+        if (!analyzeThirdLevel(newBegin, newEnd)) {
+          return false;
+        }
+        for (int num = 0; num < newElements.size(); num++) {
+          List<? extends PageElement> elements = newElements.get(num);
+          for (int i = sizes[num]; i < elements.size(); i++) {
+            if (elements.get(i).getEndIndex() > newEnd) {
+              return false;
+            }
+          }
+        }
+        delta = newEnd - oldEnd;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return Lists of elements found by the third level analysis.
+   */
+  private List<List<? extends PageElement>> getThirdLevelElements() {
+    List<List<? extends PageElement>> result = new ArrayList<List<? extends PageElement>>();
+    result.add(internalLinks);
+    result.add(images);
+    result.add(categories);
+    result.add(interwikiLinks);
+    result.add(languageLinks);
+    result.add(templates);
+    result.add(functions);
+    result.add(magicWords);
+    result.add(parameters);
+    result.add(titles);
+    result.add(externalLinks);
+    return result;
+  }
+
+  /**
+   * Keep elements of the previous analysis in an area not modified.
+   * 
+   * @param previous Previous analysis of the page.
+   * @param positions Current positions in the lists of elements (same order as getThirdLevelElements()).
+   * @param endIndex End of the area in the previous text.
+   * @param delta Offset of the area in the current text.
+   * @return True if elements have been kept.
+   */
+  private boolean copyThirdLevelElements(
+      PageAnalysis previous, int[] positions, int endIndex, int delta) {
+    // Templates are needed before external links
+    positions[0] = copyElements(previous.internalLinks, positions[0], endIndex, delta, internalLinks);
+    positions[1] = copyElements(previous.images, positions[1], endIndex, delta, images);
+    positions[2] = copyElements(previous.categories, positions[2], endIndex, delta, categories);
+    positions[3] = copyElements(previous.interwikiLinks, positions[3], endIndex, delta, interwikiLinks);
+    positions[4] = copyElements(previous.languageLinks, positions[4], endIndex, delta, languageLinks);
+    positions[5] = copyElements(previous.templates, positions[5], endIndex, delta, templates);
+    positions[6] = copyElements(previous.functions, positions[6], endIndex, delta, functions);
+    positions[7] = copyElements(previous.magicWords, positions[7], endIndex, delta, magicWords);
+    positions[8] = copyElements(previous.parameters, positions[8], endIndex, delta, parameters);
+    positions[9] = copyElements(previous.titles, positions[9], endIndex, delta, titles);
+    positions[10] = copyElements(previous.externalLinks, positions[10], endIndex, delta, externalLinks);
+    for (int position : positions) {
+      if (position < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Keep elements of the previous analysis in an area not modified.
+   * 
+   * @param oldElements Elements of the previous analysis.
+   * @param position Current position in the elements of the previous analysis.
+   * @param endIndex End of the area in the previous text.
+   * @param delta Offset of the area in the current text.
+   * @param newElements Elements of the current analysis.
+   * @return Next position in the elements of the previous analysis (-1 if an element can't be kept).
+   */
+  @SuppressWarnings("unchecked")
+  private static <T extends PageElement> int copyElements(
+      List<T> oldElements, int position, int endIndex, int delta,
+      List<T> newElements) {
+    if (position < 0) {
+      return position;
+    }
+    while ((position < oldElements.size()) &&
+           (oldElements.get(position).getBeginIndex() < endIndex)) {
+      T oldElement = oldElements.get(position);
+      if (delta == 0) {
+        newElements.add(oldElement);
+      } else {
+        // Text of the element is the same, only its indexes need to be moved
+        PageElement newElement = oldElement.moveBy(delta);
+        if ((newElement == null) ||
+            (newElement.getClass() != oldElement.getClass())) {
+          return -1;
+        }
+        newElements.add((T) newElement);
+      }
+      position++;
+    }
+    return position;
+  }
+
+  /**
+   * @param oldElements Elements of the previous analysis.
+   * @param newElements Elements of the current analysis.
+   * @param patch Modifications between the previous text and the current text.
+   * @return True if the elements are the same, only moved by the modifications.
+   */
+  private static boolean isSameElements(
+      List<? extends PageElement> oldElements,
+      List<? extends PageElement> newElements,
+      TextPatch patch) {
+    if (oldElements.size() != newElements.size()) {
+      return false;
+    }
+    for (int i = 0; i < oldElements.size(); i++) {
+      PageElement oldElement = oldElements.get(i);
+      PageElement newElement = newElements.get(i);
+      if (!isSameElement(oldElement, newElement, patch)) {
+        return false;
+      }
+      if (oldElement instanceof PageElementTag) {
+        PageElementTag oldMatchingTag = ((PageElementTag) oldElement).getMatchingTag();
+        PageElementTag newMatchingTag = ((PageElementTag) newElement).getMatchingTag();
+        if ((oldMatchingTag != null) || (newMatchingTag != null)) {
+          if ((oldMatchingTag == null) || (newMatchingTag == null) ||
+              !isSameElement(oldMatchingTag, newMatchingTag, patch)) {
+            return false;
+          }
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @param oldElement Element of the previous analysis.
+   * @param newElement Element of the current analysis.
+   * @param patch Modifications between the previous text and the current text.
+   * @return True if the element is the same, only moved by the modifications.
+   */
+  private static boolean isSameElement(
+      PageElement oldElement, PageElement newElement, TextPatch patch) {
+    if (oldElement.getEndIndex() <= oldElement.getBeginIndex()) {
+      return false;
+    }
+    return (newElement.getBeginIndex() == patch.getNewIndex(oldElement.getBeginIndex())) &&
+           (newElement.getEndIndex() == patch.getNewIndex(oldElement.getEndIndex() - 1) + 1);
+  }
+
+  /**
+   * Compute the areas of the text that need to be analyzed again.
+   * 
+   * Each modification is extended to whole lines,
+   * and further until no element found by the analysis is cut.
+   * A modification changing the structure of the page (brackets, ...) is accepted
+   * only if no opening before it has been analyzed without resulting in an element,
+   * because the analysis of this opening could give a different result.
+   * 
+   * @param patch Modifications between the text and the current text.
+   * @return For each area, begin and end in the text, then begin and end in the current text.
+   *         Null if the whole text needs to be analyzed again.
+   */
+  private int[] getChangedAreas(TextPatch patch) {
+    List<PageElementIndex<? extends PageElement>> indexes =
+        new ArrayList<PageElementIndex<? extends PageElement>>();
+    indexes.add(commentIndex);
+    indexes.add(tagIndex);
+    indexes.add(internalLinkIndex);
+    indexes.add(imageIndex);
+    indexes.add(categoryIndex);
+    indexes.add(interwikiLinkIndex);
+    indexes.add(languageLinkIndex);
+    indexes.add(templateIndex);
+    indexes.add(functionIndex);
+    indexes.add(magicWordIndex);
+    indexes.add(parameterIndex);
+    indexes.add(titleIndex);
+    indexes.add(externalLinkIndex);
+
+    int firstUnmatched = unmatchedOpenings.isEmpty() ?
+        contents.length() : unmatchedOpenings.get(0).intValue();
+    List<TextEdit> edits = patch.getEdits();
+    int[] result = new int[4 * edits.size()];
+    int count = 0;
+    int delta = 0;
+    for (TextEdit edit : edits) {
+      int beginIndex = getUnchangedLineBeginning(edit.getBeginIndex(), indexes);
+      int endIndex = getUnchangedLineEnd(edit.getEndIndex(), indexes);
+      if ((firstUnmatched < beginIndex) && !isStructureKept(edit)) {
+        return null;
+      }
+      if ((count > 0) && (beginIndex <= result[count - 3])) {
+        result[count - 3] = Math.max(result[count - 3], endIndex);
+      } else {
+        result[count] = beginIndex;
+        result[count + 1] = endIndex;
+        result[count + 2] = beginIndex + delta;
+        count += 4;
+      }
+      delta += edit.getDelta();
+      result[count - 1] = result[count - 3] + delta;
+    }
+
+    // Check that analyzing again the areas is worth it
+    int length = 0;
+    for (int area = 0; area < count; area += 4) {
+      length += result[area + 1] - result[area];
+    }
+    if (length > contents.length() / 2) {
+      return null;
+    }
+    return Arrays.copyOf(result, count);
+  }
+
+  /**
+   * @param edit Modification of the text.
+   * @return True if the modification doesn't change the structure of the page.
+   */
+  private boolean isStructureKept(TextEdit edit) {
+    int beginIndex = Math.max(0, edit.getBeginIndex() - STRUCTURE_MARGIN);
+    int endIndex = Math.min(contents.length(), edit.getEndIndex() + STRUCTURE_MARGIN);
+    for (int index = beginIndex; index < endIndex; index++) {
+      if (STRUCTURE_CHARACTERS.indexOf(contents.charAt(index)) >= 0) {
+        return false;
+      }
+    }
+    String newText = edit.getNewText();
+    for (int index = 0; index < newText.length(); index++) {
+      if (STRUCTURE_CHARACTERS.indexOf(newText.charAt(index)) >= 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @param index Index in the text.
+   * @param indexes Indexes of elements.
+   * @return Beginning of a line before the index, not inside an element.
+   */
+  private int getUnchangedLineBeginning(
+      int index, List<PageElementIndex<? extends PageElement>> indexes) {
+    int result = contents.lastIndexOf('\n', index - 1) + 1;
+    while (result > 0) {
+      int beginIndex = thirdLevelAreas.getBeginArea(result);
+      for (PageElementIndex<? extends PageElement> elements : indexes) {
+        PageElement element = elements.getOutermost(result);
+        if (element != null) {
+          beginIndex = Math.min(beginIndex, element.getBeginIndex());
+        }
+      }
+      if (beginIndex >= result) {
+        return result;
+      }
+      result = contents.lastIndexOf('\n', beginIndex - 1) + 1;
+    }
+    return result;
+  }
+
+  /**
+   * @param index Index in the text.
+   * @param indexes Indexes of elements.
+   * @return Beginning of a line after the index, not inside an element.
+   */
+  private int getUnchangedLineEnd(
+      int index, List<PageElementIndex<? extends PageElement>> indexes) {
+    int result = getNextLineBeginning(index);
+    while (result < contents.length()) {
+      int endIndex = result;
+      if (thirdLevelAreas.getBeginArea(result) < result) {
+        endIndex = thirdLevelAreas.getEndArea(result);
+      }
+      for (PageElementIndex<? extends PageElement> elements : indexes) {
+        PageElement element = elements.getOutermost(result);
+        if ((element != null) && (element.getBeginIndex() < result)) {
+          endIndex = Math.max(endIndex, element.getEndIndex());
+        }
+      }
+      if (endIndex <= result) {
+        return result;
+      }
+      result = getNextLineBeginning(endIndex - 1);
+    }
+    return contents.length();
+  }
+
+  /**
+   * @param index Index in the text.
+   * @return Beginning of the line after the index.
+   */
+  private int getNextLineBeginning(int index) {
+    int result = contents.indexOf('\n', index);
+    if (result < 0) {
+      return contents.length();
+    }
+    return result + 1;
   }
 
   /**
@@ -508,6 +973,9 @@ public class PageAnalysis {
       areas.addISSN(issns);
       pmids = PageElementPMID.analyzePage(this);
       areas.addPMID(pmids);
+      isbnIndex = new PageElementIndex<PageElementISBN>(isbns);
+      issnIndex = new PageElementIndex<PageElementISSN>(issns);
+      pmidIndex = new PageElementIndex<PageElementPMID>(pmids);
     }
   }
 
@@ -565,6 +1033,7 @@ public class PageAnalysis {
       return language.getEndIndex();
     }
 
+    unmatchedOpenings.add(Integer.valueOf(currentIndex));
     return currentIndex + 1;
   }
 
@@ -647,6 +1116,7 @@ public class PageAnalysis {
       return currentIndex + 3;
     }
 
+    unmatchedOpenings.add(Integer.valueOf(currentIndex));
     return currentIndex + 1;
   }
 
@@ -680,6 +1150,7 @@ public class PageAnalysis {
       return currentIndex + 2;
     }
 
+    unmatchedOpenings.add(Integer.valueOf(currentIndex));
     return currentIndex + 1;
   }
 
@@ -697,21 +1168,13 @@ public class PageAnalysis {
     }
 
     // Check that it's not a template value
-    if (templates != null) {
-      PageElementTemplate template = null;
-      for (PageElementTemplate tmp : templates) {
-        if ((tmp.getBeginIndex() <= currentIndex) &&
-            (tmp.getEndIndex() > currentIndex)) {
-          template = tmp;
-        }
-      }
-      if (template != null) {
-        for (int i = 0; i < template.getParameterCount(); i++) {
-          int beginParam = template.getParameterPipeIndex(i);
-          int endParam = template.getParameterValueStartIndex(i);
-          if ((currentIndex >= beginParam) && (currentIndex < endParam)) {
-            return currentIndex + 1;
-          }
+    PageElementTemplate template = isInTemplate(currentIndex);
+    if (template != null) {
+      for (int i = 0; i < template.getParameterCount(); i++) {
+        int beginParam = template.getParameterPipeIndex(i);
+        int endParam = template.getParameterValueStartIndex(i);
+        if ((currentIndex >= beginParam) && (currentIndex < endParam)) {
+          return currentIndex + 1;
         }
       }
     }
@@ -736,6 +1199,11 @@ public class PageAnalysis {
    */
   private List<PageElementComment> comments;
 
+  /**
+   * Index of comments in the page.
+   */
+  private PageElementIndex<PageElementComment> commentIndex;
+
   /**
    * @return All comments in the page.
    */
@@ -749,14 +1217,8 @@ public class PageAnalysis {
    * @return Comment if the current index is inside a comment.
    */
   public PageElementComment isInComment(int currentIndex) {
-    List<PageElementComment> tmpComments = getComments();
-    for (PageElementComment comment : tmpComments) {
-      if ((comment.getBeginIndex() <= currentIndex) &&
-          (comment.getEndIndex() > currentIndex)) {
-        return comment;
-      }
-    }
-    return null;
+    firstLevelAnalysis();
+    return commentIndex.getOutermost(currentIndex);
   }
 
   // ==========================================================================
@@ -768,6 +1230,11 @@ public class PageAnalysis {
    */
   private List<PageElementTitle> titles;
 
+  /**
+   * Index of titles in the page.
+   */
+  private PageElementIndex<PageElementTitle> titleIndex;
+
   /**
    * @return All titles in the page.
    */
@@ -781,13 +1248,8 @@ public class PageAnalysis {
    * @return Next title.
    */
   public PageElementTitle getNextTitle(int currentIndex) {
-    List<PageElementTitle> tmpTitles = getTitles();
-    for (PageElementTitle title : tmpTitles) {
-      if (title.getBeginIndex() >= currentIndex) {
-        return title;
-      }
-    }
-    return null;
+    thirdLevelAnalysis();
+    return titleIndex.getNext(currentIndex);
   }
 
   /**
@@ -795,14 +1257,8 @@ public class PageAnalysis {
    * @return Title if the current index is inside a title.
    */
   public PageElementTitle isInTitle(int currentIndex) {
-    List<PageElementTitle> tmpTitles = getTitles();
-    for (PageElementTitle title : tmpTitles) {
-      if ((title.getBeginIndex() <= currentIndex) &&
-          (title.getEndIndex() > currentIndex)) {
-        return title;
-      }
-    }
-    return null;
+    thirdLevelAnalysis();
+    return titleIndex.getOutermost(currentIndex);
   }
 
   /**
@@ -830,6 +1286,11 @@ public class PageAnalysis {
    */
   private List<PageElementInternalLink> internalLinks;
 
+  /**
+   * Index of internal links in the page.
+   */
+  private PageElementIndex<PageElementInternalLink> internalLinkIndex;
+
   /**
    * @return All internal links in the page.
    */
@@ -843,13 +1304,8 @@ public class PageAnalysis {
    * @return Next internal link.
    */
   public PageElementInternalLink getNextInternalLink(int currentIndex) {
-    List<PageElementInternalLink> tmpInternalLinks = getInternalLinks();
-    for (PageElementInternalLink link : tmpInternalLinks) {
-      if (link.getBeginIndex() >= currentIndex) {
-        return link;
-      }
-    }
-    return null;
+    thirdLevelAnalysis();
+    return internalLinkIndex.getNext(currentIndex);
   }
 
   /**
@@ -857,14 +1313,8 @@ public class PageAnalysis {
    * @return Internal link if the current index is inside an internal link.
    */
   public PageElementInternalLink isInInternalLink(int currentIndex) {
-    List<PageElementInternalLink> tmpLinks = getInternalLinks();
-    for (PageElementInternalLink link : tmpLinks) {
-      if ((link.getBeginIndex() <= currentIndex) &&
-          (link.getEndIndex() > currentIndex)) {
-        return link;
-      }
-    }
-    return null;
+    thirdLevelAnalysis();
+    return internalLinkIndex.getOutermost(currentIndex);
   }
 
   /**
@@ -917,6 +1367,11 @@ public class PageAnalysis {
    */
   private List<PageElementImage> images;
 
+  /**
+   * Index of images in the page.
+   */
+  private PageElementIndex<PageElementImage> imageIndex;
+
   /**
    * @return All images in the page.
    */
@@ -930,13 +1385,8 @@ public class PageAnalysis {
    * @return Next image.
    */
   public PageElementImage getNextImage(int currentIndex) {
-    List<PageElementImage> tmpImages = getImages();
-    for (PageElementImage image : tmpImages) {
-      if (image.getBeginIndex() >= currentIndex) {
-        return image;
-      }
-    }
-    return null;
+    thirdLevelAnalysis();
+    return imageIndex.getNext(currentIndex);
   }
 
   /**
@@ -944,18 +1394,8 @@ public class PageAnalysis {
    * @return Image if the current index is inside an image.
    */
   public PageElementImage isInImage(int currentIndex) {
-    List<PageElementImage> tmpImages = getImages();
-    PageElementImage result = null;
-    for (PageElementImage image : tmpImages) {
-      if ((image.getBeginIndex() <= currentIndex) &&
-          (image.getEndIndex() > currentIndex)) {
-        if ((result == null) ||
-            (image.getBeginIndex() > result.getBeginIndex())) {
-          result = image;
-        }
-      }
-    }
-    return result;
+    thirdLevelAnalysis();
+    return imageIndex.getInnermost(currentIndex);
   }
 
   // ==========================================================================
@@ -967,6 +1407,11 @@ public class PageAnalysis {
    */
   private List<PageElementExternalLink> externalLinks;
 
+  /**
+   * Index of external links in the page.
+   */
+  private PageElementIndex<PageElementExternalLink> externalLinkIndex;
+
   /**
    * @return All external links in the page.
    */
@@ -980,13 +1425,8 @@ public class PageAnalysis {
    * @return Next external link.
    */
   public PageElementExternalLink getNextExternalLink(int currentIndex) {
-    List<PageElementExternalLink> tmpExternalLinks = getExternalLinks();
-    for (PageElementExternalLink link : tmpExternalLinks) {
-      if (link.getBeginIndex() >= currentIndex) {
-        return link;
-      }
-    }
-    return null;
+    thirdLevelAnalysis();
+    return externalLinkIndex.getNext(currentIndex);
   }
 
   /**
@@ -994,14 +1434,8 @@ public class PageAnalysis {
    * @return External link if the current index is inside an external link.
    */
   public PageElementExternalLink isInExternalLink(int currentIndex) {
-    List<PageElementExternalLink> tmpLinks = getExternalLinks();
-    for (PageElementExternalLink link : tmpLinks) {
-      if ((link.getBeginIndex() <= currentIndex) &&
-          (link.getEndIndex() > currentIndex)) {
-        return link;
-      }
-    }
-    return null;
+    thirdLevelAnalysis();
+    return externalLinkIndex.getOutermost(currentIndex);
   }
 
   // ==========================================================================
@@ -1013,6 +1447,16 @@ public class PageAnalysis {
    */
   private List<PageElementTemplate> templates;
 
+  /**
+   * Index of templates in the page.
+   */
+  private PageElementIndex<PageElementTemplate> templateIndex;
+
+  /**
+   * Index of templates already found during the third level analysis.
+   */
+  private PageElementIndex<PageElementTemplate> foundTemplateIndex;
+
   /**
    * @return All templates in the page.
    */
@@ -1046,13 +1490,8 @@ public class PageAnalysis {
    * @return Next template.
    */
   public PageElementTemplate getNextTemplate(int currentIndex) {
-    List<PageElementTemplate> tmpTemplates = getTemplates();
-    for (PageElementTemplate template : tmpTemplates) {
-      if (template.getBeginIndex() >= currentIndex) {
-        return template;
-      }
-    }
-    return null;
+    thirdLevelAnalysis();
+    return templateIndex.getNext(currentIndex);
   }
 
   /**
@@ -1060,15 +1499,18 @@ public class PageAnalysis {
    * @return Template if the current index is inside a template.
    */
   public PageElementTemplate isInTemplate(int currentIndex) {
-    List<PageElementTemplate> tmpTemplates = getTemplates();
-    PageElementTemplate result = null;
-    for (PageElementTemplate template : tmpTemplates) {
-      if ((template.getBeginIndex() <= currentIndex) &&
-          (template.getEndIndex() > currentIndex)) {
-        result = template;
+    thirdLevelAnalysis();
+    if (templateIndex == null) {
+      // Called during third level analysis: only templates already found
+      if (foundTemplateIndex == null) {
+        foundTemplateIndex = new PageElementIndex<PageElementTemplate>(null);
+      }
+      while (foundTemplateIndex.size() < templates.size()) {
+        foundTemplateIndex.add(templates.get(foundTemplateIndex.size()));
       }
+      return foundTemplateIndex.getInnermost(currentIndex);
     }
-    return result;
+    return templateIndex.getInnermost(currentIndex);
   }
 
   // ==========================================================================
@@ -1080,6 +1522,11 @@ public class PageAnalysis {
    */
   private List<PageElementParameter> parameters;
 
+  /**
+   * Index of parameters in the page.
+   */
+  private PageElementIndex<PageElementParameter> parameterIndex;
+
   /**
    * @return All parameters in the page.
    */
@@ -1093,15 +1540,8 @@ public class PageAnalysis {
    * @return Parameter if the current index is inside a parameter.
    */
   public PageElementParameter isInParameter(int currentIndex) {
-    List<PageElementParameter> tmpParameters = getParameters();
-    PageElementParameter result = null;
-    for (PageElementParameter parameter : tmpParameters) {
-      if ((parameter.getBeginIndex() <= currentIndex) &&
-          (parameter.getEndIndex() > currentIndex)) {
-        result = parameter;
-      }
-    }
-    return result;
+    thirdLevelAnalysis();
+    return parameterIndex.getInnermost(currentIndex);
   }
 
   // ==========================================================================
@@ -1113,6 +1553,16 @@ public class PageAnalysis {
    */
   private List<PageElementFunction> functions;
 
+  /**
+   * Index of functions in the page.
+   */
+  private PageElementIndex<PageElementFunction> functionIndex;
+
+  /**
+   * Index of DEFAULTSORT in the page.
+   */
+  private PageElementIndex<PageElementFunction> defaultSortIndex;
+
   /**
    * @return All functions in the page.
    */
@@ -1126,15 +1576,8 @@ public class PageAnalysis {
    * @return Function if the current index is inside a function.
    */
   public PageElementFunction isInFunction(int currentIndex) {
-    List<PageElementFunction> tmpFunctions = getFunctions();
-    PageElementFunction result = null;
-    for (PageElementFunction function : tmpFunctions) {
-      if ((function.getBeginIndex() <= currentIndex) &&
-          (function.getEndIndex() > currentIndex)) {
-        result = function;
-      }
-    }
-    return result;
+    thirdLevelAnalysis();
+    return functionIndex.getInnermost(currentIndex);
   }
 
   // ==========================================================================
@@ -1146,6 +1589,11 @@ public class PageAnalysis {
    */
   private List<PageElementMagicWord> magicWords;
 
+  /**
+   * Index of magic words in the page.
+   */
+  private PageElementIndex<PageElementMagicWord> magicWordIndex;
+
   /**
    * @return All magic words in the page.
    */
@@ -1159,15 +1607,8 @@ public class PageAnalysis {
    * @return Magic word if the current index is inside a magic word.
    */
   public PageElementMagicWord isInMagicWord(int currentIndex) {
-    List<PageElementMagicWord> tmpMagicWords = getMagicWords();
-    PageElementMagicWord result = null;
-    for (PageElementMagicWord magicWord : tmpMagicWords) {
-      if ((magicWord.getBeginIndex() <= currentIndex) &&
-          (magicWord.getEndIndex() > currentIndex)) {
-        result = magicWord;
-      }
-    }
-    return result;
+    thirdLevelAnalysis();
+    return magicWordIndex.getInnermost(currentIndex);
   }
 
   // ==========================================================================
@@ -1179,6 +1620,11 @@ public class PageAnalysis {
    */
   private List<PageElementTag> tags;
 
+  /**
+   * Index of tags in the page.
+   */
+  private PageElementIndex<PageElementTag> tagIndex;
+
   /**
    * Lock for updating the tags categorized by name.
    */
@@ -1195,6 +1641,11 @@ public class PageAnalysis {
    */
   private Map<String, List<PageElementTag>> completeTagsByName;
 
+  /**
+   * Index of tags in the page categorized by name.
+   */
+  private Map<String, PageElementIndex<PageElementTag>> tagIndexByName;
+
   /**
    * @return All tags in the page.
    */
@@ -1290,13 +1741,8 @@ public class PageAnalysis {
    * @return Next tag.
    */
   public PageElementTag getNextTag(int currentIndex) {
-    List<PageElementTag> tmpTags = getTags();
-    for (PageElementTag tag : tmpTags) {
-      if (tag.getBeginIndex() >= currentIndex) {
-        return tag;
-      }
-    }
-    return null;
+    secondLevelAnalysis();
+    return tagIndex.getNext(currentIndex);
   }
 
   /**
@@ -1304,14 +1750,8 @@ public class PageAnalysis {
    * @return Tag if the current index is inside a tag.
    */
   public PageElementTag isInTag(int currentIndex) {
-    List<PageElementTag> tmpTags = getTags();
-    for (PageElementTag tag : tmpTags) {
-      if ((tag.getBeginIndex() <= currentIndex) &&
-          (tag.getEndIndex() > currentIndex)) {
-        return tag;
-      }
-    }
-    return null;
+    secondLevelAnalysis();
+    return tagIndex.getOutermost(currentIndex);
   }
 
   /**
@@ -1320,14 +1760,33 @@ public class PageAnalysis {
    * @return Tag if the current index is inside a tag.
    */
   public PageElementTag isInTag(int currentIndex, String tagName) {
-    List<PageElementTag> tmpTags = getTags(tagName);
-    for (PageElementTag tag : tmpTags) {
-      if ((tag.getBeginIndex() <= currentIndex) &&
-          (tag.getEndIndex() > currentIndex)) {
-        return tag;
+    PageElementIndex<PageElementTag> index = getTagIndex(tagName);
+    if (index == null) {
+      return null;
+    }
+    return index.getOutermost(currentIndex);
+  }
+
+  /**
+   * @param name Tag name.
+   * @return Index of tags with this name in the page.
+   */
+  private PageElementIndex<PageElementTag> getTagIndex(String name) {
+    if (name == null) {
+      return null;
+    }
+    synchronized (lockTagsByName) {
+      if (tagIndexByName == null) {
+        tagIndexByName = new HashMap<String, PageElementIndex<PageElementTag>>();
       }
+      name = name.toLowerCase();
+      PageElementIndex<PageElementTag> result = tagIndexByName.get(name);
+      if (result == null) {
+        result = new PageElementIndex<PageElementTag>(getTags(name));
+        tagIndexByName.put(name, result);
+      }
+      return result;
     }
-    return null;
   }
 
   // ==========================================================================
@@ -1356,14 +1815,8 @@ public class PageAnalysis {
    * @return DefaultSort if the current index is inside a DEFAULTSORT.
    */
   public PageElementFunction isInDefaultSort(int currentIndex) {
-    List<PageElementFunction> tmpDefaultSorts = getDefaultSorts();
-    for (PageElementFunction defaultSort : tmpDefaultSorts) {
-      if ((defaultSort.getBeginIndex() <= currentIndex) &&
-          (defaultSort.getEndIndex() > currentIndex)) {
-        return defaultSort;
-      }
-    }
-    return null;
+    thirdLevelAnalysis();
+    return defaultSortIndex.getOutermost(currentIndex);
   }
 
   // ==========================================================================
@@ -1375,6 +1828,11 @@ public class PageAnalysis {
    */
   private List<PageElementCategory> categories;
 
+  /**
+   * Index of categories in the page.
+   */
+  private PageElementIndex<PageElementCategory> categoryIndex;
+
   /**
    * @return All categories in the page.
    */
@@ -1388,13 +1846,8 @@ public class PageAnalysis {
    * @return Next category.
    */
   public PageElementCategory getNextCategory(int currentIndex) {
-    List<PageElementCategory> tmpCategories = getCategories();
-    for (PageElementCategory category : tmpCategories) {
-      if (category.getBeginIndex() >= currentIndex) {
-        return category;
-      }
-    }
-    return null;
+    thirdLevelAnalysis();
+    return categoryIndex.getNext(currentIndex);
   }
 
   /**
@@ -1402,14 +1855,8 @@ public class PageAnalysis {
    * @return Category if the current index is inside a category.
    */
   public PageElementCategory isInCategory(int currentIndex) {
-    List<PageElementCategory> tmpCategories = getCategories();
-    for (PageElementCategory category : tmpCategories) {
-      if ((category.getBeginIndex() <= currentIndex) &&
-          (category.getEndIndex() > currentIndex)) {
-        return category;
-      }
-    }
-    return null;
+    thirdLevelAnalysis();
+    return categoryIndex.getOutermost(currentIndex);
   }
 
   // ==========================================================================
@@ -1421,6 +1868,11 @@ public class PageAnalysis {
    */
   private List<PageElementInterwikiLink> interwikiLinks;
 
+  /**
+   * Index of interwiki links in the page.
+   */
+  private PageElementIndex<PageElementInterwikiLink> interwikiLinkIndex;
+
   /**
    * @return All interwiki links in the page.
    */
@@ -1434,13 +1886,8 @@ public class PageAnalysis {
    * @return Next interwiki link.
    */
   public PageElementInterwikiLink getNextInterwikiLink(int currentIndex) {
-    List<PageElementInterwikiLink> tmpLinks = getInterwikiLinks();
-    for (PageElementInterwikiLink link : tmpLinks) {
-      if (link.getBeginIndex() >= currentIndex) {
-        return link;
-      }
-    }
-    return null;
+    thirdLevelAnalysis();
+    return interwikiLinkIndex.getNext(currentIndex);
   }
 
   /**
@@ -1448,14 +1895,8 @@ public class PageAnalysis {
    * @return Interwiki link if the current index is inside an interwiki link.
    */
   public PageElementInterwikiLink isInInterwikiLink(int currentIndex) {
-    List<PageElementInterwikiLink> tmpLinks = getInterwikiLinks();
-    for (PageElementInterwikiLink link : tmpLinks) {
-      if ((link.getBeginIndex() <= currentIndex) &&
-          (link.getEndIndex() > currentIndex)) {
-        return link;
-      }
-    }
-    return null;
+    thirdLevelAnalysis();
+    return interwikiLinkIndex.getOutermost(currentIndex);
   }
 
   // ==========================================================================
@@ -1467,6 +1908,11 @@ public class PageAnalysis {
    */
   private List<PageElementLanguageLink> languageLinks;
 
+  /**
+   * Index of language links in the page.
+   */
+  private PageElementIndex<PageElementLanguageLink> languageLinkIndex;
+
   /**
    * @return All language links in the page.
    */
@@ -1480,13 +1926,8 @@ public class PageAnalysis {
    * @return Next language link.
    */
   public PageElementLanguageLink getNextLanguageLink(int currentIndex) {
-    List<PageElementLanguageLink> tmpLinks = getLanguageLinks();
-    for (PageElementLanguageLink link : tmpLinks) {
-      if (link.getBeginIndex() >= currentIndex) {
-        return link;
-      }
-    }
-    return null;
+    thirdLevelAnalysis();
+    return languageLinkIndex.getNext(currentIndex);
   }
 
   /**
@@ -1494,14 +1935,8 @@ public class PageAnalysis {
    * @return Language link if the current index is inside a language link.
    */
   public PageElementLanguageLink isInLanguageLink(int currentIndex) {
-    List<PageElementLanguageLink> tmpLinks = getLanguageLinks();
-    for (PageElementLanguageLink link : tmpLinks) {
-      if ((link.getBeginIndex() <= currentIndex) &&
-          (link.getEndIndex() > currentIndex)) {
-        return link;
-      }
-    }
-    return null;
+    thirdLevelAnalysis();
+    return languageLinkIndex.getOutermost(currentIndex);
   }
 
   // ==========================================================================
@@ -1513,6 +1948,11 @@ public class PageAnalysis {
    */
   private List<PageElementISBN> isbns;
 
+  /**
+   * Index of ISBNs in the page.
+   */
+  private PageElementIndex<PageElementISBN> isbnIndex;
+
   /**
    * @return All ISBNs in the page.
    */
@@ -1526,14 +1966,8 @@ public class PageAnalysis {
    * @return ISBN if the current index is inside an ISBN.
    */
   public PageElementISBN isInISBN(int currentIndex) {
-    List<PageElementISBN> tmpIsbns = getISBNs();
-    for (PageElementISBN isbn : tmpIsbns) {
-      if ((isbn.getBeginIndex() <= currentIndex) &&
-          (isbn.getEndIndex() > currentIndex)) {
-        return isbn;
-      }
-    }
-    return null;
+    fourthLevelAnalysis();
+    return isbnIndex.getOutermost(currentIndex);
   }
 
 
@@ -1543,6 +1977,11 @@ public class PageAnalysis {
    */
   private List<PageElementISSN> issns;
 
+  /**
+   * Index of ISSNs in the page.
+   */
+  private PageElementIndex<PageElementISSN> issnIndex;
+
   /**
    * @return All ISSNs in the page.
    */
@@ -1556,14 +1995,8 @@ public class PageAnalysis {
    * @return ISSN if the current index is inside an ISSN.
    */
   public PageElementISSN isInISSN(int currentIndex) {
-    List<PageElementISSN> tmpIsbns = getISSNs();
-    for (PageElementISSN issn : tmpIsbns) {
-      if ((issn.getBeginIndex() <= currentIndex) &&
-          (issn.getEndIndex() > currentIndex)) {
-        return issn;
-      }
-    }
-    return null;
+    fourthLevelAnalysis();
+    return issnIndex.getOutermost(currentIndex);
   }
 
   
@@ -1572,6 +2005,11 @@ public class PageAnalysis {
    */
   private List<PageElementPMID> pmids;
 
+  /**
+   * Index of PMIDs in the page.
+   */
+  private PageElementIndex<PageElementPMID> pmidIndex;
+
   /**
    * @return All PMIDs in the page.
    */
@@ -1585,14 +2023,8 @@ public class PageAnalysis {
    * @return PMID if the current index is inside a PMID.
    */
   public PageElementPMID isInPMID(int currentIndex) {
-    List<PageElementPMID> tmpPmids = getPMIDs();
-    for (PageElementPMID pmid : tmpPmids) {
-      if ((pmid.getBeginIndex() <= currentIndex) &&
-          (pmid.getEndIndex() > currentIndex)) {
-        return pmid;
-      }
-    }
-    return null;
+    fourthLevelAnalysis();
+    return pmidIndex.getOutermost(currentIndex);
   }
 
   // ==========================================================================
@@ -8,6 +8,7 @@
 package org.wikipediacleaner.api.data;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -81,95 +82,97 @@ public class PageAnalysisUtils {
     String contents = pageAnalysis.getContents();
     int maxSize = contents.length();
     boolean firstLink = true;
+    Map<String, List<Page>> linksByTitle = getPagesByTitle(links);
     for (PageElementInternalLink internalLink : internalLinks) {
-      for (Page link : links) {
-        if (Page.areSameTitle(link.getTitle(), internalLink.getLink())) {
-          int currentPos = internalLink.getEndIndex();
-          while ((currentPos < maxSize) && (contents.charAt(currentPos) == ' ')) {
-            currentPos++;
-          }
+      List<Page> matchingLinks = getPagesByTitle(linksByTitle, internalLink.getLink());
+      if (matchingLinks != null) {
+        int currentPos = internalLink.getEndIndex();
+        while ((currentPos < maxSize) && (contents.charAt(currentPos) == ' ')) {
+          currentPos++;
+        }
 
-          // Check if link is marked as needing help
-          boolean helpNeeded = false;
-          if (templatesAfter != null) {
-            if ((currentPos < maxSize) && (contents.charAt(currentPos) == '{')) {
-              PageElementTemplate nextTemplate = pageAnalysis.isInTemplate(currentPos);
-              if (nextTemplate != null) {
-                for (String templateAfter : templatesAfter) {
-                  if (Page.areSameTitle(templateAfter, nextTemplate.getTemplateName())) {
-                    helpNeeded = true;
-                  }
+        // Check if link is marked as needing help
+        boolean helpNeeded = false;
+        if (templatesAfter != null) {
+          if ((currentPos < maxSize) && (contents.charAt(currentPos) == '{')) {
+            PageElementTemplate nextTemplate = pageAnalysis.isInTemplate(currentPos);
+            if (nextTemplate != null) {
+              for (String templateAfter : templatesAfter) {
+                if (Page.areSameTitle(templateAfter, nextTemplate.getTemplateName())) {
+                  helpNeeded = true;
                 }
               }
             }
           }
+        }
 
-          // Check if link is marked as normal
-          boolean good = false;
-          if ((currentPos < maxSize) && (contents.charAt(currentPos) == '<')) {
-            PageElementComment nextComment = pageAnalysis.isInComment(currentPos);
-            if ((nextComment != null) && (nextComment.getComment() != null)) {
-              if (commentsAfter != null) {
-                for (String commentAfter : commentsAfter) {
-                  if (nextComment.getComment().length() >= commentAfter.length()) {
-                    String comment = nextComment.getComment().substring(0, commentAfter.length());
-                    if (comment.equalsIgnoreCase(commentAfter)) {
-                      good = true;
-                    }
+        // Check if link is marked as normal
+        boolean good = false;
+        if ((currentPos < maxSize) && (contents.charAt(currentPos) == '<')) {
+          PageElementComment nextComment = pageAnalysis.isInComment(currentPos);
+          if ((nextComment != null) && (nextComment.getComment() != null)) {
+            if (commentsAfter != null) {
+              for (String commentAfter : commentsAfter) {
+                if (nextComment.getComment().length() >= commentAfter.length()) {
+                  String comment = nextComment.getComment().substring(0, commentAfter.length());
+                  if (comment.equalsIgnoreCase(commentAfter)) {
+                    good = true;
                   }
                 }
               }
             }
           }
-          if (!good &&
-              (templatesIgnoreDab != null) &&
-              !templatesIgnoreDab.isEmpty()) {
-            PageElementTemplate template = pageAnalysis.isInTemplate(currentPos);
-            if (template != null) {
-              for (String[] currentTemplate : templatesIgnoreDab) {
-                if ((currentTemplate != null) &&
-                    (currentTemplate.length > 1) &&
-                    Page.areSameTitle(currentTemplate[0], template.getTemplateName())) {
-                  Parameter parameter = template.getParameterAtIndex(currentPos);
-                  if (parameter != null) {
-                    for (int index = 1; index < currentTemplate.length; index++) {
-                      if (parameter.getComputedName().equals(currentTemplate[index])) {
-                        good = true;
-                      }
+        }
+        if (!good &&
+            (templatesIgnoreDab != null) &&
+            !templatesIgnoreDab.isEmpty()) {
+          PageElementTemplate template = pageAnalysis.isInTemplate(currentPos);
+          if (template != null) {
+            for (String[] currentTemplate : templatesIgnoreDab) {
+              if ((currentTemplate != null) &&
+                  (currentTemplate.length > 1) &&
+                  Page.areSameTitle(currentTemplate[0], template.getTemplateName())) {
+                Parameter parameter = template.getParameterAtIndex(currentPos);
+                if (parameter != null) {
+                  for (int index = 1; index < currentTemplate.length; index++) {
+                    if (parameter.getComputedName().equals(currentTemplate[index])) {
+                      good = true;
                     }
                   }
                 }
               }
             }
           }
+        }
 
-          // Check if link is in fact a redirection
-          if (firstLink && (redirect != null)) {
-            int tmpPos = 0;
-            while ((contents.charAt(tmpPos) == ' ') &&
-                   (tmpPos < internalLink.getBeginIndex())) {
-              tmpPos++;
-            }
-            String redirectTag = null;
-            for (String alias : redirect.getAliases()) {
-              if (contents.startsWith(alias, tmpPos)) {
-                char next = contents.charAt(tmpPos + alias.length());
-                if ((next == ' ') || (next == '[')) {
-                  redirectTag = alias;
-                }
+        // Check if link is in fact a redirection
+        if (firstLink && (redirect != null)) {
+          int tmpPos = 0;
+          while ((contents.charAt(tmpPos) == ' ') &&
+                 (tmpPos < internalLink.getBeginIndex())) {
+            tmpPos++;
+          }
+          String redirectTag = null;
+          for (String alias : redirect.getAliases()) {
+            if (contents.startsWith(alias, tmpPos)) {
+              char next = contents.charAt(tmpPos + alias.length());
+              if ((next == ' ') || (next == '[')) {
+                redirectTag = alias;
               }
             }
-            if (redirectTag != null) {
-              tmpPos += redirectTag.length();
-              while (contents.charAt(tmpPos) == ' ') {
-                tmpPos++;
-              }
-              if (tmpPos == internalLink.getBeginIndex()) {
-                good = true;
-              }
+          }
+          if (redirectTag != null) {
+            tmpPos += redirectTag.length();
+            while (contents.charAt(tmpPos) == ' ') {
+              tmpPos++;
+            }
+            if (tmpPos == internalLink.getBeginIndex()) {
+              good = true;
             }
           }
+        }
 
+        for (Page link : matchingLinks) {
           notification.linkFound(link, internalLink, good, helpNeeded);
         }
       }
@@ -186,11 +189,10 @@ public class PageAnalysisUtils {
         if (matchers != null) {
           for (TemplateMatcher matcher : matchers) {
             String linkTo = matcher.linksTo(pageAnalysis.getPage(), template);
-            if (linkTo != null) {
-              for (Page link : links) {
-                if (Page.areSameTitle(link.getTitle(), linkTo)) {
-                  notification.linkFound(link, template, matcher);
-                }
+            List<Page> matchingLinks = getPagesByTitle(linksByTitle, linkTo);
+            if (matchingLinks != null) {
+              for (Page link : matchingLinks) {
+                notification.linkFound(link, template, matcher);
               }
             }
           }
@@ -199,6 +201,39 @@ public class PageAnalysisUtils {
     }
   }
 
+  /**
+   * @param pages List of pages.
+   * @return Pages indexed by normalized title (in the order of the list).
+   */
+  private static Map<String, List<Page>> getPagesByTitle(List<Page> pages) {
+    Map<String, List<Page>> result = new HashMap<String, List<Page>>(pages.size() * 2);
+    for (Page page : pages) {
+      String title = Page.normalizeTitle(page.getTitle());
+      if (title != null) {
+        List<Page> tmpPages = result.get(title);
+        if (tmpPages == null) {
+          tmpPages = new ArrayList<Page>(1);
+          result.put(title, tmpPages);
+        }
+        tmpPages.add(page);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @param pagesByTitle Pages indexed by normalized title.
+   * @param title Title.
+   * @return Pages matching the title.
+   */
+  private static List<Page> getPagesByTitle(
+      Map<String, List<Page>> pagesByTitle, String title) {
+    if (title == null) {
+      return null;
+    }
+    return pagesByTitle.get(Page.normalizeTitle(title));
+  }
+
   /**
    * Get anchors in internal links.
    * 
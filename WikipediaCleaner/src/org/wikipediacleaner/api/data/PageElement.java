@@ -41,6 +41,19 @@ public abstract class PageElement {
     return endIndex;
   }
 
+  /**
+   * Create a copy of the element moved in the text.
+   * 
+   * Used by the incremental analysis to keep elements located after a modification,
+   * the text of the element being the same.
+   * 
+   * @param delta Offset to apply to the indexes.
+   * @return Copy of the element moved by the offset (null if not possible).
+   */
+  PageElement moveBy(@SuppressWarnings("unused") int delta) {
+    return null;
+  }
+
   /**
    * Group consecutive elements.
    * 
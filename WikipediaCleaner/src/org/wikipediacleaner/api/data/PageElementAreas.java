@@ -7,34 +7,131 @@
 
 package org.wikipediacleaner.api.data;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 
+import org.wikipediacleaner.utils.Configuration;
+import org.wikipediacleaner.utils.ConfigurationValueBoolean;
+
 
 /**
  * Management of non wiki text areas.
+ *
+ * Areas are kept sorted and disjoint in arrays of begin and end indexes,
+ * so that finding the area containing an index is done with a binary search.
+ * Areas added by each add* method are collected, sorted and merged at once
+ * with the existing areas.
  */
 public class PageElementAreas {
 
+  // ==========================================================================
+  // Configuration
+  // ==========================================================================
+
+  /**
+   * Flag for checking areas.
+   */
+  private static boolean DEBUG_AREAS = false;
+
+  /**
+   * Update configuration.
+   */
+  public static void updateConfiguration() {
+    Configuration config = Configuration.getConfiguration();
+    DEBUG_AREAS = config.getBoolean(
+        null, ConfigurationValueBoolean.DEBUG_DETAILS);
+  }
+
+  // ==========================================================================
+  // Areas
+  // ==========================================================================
+
+  /**
+   * Begin indexes of non wiki text areas.
+   */
+  private int[] beginIndexes;
+
+  /**
+   * End indexes of non wiki text areas.
+   */
+  private int[] endIndexes;
+
+  /**
+   * Number of non wiki text areas.
+   */
+  private int size;
+
+  /**
+   * Areas being added (begin index in the high bits, end index in the low bits).
+   */
+  private long[] pendingAreas;
+
+  /**
+   * Number of areas being added.
+   */
+  private int pendingSize;
+
   /**
    * List of non wiki text areas.
    */
-  private final List<Area> areas;
+  private List<Area> areas;
 
   /**
    * Initialize areas.
    */
   public PageElementAreas() {
-    areas = new LinkedList<PageElementAreas.Area>();
+    beginIndexes = new int[0];
+    endIndexes = new int[0];
+    size = 0;
+    pendingAreas = new long[16];
+    pendingSize = 0;
+    areas = null;
+  }
+
+  /**
+   * Create a snapshot of the areas, not modified by the areas added later.
+   * 
+   * Arrays are shared: they are never modified, only replaced when merging areas.
+   * 
+   * @return Snapshot of the areas.
+   */
+  PageElementAreas snapshot() {
+    mergeAreas();
+    PageElementAreas result = new PageElementAreas();
+    result.beginIndexes = beginIndexes;
+    result.endIndexes = endIndexes;
+    result.size = size;
+    return result;
   }
 
   /**
    * @return List of areas.
    */
   public List<Area> getAreas() {
-    return Collections.unmodifiableList(areas);
+    List<Area> result = areas;
+    if (result == null) {
+      List<Area> tmpAreas = new ArrayList<Area>(size);
+      for (int i = 0; i < size; i++) {
+        tmpAreas.add(new Area(beginIndexes[i], endIndexes[i]));
+      }
+      result = Collections.unmodifiableList(tmpAreas);
+      areas = result;
+    }
+    return result;
+  }
+
+  /**
+   * @param index Current index.
+   * @return Beginning of area.
+   */
+  public int getBeginArea(int index) {
+    int low = findLastAreaBefore(index);
+    if ((low > 0) && (endIndexes[low - 1] > index)) {
+      return beginIndexes[low - 1];
+    }
+    return index;
   }
 
   /**
@@ -42,17 +139,31 @@ public class PageElementAreas {
    * @return First index after area.
    */
   public int getEndArea(int index) {
-    for (Area area : areas) {
-      if (area.beginIndex > index) {
-        return index;
-      }
-      if (area.endIndex > index) {
-        return area.endIndex;
-      }
+    int low = findLastAreaBefore(index);
+    if ((low > 0) && (endIndexes[low - 1] > index)) {
+      return endIndexes[low - 1];
     }
     return index;
   }
 
+  /**
+   * @param index Current index.
+   * @return Position (plus one) of the last area beginning before index.
+   */
+  private int findLastAreaBefore(int index) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (beginIndexes[middle] > index) {
+        high = middle;
+      } else {
+        low = middle + 1;
+      }
+    }
+    return low;
+  }
+
   /**
    * Add comments to non wiki text areas.
    * 
@@ -80,6 +191,7 @@ public class PageElementAreas {
         }
       }
     }
+    mergeAreas();
   }
 
   /**
@@ -100,6 +212,7 @@ public class PageElementAreas {
         }
       }
     }
+    mergeAreas();
   }
 
   /**
@@ -141,6 +254,7 @@ public class PageElementAreas {
         }
       }
     }
+    mergeAreas();
   }
 
   /**
@@ -170,6 +284,7 @@ public class PageElementAreas {
         }
       }
     }
+    mergeAreas();
   }
 
   /**
@@ -242,6 +357,7 @@ public class PageElementAreas {
         }
       }
     }
+    mergeAreas();
   }
 
   /**
@@ -266,6 +382,7 @@ public class PageElementAreas {
         }
       }
     }
+    mergeAreas();
   }
 
   /**
@@ -301,6 +418,7 @@ public class PageElementAreas {
         addArea(endIndex - after - title.getSecondLevel(), endIndex - after);
       }
     }
+    mergeAreas();
   }
 
   /**
@@ -323,6 +441,7 @@ public class PageElementAreas {
         }
       }
     }
+    mergeAreas();
   }
 
   /**
@@ -336,45 +455,73 @@ public class PageElementAreas {
         addArea(element.getBeginIndex(), element.getEndIndex());
       }
     }
+    mergeAreas();
   }
 
   /**
    * Add an area to the list of non wiki text areas.
+   * The area is only taken into account by the next call to mergeAreas().
+   * 
    * @param beginIndex Begin index.
    * @param endIndex End index.
    */
   private void addArea(int beginIndex, int endIndex) {
-    Iterator<PageElementAreas.Area> itArea = areas.iterator();
-    int currentIndex = 0;
-    while (itArea.hasNext()) {
-      Area area = itArea.next();
-      if (beginIndex <= area.endIndex) {
-        if (endIndex < area.beginIndex) {
-          areas.add(currentIndex, new Area(beginIndex, endIndex));
-          checkAreas();
-          return;
-        }
-        area.beginIndex = Math.min(area.beginIndex, beginIndex);
-        if (endIndex <= area.endIndex) {
-          return;
-        }
-        area.endIndex = endIndex;
-        while (itArea.hasNext()) {
-          Area tmpArea = itArea.next();
-          if (tmpArea.beginIndex > endIndex) {
-            checkAreas();
-            return;
-          }
-          area.endIndex = Math.max(area.endIndex, tmpArea.endIndex);
-          itArea.remove();
-        }
-        checkAreas();
-        return;
+    if (endIndex <= beginIndex) {
+      return;
+    }
+    if (pendingSize >= pendingAreas.length) {
+      pendingAreas = Arrays.copyOf(pendingAreas, pendingAreas.length * 2);
+    }
+    pendingAreas[pendingSize] = ((long) beginIndex << 32) | (endIndex & 0xFFFFFFFFL);
+    pendingSize++;
+  }
+
+  /**
+   * Merge the areas being added with the list of non wiki text areas.
+   */
+  private void mergeAreas() {
+    if (pendingSize == 0) {
+      return;
+    }
+    Arrays.sort(pendingAreas, 0, pendingSize);
+
+    // Merge both sorted lists of areas, joining overlapping or adjacent areas
+    int[] newBeginIndexes = new int[size + pendingSize];
+    int[] newEndIndexes = new int[size + pendingSize];
+    int newSize = 0;
+    int current = 0;
+    int pending = 0;
+    while ((current < size) || (pending < pendingSize)) {
+      int beginIndex;
+      int endIndex;
+      if ((pending >= pendingSize) ||
+          ((current < size) &&
+           (beginIndexes[current] <= (int) (pendingAreas[pending] >> 32)))) {
+        beginIndex = beginIndexes[current];
+        endIndex = endIndexes[current];
+        current++;
+      } else {
+        beginIndex = (int) (pendingAreas[pending] >> 32);
+        endIndex = (int) pendingAreas[pending];
+        pending++;
       }
-      currentIndex++;
+      if ((newSize > 0) && (beginIndex <= newEndIndexes[newSize - 1])) {
+        newEndIndexes[newSize - 1] = Math.max(newEndIndexes[newSize - 1], endIndex);
+      } else {
+        newBeginIndexes[newSize] = beginIndex;
+        newEndIndexes[newSize] = endIndex;
+        newSize++;
+      }
+    }
+    beginIndexes = newBeginIndexes;
+    endIndexes = newEndIndexes;
+    size = newSize;
+    pendingSize = 0;
+    areas = null;
+
+    if (DEBUG_AREAS) {
+      checkAreas();
     }
-    areas.add(new Area(beginIndex, endIndex));
-    checkAreas();
   }
 
   /**
@@ -382,21 +529,21 @@ public class PageElementAreas {
    */
   public void checkAreas() {
     int previousEnd = -1;
-    for (PageElementAreas.Area area : areas) {
-      if (area.beginIndex >= area.endIndex) {
-        System.err.println("Error " + area);
+    for (int i = 0; i < size; i++) {
+      if (beginIndexes[i] >= endIndexes[i]) {
+        System.err.println("Error " + new Area(beginIndexes[i], endIndexes[i]));
       }
-      if (previousEnd >= area.beginIndex) {
-        System.err.println("Error " + area + "/" + previousEnd);
+      if (previousEnd >= beginIndexes[i]) {
+        System.err.println("Error " + new Area(beginIndexes[i], endIndexes[i]) + "/" + previousEnd);
       }
-      previousEnd = area.endIndex;
+      previousEnd = endIndexes[i];
     }
   }
 
   public void printAreas(String text) {
     System.err.println("Areas " + text + " :");
-    for (Area area : areas) {
-      System.err.println(" " + area.getBeginIndex() + "->" + area.getEndIndex());
+    for (int i = 0; i < size; i++) {
+      System.err.println(" " + beginIndexes[i] + "->" + endIndexes[i]);
     }
   }
 
@@ -408,12 +555,12 @@ public class PageElementAreas {
     /**
      * Begin index of the area.
      */
-    int beginIndex;
+    private final int beginIndex;
 
     /**
      * End index of the area.
      */
-    int endIndex;
+    private final int endIndex;
 
     /**
      * @param beginIndex Begin index.
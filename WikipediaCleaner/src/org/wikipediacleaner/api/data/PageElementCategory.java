@@ -145,6 +145,30 @@ public class PageElementCategory extends PageElement {
     this.sort = (sort != null) ? sort.trim() : null;
   }
 
+  /**
+   * @param element Element to copy.
+   * @param delta Offset to apply to the indexes.
+   */
+  private PageElementCategory(PageElementCategory element, int delta) {
+    super(element.getBeginIndex() + delta, element.getEndIndex() + delta);
+    this.categoryNotTrimmed = element.categoryNotTrimmed;
+    this.category = element.category;
+    this.nameNotTrimmed = element.nameNotTrimmed;
+    this.name = element.name;
+    this.sortNotTrimmed = element.sortNotTrimmed;
+    this.sort = element.sort;
+  }
+
+  /**
+   * @param delta Offset to apply to the indexes.
+   * @return Copy of the category moved by the offset.
+   * @see org.wikipediacleaner.api.data.PageElement#moveBy(int)
+   */
+  @Override
+  PageElementCategory moveBy(int delta) {
+    return new PageElementCategory(this, delta);
+  }
+
   /* (non-Javadoc)
    * @see java.lang.Object#toString()
    */
@@ -298,6 +298,31 @@ public class PageElementExternalLink extends PageElement {
     this.hasSecondSquare = hasSecondSquare;
   }
 
+  /**
+   * @param element Element to copy.
+   * @param delta Offset to apply to the indexes.
+   */
+  private PageElementExternalLink(PageElementExternalLink element, int delta) {
+    super(element.getBeginIndex() + delta, element.getEndIndex() + delta);
+    this.linkNotTrimmed = element.linkNotTrimmed;
+    this.link = element.link;
+    this.textNotTrimmed = element.textNotTrimmed;
+    this.text = element.text;
+    this.textOffset = element.textOffset;
+    this.hasSquare = element.hasSquare;
+    this.hasSecondSquare = element.hasSecondSquare;
+  }
+
+  /**
+   * @param delta Offset to apply to the indexes.
+   * @return Copy of the external link moved by the offset.
+   * @see org.wikipediacleaner.api.data.PageElement#moveBy(int)
+   */
+  @Override
+  PageElementExternalLink moveBy(int delta) {
+    return new PageElementExternalLink(this, delta);
+  }
+
   /* (non-Javadoc)
    * @see java.lang.Object#toString()
    */
@@ -56,6 +56,17 @@ public class PageElementFunction extends PageElement {
       this.valueStartIndex = valueStartIndex;
     }
 
+    /**
+     * @param delta Offset to apply to the indexes.
+     * @return Copy of the parameter moved by the offset.
+     */
+    Parameter moveBy(int delta) {
+      return new Parameter(
+          separatorIndex + delta,
+          name, nameStartIndex + delta,
+          valueNotTrimmed, valueStartIndex + delta);
+    }
+
     /* (non-Javadoc)
      * @see java.lang.Object#toString()
      */
@@ -551,6 +562,35 @@ public class PageElementFunction extends PageElement {
     this.parameters = parameters;
   }
 
+  /**
+   * @param element Element to copy.
+   * @param delta Offset to apply to the indexes.
+   */
+  private PageElementFunction(PageElementFunction element, int delta) {
+    super(element.getBeginIndex() + delta, element.getEndIndex() + delta);
+    this.magicWord = element.magicWord;
+    this.functionName = element.functionName;
+    this.functionNameNotTrimmed = element.functionNameNotTrimmed;
+    if (element.parameters != null) {
+      this.parameters = new ArrayList<Parameter>(element.parameters.size());
+      for (Parameter parameter : element.parameters) {
+        this.parameters.add(parameter.moveBy(delta));
+      }
+    } else {
+      this.parameters = null;
+    }
+  }
+
+  /**
+   * @param delta Offset to apply to the indexes.
+   * @return Copy of the function moved by the offset.
+   * @see org.wikipediacleaner.api.data.PageElement#moveBy(int)
+   */
+  @Override
+  PageElementFunction moveBy(int delta) {
+    return new PageElementFunction(this, delta);
+  }
+
   private void addPartBeforeParameters(StringBuilder sb) {
     sb.append("{{");
     sb.append(functionNameNotTrimmed);
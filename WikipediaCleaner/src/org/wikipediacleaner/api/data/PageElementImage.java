@@ -283,6 +283,31 @@ public class PageElementImage extends PageElement {
     this.parameters = parameters;
   }
 
+  /**
+   * @param element Element to copy.
+   * @param delta Offset to apply to the indexes.
+   */
+  private PageElementImage(PageElementImage element, int delta) {
+    super(element.getBeginIndex() + delta, element.getEndIndex() + delta);
+    this.wiki = element.wiki;
+    this.namespaceNotTrimmed = element.namespaceNotTrimmed;
+    this.namespace = element.namespace;
+    this.imageNotTrimmed = element.imageNotTrimmed;
+    this.image = element.image;
+    this.firstPipeOffset = element.firstPipeOffset;
+    this.parameters = element.parameters;
+  }
+
+  /**
+   * @param delta Offset to apply to the indexes.
+   * @return Copy of the image moved by the offset.
+   * @see org.wikipediacleaner.api.data.PageElement#moveBy(int)
+   */
+  @Override
+  PageElementImage moveBy(int delta) {
+    return new PageElementImage(this, delta);
+  }
+
   /**
    * Change image to have a different description.
    * 
@@ -0,0 +1,250 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+
+/**
+ * Index of page elements for finding quickly elements around an index in the text.
+ *
+ * Elements are sorted by their beginning (keeping the original order for elements
+ * beginning at the same index), so that the index can answer the following queries
+ * with a binary search instead of going through all the elements:
+ * <ul>
+ * <li>Next element beginning at or after an index.</li>
+ * <li>Outermost element containing an index (first one in the original list).</li>
+ * <li>Innermost element containing an index (last one in the original list).</li>
+ * </ul>
+ *
+ * @param <T> Type of page elements.
+ */
+public class PageElementIndex<T extends PageElement> {
+
+  /**
+   * Elements sorted by their beginning.
+   */
+  private final List<T> elements;
+
+  /**
+   * Beginning of each element.
+   */
+  private int[] beginIndexes;
+
+  /**
+   * End of each element.
+   */
+  private int[] endIndexes;
+
+  /**
+   * Maximum end of the elements up to each element.
+   */
+  private int[] maxEndIndexes;
+
+  /**
+   * For each element, previous element ending after it (-1 if none).
+   * Elements containing an index are found by following this chain.
+   */
+  private int[] enclosing;
+
+  /**
+   * Elements which may still enclose the next elements added to the index,
+   * from the outermost to the innermost.
+   */
+  private int[] stack;
+
+  /**
+   * Number of elements in the stack.
+   */
+  private int stackSize;
+
+  /**
+   * @param elements List of page elements.
+   */
+  public PageElementIndex(List<T> elements) {
+    List<T> tmpElements = (elements != null) ?
+        new ArrayList<T>(elements) : new ArrayList<T>();
+    Collections.sort(tmpElements, new Comparator<T>() {
+
+      /**
+       * @param o1 First element.
+       * @param o2 Second element.
+       * @return Comparison of the beginning of the elements.
+       * @see java.util.Comparator#compare(java.lang.Object, java.lang.Object)
+       */
+      @Override
+      public int compare(T o1, T o2) {
+        int begin1 = o1.getBeginIndex();
+        int begin2 = o2.getBeginIndex();
+        return (begin1 < begin2) ? -1 : ((begin1 == begin2) ? 0 : 1);
+      }
+    });
+    this.elements = new ArrayList<T>(tmpElements.size());
+    allocate(tmpElements.size());
+    for (T element : tmpElements) {
+      append(element);
+    }
+  }
+
+  /**
+   * Add an element to the index.
+   *
+   * Elements are expected to be added by increasing beginning,
+   * which is the order in which the analysis of a page finds them:
+   * the index is then updated without going through the other elements.
+   *
+   * @param element Page element.
+   */
+  public void add(T element) {
+    if (element == null) {
+      return;
+    }
+    int size = elements.size();
+    if ((size > 0) && (beginIndexes[size - 1] > element.getBeginIndex())) {
+      // Element not in order: index built again
+      List<T> tmpElements = new ArrayList<T>(elements);
+      int pos = findFirstBeginAfter(element.getBeginIndex());
+      tmpElements.add(pos, element);
+      elements.clear();
+      stackSize = 0;
+      for (T tmpElement : tmpElements) {
+        append(tmpElement);
+      }
+      return;
+    }
+    append(element);
+  }
+
+  /**
+   * Append an element beginning at or after the elements already in the index.
+   *
+   * @param element Page element.
+   */
+  private void append(T element) {
+    int i = elements.size();
+    if (i >= beginIndexes.length) {
+      allocate(Math.max(2 * beginIndexes.length, 16));
+    }
+    elements.add(element);
+    beginIndexes[i] = element.getBeginIndex();
+    endIndexes[i] = element.getEndIndex();
+    maxEndIndexes[i] = (i > 0) ?
+        Math.max(maxEndIndexes[i - 1], endIndexes[i]) : endIndexes[i];
+    while ((stackSize > 0) && (endIndexes[stack[stackSize - 1]] <= endIndexes[i])) {
+      stackSize--;
+    }
+    enclosing[i] = (stackSize > 0) ? stack[stackSize - 1] : -1;
+    stack[stackSize] = i;
+    stackSize++;
+  }
+
+  /**
+   * @param capacity Number of elements that can be kept in the index.
+   */
+  private void allocate(int capacity) {
+    if (beginIndexes == null) {
+      beginIndexes = new int[capacity];
+      endIndexes = new int[capacity];
+      maxEndIndexes = new int[capacity];
+      enclosing = new int[capacity];
+      stack = new int[capacity];
+      return;
+    }
+    beginIndexes = Arrays.copyOf(beginIndexes, capacity);
+    endIndexes = Arrays.copyOf(endIndexes, capacity);
+    maxEndIndexes = Arrays.copyOf(maxEndIndexes, capacity);
+    enclosing = Arrays.copyOf(enclosing, capacity);
+    stack = Arrays.copyOf(stack, capacity);
+  }
+
+  /**
+   * @return Number of elements in the index.
+   */
+  public int size() {
+    return elements.size();
+  }
+
+  /**
+   * @param currentIndex Current index.
+   * @return Next element beginning at or after the current index.
+   */
+  public T getNext(int currentIndex) {
+    int pos = findFirstBeginAfter(currentIndex - 1);
+    if (pos < elements.size()) {
+      return elements.get(pos);
+    }
+    return null;
+  }
+
+  /**
+   * @param currentIndex Current index.
+   * @return Outermost element containing the current index.
+   */
+  public T getOutermost(int currentIndex) {
+    int last = findFirstBeginAfter(currentIndex) - 1;
+    if (last < 0) {
+      return null;
+    }
+
+    // First element with an end after the current index
+    int low = 0;
+    int high = last + 1;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (maxEndIndexes[middle] > currentIndex) {
+        high = middle;
+      } else {
+        low = middle + 1;
+      }
+    }
+    if (low <= last) {
+      return elements.get(low);
+    }
+    return null;
+  }
+
+  /**
+   * @param currentIndex Current index.
+   * @return Innermost element containing the current index.
+   */
+  public T getInnermost(int currentIndex) {
+    int pos = findFirstBeginAfter(currentIndex) - 1;
+    if ((pos < 0) || (maxEndIndexes[pos] <= currentIndex)) {
+      return null;
+    }
+    while ((pos >= 0) && (endIndexes[pos] <= currentIndex)) {
+      pos = enclosing[pos];
+    }
+    if (pos >= 0) {
+      return elements.get(pos);
+    }
+    return null;
+  }
+
+  /**
+   * @param currentIndex Current index.
+   * @return Position of the first element beginning after the current index.
+   */
+  private int findFirstBeginAfter(int currentIndex) {
+    int low = 0;
+    int high = elements.size();
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (beginIndexes[middle] > currentIndex) {
+        high = middle;
+      } else {
+        low = middle + 1;
+      }
+    }
+    return low;
+  }
+}
@@ -298,6 +298,31 @@ public class PageElementInternalLink extends PageElement {
     this.textOffset = textOffset;
   }
 
+  /**
+   * @param element Element to copy.
+   * @param delta Offset to apply to the indexes.
+   */
+  private PageElementInternalLink(PageElementInternalLink element, int delta) {
+    super(element.getBeginIndex() + delta, element.getEndIndex() + delta);
+    this.linkNotTrimmed = element.linkNotTrimmed;
+    this.link = element.link;
+    this.anchorNotTrimmed = element.anchorNotTrimmed;
+    this.anchor = element.anchor;
+    this.textNotTrimmed = element.textNotTrimmed;
+    this.text = element.text;
+    this.textOffset = element.textOffset;
+  }
+
+  /**
+   * @param delta Offset to apply to the indexes.
+   * @return Copy of the internal link moved by the offset.
+   * @see org.wikipediacleaner.api.data.PageElement#moveBy(int)
+   */
+  @Override
+  PageElementInternalLink moveBy(int delta) {
+    return new PageElementInternalLink(this, delta);
+  }
+
   /* (non-Javadoc)
    * @see java.lang.Object#toString()
    */
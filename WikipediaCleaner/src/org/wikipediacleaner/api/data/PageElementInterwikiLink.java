@@ -199,6 +199,34 @@ public class PageElementInterwikiLink extends PageElement {
     this.textOffset = textOffset;
   }
 
+  /**
+   * @param element Element to copy.
+   * @param delta Offset to apply to the indexes.
+   */
+  private PageElementInterwikiLink(PageElementInterwikiLink element, int delta) {
+    super(element.getBeginIndex() + delta, element.getEndIndex() + delta);
+    this.interwiki = element.interwiki;
+    this.interwikiTextNotTrimmed = element.interwikiTextNotTrimmed;
+    this.interwikiText = element.interwikiText;
+    this.linkNotTrimmed = element.linkNotTrimmed;
+    this.link = element.link;
+    this.anchorNotTrimmed = element.anchorNotTrimmed;
+    this.anchor = element.anchor;
+    this.textNotTrimmed = element.textNotTrimmed;
+    this.text = element.text;
+    this.textOffset = element.textOffset;
+  }
+
+  /**
+   * @param delta Offset to apply to the indexes.
+   * @return Copy of the interwiki link moved by the offset.
+   * @see org.wikipediacleaner.api.data.PageElement#moveBy(int)
+   */
+  @Override
+  PageElementInterwikiLink moveBy(int delta) {
+    return new PageElementInterwikiLink(this, delta);
+  }
+
   /* (non-Javadoc)
    * @see java.lang.Object#toString()
    */
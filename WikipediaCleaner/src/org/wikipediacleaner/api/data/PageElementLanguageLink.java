@@ -131,6 +131,30 @@ public class PageElementLanguageLink extends PageElement {
     this.text = (text != null) ? text.trim() : null;
   }
 
+  /**
+   * @param element Element to copy.
+   * @param delta Offset to apply to the indexes.
+   */
+  private PageElementLanguageLink(PageElementLanguageLink element, int delta) {
+    super(element.getBeginIndex() + delta, element.getEndIndex() + delta);
+    this.languageNotTrimmed = element.languageNotTrimmed;
+    this.language = element.language;
+    this.linkNotTrimmed = element.linkNotTrimmed;
+    this.link = element.link;
+    this.textNotTrimmed = element.textNotTrimmed;
+    this.text = element.text;
+  }
+
+  /**
+   * @param delta Offset to apply to the indexes.
+   * @return Copy of the language link moved by the offset.
+   * @see org.wikipediacleaner.api.data.PageElement#moveBy(int)
+   */
+  @Override
+  PageElementLanguageLink moveBy(int delta) {
+    return new PageElementLanguageLink(this, delta);
+  }
+
   /* (non-Javadoc)
    * @see java.lang.Object#toString()
    */
@@ -83,6 +83,26 @@ public class PageElementMagicWord extends PageElement {
     this.magicWord = magicWord;
   }
 
+  /**
+   * @param element Element to copy.
+   * @param delta Offset to apply to the indexes.
+   */
+  private PageElementMagicWord(PageElementMagicWord element, int delta) {
+    super(element.getBeginIndex() + delta, element.getEndIndex() + delta);
+    this.text = element.text;
+    this.magicWord = element.magicWord;
+  }
+
+  /**
+   * @param delta Offset to apply to the indexes.
+   * @return Copy of the magic word moved by the offset.
+   * @see org.wikipediacleaner.api.data.PageElement#moveBy(int)
+   */
+  @Override
+  PageElementMagicWord moveBy(int delta) {
+    return new PageElementMagicWord(this, delta);
+  }
+
   /* (non-Javadoc)
    * @see java.lang.Object#toString()
    */
@@ -53,6 +53,17 @@ public class PageElementParameter extends PageElement {
       this.valueStartIndex = valueStartIndex;
     }
 
+    /**
+     * @param delta Offset to apply to the indexes.
+     * @return Copy of the parameter moved by the offset.
+     */
+    Parameter moveBy(int delta) {
+      return new Parameter(
+          pipeIndex + delta,
+          name, nameStartIndex + delta,
+          value, valueStartIndex + delta);
+    }
+
     /* (non-Javadoc)
      * @see java.lang.Object#toString()
      */
@@ -530,6 +541,34 @@ public class PageElementParameter extends PageElement {
     this.parameters = parameters;
   }
 
+  /**
+   * @param element Element to copy.
+   * @param delta Offset to apply to the indexes.
+   */
+  private PageElementParameter(PageElementParameter element, int delta) {
+    super(element.getBeginIndex() + delta, element.getEndIndex() + delta);
+    this.parameterName = element.parameterName;
+    this.parameterNameNotTrimmed = element.parameterNameNotTrimmed;
+    if (element.parameters != null) {
+      this.parameters = new ArrayList<Parameter>(element.parameters.size());
+      for (Parameter parameter : element.parameters) {
+        this.parameters.add(parameter.moveBy(delta));
+      }
+    } else {
+      this.parameters = null;
+    }
+  }
+
+  /**
+   * @param delta Offset to apply to the indexes.
+   * @return Copy of the parameter moved by the offset.
+   * @see org.wikipediacleaner.api.data.PageElement#moveBy(int)
+   */
+  @Override
+  PageElementParameter moveBy(int delta) {
+    return new PageElementParameter(this, delta);
+  }
+
   private void addPartBeforeParameters(StringBuilder sb) {
     sb.append("{{");
     sb.append(parameterNameNotTrimmed);
@@ -63,6 +63,17 @@ public class PageElementTemplate extends PageElement {
       this.valueStartIndex = valueStartIndex;
     }
 
+    /**
+     * @param delta Offset to apply to the indexes.
+     * @return Copy of the parameter moved by the offset.
+     */
+    Parameter moveBy(int delta) {
+      return new Parameter(
+          pipeIndex + delta,
+          nameNotTrimmed, computedName, nameStartIndex + delta,
+          valueNotTrimmed, strippedValue, valueStartIndex + delta);
+    }
+
     /**
      * @return Parameter pipe index.
      */
@@ -680,6 +691,34 @@ public class PageElementTemplate extends PageElement {
     }*/
   }
 
+  /**
+   * @param element Element to copy.
+   * @param delta Offset to apply to the indexes.
+   */
+  private PageElementTemplate(PageElementTemplate element, int delta) {
+    super(element.getBeginIndex() + delta, element.getEndIndex() + delta);
+    this.templateName = element.templateName;
+    this.templateNameNotTrimmed = element.templateNameNotTrimmed;
+    if (element.parameters != null) {
+      this.parameters = new ArrayList<Parameter>(element.parameters.size());
+      for (Parameter parameter : element.parameters) {
+        this.parameters.add(parameter.moveBy(delta));
+      }
+    } else {
+      this.parameters = null;
+    }
+  }
+
+  /**
+   * @param delta Offset to apply to the indexes.
+   * @return Copy of the template moved by the offset.
+   * @see org.wikipediacleaner.api.data.PageElement#moveBy(int)
+   */
+  @Override
+  PageElementTemplate moveBy(int delta) {
+    return new PageElementTemplate(this, delta);
+  }
+
   private void addPartBeforeParameters(StringBuilder sb) {
     sb.append("{{");
     sb.append(templateNameNotTrimmed);
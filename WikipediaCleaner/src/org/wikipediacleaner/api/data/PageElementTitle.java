@@ -213,6 +213,30 @@ public class PageElementTitle extends PageElement {
     this.multiline = multiline;
   }
 
+  /**
+   * @param element Element to copy.
+   * @param delta Offset to apply to the indexes.
+   */
+  private PageElementTitle(PageElementTitle element, int delta) {
+    super(element.getBeginIndex() + delta, element.getEndIndex() + delta);
+    this.firstLevel = element.firstLevel;
+    this.secondLevel = element.secondLevel;
+    this.titleNotTrimmed = element.titleNotTrimmed;
+    this.title = element.title;
+    this.afterTitleNotTrimmed = element.afterTitleNotTrimmed;
+    this.multiline = element.multiline;
+  }
+
+  /**
+   * @param delta Offset to apply to the indexes.
+   * @return Copy of the title moved by the offset.
+   * @see org.wikipediacleaner.api.data.PageElement#moveBy(int)
+   */
+  @Override
+  PageElementTitle moveBy(int delta) {
+    return new PageElementTitle(this, delta);
+  }
+
   /* (non-Javadoc)
    * @see java.lang.Object#toString()
    */
@@ -42,6 +42,11 @@ public class Suggestion implements Comparable<Suggestion> {
    */
   private final Pattern pattern;
 
+  /**
+   * Texts required in every match of the pattern (at least one of them).
+   */
+  private final String[] requiredTexts;
+
   /**
    *  True if the pattern is not a native WPCleaner pattern (AWB, ...)
    */
@@ -137,6 +142,7 @@ public class Suggestion implements Comparable<Suggestion> {
       String chapter) {
     this.chapter = chapter;
     this.pattern = pattern;
+    this.requiredTexts = SuggestionMatcher.getRequiredTexts(pattern);
     this.other = other;
     this.suggestions = new ArrayList<ElementarySuggestion>();
     this.comment = null;
@@ -163,6 +169,14 @@ public class Suggestion implements Comparable<Suggestion> {
     return pattern.pattern();
   }
 
+  /**
+   * @return Texts required in every match of the pattern (at least one of them),
+   *         or null if the pattern may match anywhere.
+   */
+  public String[] getRequiredTexts() {
+    return requiredTexts;
+  }
+
   /**
    * Add a possible replacement.
    * 
@@ -0,0 +1,477 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.data;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.wikipediacleaner.utils.MultipleStringMatcher;
+
+
+/**
+ * Matcher for finding which suggestions may match in a text.
+ *
+ * For each suggestion, texts required in every match of its pattern are extracted
+ * (at least one of them is present in every match).
+ * All required texts are then searched at once in the text,
+ * so that patterns need to be tried only where their required texts are present.
+ */
+public class SuggestionMatcher {
+
+  /**
+   * Required texts.
+   */
+  private final List<String> texts;
+
+  /**
+   * Suggestions requiring each text (same order as texts).
+   */
+  private final List<List<Suggestion>> suggestions;
+
+  /**
+   * Suggestions with required texts.
+   */
+  private final Set<Suggestion> filtered;
+
+  /**
+   * Matcher for all required texts.
+   */
+  private final MultipleStringMatcher matcher;
+
+  /**
+   * @param suggestions Suggestions.
+   */
+  public SuggestionMatcher(Collection<Suggestion> suggestions) {
+    this.texts = new ArrayList<String>();
+    this.suggestions = new ArrayList<List<Suggestion>>();
+    this.filtered = new HashSet<Suggestion>();
+    Map<String, Integer> textIndexes = new HashMap<String, Integer>();
+    if (suggestions != null) {
+      for (Suggestion suggestion : suggestions) {
+        String[] requiredTexts = suggestion.getRequiredTexts();
+        if (requiredTexts != null) {
+          filtered.add(suggestion);
+          for (String requiredText : requiredTexts) {
+            Integer textIndex = textIndexes.get(requiredText);
+            if (textIndex == null) {
+              textIndex = Integer.valueOf(texts.size());
+              textIndexes.put(requiredText, textIndex);
+              texts.add(requiredText);
+              this.suggestions.add(new ArrayList<Suggestion>());
+            }
+            this.suggestions.get(textIndex.intValue()).add(suggestion);
+          }
+        }
+      }
+    }
+    this.matcher = new MultipleStringMatcher(texts);
+  }
+
+  /**
+   * Find suggestions that may match in an area of a text.
+   * Suggestions without required texts may match anywhere and are not included.
+   *
+   * @param text Text.
+   * @param begin Begin of the area.
+   * @param end End of the area.
+   * @return Suggestions with required texts present in the area.
+   */
+  public Set<Suggestion> findCandidates(String text, int begin, int end) {
+    BitSet found = new BitSet(texts.size());
+    matcher.find(text, begin, end, found);
+    Set<Suggestion> result = new HashSet<Suggestion>();
+    for (int num = found.nextSetBit(0); num >= 0; num = found.nextSetBit(num + 1)) {
+      result.addAll(suggestions.get(num));
+    }
+    return result;
+  }
+
+  /**
+   * @param suggestion Suggestion.
+   * @param candidates Candidates found by findCandidates() for an area of a text.
+   * @return True if the suggestion may match in the area.
+   */
+  public boolean mayMatch(Suggestion suggestion, Set<Suggestion> candidates) {
+    return !filtered.contains(suggestion) || candidates.contains(suggestion);
+  }
+
+  // ==========================================================================
+  // Extraction of required texts
+  // ==========================================================================
+
+  /**
+   * Extract texts required in every match of a pattern.
+   *
+   * @param pattern Pattern.
+   * @return Texts such that every match contains at least one of them,
+   *         or null if no such texts can be found.
+   */
+  public static String[] getRequiredTexts(Pattern pattern) {
+    if ((pattern == null) || (pattern.flags() != 0)) {
+      return null;
+    }
+    try {
+      PatternParser parser = new PatternParser(pattern.pattern());
+      List<String> result = parser.parseAlternatives();
+      if ((result == null) || !parser.isFinished()) {
+        return null;
+      }
+      return result.toArray(new String[result.size()]);
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Simple parser of regular expressions, only used for extracting required texts.
+   * Every construct that is not understood makes the extraction fail.
+   */
+  private static class PatternParser {
+
+    /**
+     * Pattern.
+     */
+    private final String pattern;
+
+    /**
+     * Current position in the pattern.
+     */
+    private int pos;
+
+    /**
+     * @param pattern Pattern.
+     */
+    PatternParser(String pattern) {
+      this.pattern = pattern;
+      this.pos = 0;
+    }
+
+    /**
+     * @return True if the whole pattern has been parsed.
+     */
+    boolean isFinished() {
+      return pos >= pattern.length();
+    }
+
+    /**
+     * Parse alternatives until the end of the pattern or of the current group.
+     *
+     * @return Required texts (one of them in every match) or null.
+     */
+    List<String> parseAlternatives() {
+      List<String> result = new ArrayList<String>();
+      boolean required = true;
+      while (true) {
+        List<String> branch = parseSequence();
+        if (branch == null) {
+          required = false;
+        } else if (required) {
+          for (String text : branch) {
+            if (!result.contains(text)) {
+              result.add(text);
+            }
+          }
+        }
+        if ((pos < pattern.length()) && (pattern.charAt(pos) == '|')) {
+          pos++;
+        } else {
+          break;
+        }
+      }
+      return required ? result : null;
+    }
+
+    /**
+     * Parse a sequence until the end of the pattern, of the current group or of the alternative.
+     *
+     * @return Required texts (one of them in every match) or null.
+     */
+    private List<String> parseSequence() {
+      List<String> best = null;
+      StringBuilder run = new StringBuilder();
+      while (pos < pattern.length()) {
+        char c = pattern.charAt(pos);
+        if ((c == '|') || (c == ')')) {
+          break;
+        }
+
+        // Parse atom
+        String literal = null;
+        List<String> required = null;
+        switch (c) {
+        case '(':
+          pos++;
+          required = parseGroup();
+          break;
+        case '[':
+          skipClass();
+          break;
+        case '\\':
+          literal = parseEscape();
+          break;
+        case '.':
+        case '^':
+        case '$':
+          pos++;
+          break;
+        case '*':
+        case '+':
+        case '?':
+        case '{':
+          throw new IllegalArgumentException();
+        default:
+          literal = String.valueOf(c);
+          pos++;
+        }
+
+        // Parse quantifier
+        int min = parseQuantifier();
+        if ((literal != null) && (min != 0)) {
+          run.append(literal);
+          if (min > 0) {
+            best = getBest(best, run);
+            run.setLength(0);
+          }
+        } else {
+          best = getBest(best, run);
+          run.setLength(0);
+          if ((required != null) && (min != 0)) {
+            best = getBest(best, required);
+          }
+        }
+      }
+      return getBest(best, run);
+    }
+
+    /**
+     * Parse a group, after the opening parenthesis.
+     *
+     * @return Required texts (one of them in every match) or null.
+     */
+    private List<String> parseGroup() {
+      boolean lookaround = false;
+      if (pattern.startsWith("?", pos)) {
+        if (pattern.startsWith("?:", pos) || pattern.startsWith("?>", pos)) {
+          pos += 2;
+        } else if (pattern.startsWith("?=", pos) || pattern.startsWith("?!", pos)) {
+          pos += 2;
+          lookaround = true;
+        } else if (pattern.startsWith("?<=", pos) || pattern.startsWith("?<!", pos)) {
+          pos += 3;
+          lookaround = true;
+        } else if (pattern.startsWith("?<", pos)) {
+          skipTo('>');
+        } else {
+          throw new IllegalArgumentException();
+        }
+      }
+      List<String> result = parseAlternatives();
+      if ((pos >= pattern.length()) || (pattern.charAt(pos) != ')')) {
+        throw new IllegalArgumentException();
+      }
+      pos++;
+      return lookaround ? null : result;
+    }
+
+    /**
+     * Parse an escaped construct, at the backslash.
+     *
+     * @return Literal text matched by the construct or null.
+     */
+    private String parseEscape() {
+      pos++;
+      if (pos >= pattern.length()) {
+        throw new IllegalArgumentException();
+      }
+      char c = pattern.charAt(pos);
+      pos++;
+      switch (c) {
+      case 't':
+        return "\t";
+      case 'n':
+        return "\n";
+      case 'r':
+        return "\r";
+      case 'f':
+        return "\f";
+      case 'a':
+        return "\u0007";
+      case 'e':
+        return "\u001B";
+      case 'Q':
+        int endQuote = pattern.indexOf("\\E", pos);
+        String quote = pattern.substring(pos, (endQuote < 0) ? pattern.length() : endQuote);
+        pos = (endQuote < 0) ? pattern.length() : endQuote + 2;
+        return (quote.length() > 0) ? quote : null;
+      case 'p':
+      case 'P':
+      case 'x':
+      case 'N':
+        if (pattern.startsWith("{", pos)) {
+          skipTo('}');
+        } else {
+          pos += (c == 'x') ? 2 : 1;
+        }
+        return null;
+      case 'u':
+        pos += 4;
+        return null;
+      case 'c':
+        pos++;
+        return null;
+      case 'k':
+        if (pattern.startsWith("<", pos)) {
+          skipTo('>');
+        }
+        return null;
+      }
+      if (Character.isDigit(c)) {
+        while ((pos < pattern.length()) && Character.isDigit(pattern.charAt(pos))) {
+          pos++;
+        }
+        return null;
+      }
+      if (Character.isLetter(c)) {
+        return null;
+      }
+      return String.valueOf(c);
+    }
+
+    /**
+     * Skip a character class, at the opening bracket.
+     */
+    private void skipClass() {
+      pos++;
+      if (pattern.startsWith("^", pos)) {
+        pos++;
+      }
+      if (pattern.startsWith("]", pos)) {
+        throw new IllegalArgumentException();
+      }
+      int depth = 1;
+      while (pos < pattern.length()) {
+        char c = pattern.charAt(pos);
+        if (c == '\\') {
+          parseEscape();
+        } else {
+          pos++;
+          if (c == '[') {
+            depth++;
+          } else if (c == ']') {
+            depth--;
+            if (depth == 0) {
+              return;
+            }
+          }
+        }
+      }
+      throw new IllegalArgumentException();
+    }
+
+    /**
+     * Parse an optional quantifier.
+     *
+     * @return Minimum number of repetitions, or -1 if there's no quantifier.
+     */
+    private int parseQuantifier() {
+      if (pos >= pattern.length()) {
+        return -1;
+      }
+      int min = -1;
+      char c = pattern.charAt(pos);
+      if ((c == '?') || (c == '*')) {
+        min = 0;
+        pos++;
+      } else if (c == '+') {
+        min = 1;
+        pos++;
+      } else if (c == '{') {
+        int beginNumber = pos + 1;
+        skipTo('}');
+        String number = pattern.substring(beginNumber, pos - 1);
+        int comma = number.indexOf(',');
+        if (comma >= 0) {
+          number = number.substring(0, comma);
+        }
+        try {
+          min = Integer.parseInt(number.trim());
+        } catch (NumberFormatException e) {
+          throw new IllegalArgumentException();
+        }
+      } else {
+        return -1;
+      }
+      if ((pos < pattern.length()) &&
+          ((pattern.charAt(pos) == '?') || (pattern.charAt(pos) == '+'))) {
+        pos++;
+      }
+      return min;
+    }
+
+    /**
+     * Skip until a given character (included).
+     *
+     * @param c Character.
+     */
+    private void skipTo(char c) {
+      int index = pattern.indexOf(c, pos);
+      if (index < 0) {
+        throw new IllegalArgumentException();
+      }
+      pos = index + 1;
+    }
+
+    /**
+     * @param best Current best required texts.
+     * @param run Required text.
+     * @return Best required texts.
+     */
+    private static List<String> getBest(List<String> best, StringBuilder run) {
+      if (run.length() == 0) {
+        return best;
+      }
+      List<String> tmp = new ArrayList<String>();
+      tmp.add(run.toString());
+      return getBest(best, tmp);
+    }
+
+    /**
+     * @param best Current best required texts.
+     * @param required Required texts.
+     * @return Best required texts (the one with the longest shortest text).
+     */
+    private static List<String> getBest(List<String> best, List<String> required) {
+      if ((required == null) || required.isEmpty()) {
+        return best;
+      }
+      if ((best == null) || (getMinLength(required) > getMinLength(best))) {
+        return required;
+      }
+      return best;
+    }
+
+    /**
+     * @param texts Texts.
+     * @return Length of the shortest text.
+     */
+    private static int getMinLength(List<String> texts) {
+      int result = Integer.MAX_VALUE;
+      for (String text : texts) {
+        result = Math.min(result, text.length());
+      }
+      return result;
+    }
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.data;
+
+
+/**
+ * Replacement of an area of a text by a new text.
+ */
+public class TextEdit {
+
+  /**
+   * Beginning of the replaced area.
+   */
+  private final int beginIndex;
+
+  /**
+   * End of the replaced area.
+   */
+  private final int endIndex;
+
+  /**
+   * New text.
+   */
+  private final String newText;
+
+  /**
+   * @param beginIndex Beginning of the replaced area.
+   * @param endIndex End of the replaced area (equal to the beginning for an insertion).
+   * @param newText New text (empty or null for a deletion).
+   */
+  public TextEdit(int beginIndex, int endIndex, String newText) {
+    if ((beginIndex < 0) || (endIndex < beginIndex)) {
+      throw new IllegalArgumentException(
+          "Invalid area for text edit: " + beginIndex + "-" + endIndex);
+    }
+    this.beginIndex = beginIndex;
+    this.endIndex = endIndex;
+    this.newText = (newText != null) ? newText : "";
+  }
+
+  /**
+   * @return Beginning of the replaced area.
+   */
+  public int getBeginIndex() {
+    return beginIndex;
+  }
+
+  /**
+   * @return End of the replaced area.
+   */
+  public int getEndIndex() {
+    return endIndex;
+  }
+
+  /**
+   * @return New text.
+   */
+  public String getNewText() {
+    return newText;
+  }
+
+  /**
+   * @return Variation of the text length when applying the edit.
+   */
+  public int getDelta() {
+    return newText.length() - (endIndex - beginIndex);
+  }
+
+  /**
+   * Check if two edits modify the same part of the text.
+   * Insertions at the same index don't conflict, they are applied one after the other.
+   * 
+   * @param edit Other edit.
+   * @return True if both edits can't be applied together.
+   */
+  public boolean conflictsWith(TextEdit edit) {
+    if (edit == null) {
+      return false;
+    }
+    return (beginIndex < edit.endIndex) && (edit.beginIndex < endIndex);
+  }
+
+  /**
+   * @param edit Other edit.
+   * @return True if both edits are identical.
+   */
+  public boolean isSameAs(TextEdit edit) {
+    return (edit != null) &&
+        (beginIndex == edit.beginIndex) &&
+        (endIndex == edit.endIndex) &&
+        newText.equals(edit.newText);
+  }
+
+  /**
+   * @return String representation of the edit.
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString() {
+    return beginIndex + "-" + endIndex + ": " + newText;
+  }
+}
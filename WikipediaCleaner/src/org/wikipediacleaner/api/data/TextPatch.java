@@ -0,0 +1,350 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * Set of non overlapping edits applied at once to a text.
+ *
+ * Edits are expressed with indexes in the original text, whatever the order
+ * in which they are added, and are applied in a single pass over the text
+ * instead of rebuilding the whole text for each edit.
+ *
+ * Several insertions at the same index are applied in the order they are added,
+ * before a replacement beginning at this index.
+ */
+public class TextPatch {
+
+  /**
+   * Edits sorted by their area.
+   */
+  private final List<TextEdit> edits;
+
+  /**
+   * For each edit, variation of the text length for the edits up to it (lazily computed).
+   */
+  private int[] cumulativeDeltas;
+
+  public TextPatch() {
+    this.edits = new ArrayList<TextEdit>();
+  }
+
+  /**
+   * @param beginIndex Beginning of the replaced area.
+   * @param endIndex End of the replaced area (equal to the beginning for an insertion).
+   * @param newText New text (empty or null for a deletion).
+   * @return True if the edit is compatible with the edits already added.
+   */
+  public boolean addEdit(int beginIndex, int endIndex, String newText) {
+    return addEdit(new TextEdit(beginIndex, endIndex, newText));
+  }
+
+  /**
+   * Add an edit, unless it conflicts with an edit already added.
+   * An edit identical to an edit already added is applied only once.
+   * 
+   * @param edit Edit.
+   * @return True if the edit is compatible with the edits already added.
+   */
+  public boolean addEdit(TextEdit edit) {
+    if (edit == null) {
+      return false;
+    }
+    int pos = findPosition(edit.getBeginIndex(), edit.getEndIndex());
+    for (int i = pos - 1; i >= 0; i--) {
+      TextEdit tmpEdit = edits.get(i);
+      if ((tmpEdit.getBeginIndex() != edit.getBeginIndex()) ||
+          (tmpEdit.getEndIndex() != edit.getEndIndex())) {
+        break;
+      }
+      if (tmpEdit.isSameAs(edit)) {
+        return true;
+      }
+    }
+    if ((pos > 0) && edits.get(pos - 1).conflictsWith(edit)) {
+      return false;
+    }
+    if ((pos < edits.size()) && edits.get(pos).conflictsWith(edit)) {
+      return false;
+    }
+    edits.add(pos, edit);
+    cumulativeDeltas = null;
+    return true;
+  }
+
+  /**
+   * @return True if no edit has been added.
+   */
+  public boolean isEmpty() {
+    return edits.isEmpty();
+  }
+
+  /**
+   * @return Edits sorted by their area.
+   */
+  public List<TextEdit> getEdits() {
+    return Collections.unmodifiableList(edits);
+  }
+
+  /**
+   * Apply all the edits to a text.
+   * 
+   * @param text Original text.
+   * @return Text with all the edits applied.
+   */
+  public String apply(String text) {
+    if ((text == null) || edits.isEmpty()) {
+      return text;
+    }
+    int[] deltas = getCumulativeDeltas();
+    StringBuilder sb = new StringBuilder(text.length() + Math.max(0, deltas[deltas.length - 1]));
+    int lastIndex = 0;
+    for (TextEdit edit : edits) {
+      sb.append(text, lastIndex, edit.getBeginIndex());
+      sb.append(edit.getNewText());
+      lastIndex = edit.getEndIndex();
+    }
+    sb.append(text, lastIndex, text.length());
+    return sb.toString();
+  }
+
+  /**
+   * Map an index in the original text to the corresponding index in the patched text.
+   * Indexes inside a replaced area are mapped to the beginning of the new text,
+   * an index where text is inserted is mapped after the inserted text.
+   * 
+   * @param index Index in the original text.
+   * @return Index in the patched text.
+   */
+  public int getNewIndex(int index) {
+    if (edits.isEmpty()) {
+      return index;
+    }
+    int[] deltas = getCumulativeDeltas();
+
+    // Last edit ending before the index
+    int low = 0;
+    int high = edits.size();
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (edits.get(middle).getEndIndex() <= index) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    int delta = (low > 0) ? deltas[low - 1] : 0;
+
+    // Index inside a replaced area
+    if ((low < edits.size()) && (edits.get(low).getBeginIndex() <= index)) {
+      return edits.get(low).getBeginIndex() + delta;
+    }
+    return index + delta;
+  }
+
+  /**
+   * Maximum number of lines looked ahead to find identical lines after a difference.
+   */
+  private final static int MAX_LOOKAHEAD = 10;
+
+  /**
+   * Compute edits transforming a text into another one.
+   * 
+   * Differences are looked for line by line, so that changes spread
+   * in different places of the text give several small edits.
+   * 
+   * @param oldText Original text.
+   * @param newText New text.
+   * @return Edits transforming the original text into the new text.
+   */
+  public static TextPatch createPatch(String oldText, String newText) {
+    TextPatch patch = new TextPatch();
+    if ((oldText == null) || (newText == null)) {
+      return patch;
+    }
+
+    // Common beginning and end of the texts
+    int maxCommon = Math.min(oldText.length(), newText.length());
+    int prefix = 0;
+    while ((prefix < maxCommon) &&
+           (oldText.charAt(prefix) == newText.charAt(prefix))) {
+      prefix++;
+    }
+    int suffix = 0;
+    while ((suffix < maxCommon - prefix) &&
+           (oldText.charAt(oldText.length() - suffix - 1) ==
+            newText.charAt(newText.length() - suffix - 1))) {
+      suffix++;
+    }
+    if ((prefix == oldText.length()) && (prefix == newText.length())) {
+      return patch;
+    }
+
+    // Lines containing the differences
+    int beginIndex = oldText.lastIndexOf('\n', prefix - 1) + 1;
+    int oldEndIndex = oldText.indexOf('\n', oldText.length() - suffix);
+    oldEndIndex = (oldEndIndex < 0) ? oldText.length() : oldEndIndex + 1;
+    int newEndIndex = newText.length() - (oldText.length() - oldEndIndex);
+    int[] oldLines = getLineBeginnings(oldText, beginIndex, oldEndIndex);
+    int[] newLines = getLineBeginnings(newText, beginIndex, newEndIndex);
+
+    // Compare lines
+    int oldCount = oldLines.length - 1;
+    int newCount = newLines.length - 1;
+    int oldLine = 0;
+    int newLine = 0;
+    while ((oldLine < oldCount) || (newLine < newCount)) {
+      if ((oldLine < oldCount) && (newLine < newCount) &&
+          isSameLine(oldText, oldLines, oldLine, newText, newLines, newLine)) {
+        oldLine++;
+        newLine++;
+      } else {
+
+        // Find next identical lines
+        int nextOldLine = oldCount;
+        int nextNewLine = newCount;
+        boolean found = false;
+        for (int distance = 1; (distance <= 2 * MAX_LOOKAHEAD) && !found; distance++) {
+          for (int oldDistance = 0; (oldDistance <= distance) && !found; oldDistance++) {
+            int tmpOldLine = oldLine + oldDistance;
+            int tmpNewLine = newLine + distance - oldDistance;
+            if ((tmpOldLine < oldCount) && (tmpNewLine < newCount) &&
+                isSameLine(oldText, oldLines, tmpOldLine, newText, newLines, tmpNewLine)) {
+              nextOldLine = tmpOldLine;
+              nextNewLine = tmpNewLine;
+              found = true;
+            }
+          }
+        }
+
+        // Add an edit for the differences
+        patch.addDifference(
+            oldText, oldLines[oldLine], oldLines[nextOldLine],
+            newText, newLines[newLine], newLines[nextNewLine]);
+        oldLine = nextOldLine;
+        newLine = nextNewLine;
+      }
+    }
+
+    return patch;
+  }
+
+  /**
+   * @param text Text.
+   * @param beginIndex Beginning of an area of the text.
+   * @param endIndex End of an area of the text.
+   * @return Beginning of each line in the area, followed by the end of the area.
+   */
+  private static int[] getLineBeginnings(String text, int beginIndex, int endIndex) {
+    int count = 1;
+    for (int index = beginIndex; index < endIndex - 1; index++) {
+      if (text.charAt(index) == '\n') {
+        count++;
+      }
+    }
+    int[] result = new int[count + 1];
+    int line = 0;
+    result[line] = beginIndex;
+    for (int index = beginIndex; index < endIndex - 1; index++) {
+      if (text.charAt(index) == '\n') {
+        line++;
+        result[line] = index + 1;
+      }
+    }
+    result[count] = endIndex;
+    return result;
+  }
+
+  /**
+   * @param oldText Original text.
+   * @param oldLines Beginning of lines in the original text.
+   * @param oldLine Line in the original text.
+   * @param newText New text.
+   * @param newLines Beginning of lines in the new text.
+   * @param newLine Line in the new text.
+   * @return True if both lines are identical.
+   */
+  private static boolean isSameLine(
+      String oldText, int[] oldLines, int oldLine,
+      String newText, int[] newLines, int newLine) {
+    int length = oldLines[oldLine + 1] - oldLines[oldLine];
+    if (length != newLines[newLine + 1] - newLines[newLine]) {
+      return false;
+    }
+    return oldText.regionMatches(oldLines[oldLine], newText, newLines[newLine], length);
+  }
+
+  /**
+   * Add an edit replacing an area of the original text by an area of the new text.
+   * 
+   * @param oldText Original text.
+   * @param oldBegin Beginning of the area in the original text.
+   * @param oldEnd End of the area in the original text.
+   * @param newText New text.
+   * @param newBegin Beginning of the area in the new text.
+   * @param newEnd End of the area in the new text.
+   */
+  private void addDifference(
+      String oldText, int oldBegin, int oldEnd,
+      String newText, int newBegin, int newEnd) {
+    while ((oldBegin < oldEnd) && (newBegin < newEnd) &&
+           (oldText.charAt(oldBegin) == newText.charAt(newBegin))) {
+      oldBegin++;
+      newBegin++;
+    }
+    while ((oldBegin < oldEnd) && (newBegin < newEnd) &&
+           (oldText.charAt(oldEnd - 1) == newText.charAt(newEnd - 1))) {
+      oldEnd--;
+      newEnd--;
+    }
+    if ((oldBegin < oldEnd) || (newBegin < newEnd)) {
+      addEdit(oldBegin, oldEnd, newText.substring(newBegin, newEnd));
+    }
+  }
+
+  /**
+   * @param beginIndex Beginning of an area.
+   * @param endIndex End of an area.
+   * @return Position of the first edit after the area.
+   */
+  private int findPosition(int beginIndex, int endIndex) {
+    int low = 0;
+    int high = edits.size();
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      TextEdit edit = edits.get(middle);
+      if ((edit.getBeginIndex() < beginIndex) ||
+          ((edit.getBeginIndex() == beginIndex) && (edit.getEndIndex() <= endIndex))) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * @return For each edit, variation of the text length for the edits up to it.
+   */
+  private int[] getCumulativeDeltas() {
+    if (cumulativeDeltas == null) {
+      int[] tmpDeltas = new int[edits.size()];
+      int delta = 0;
+      for (int i = 0; i < edits.size(); i++) {
+        delta += edits.get(i).getDelta();
+        tmpDeltas[i] = delta;
+      }
+      cumulativeDeltas = tmpDeltas;
+    }
+    return cumulativeDeltas;
+  }
+}
@@ -9,13 +9,22 @@
 package org.wikipediacleaner.api.dump;
 
 import java.io.BufferedInputStream;
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
 
+import org.apache.commons.compress.archivers.sevenz.SevenZArchiveEntry;
+import org.apache.commons.compress.archivers.sevenz.SevenZFile;
 import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -43,40 +52,220 @@ public class DumpProcessor {
   /**
    * Process a wiki dump.
    * 
+   * Dumps can be compressed with bzip2 (.bz2), gzip (.gz) or 7-Zip (.7z),
+   * or not compressed.
+   * For multistream bzip2 dumps, when the index file published with the dump
+   * is available next to it, bzip2 streams are decompressed in parallel.
+   * 
+   * @param file File containing the wiki dump.
+   * @return True if the whole dump has been processed.
+   */
+  public boolean processDump(File file) {
+    return processDump(file, null);
+  }
+
+  /**
+   * Process a wiki dump, resuming after a given page.
+   * 
+   * Pages are still filtered by the page processor, but for multistream dumps
+   * the bzip2 streams before the one containing the page are not decompressed
+   * (the page is found in the index, so pages don't need to be sorted by identifier).
+   * 
    * @param file File containing the wiki dump.
+   * @param lastPageId Identifier of the last page already processed (null for all pages).
+   * @return True if the whole dump has been processed.
    */
-  public void processDump(File file) {
+  public boolean processDump(File file, Integer lastPageId) {
     if (file == null) {
-      return;
+      return false;
     }
-    FileInputStream fis = null;
-    BufferedInputStream bis = null;
-    BZip2CompressorInputStream bzis = null;
+    InputStream is = null;
     try {
       SAXParserFactory factory = SAXParserFactory.newInstance();
       SAXParser parser = factory.newSAXParser();
-      fis = new FileInputStream(file);
-      bis = new BufferedInputStream(fis);
-      bzis = new BZip2CompressorInputStream(bis);
+      is = openDump(file, lastPageId);
       DumpHandler dh = new DumpHandler();
       dh.setPageProcessor(pageProcessor);
-      parser.parse(bzis, dh);
+      parser.parse(is, dh);
+      return true;
     } catch (Exception e) {
       log.error("Error processing dump file", e);
+      return false;
     } finally {
       try {
-        if (bzis != null) {
-          bzis.close();
-        }
-        if (bis != null) {
-          bis.close();
-        }
-        if (fis != null) {
-          fis.close();
+        if (is != null) {
+          is.close();
         }
       } catch (Exception e) {
         log.error("Error closing dump file", e);
       }
     }
   }
+
+  /**
+   * Open a wiki dump.
+   * 
+   * @param file File containing the wiki dump.
+   * @param lastPageId Identifier of the last page already processed (null for all pages).
+   * @return Stream for reading the XML contents of the dump.
+   * @throws IOException
+   */
+  private InputStream openDump(File file, Integer lastPageId) throws IOException {
+    String name = file.getName().toLowerCase();
+    if (name.endsWith(".bz2")) {
+      File indexFile = getMultiStreamIndex(file);
+      if (indexFile != null) {
+        List<Long> offsets = new ArrayList<Long>();
+        long startOffset = readMultiStreamIndex(indexFile, lastPageId, offsets);
+        if (offsets.size() > 1) {
+          log.info("Decompressing " + offsets.size() + " bzip2 streams in parallel");
+          if (startOffset > 0) {
+            log.info("Resuming at offset " + startOffset + " after page " + lastPageId);
+          }
+          return new BufferedInputStream(new MultiStreamInputStream(
+              file, offsets, startOffset,
+              Runtime.getRuntime().availableProcessors()));
+        }
+      }
+      return new BZip2CompressorInputStream(
+          new BufferedInputStream(new FileInputStream(file)), true);
+    }
+    if (name.endsWith(".gz")) {
+      return new GzipCompressorInputStream(
+          new BufferedInputStream(new FileInputStream(file)), true);
+    }
+    if (name.endsWith(".7z")) {
+      return new BufferedInputStream(new SevenZInputStream(file));
+    }
+    return new BufferedInputStream(new FileInputStream(file));
+  }
+
+  /**
+   * Find the index of a multistream dump.
+   * 
+   * @param file File containing the wiki dump.
+   * @return Index file (xxx-multistream-index.txt.bz2) if available.
+   */
+  private File getMultiStreamIndex(File file) {
+    String name = file.getName();
+    int pos = name.lastIndexOf("-multistream");
+    if (pos < 0) {
+      return null;
+    }
+    File indexFile = new File(
+        file.getParentFile(),
+        name.substring(0, pos) + "-multistream-index.txt.bz2");
+    if (!indexFile.isFile() || !indexFile.canRead()) {
+      return null;
+    }
+    return indexFile;
+  }
+
+  /**
+   * Read the offsets of the bzip2 streams from the index of a multistream dump.
+   * 
+   * Each line of the index is made of the offset of the stream,
+   * the page id and the page title, separated by colons.
+   * 
+   * @param indexFile Index file.
+   * @param lastPageId Identifier of the last page already processed (null for all pages).
+   * @param offsets List filled with the distinct offsets of the streams, in ascending order.
+   * @return Offset of the stream containing the last page processed.
+   * @throws IOException
+   */
+  private long readMultiStreamIndex(
+      File indexFile, Integer lastPageId,
+      List<Long> offsets) throws IOException {
+    offsets.add(Long.valueOf(0));
+    long startOffset = -1;
+    BufferedReader reader = null;
+    try {
+      reader = new BufferedReader(new InputStreamReader(
+          new BZip2CompressorInputStream(
+              new BufferedInputStream(new FileInputStream(indexFile)), true),
+          "UTF-8"));
+      long lastOffset = 0;
+      String line = null;
+      while ((line = reader.readLine()) != null) {
+        int colon = line.indexOf(':');
+        if (colon > 0) {
+          try {
+            long offset = Long.parseLong(line.substring(0, colon));
+            if (offset > lastOffset) {
+              offsets.add(Long.valueOf(offset));
+              lastOffset = offset;
+            }
+            if ((startOffset < 0) && (lastPageId != null)) {
+              int colon2 = line.indexOf(':', colon + 1);
+              if (colon2 > 0) {
+                int pageId = Integer.parseInt(line.substring(colon + 1, colon2));
+                if (pageId == lastPageId.intValue()) {
+                  startOffset = offset;
+                }
+              }
+            }
+          } catch (NumberFormatException e) {
+            log.warn("Incorrect line in multistream index: " + line);
+          }
+        }
+      }
+    } finally {
+      if (reader != null) {
+        reader.close();
+      }
+    }
+    if ((startOffset < 0) && (lastPageId != null)) {
+      log.warn("Page " + lastPageId + " not found in multistream index");
+    }
+    return Math.max(startOffset, 0);
+  }
+
+  /**
+   * Input stream on the first entry of a 7-Zip archive.
+   */
+  private static class SevenZInputStream extends InputStream {
+
+    /** 7-Zip archive */
+    private final SevenZFile archive;
+
+    /**
+     * @param file 7-Zip archive.
+     * @throws IOException
+     */
+    public SevenZInputStream(File file) throws IOException {
+      archive = new SevenZFile(file);
+      SevenZArchiveEntry entry = archive.getNextEntry();
+      while ((entry != null) && entry.isDirectory()) {
+        entry = archive.getNextEntry();
+      }
+      if (entry == null) {
+        archive.close();
+        throw new IOException("No file in 7-Zip archive " + file.getName());
+      }
+    }
+
+    /**
+     * @see java.io.InputStream#read()
+     */
+    @Override
+    public int read() throws IOException {
+      return archive.read();
+    }
+
+    /**
+     * @see java.io.InputStream#read(byte[], int, int)
+     */
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      return archive.read(b, off, len);
+    }
+
+    /**
+     * @see java.io.InputStream#close()
+     */
+    @Override
+    public void close() throws IOException {
+      archive.close();
+    }
+  }
 }
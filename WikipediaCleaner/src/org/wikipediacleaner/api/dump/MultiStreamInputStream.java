@@ -0,0 +1,248 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2016  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+
+package org.wikipediacleaner.api.dump;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
+
+
+/**
+ * Input stream decompressing a multistream bzip2 dump in parallel.
+ *
+ * A multistream dump is made of independent bzip2 streams,
+ * whose offsets are given by the index file published with the dump.
+ * Compressed streams are read sequentially from the file,
+ * decompressed by a pool of threads, and returned in their original order.
+ * The number of streams being decompressed at the same time is limited,
+ * so memory use doesn't depend on the size of the dump.
+ * When resuming a previous analysis, streams before a given offset are skipped,
+ * except the first and the last ones which contain the beginning and the end
+ * of the XML document.
+ */
+public class MultiStreamInputStream extends InputStream {
+
+  /** Maximum number of streams being decompressed, for each thread */
+  private final static int STREAMS_PER_THREAD = 4;
+
+  /** Compressed dump */
+  private final InputStream input;
+
+  /** Offsets of the streams in the compressed dump */
+  private final long[] offsets;
+
+  /** Total length of the compressed dump */
+  private final long length;
+
+  /** Offset of the first stream to read after the first one */
+  private final long startOffset;
+
+  /** Index of the next stream to read from the compressed dump */
+  private int nextStream;
+
+  /** Current position in the compressed dump */
+  private long position;
+
+  /** Executor for decompressing streams */
+  private final ExecutorService executor;
+
+  /** Maximum number of streams being decompressed */
+  private final int maxPending;
+
+  /** Streams being decompressed, in their original order */
+  private final LinkedList<Future<byte[]>> pending;
+
+  /** Current decompressed stream */
+  private byte[] buffer;
+
+  /** Current position in the decompressed stream */
+  private int bufferPos;
+
+  /**
+   * @param file Compressed dump.
+   * @param offsets Offsets of the streams in the compressed dump, in ascending order.
+   * @param startOffset Offset of the first stream to read after the first one.
+   * @param threads Number of threads for decompressing streams.
+   * @throws IOException
+   */
+  public MultiStreamInputStream(
+      File file, List<Long> offsets, long startOffset,
+      int threads) throws IOException {
+    this.length = file.length();
+    this.startOffset = startOffset;
+    this.offsets = new long[offsets.size()];
+    for (int i = 0; i < offsets.size(); i++) {
+      this.offsets[i] = offsets.get(i).longValue();
+    }
+    this.nextStream = 0;
+    this.position = 0;
+    this.executor = Executors.newFixedThreadPool(Math.max(1, threads));
+    this.maxPending = Math.max(1, threads) * STREAMS_PER_THREAD;
+    this.pending = new LinkedList<Future<byte[]>>();
+    this.buffer = null;
+    this.bufferPos = 0;
+    this.input = new FileInputStream(file);
+  }
+
+  /**
+   * @return Next byte of the decompressed dump, -1 at the end.
+   * @throws IOException
+   * @see java.io.InputStream#read()
+   */
+  @Override
+  public int read() throws IOException {
+    if (!fillBuffer()) {
+      return -1;
+    }
+    return buffer[bufferPos++] & 0xFF;
+  }
+
+  /**
+   * @param b Buffer into which the data is read.
+   * @param off Start offset in the buffer.
+   * @param len Maximum number of bytes read.
+   * @return Number of bytes read, -1 at the end.
+   * @throws IOException
+   * @see java.io.InputStream#read(byte[], int, int)
+   */
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    if (!fillBuffer()) {
+      return -1;
+    }
+    int count = Math.min(len, buffer.length - bufferPos);
+    System.arraycopy(buffer, bufferPos, b, off, count);
+    bufferPos += count;
+    return count;
+  }
+
+  /**
+   * Close the stream and stop decompression.
+   *
+   * @throws IOException
+   * @see java.io.InputStream#close()
+   */
+  @Override
+  public void close() throws IOException {
+    for (Future<byte[]> future : pending) {
+      future.cancel(true);
+    }
+    pending.clear();
+    executor.shutdownNow();
+    input.close();
+  }
+
+  /**
+   * Make sure some decompressed data is available.
+   *
+   * @return False if the end of the dump is reached.
+   * @throws IOException
+   */
+  private boolean fillBuffer() throws IOException {
+    while ((buffer == null) || (bufferPos >= buffer.length)) {
+      submitStreams();
+      if (pending.isEmpty()) {
+        return false;
+      }
+      Future<byte[]> future = pending.removeFirst();
+      try {
+        buffer = future.get();
+        bufferPos = 0;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while decompressing dump", e);
+      } catch (ExecutionException e) {
+        throw new IOException("Error decompressing dump", e.getCause());
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Read compressed streams and submit them for decompression.
+   *
+   * @throws IOException
+   */
+  private void submitStreams() throws IOException {
+    while ((pending.size() < maxPending) && (nextStream < offsets.length)) {
+      long start = Math.max(offsets[nextStream], position);
+      long end = (nextStream + 1 < offsets.length) ? offsets[nextStream + 1] : length;
+      boolean skipped =
+          (nextStream > 0) && (nextStream + 1 < offsets.length) &&
+          (offsets[nextStream] < startOffset);
+      nextStream++;
+      if (skipped || (end <= start)) {
+        continue;
+      }
+      while (position < start) {
+        long count = input.skip(start - position);
+        if (count <= 0) {
+          throw new EOFException("Unexpected end of dump");
+        }
+        position += count;
+      }
+      final byte[] compressed = new byte[(int) (end - position)];
+      int done = 0;
+      while (done < compressed.length) {
+        int count = input.read(compressed, done, compressed.length - done);
+        if (count < 0) {
+          throw new EOFException("Unexpected end of dump");
+        }
+        done += count;
+      }
+      position = end;
+      pending.add(executor.submit(new Callable<byte[]>() {
+
+        @Override
+        public byte[] call() throws IOException {
+          return decompress(compressed);
+        }
+      }));
+    }
+  }
+
+  /**
+   * Decompress bzip2 streams.
+   *
+   * @param compressed Compressed data (one or more complete bzip2 streams).
+   * @return Decompressed data.
+   * @throws IOException
+   */
+  static byte[] decompress(byte[] compressed) throws IOException {
+    InputStream is = new BZip2CompressorInputStream(
+        new ByteArrayInputStream(compressed), true);
+    try {
+      ByteArrayOutputStream os = new ByteArrayOutputStream(compressed.length * 4);
+      byte[] tmp = new byte[65536];
+      int count = 0;
+      while ((count = is.read(tmp)) >= 0) {
+        os.write(tmp, 0, count);
+      }
+      return os.toByteArray();
+    } finally {
+      is.close();
+    }
+  }
+}
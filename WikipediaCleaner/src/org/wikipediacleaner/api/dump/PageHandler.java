@@ -54,13 +54,17 @@ public class PageHandler extends DefaultHandler {
   private boolean isInRevisionText;
 
   /** Revision text */
-  private String revisionText;
+  private final StringBuilder revisionText;
+
+  /** True if the current page should be processed */
+  private boolean isSelected;
 
   /** Page processor */
   private PageProcessor processor;
 
   public PageHandler() {
     isInPage = false;
+    revisionText = new StringBuilder();
   }
 
   /**
@@ -101,8 +105,8 @@ public class PageHandler extends DefaultHandler {
           isInRevisionId = true;
           revisionId = null;
         } else if (qName.equals("text")) {
-          isInRevisionText = true;
-          revisionText = null;
+          isInRevisionText = isSelected;
+          revisionText.setLength(0);
         }
       } else if (qName.equalsIgnoreCase("title")) {
         isInTitle = true;
@@ -118,7 +122,10 @@ public class PageHandler extends DefaultHandler {
         isInRevisionId = false;
         revisionId = null;
         isInRevisionText = false;
-        revisionText = null;
+        revisionText.setLength(0);
+        isSelected =
+            (processor != null) &&
+            processor.isPageSelected(namespace, title, pageId);
       }
     } else if (qName.equalsIgnoreCase("page")) {
       isInPage = true;
@@ -150,11 +157,11 @@ public class PageHandler extends DefaultHandler {
   public void endElement(String uri, String localName, String qName) throws SAXException {
     if (isInPage) {
       if (qName.equalsIgnoreCase("page")) {
-        if (processor != null) {
+        if ((processor != null) && isSelected) {
           Page page = DataManager.getPage(
               processor.getWiki(), title, pageId, revisionId.toString(), null);
           page.setNamespace(namespace);
-          page.setContents(revisionText);
+          page.setContents(revisionText.toString());
           processor.processPage(page);
         }
         isInPage = false;
@@ -201,13 +208,11 @@ public class PageHandler extends DefaultHandler {
         if (isInRevisionId) {
           revisionId = Integer.valueOf(new String(ch, start, length));
         } else if (isInRevisionText) {
-          if (revisionText == null) {
-            revisionText = "";
-          }
-          revisionText += new String(ch, start, length);
+          revisionText.append(ch, start, length);
         }
       } else if (isInTitle) {
-        title = new String(ch, start, length);
+        String tmp = new String(ch, start, length);
+        title = (title != null) ? title + tmp : tmp;
       } else if (isInNamespace) {
         namespace = Integer.valueOf(new String(ch, start, length));
       } else if (isInPageId) {
@@ -230,6 +235,7 @@ public class PageHandler extends DefaultHandler {
     isInRevisionId = false;
     revisionId = null;
     isInRevisionText = false;
-    revisionText = null;
+    revisionText.setLength(0);
+    isSelected = false;
   }
 }
@@ -22,6 +22,19 @@ public interface PageProcessor {
    */
   public EnumWikipedia getWiki();
 
+  /**
+   * Tell if a page should be processed.
+   * 
+   * Called before the text of the page is read,
+   * so that the text of pages not processed is not kept.
+   * 
+   * @param namespace Namespace of the page.
+   * @param title Title of the page.
+   * @param pageId Page identifier.
+   * @return True if the page should be processed.
+   */
+  public boolean isPageSelected(Integer namespace, String title, Integer pageId);
+
   /**
    * Process a page.
    * 
@@ -7,7 +7,10 @@
 
 package org.wikipediacleaner.api.execution;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
 import org.wikipediacleaner.api.API;
 import org.wikipediacleaner.api.APIException;
@@ -21,10 +24,10 @@ import org.wikipediacleaner.i18n.GT;
 /**
  * A Callable implementation for retrieving Contents.
  */
-public class ContentsCallable extends MediaWikiCallable<Page> {
+public class ContentsCallable extends MediaWikiCallable<Object> {
 
-  private final Page page;
-  private final Page returnPage;
+  private final Collection<Page> pages;
+  private final Object returnValue;
   private final boolean usePageId;
   private final boolean withRedirects;
   private final Integer section;
@@ -47,38 +50,73 @@ public class ContentsCallable extends MediaWikiCallable<Page> {
       boolean withRedirects, Integer section,
       boolean doAnalysis) {
     super(wikipedia, listener, api);
-    this.page = page;
-    this.returnPage = returnPage;
+    this.pages = Collections.singletonList(page);
+    this.returnValue = returnPage;
     this.usePageId = usePageId;
     this.withRedirects = withRedirects;
     this.section = section;
     this.doAnalysis = doAnalysis;
   }
 
+  /**
+   * @param wikipedia Wikipedia.
+   * @param listener Listener of MediaWiki events.
+   * @param api MediaWiki API.
+   * @param pages Pages retrieved together in as few requests as possible.
+   * @param returnPages True if the pages should be returned at the end of the processing.
+   * @param usePageId True if page identifiers should be used.
+   * @param withRedirects Flag indicating if redirects information should be retrieved.
+   * @param doAnalysis True if page analysis should be done.
+   */
+  public ContentsCallable(
+      EnumWikipedia wikipedia, MediaWikiListener listener, API api,
+      Collection<Page> pages, boolean returnPages, boolean usePageId,
+      boolean withRedirects, boolean doAnalysis) {
+    super(wikipedia, listener, api);
+    this.pages = pages;
+    this.returnValue = returnPages ? pages : null;
+    this.usePageId = usePageId;
+    this.withRedirects = withRedirects;
+    this.section = null;
+    this.doAnalysis = doAnalysis;
+  }
+
   /* (non-Javadoc)
    * @see java.util.concurrent.Callable#call()
    */
   @Override
-  public Page call() throws APIException {
-    setText(GT._("Retrieving contents") + " - " + page.getTitle());
+  public Object call() throws APIException {
+    if (pages.isEmpty()) {
+      return returnValue;
+    }
+    setText(GT._("Retrieving contents") + " - " + pages.iterator().next().getTitle());
     if (section == null) {
       api.retrieveContents(
-          getWikipedia(),
-          Collections.singletonList(page), 
+          getWikipedia(), pages, 
           usePageId, withRedirects);
-      if (withRedirects &&
-          page.isRedirect() &&
-          (page.getRedirects().size() > 0)) {
-        api.retrieveContents(getWikipedia(), page.getRedirects(), false, false);
+      if (withRedirects) {
+        List<Page> redirects = new ArrayList<Page>();
+        for (Page page : pages) {
+          if (page.isRedirect() && (page.getRedirects() != null)) {
+            redirects.addAll(page.getRedirects());
+          }
+        }
+        if (!redirects.isEmpty()) {
+          api.retrieveContents(getWikipedia(), redirects, false, false);
+        }
       }
     } else {
-      api.retrieveSectionContents(getWikipedia(), page, section.intValue());
+      for (Page page : pages) {
+        api.retrieveSectionContents(getWikipedia(), page, section.intValue());
+      }
     }
     if (doAnalysis) {
-      PageAnalysis analysis = page.getAnalysis(page.getContents(), true);
-      analysis.performFullPageAnalysis();
+      for (Page page : pages) {
+        PageAnalysis analysis = page.getAnalysis(page.getContents(), true);
+        analysis.performFullPageAnalysis();
+      }
     }
-    return returnPage;
+    return returnValue;
   }
 
 }
@@ -50,6 +50,7 @@ import org.wikipediacleaner.api.data.AbuseFilter;
 import org.wikipediacleaner.api.data.DataManager;
 import org.wikipediacleaner.api.data.LoginResult;
 import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.data.PageElementAreas;
 import org.wikipediacleaner.api.data.QueryResult;
 import org.wikipediacleaner.api.data.RecentChange;
 import org.wikipediacleaner.api.data.Section;
@@ -116,7 +117,17 @@ import org.wikipediacleaner.api.request.ApiTokensRequest;
 import org.wikipediacleaner.api.request.ApiTokensResult;
 import org.wikipediacleaner.api.request.ApiUsersRequest;
 import org.wikipediacleaner.api.request.ApiUsersResult;
+import org.wikipediacleaner.api.request.json.ApiJsonBacklinksResult;
+import org.wikipediacleaner.api.request.json.ApiJsonCategoryMembersResult;
+import org.wikipediacleaner.api.request.json.ApiJsonEmbeddedInResult;
+import org.wikipediacleaner.api.request.json.ApiJsonInfoResult;
+import org.wikipediacleaner.api.request.json.ApiJsonLinksResult;
+import org.wikipediacleaner.api.request.json.ApiJsonRecentChangesResult;
+import org.wikipediacleaner.api.request.json.ApiJsonResult;
+import org.wikipediacleaner.api.request.json.ApiJsonRevisionsResult;
+import org.wikipediacleaner.api.request.json.ApiJsonSearchResult;
 import org.wikipediacleaner.api.request.json.ApiJsonTemplateDataResult;
+import org.wikipediacleaner.api.request.json.ApiJsonTemplatesResult;
 import org.wikipediacleaner.api.request.xml.ApiXmlAbuseFiltersResult;
 import org.wikipediacleaner.api.request.xml.ApiXmlAbuseLogResult;
 import org.wikipediacleaner.api.request.xml.ApiXmlAllMessagesResult;
@@ -148,9 +159,12 @@ import org.wikipediacleaner.api.request.xml.ApiXmlSiteInfoResult;
 import org.wikipediacleaner.api.request.xml.ApiXmlTemplatesResult;
 import org.wikipediacleaner.api.request.xml.ApiXmlTokensResult;
 import org.wikipediacleaner.api.request.xml.ApiXmlUsersResult;
+import org.wikipediacleaner.api.request.xml.XPathCache;
 import org.wikipediacleaner.gui.swing.basic.Utilities;
 import org.wikipediacleaner.i18n.GT;
+import org.wikipediacleaner.utils.CompactStringSet;
 import org.wikipediacleaner.utils.Configuration;
+import org.wikipediacleaner.utils.FileCache;
 import org.wikipediacleaner.utils.ConfigurationValueBoolean;
 import org.wikipediacleaner.utils.ConfigurationValueInteger;
 
@@ -193,6 +207,16 @@ public class MediaWikiAPI implements API {
         null, ConfigurationValueBoolean.DEBUG_API);
     HttpUtils.updateConfiguration();
     ApiXmlResult.updateConfiguration();
+    ApiJsonResult.updateConfiguration();
+    PageElementAreas.updateConfiguration();
+  }
+
+  /**
+   * @return True if JSON format should be used for MediaWiki API calls.
+   */
+  private static boolean useJson() {
+    Configuration config = Configuration.getConfiguration();
+    return config.getBoolean(null, ConfigurationValueBoolean.JSON_API);
   }
 
   /**
@@ -244,7 +268,7 @@ public class MediaWikiAPI implements API {
       if (userConfigPage != null) {
         pages.add(userConfigPage);
       }
-      retrieveContents(wiki, pages, false, false);
+      retrieveContentsWithCache(wiki, pages);
 
       // Set configuration
       wiki.getConfiguration().setGeneralConfiguration(
@@ -619,28 +643,28 @@ public class MediaWikiAPI implements API {
   private QueryResult constructEdit(Element root, String query)
       throws APIException, CaptchaException {
     try {
-      XPath xpa = XPath.newInstance(query);
+      XPath xpa = XPathCache.get(query);
       Element node = (Element) xpa.selectSingleNode(root);
       if (node != null) {
-        XPath xpaResult = XPath.newInstance("./@result");
+        XPath xpaResult = XPathCache.get("./@result");
         String result = xpaResult.valueOf(node);
         if ("Success".equalsIgnoreCase(result)) {
-          XPath xpaPageId = XPath.newInstance("./@pageid");
+          XPath xpaPageId = XPathCache.get("./@pageid");
           Integer pageId = null;
           try {
             pageId = Integer.valueOf(xpaPageId.valueOf(node));
           } catch (NumberFormatException e) {
             //
           }
-          XPath xpaPageTitle = XPath.newInstance("./@title");
-          XPath xpaPageOldRevId = XPath.newInstance("./@oldrevid");
+          XPath xpaPageTitle = XPathCache.get("./@title");
+          XPath xpaPageOldRevId = XPathCache.get("./@oldrevid");
           Integer pageOldRevId = null;
           try {
             pageOldRevId = Integer.valueOf(xpaPageOldRevId.valueOf(node));
           } catch (NumberFormatException e) {
             //
           }
-          XPath xpaPageNewRevId = XPath.newInstance("./@newrevid");
+          XPath xpaPageNewRevId = XPathCache.get("./@newrevid");
           Integer pageNewRevId = null;
           try {
             pageNewRevId = Integer.valueOf(xpaPageNewRevId.valueOf(node));
@@ -651,28 +675,28 @@ public class MediaWikiAPI implements API {
               pageId, xpaPageTitle.valueOf(node),
               pageOldRevId, pageNewRevId);
         } else if ("Failure".equalsIgnoreCase(result)) {
-          XPath xpaCaptcha = XPath.newInstance("./captcha");
+          XPath xpaCaptcha = XPathCache.get("./captcha");
           Element captcha = (Element) xpaCaptcha.selectSingleNode(node);
           if (captcha != null) {
-            XPath xpaType = XPath.newInstance("./@type");
+            XPath xpaType = XPathCache.get("./@type");
             CaptchaException exception = new CaptchaException("Captcha", xpaType.valueOf(captcha));
-            XPath xpaMime = XPath.newInstance("./@mime");
+            XPath xpaMime = XPathCache.get("./@mime");
             exception.setMime(xpaMime.valueOf(captcha));
-            XPath xpaId = XPath.newInstance("./@id");
+            XPath xpaId = XPathCache.get("./@id");
             exception.setId(xpaId.valueOf(captcha));
-            XPath xpaUrl = XPath.newInstance("./@url");
+            XPath xpaUrl = XPathCache.get("./@url");
             exception.setURL(xpaUrl.valueOf(captcha));
             throw exception;
           }
-          XPath xpaSpamBlacklist = XPath.newInstance("./@spamblacklist");
+          XPath xpaSpamBlacklist = XPathCache.get("./@spamblacklist");
           String spamBlacklist = xpaSpamBlacklist.valueOf(node);
           if (spamBlacklist != null) {
             throw new APIException(GT._("URL {0} is blacklisted", spamBlacklist));
           }
           throw new APIException(xmlOutputter.outputString(node));
         }
-        XPath xpaWait = XPath.newInstance("./@wait");
-        XPath xpaDetails = XPath.newInstance("./@details");
+        XPath xpaWait = XPathCache.get("./@wait");
+        XPath xpaDetails = XPathCache.get("./@details");
         return QueryResult.createErrorQuery(result, xpaDetails.valueOf(node), xpaWait.valueOf(node));
       }
     } catch (JDOMException e) {
@@ -695,10 +719,10 @@ public class MediaWikiAPI implements API {
     }
     boolean redirect = false;
     try {
-      XPath xpaPage = XPath.newInstance(query);
+      XPath xpaPage = XPathCache.get(query);
       Element node = (Element) xpaPage.selectSingleNode(root);
       if (node != null) {
-        XPath xpaNamespace = XPath.newInstance("./@ns");
+        XPath xpaNamespace = XPathCache.get("./@ns");
         page.setNamespace(xpaNamespace.valueOf(node));
         if (node.getAttribute("redirect") != null) {
           redirect = true;
@@ -707,26 +731,26 @@ public class MediaWikiAPI implements API {
         if (node.getAttribute("missing") != null) {
           page.setExisting(Boolean.FALSE);
         }
-        XPath xpaPageId = XPath.newInstance("./@pageid");
+        XPath xpaPageId = XPathCache.get("./@pageid");
         page.setPageId(xpaPageId.valueOf(node));
-        XPath xpaStartTimestamp = XPath.newInstance("./@starttimestamp");
+        XPath xpaStartTimestamp = XPathCache.get("./@starttimestamp");
         page.setStartTimestamp(xpaStartTimestamp.valueOf(node));
       }
-      XPath xpa = XPath.newInstance(query + "/revisions/rev");
+      XPath xpa = XPathCache.get(query + "/revisions/rev");
       node = (Element) xpa.selectSingleNode(root);
       if (node != null) {
-        XPath xpaContents = XPath.newInstance(".");
-        XPath xpaRevision = XPath.newInstance("./@revid");
-        XPath xpaTimestamp = XPath.newInstance("./@timestamp");
+        XPath xpaContents = XPathCache.get(".");
+        XPath xpaRevision = XPathCache.get("./@revid");
+        XPath xpaTimestamp = XPathCache.get("./@timestamp");
         page.setContents(xpaContents.valueOf(node));
         page.setExisting(Boolean.TRUE);
         page.setRevisionId(xpaRevision.valueOf(node));
         page.setContentsTimestamp(xpaTimestamp.valueOf(node));
       }
-      xpa = XPath.newInstance(query + "/protection/pr[@type=\"edit\"]");
+      xpa = XPathCache.get(query + "/protection/pr[@type=\"edit\"]");
       node = (Element) xpa.selectSingleNode(root);
       if (node != null) {
-        XPath xpaLevel = XPath.newInstance("./@level");
+        XPath xpaLevel = XPathCache.get("./@level");
         page.setEditProtectionLevel(xpaLevel.valueOf(node));
       }
     } catch (JDOMException e) {
@@ -748,10 +772,10 @@ public class MediaWikiAPI implements API {
       throw new APIException("Pages is null");
     }
     try {
-      XPath xpaPage = XPath.newInstance(query);
-      XPath xpaTitle = XPath.newInstance("./@title");
-      XPath xpaRev = XPath.newInstance("./revisions/rev");
-      XPath xpaContents = XPath.newInstance(".");
+      XPath xpaPage = XPathCache.get(query);
+      XPath xpaTitle = XPathCache.get("./@title");
+      XPath xpaRev = XPathCache.get("./revisions/rev");
+      XPath xpaContents = XPathCache.get(".");
       List resultPages = xpaPage.selectNodes(root);
       Iterator iterPages = resultPages.iterator();
       while (iterPages.hasNext()) {
@@ -933,7 +957,9 @@ public class MediaWikiAPI implements API {
   public void retrieveInfo(
       EnumWikipedia wiki,
       Collection<Page> pages) throws APIException {
-    ApiInfoResult result = new ApiXmlInfoResult(wiki, httpClient);
+    ApiInfoResult result = useJson() ?
+        new ApiJsonInfoResult(wiki, httpClient) :
+        new ApiXmlInfoResult(wiki, httpClient);
     ApiInfoRequest request = new ApiInfoRequest(wiki, result);
     request.loadInformations(pages);
   }
@@ -955,11 +981,59 @@ public class MediaWikiAPI implements API {
       Collection<Page> pages, boolean usePageId,
       boolean withRedirects)
       throws APIException {
-    ApiRevisionsResult result = new ApiXmlRevisionsResult(wiki, httpClient);
+    ApiRevisionsResult result = useJson() ?
+        new ApiJsonRevisionsResult(wiki, httpClient) :
+        new ApiXmlRevisionsResult(wiki, httpClient);
     ApiRevisionsRequest request = new ApiRevisionsRequest(wiki, result);
     request.loadContent(pages, usePageId, withRedirects);
   }
 
+  /**
+   * Retrieves the contents of a list of pages, using the contents kept on disk
+   * for pages which haven't been modified since they were last retrieved.
+   * (<code>action=query</code>, <code>prop=revisions</code>).
+   * 
+   * @param wiki Wiki.
+   * @param pages List of pages.
+   * @throws APIException
+   * @see <a href="http://www.mediawiki.org/wiki/API:Properties#revisions_.2F_rv">API:Properties#revisions</a>
+   */
+  @Override
+  public void retrieveContentsWithCache(
+      EnumWikipedia wiki,
+      Collection<Page> pages) throws APIException {
+    ApiRevisionsResult result = useJson() ?
+        new ApiJsonRevisionsResult(wiki, httpClient) :
+        new ApiXmlRevisionsResult(wiki, httpClient);
+    ApiRevisionsRequest request = new ApiRevisionsRequest(wiki, result);
+    request.loadLastRevisionIds(pages);
+
+    // Use contents of pages which haven't been modified
+    FileCache cache = new FileCache(wiki, "pages");
+    List<Page> modifiedPages = new ArrayList<Page>();
+    for (Page page : pages) {
+      if (Boolean.TRUE.equals(page.isExisting()) && (page.getRevisionId() != null)) {
+        String contents = cache.get(page.getTitle(), page.getRevisionId().toString());
+        if (contents != null) {
+          page.setContents(contents);
+        } else {
+          modifiedPages.add(page);
+        }
+      }
+    }
+    if (modifiedPages.isEmpty()) {
+      return;
+    }
+
+    // Retrieve contents of modified pages
+    request.loadContent(modifiedPages, false, false);
+    for (Page page : modifiedPages) {
+      if ((page.getContents() != null) && (page.getRevisionId() != null)) {
+        cache.put(page.getTitle(), page.getRevisionId().toString(), page.getContents());
+      }
+    }
+  }
+
   /**
    * Retrieves the templates of <code>page</code>.
    * 
@@ -969,7 +1043,9 @@ public class MediaWikiAPI implements API {
   @Override
   public void retrieveTemplates(EnumWikipedia wiki, Page page)
       throws APIException {
-    ApiTemplatesResult result = new ApiXmlTemplatesResult(wiki, httpClient);
+    ApiTemplatesResult result = useJson() ?
+        new ApiJsonTemplatesResult(wiki, httpClient) :
+        new ApiXmlTemplatesResult(wiki, httpClient);
     ApiTemplatesRequest request = new ApiTemplatesRequest(wiki, result);
     request.loadTemplates(page);
   }
@@ -1025,7 +1101,9 @@ public class MediaWikiAPI implements API {
       }
 
       // Use templates otherwise
-      ApiTemplatesResult result = new ApiXmlTemplatesResult(wiki, httpClient);
+      ApiTemplatesResult result = useJson() ?
+          new ApiJsonTemplatesResult(wiki, httpClient) :
+          new ApiXmlTemplatesResult(wiki, httpClient);
       ApiTemplatesRequest request = new ApiTemplatesRequest(wiki, result);
       request.setDisambiguationStatus(pages);
     }
@@ -1043,7 +1121,9 @@ public class MediaWikiAPI implements API {
   @Override
   public void retrieveLinks(EnumWikipedia wiki, Collection<Page> pages)
       throws APIException {
-    ApiLinksResult result = new ApiXmlLinksResult(wiki, httpClient);
+    ApiLinksResult result = useJson() ?
+        new ApiJsonLinksResult(wiki, httpClient) :
+        new ApiXmlLinksResult(wiki, httpClient);
     ApiLinksRequest request = new ApiLinksRequest(wiki, result);
     request.loadLinks(pages);
   }
@@ -1067,7 +1147,9 @@ public class MediaWikiAPI implements API {
       List<Page> knownPages,
       boolean redirects, boolean disambigNeeded)
       throws APIException {
-    ApiLinksResult result = new ApiXmlLinksResult(wiki, httpClient);
+    ApiLinksResult result = useJson() ?
+        new ApiJsonLinksResult(wiki, httpClient) :
+        new ApiXmlLinksResult(wiki, httpClient);
     ApiLinksRequest request = new ApiLinksRequest(wiki, result);
     boolean useDisambig = wiki.getConfiguration().getBoolean(
         WPCConfigurationBoolean.DAB_USE_DISAMBIG_MAGIC_WORD);
@@ -1160,7 +1242,9 @@ public class MediaWikiAPI implements API {
       EnumWikipedia wiki, Page page,
       boolean redirects)
       throws APIException {
-    ApiBacklinksResult result = new ApiXmlBacklinksResult(wiki, httpClient);
+    ApiBacklinksResult result = useJson() ?
+        new ApiJsonBacklinksResult(wiki, httpClient) :
+        new ApiXmlBacklinksResult(wiki, httpClient);
     ApiBacklinksRequest request = new ApiBacklinksRequest(wiki, result);
     request.loadBacklinks(page, redirects);
   }
@@ -1181,11 +1265,35 @@ public class MediaWikiAPI implements API {
   public void retrieveCategoryMembers(
       EnumWikipedia wiki, Page category,
       int depth, boolean limit, int max) throws APIException {
-    ApiCategoryMembersResult result = new ApiXmlCategoryMembersResult(wiki, httpClient);
+    ApiCategoryMembersResult result = useJson() ?
+        new ApiJsonCategoryMembersResult(wiki, httpClient) :
+        new ApiXmlCategoryMembersResult(wiki, httpClient);
     ApiCategoryMembersRequest request = new ApiCategoryMembersRequest(wiki, result);
     request.loadCategoryMembers(category, depth, limit, max);
   }
 
+  /**
+   * Retrieves the titles of the members of a category, without creating pages.
+   * (<code>action=query</code>, <code>list=categorymembers</code>).
+   * 
+   * @param wiki Wiki.
+   * @param category Category.
+   * @param namespaces Limit to some namespaces.
+   * @param titles Builder to be filled with the titles of category members.
+   * @throws APIException
+   * @see <a href="http://www.mediawiki.org/wiki/API:Categorymembers">API:Categorymembers</a>
+   */
+  @Override
+  public void retrieveCategoryMemberTitles(
+      EnumWikipedia wiki, Page category,
+      List<Integer> namespaces, CompactStringSet.Builder titles) throws APIException {
+    ApiCategoryMembersResult result = useJson() ?
+        new ApiJsonCategoryMembersResult(wiki, httpClient) :
+        new ApiXmlCategoryMembersResult(wiki, httpClient);
+    ApiCategoryMembersRequest request = new ApiCategoryMembersRequest(wiki, result);
+    request.loadCategoryMemberTitles(category, namespaces, titles);
+  }
+
   /**
    * Retrieves the pages in which <code>page</code> is embedded.
    * (<code>action=query</code>, <code>list=embeddedin</code>).
@@ -1201,11 +1309,35 @@ public class MediaWikiAPI implements API {
   public void retrieveEmbeddedIn(
       EnumWikipedia wiki, Page page,
       List<Integer> namespaces, boolean limit) throws APIException {
-    ApiEmbeddedInResult result = new ApiXmlEmbeddedInResult(wiki, httpClient);
+    ApiEmbeddedInResult result = useJson() ?
+        new ApiJsonEmbeddedInResult(wiki, httpClient) :
+        new ApiXmlEmbeddedInResult(wiki, httpClient);
     ApiEmbeddedInRequest request = new ApiEmbeddedInRequest(wiki, result);
     request.loadEmbeddedIn(page, namespaces, limit);
   }
 
+  /**
+   * Retrieves the titles of the pages in which <code>page</code> is embedded, without creating pages.
+   * (<code>action=query</code>, <code>list=embeddedin</code>).
+   * 
+   * @param wiki Wiki.
+   * @param page Page.
+   * @param namespaces Limit to some namespaces.
+   * @param titles Builder to be filled with the titles of embedding pages.
+   * @throws APIException
+   * @see <a href="http://www.mediawiki.org/wiki/API:Embeddedin">API:Embeddedin</a>
+   */
+  @Override
+  public void retrieveEmbeddedInTitles(
+      EnumWikipedia wiki, Page page,
+      List<Integer> namespaces, CompactStringSet.Builder titles) throws APIException {
+    ApiEmbeddedInResult result = useJson() ?
+        new ApiJsonEmbeddedInResult(wiki, httpClient) :
+        new ApiXmlEmbeddedInResult(wiki, httpClient);
+    ApiEmbeddedInRequest request = new ApiEmbeddedInRequest(wiki, result);
+    request.loadEmbeddedInTitles(page, namespaces, titles);
+  }
+
   /**
    * Retrieves the pages which have a given property.
    * (<code>action=query</code>, <code>list=pageswithprop</code>).
@@ -1225,6 +1357,27 @@ public class MediaWikiAPI implements API {
     return request.loadPagesWithProp(property, limit);
   }
 
+  /**
+   * Retrieves the titles of the pages which have a given property, without creating pages.
+   * (<code>action=query</code>, <code>list=pageswithprop</code>).
+   * 
+   * @param wiki Wiki.
+   * @param property Property name.
+   * @param namespaces Limit to some namespaces.
+   * @param titles Builder to be filled with the titles of pages.
+   * @throws APIException
+   * @see <a href="http://www.mediawiki.org/wiki/API:Pageswithprop">API:Pageswithprop</a>
+   */
+  @Override
+  public void retrievePagesWithPropTitles(
+      EnumWikipedia wiki,
+      String property, List<Integer> namespaces,
+      CompactStringSet.Builder titles) throws APIException {
+    ApiPagesWithPropResult result = new ApiXmlPagesWithPropResult(wiki, httpClient);
+    ApiPagesWithPropRequest request = new ApiPagesWithPropRequest(wiki, result);
+    request.loadPagesWithPropTitles(property, namespaces, titles);
+  }
+
   /**
    * Retrieves the pages which are protected in creation indefinitely.
    * (<code>action=query</code>, <code>list=protectedtitles</code>).
@@ -1296,11 +1449,39 @@ public class MediaWikiAPI implements API {
   public String getRecentChanges(
       EnumWikipedia wiki,
       String start, List<RecentChange> recentChanges) throws APIException {
-    ApiRecentChangesResult result = new ApiXmlRecentChangesResult(wiki, httpClient);
+    ApiRecentChangesResult result = useJson() ?
+        new ApiJsonRecentChangesResult(wiki, httpClient) :
+        new ApiXmlRecentChangesResult(wiki, httpClient);
     ApiRecentChangesRequest request = new ApiRecentChangesRequest(wiki, result);
     return request.loadRecentChanges(start, recentChanges);
   }
 
+  /**
+   * Retrieves recent changes made since a given time.
+   * (<code>action=query</code>, <code>list=recentchanges</code>).
+   * 
+   * @param wiki Wiki.
+   * @param start The timestamp from which modifications are requested.
+   * @param namespaces Limit to some namespaces.
+   * @param type Limit to some type of changes.
+   * @param recentChanges The list of recent changes to be filled.
+   * @param max Maximum number of changes.
+   * @return The timestamp of the last change, or null if there are more changes than the maximum.
+   * @throws APIException
+   * @see <a href="http://www.mediawiki.org/wiki/API:Recentchanges">API:Recentchanges</a>
+   */
+  @Override
+  public String getRecentChangesSince(
+      EnumWikipedia wiki,
+      String start, List<Integer> namespaces, String type,
+      List<RecentChange> recentChanges, int max) throws APIException {
+    ApiRecentChangesResult result = useJson() ?
+        new ApiJsonRecentChangesResult(wiki, httpClient) :
+        new ApiXmlRecentChangesResult(wiki, httpClient);
+    ApiRecentChangesRequest request = new ApiRecentChangesRequest(wiki, result);
+    return request.loadRecentChangesSince(start, namespaces, type, recentChanges, max);
+  }
+
   /**
    * Retrieves similar pages.
    * (<code>action=query</code>, <code>list=search</code>).
@@ -1315,7 +1496,9 @@ public class MediaWikiAPI implements API {
   public void retrieveSimilarPages(
       EnumWikipedia wiki, Page page, boolean limit)
       throws APIException {
-    ApiSearchResult result = new ApiXmlSearchResult(wiki, httpClient);
+    ApiSearchResult result = useJson() ?
+        new ApiJsonSearchResult(wiki, httpClient) :
+        new ApiXmlSearchResult(wiki, httpClient);
     ApiSearchRequest request = new ApiSearchRequest(wiki, result);
     request.searchSimilarPages(page, limit);
   }
@@ -1753,12 +1936,12 @@ public class MediaWikiAPI implements API {
     
     // Check for errors
     try {
-      XPath xpa = XPath.newInstance("/api/error");
+      XPath xpa = XPathCache.get("/api/error");
       List listErrors = xpa.selectNodes(root);
       if (listErrors != null) {
         Iterator iterErrors = listErrors.iterator();
-        XPath xpaCode = XPath.newInstance("./@code");
-        XPath xpaInfo = XPath.newInstance("./@info");
+        XPath xpaCode = XPathCache.get("./@code");
+        XPath xpaInfo = XPathCache.get("./@info");
         while (iterErrors.hasNext()) {
           Element currentNode = (Element) iterErrors.next();
           String text = "Error reported: " + xpaCode.valueOf(currentNode) + " - " + xpaInfo.valueOf(currentNode);
@@ -1772,7 +1955,7 @@ public class MediaWikiAPI implements API {
     
     // Check for warnings
     try {
-      XPath xpa = XPath.newInstance("/api/warnings/*");
+      XPath xpa = XPathCache.get("/api/warnings/*");
       List listWarnings = xpa.selectNodes(root);
       if (listWarnings != null) {
         Iterator iterWarnings = listWarnings.iterator();
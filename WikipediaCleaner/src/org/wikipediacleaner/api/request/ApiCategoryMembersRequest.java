@@ -18,6 +18,7 @@ import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.Namespace;
 import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.utils.CompactStringSet;
 import org.wikipediacleaner.utils.ConfigurationValueInteger;
 
 
@@ -204,17 +205,7 @@ public class ApiCategoryMembersRequest extends ApiListRequest {
       Page currentCategory = entry.getKey();
       categories.remove(currentCategory);
       int currentDepth = entry.getValue().intValue();
-      String categoryName = currentCategory.getTitle();
-      int colonIndex = categoryName.indexOf(':');
-      if (colonIndex < 0) {
-        categoryName = getWiki().getWikiConfiguration().getPageTitle(
-            Namespace.CATEGORY, categoryName);
-      } else {
-        Namespace namespaceCategory = getWiki().getWikiConfiguration().getNamespace(Namespace.CATEGORY);
-        if (!namespaceCategory.isPossibleName(categoryName.substring(0, colonIndex))) {
-          categoryName = getWiki().getWikiConfiguration().getPageTitle(Namespace.CATEGORY, categoryName);
-        }
-      }
+      String categoryName = getCategoryName(currentCategory);
       boolean shouldAnalyze = true;
       if (currentDepth > depth) {
         shouldAnalyze = false;
@@ -242,4 +233,46 @@ public class ApiCategoryMembersRequest extends ApiListRequest {
       }
     }
   }
+
+  /**
+   * Load titles of category members, without creating pages.
+   * 
+   * @param category Category for which members are requested.
+   * @param namespaces List of name spaces to restrict result.
+   * @param titles Builder to be filled with the titles of category members.
+   */
+  public void loadCategoryMemberTitles(
+      Page category, List<Integer> namespaces,
+      CompactStringSet.Builder titles) throws APIException {
+    Map<String, String> properties = getProperties(ACTION_QUERY, result.getFormat());
+    properties.put(PROPERTY_LIST, PROPERTY_LIST_CATEGORYMEMBERS);
+    properties.put(PROPERTY_CONTINUE, PROPERTY_CONTINUE_DEFAULT);
+    properties.put(PROPERTY_LIMIT, LIMIT_MAX);
+    properties.put(PROPERTY_PROP, PROPERTY_PROP_TITLE);
+    if ((namespaces != null) && (namespaces.size() > 0)) {
+      properties.put(PROPERTY_NAMESPACE, constructList(namespaces));
+    }
+    properties.put(PROPERTY_TITLE, getCategoryName(category));
+    while (result.executeCategoryMemberTitles(properties, titles)) {
+      //
+    }
+  }
+
+  /**
+   * @param category Category.
+   * @return Category name with the name space.
+   */
+  private String getCategoryName(Page category) {
+    String categoryName = category.getTitle();
+    int colonIndex = categoryName.indexOf(':');
+    if (colonIndex < 0) {
+      return getWiki().getWikiConfiguration().getPageTitle(
+          Namespace.CATEGORY, categoryName);
+    }
+    Namespace namespaceCategory = getWiki().getWikiConfiguration().getNamespace(Namespace.CATEGORY);
+    if (!namespaceCategory.isPossibleName(categoryName.substring(0, colonIndex))) {
+      return getWiki().getWikiConfiguration().getPageTitle(Namespace.CATEGORY, categoryName);
+    }
+    return categoryName;
+  }
 }
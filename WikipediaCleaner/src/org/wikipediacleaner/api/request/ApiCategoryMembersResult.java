@@ -12,6 +12,7 @@ import java.util.Map;
 
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.utils.CompactStringSet;
 
 
 /**
@@ -33,4 +34,16 @@ public interface ApiCategoryMembersResult extends ApiResult {
       Map<String, String> properties,
       List<Page> list,
       Map<Page, Integer> categories, int depth) throws APIException;
+
+  /**
+   * Execute category members request for titles only.
+   * 
+   * @param properties Properties defining request.
+   * @param titles Builder to be filled with the titles of category members.
+   * @return True if request should be continued.
+   * @throws APIException
+   */
+  public boolean executeCategoryMemberTitles(
+      Map<String, String> properties,
+      CompactStringSet.Builder titles) throws APIException;
 }
@@ -15,6 +15,7 @@ import java.util.Map;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.utils.CompactStringSet;
 import org.wikipediacleaner.utils.ConfigurationValueInteger;
 
 
@@ -104,4 +105,27 @@ public class ApiEmbeddedInRequest extends ApiListRequest {
     Collections.sort(list);
     page.setRelatedPages(Page.RelatedPages.EMBEDDED_IN, list);
   }
+
+  /**
+   * Load titles of pages embedding a page, without creating pages.
+   * 
+   * @param page Page for list of embedding pages is requested.
+   * @param namespaces List of name spaces to restrict result.
+   * @param titles Builder to be filled with the titles of embedding pages.
+   */
+  public void loadEmbeddedInTitles(
+      Page page, List<Integer> namespaces,
+      CompactStringSet.Builder titles) throws APIException {
+    Map<String, String> properties = getProperties(ACTION_QUERY, result.getFormat());
+    properties.put(PROPERTY_LIST, PROPERTY_LIST_EMBEDDEDIN);
+    properties.put(PROPERTY_CONTINUE, PROPERTY_CONTINUE_DEFAULT);
+    properties.put(PROPERTY_LIMIT, LIMIT_MAX);
+    if ((namespaces != null) && (namespaces.size() > 0)) {
+      properties.put(PROPERTY_NAMESPACE, constructList(namespaces));
+    }
+    properties.put(PROPERTY_TITLE, page.getTitle());
+    while (result.executeEmbeddedInTitles(properties, titles)) {
+      //
+    }
+  }
 }
@@ -12,6 +12,7 @@ import java.util.Map;
 
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.utils.CompactStringSet;
 
 
 /**
@@ -30,4 +31,16 @@ public interface ApiEmbeddedInResult extends ApiResult {
   public boolean executeEmbeddedIn(
       Map<String, String> properties,
       List<Page> list) throws APIException;
+
+  /**
+   * Execute embedded in request for titles only.
+   * 
+   * @param properties Properties defining request.
+   * @param titles Builder to be filled with the titles of embedding pages.
+   * @return True if request should be continued.
+   * @throws APIException
+   */
+  public boolean executeEmbeddedInTitles(
+      Map<String, String> properties,
+      CompactStringSet.Builder titles) throws APIException;
 }
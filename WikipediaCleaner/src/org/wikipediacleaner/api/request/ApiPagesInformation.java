@@ -0,0 +1,372 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.request;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.wikipediacleaner.api.data.DataManager;
+import org.wikipediacleaner.api.data.Page;
+
+
+/**
+ * Information about pages sent by MediaWiki API
+ * (title normalization, redirects and page nodes).
+ *
+ * Information is collected while an answer is read (XML or JSON),
+ * and applied to the pages only once the whole answer has been read,
+ * so an answer read again after a failure doesn't update pages twice.
+ */
+public class ApiPagesInformation {
+
+  /**
+   * Information about title normalization (From => To).
+   */
+  private final Map<String, String> normalization;
+
+  /**
+   * Redirects (From, To).
+   */
+  private final List<String[]> redirects;
+
+  /**
+   * Page nodes.
+   */
+  private final List<PageNode> pageNodes;
+
+  public ApiPagesInformation() {
+    this.normalization = new HashMap<String, String>();
+    this.redirects = new ArrayList<String[]>();
+    this.pageNodes = new ArrayList<PageNode>();
+  }
+
+  /**
+   * Forget all information.
+   */
+  public void clear() {
+    normalization.clear();
+    redirects.clear();
+    pageNodes.clear();
+  }
+
+  /**
+   * @param from Title sent in the request.
+   * @param to Normalized title.
+   */
+  public void addNormalization(String from, String to) {
+    if ((from != null) && (to != null)) {
+      normalization.put(from, to);
+    }
+  }
+
+  /**
+   * @return Information about title normalization (From => To).
+   */
+  public Map<String, String> getNormalization() {
+    return normalization;
+  }
+
+  /**
+   * @param from Redirect.
+   * @param to Target of the redirect.
+   */
+  public void addRedirect(String from, String to) {
+    if (to != null) {
+      redirects.add(new String[] { from, to });
+    }
+  }
+
+  /**
+   * @param title Title of the page.
+   * @param pageId Page identifier (null if missing).
+   * @param namespace Namespace.
+   * @param missing True if the page is missing.
+   * @return Page node, to be completed with more information.
+   */
+  public PageNode addPage(
+      String title, String pageId, String namespace, boolean missing) {
+    PageNode pageNode = new PageNode(title, pageId, namespace, missing);
+    pageNodes.add(pageNode);
+    return pageNode;
+  }
+
+  /**
+   * @param title Title.
+   * @return Normalized title.
+   */
+  public String getNormalizedTitle(String title) {
+    if (title == null) {
+      return null;
+    }
+    String tmp = normalization.get(title);
+    return (tmp != null) ? tmp : title;
+  }
+
+  /**
+   * Update pages with the information.
+   *
+   * @param pages Pages.
+   * @param fullInformation True if all information about the page nodes should be used,
+   *        false if only redirects and missing pages are updated.
+   */
+  public void updatePages(Collection<Page> pages, boolean fullInformation) {
+    updateRedirects(pages);
+    for (PageNode pageNode : pageNodes) {
+      List<Page> currentPages = findPages(pages, pageNode);
+      for (Page page : currentPages) {
+        pageNode.update(page, fullInformation);
+      }
+      if (pageNode.disambiguation) {
+        updateDisambiguation(pages, pageNode);
+      }
+    }
+  }
+
+  /**
+   * Add redirects to the pages.
+   * Only redirects to pages present in the answer are added.
+   *
+   * @param pages Pages.
+   */
+  private void updateRedirects(Collection<Page> pages) {
+    for (String[] redirect : redirects) {
+      String fromPage = redirect[0];
+      String toPage = redirect[1];
+      PageNode toNode = null;
+      for (PageNode pageNode : pageNodes) {
+        if ((toNode == null) && toPage.equals(pageNode.title)) {
+          toNode = pageNode;
+        }
+      }
+      if (toNode == null) {
+        continue;
+      }
+      for (Page p : pages) {
+
+        // Find if the redirect is already taken into account
+        boolean exists = false;
+        boolean found = false;
+        Iterator<Page> itPage = p.getRedirectIteratorWithPage();
+        while (itPage.hasNext()) {
+          Page tmp = itPage.next();
+          String title = getNormalizedTitle(tmp.getTitle());
+          if (Page.areSameTitle(title, toPage)) {
+            exists = true;
+          }
+          if (Page.areSameTitle(title, fromPage)) {
+            found = true;
+          }
+        }
+
+        // Add the redirect if needed
+        if (!exists && found) {
+          Page pageTo = DataManager.getPage(
+              p.getWikipedia(), toNode.title, null, null, null);
+          pageTo.setNamespace(toNode.namespace);
+          pageTo.setPageId(toNode.pageId);
+          p.addRedirect(pageTo);
+        }
+      }
+    }
+  }
+
+  /**
+   * @param pages Pages.
+   * @param pageNode Page node.
+   * @return Pages (or redirects) matching the page node.
+   */
+  private List<Page> findPages(Collection<Page> pages, PageNode pageNode) {
+    List<Page> currentPages = new ArrayList<Page>();
+    Integer pageId = null;
+    try {
+      if (pageNode.pageId != null) {
+        pageId = Integer.valueOf(pageNode.pageId);
+      }
+    } catch (NumberFormatException e) {
+      System.err.println("Incorrect page id");
+    }
+    for (Page tmpPage : pages) {
+      Iterator<Page> itPage = tmpPage.getRedirectIteratorWithPage();
+      while (itPage.hasNext()) {
+        Page page = itPage.next();
+        boolean samePage = false;
+        if ((pageId != null) && (page.getPageId() != null)) {
+          samePage = pageId.equals(page.getPageId());
+        } else {
+          samePage = Page.areSameTitle(getNormalizedTitle(page.getTitle()), pageNode.title);
+        }
+        if (samePage) {
+          currentPages.add(page);
+        }
+      }
+    }
+    return currentPages;
+  }
+
+  /**
+   * Mark pages (and the redirects leading to them) as disambiguation pages.
+   *
+   * @param pages Pages.
+   * @param pageNode Page node for a disambiguation page.
+   */
+  private void updateDisambiguation(Collection<Page> pages, PageNode pageNode) {
+    List<Page> tmpPages = new ArrayList<Page>();
+    for (Page p : pages) {
+      tmpPages.clear();
+      Iterator<Page> it = p.getRedirectIteratorWithPage();
+      while (it.hasNext()) {
+        Page p2 = it.next();
+        tmpPages.add(p2);
+        if ((p2.getTitle() != null) &&
+            (Page.areSameTitle(p2.getTitle(), pageNode.title))) {
+          for (Page p3 : tmpPages) {
+            p3.setDisambiguationPage(Boolean.TRUE);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Information about a page node.
+   */
+  public static class PageNode {
+
+    /** Title */
+    final String title;
+
+    /** Page identifier */
+    final String pageId;
+
+    /** Namespace */
+    final String namespace;
+
+    /** True if the page is missing */
+    private final boolean missing;
+
+    /** Start timestamp */
+    private String startTimestamp;
+
+    /** True if the page is a redirect */
+    private boolean redirect;
+
+    /** Edit protection level */
+    private String editProtectionLevel;
+
+    /** True if the last revision is known */
+    private boolean revision;
+
+    /** Identifier of the last revision */
+    private String revisionId;
+
+    /** Timestamp of the last revision */
+    private String revisionTimestamp;
+
+    /** Contents of the last revision */
+    private String contents;
+
+    /** True if the page is a disambiguation page */
+    boolean disambiguation;
+
+    /**
+     * @param title Title of the page.
+     * @param pageId Page identifier.
+     * @param namespace Namespace.
+     * @param missing True if the page is missing.
+     */
+    PageNode(String title, String pageId, String namespace, boolean missing) {
+      this.title = title;
+      this.pageId = pageId;
+      this.namespace = namespace;
+      this.missing = missing;
+    }
+
+    /**
+     * @param timestamp Start timestamp.
+     */
+    public void setStartTimestamp(String timestamp) {
+      this.startTimestamp = timestamp;
+    }
+
+    /**
+     * Mark the page as a redirect.
+     */
+    public void setRedirect() {
+      this.redirect = true;
+    }
+
+    /**
+     * @param level Edit protection level.
+     */
+    public void setEditProtectionLevel(String level) {
+      this.editProtectionLevel = (level != null) ? level : "";
+    }
+
+    /**
+     * @param id Identifier of the last revision.
+     * @param timestamp Timestamp of the last revision.
+     * @param text Contents of the last revision.
+     */
+    public void setRevision(String id, String timestamp, String text) {
+      if (revision) {
+        return;
+      }
+      this.revision = true;
+      this.revisionId = id;
+      this.revisionTimestamp = timestamp;
+      this.contents = (text != null) ? text : "";
+    }
+
+    /**
+     * Mark the page as a disambiguation page.
+     */
+    public void setDisambiguation() {
+      this.disambiguation = true;
+    }
+
+    /**
+     * Update a page with the information of the page node.
+     *
+     * @param page Page.
+     * @param fullInformation True if all information should be used.
+     */
+    void update(Page page, boolean fullInformation) {
+      if (fullInformation) {
+        page.setNamespace(namespace);
+        if (pageId != null) {
+          page.setPageId(pageId);
+        }
+        if (title != null) {
+          page.setTitle(title);
+        }
+        page.setStartTimestamp(startTimestamp);
+        if (editProtectionLevel != null) {
+          page.setEditProtectionLevel(editProtectionLevel);
+        }
+      }
+      if (redirect) {
+        page.isRedirect(true);
+      }
+      if (missing) {
+        page.setExisting(Boolean.FALSE);
+      } else if (pageId != null) {
+        page.setExisting(Boolean.TRUE);
+      }
+      if (revision && !Boolean.FALSE.equals(page.isExisting())) {
+        page.setContents(contents);
+        page.setExisting(Boolean.TRUE);
+        page.setRevisionId(revisionId);
+        page.setContentsTimestamp(revisionTimestamp);
+      }
+    }
+  }
+}
@@ -15,6 +15,7 @@ import java.util.Map;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.utils.CompactStringSet;
 import org.wikipediacleaner.utils.ConfigurationValueInteger;
 
 
@@ -112,4 +113,26 @@ public class ApiPagesWithPropRequest extends ApiListRequest {
     Collections.sort(list);
     return list;
   }
+
+  /**
+   * Load titles of pages with a given property, without creating pages.
+   * 
+   * @param property Property name.
+   * @param namespaces List of name spaces to restrict result.
+   * @param titles Builder to be filled with the titles of pages.
+   */
+  public void loadPagesWithPropTitles(
+      String property, List<Integer> namespaces,
+      CompactStringSet.Builder titles) throws APIException {
+    Map<String, String> properties = getProperties(ACTION_QUERY, result.getFormat());
+    properties.put(
+        PROPERTY_LIST,
+        PROPERTY_LIST_PAGESWITHPROP);
+    properties.put(PROPERTY_LIMIT, LIMIT_MAX);
+    properties.put(PROPERTY_PROPERTIES, PROPERTY_PROPERTIES_TITLE);
+    properties.put(PROPERTY_PROPERTY_NAME, property);
+    while (result.executePagesWithPropTitles(properties, namespaces, titles)) {
+      //
+    }
+  }
 }
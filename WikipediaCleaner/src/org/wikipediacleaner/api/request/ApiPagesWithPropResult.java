@@ -12,6 +12,7 @@ import java.util.Map;
 
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.utils.CompactStringSet;
 
 
 /**
@@ -30,4 +31,18 @@ public interface ApiPagesWithPropResult extends ApiResult {
   public boolean executePagesWithProp(
       Map<String, String> properties,
       List<Page> list) throws APIException;
+
+  /**
+   * Execute pages with property request for titles only.
+   * 
+   * @param properties Properties defining request.
+   * @param namespaces List of name spaces to restrict result.
+   * @param titles Builder to be filled with the titles of pages.
+   * @return True if request should be continued.
+   * @throws APIException
+   */
+  public boolean executePagesWithPropTitles(
+      Map<String, String> properties,
+      List<Integer> namespaces,
+      CompactStringSet.Builder titles) throws APIException;
 }
@@ -7,11 +7,14 @@
 
 package org.wikipediacleaner.api.request;
 
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.data.DataManager;
 import org.wikipediacleaner.api.data.RecentChange;
 
 
@@ -215,6 +218,11 @@ public class ApiRecentChangesRequest extends ApiListRequest {
 
   private final ApiRecentChangesResult result;
 
+  /**
+   * Number of recent changes requested at once when listing modified pages.
+   */
+  private final static int RECENT_CHANGES_LIMIT = 500;
+
   /**
    * @param wiki Wiki.
    * @param result Parser for result depending on chosen format.
@@ -253,4 +261,69 @@ public class ApiRecentChangesRequest extends ApiListRequest {
     String nextStart = result.executeRecentChanges(properties, recentChanges);
     return nextStart;
   }
+
+  /**
+   * Load recent changes made since a given time.
+   * 
+   * @param start The timestamp from which modifications are requested.
+   * @param namespaces List of name spaces to restrict result.
+   * @param type Type of changes to restrict result.
+   * @param recentChanges The list of recent changes to be filled.
+   * @param max Maximum number of changes.
+   * @return The timestamp of the last change, or null if there are more changes than the maximum.
+   */
+  public String loadRecentChangesSince(
+      String start, List<Integer> namespaces, String type,
+      List<RecentChange> recentChanges, int max) throws APIException {
+    String lastChange = start;
+    String batchStart = null;
+    int count = 0;
+    for (;;) {
+      Map<String, String> properties = getProperties(ACTION_QUERY, result.getFormat());
+      properties.put(
+          PROPERTY_LIST,
+          PROPERTY_LIST_RECENTCHANGES);
+      properties.put(
+          PROPERTY_PROPERTIES,
+          PROPERTY_PROPERTIES_IDS + "|" +
+          PROPERTY_PROPERTIES_LOGINFO + "|" +
+          PROPERTY_PROPERTIES_TIMESTAMP + "|" +
+          PROPERTY_PROPERTIES_TITLE);
+      if ((namespaces != null) && (namespaces.size() > 0)) {
+        properties.put(PROPERTY_NAMESPACE, constructList(namespaces));
+      }
+      if (type != null) {
+        properties.put(PROPERTY_TYPE, type);
+      }
+      if (batchStart != null) {
+        properties.put(PROPERTY_START, batchStart);
+      }
+      properties.put(PROPERTY_END, start);
+      properties.put(PROPERTY_LIMIT, Integer.toString(RECENT_CHANGES_LIMIT));
+      List<RecentChange> batch = new ArrayList<RecentChange>();
+      String newest = result.executeRecentChanges(properties, batch);
+      if ((batchStart == null) && (newest != null)) {
+        lastChange = newest;
+      }
+      recentChanges.addAll(batch);
+      count += batch.size();
+      if (batch.size() < RECENT_CHANGES_LIMIT) {
+        return lastChange;
+      }
+      if (count > max) {
+        return null;
+      }
+
+      // Continue with older changes (oldest change is first in the list)
+      Date oldest = batch.get(0).getTimestamp();
+      if (oldest == null) {
+        return null;
+      }
+      String nextBatchStart = DataManager.formatIso8601DateTime(oldest);
+      if (nextBatchStart.equals(batchStart)) {
+        return null;
+      }
+      batchStart = nextBatchStart;
+    }
+  }
 }
@@ -17,6 +17,7 @@ import java.util.Map;
 
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.data.User;
 import org.wikipediacleaner.utils.Configuration;
 import org.wikipediacleaner.utils.ConfigurationValueInteger;
 
@@ -113,6 +114,16 @@ public abstract class ApiRequest {
    */
   public final static String FORMAT_XML = "xml";
 
+  /**
+   * API format version.
+   */
+  public final static String FORMAT_VERSION = "formatversion";
+
+  /**
+   * API format version 2 (booleans and lists as JSON values).
+   */
+  public final static String FORMAT_VERSION_2 = "2";
+
   // ==========================================================================
   // Limits
   // ==========================================================================
@@ -127,6 +138,11 @@ public abstract class ApiRequest {
    */
   public final static int MAX_PAGES_PER_QUERY = 50;
 
+  /**
+   * Maximum number of pages in a request for users with higher limits.
+   */
+  public final static int MAX_PAGES_PER_QUERY_HIGH_LIMITS = 500;
+
   /**
    * Maximum size for an URL encoded list.
    */
@@ -186,6 +202,27 @@ public abstract class ApiRequest {
     return properties;
   }
 
+  /**
+   * @return Maximum number of pages in a request for the current user.
+   */
+  protected int getMaxPagesPerQuery() {
+    return getMaxPagesPerQuery(wiki);
+  }
+
+  /**
+   * @param wiki Wiki.
+   * @return Maximum number of pages in a request for the current user.
+   */
+  public static int getMaxPagesPerQuery(EnumWikipedia wiki) {
+    if ((wiki != null) && (wiki.getConnection() != null)) {
+      User user = wiki.getConnection().getUser();
+      if ((user != null) && user.hasRight(User.RIGHT_APIHIGHLIMITS)) {
+        return MAX_PAGES_PER_QUERY_HIGH_LIMITS;
+      }
+    }
+    return MAX_PAGES_PER_QUERY;
+  }
+
   /**
    * Split a list of pages in smaller lists.
    * 
@@ -194,6 +231,19 @@ public abstract class ApiRequest {
    * @return Lists of pages.
    */
   protected List<Collection<Page>> splitListPages(Collection<Page> pages, int maxSize) {
+    return splitListPages(pages, maxSize, false);
+  }
+
+  /**
+   * Split a list of pages in smaller lists.
+   * 
+   * @param pages Full list of pages.
+   * @param maxSize Maximum size for the resulting lists.
+   * @param usePageId True if the lists will be sent as page identifiers.
+   * @return Lists of pages.
+   */
+  public static List<Collection<Page>> splitListPages(
+      Collection<Page> pages, int maxSize, boolean usePageId) {
     if (pages == null) {
       return null;
     }
@@ -203,10 +253,14 @@ public abstract class ApiRequest {
     int charactersCount = 0;
     for (Page page : pages) {
       int length = 0;
-      try {
-        length = URLEncoder.encode(page.getTitle(), "UTF8").length();
-      } catch (UnsupportedEncodingException e) {
-        // Not supposed to happen.
+      if (usePageId && (page.getPageId() != null)) {
+        length = page.getPageId().toString().length() + 3;
+      } else {
+        try {
+          length = URLEncoder.encode(page.getTitle(), "UTF8").length() + 3;
+        } catch (UnsupportedEncodingException e) {
+          // Not supposed to happen.
+        }
       }
       if ((pagesCount + 1> maxSize) ||
           ((charactersCount + length > MAX_LENGTH_LIST_URLENCODED) && (pagesCount > 0))) {
@@ -9,6 +9,7 @@ package org.wikipediacleaner.api.request;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -176,6 +177,29 @@ public class ApiRevisionsRequest extends ApiPropertiesRequest {
     this.result = result;
   }
 
+  /**
+   * Load last revision identifiers of pages, without their content.
+   * 
+   * @param pages Pages for which last revision identifiers are requested.
+   */
+  public void loadLastRevisionIds(Collection<Page> pages) throws APIException {
+    Map<String, String> properties = getProperties(ACTION_QUERY, result.getFormat());
+    properties.put(PROPERTY_PROP, PROPERTY_PROP_REVISIONS);
+    properties.put(PROPERTY_CONTINUE, PROPERTY_CONTINUE_DEFAULT);
+    properties.put(
+        PROPERTY_PROPERTIES,
+        PROPERTY_PROPERTIES_IDS + "|" + PROPERTY_PROPERTIES_TIMESTAMP);
+    List<Collection<Page>> splitPagesList = splitListPages(
+        pages, getMaxPagesPerQuery(), false);
+    for (Collection<Page> splitPages : splitPagesList) {
+      Map<String, String> tmpProperties = new HashMap<String, String>(properties);
+      tmpProperties.put(PROPERTY_TITLES, constructListTitles(splitPages));
+      while (result.executeLastRevision(tmpProperties, splitPages)) {
+        //
+      }
+    }
+  }
+
   /**
    * Load content of a page.
    * 
@@ -208,13 +232,18 @@ public class ApiRevisionsRequest extends ApiPropertiesRequest {
         ApiInfoRequest.PROPERTY_PROPERTIES,
         ApiInfoRequest.PROPERTY_PROPERTIES_PROTECTION);
     properties.put(PROPERTY_CONTINUE, PROPERTY_CONTINUE_DEFAULT);
-    if (usePageId) {
-      properties.put(PROPERTY_PAGEIDS, constructListIds(pages));
-    } else {
-      properties.put(PROPERTY_TITLES, constructListTitles(pages));
-    }
-    while (result.executeLastRevision(properties, pages)) {
-      //
+    List<Collection<Page>> splitPagesList = splitListPages(
+        pages, getMaxPagesPerQuery(), usePageId);
+    for (Collection<Page> splitPages : splitPagesList) {
+      Map<String, String> tmpProperties = new HashMap<String, String>(properties);
+      if (usePageId) {
+        tmpProperties.put(PROPERTY_PAGEIDS, constructListIds(splitPages));
+      } else {
+        tmpProperties.put(PROPERTY_TITLES, constructListTitles(splitPages));
+      }
+      while (result.executeLastRevision(tmpProperties, splitPages)) {
+        //
+      }
     }
 
     // TODO: move this to a base class ?
@@ -226,10 +255,14 @@ public class ApiRevisionsRequest extends ApiPropertiesRequest {
         }
       }
       if (!redirectPages.isEmpty()) {
-        properties = getProperties(ACTION_QUERY, result.getFormat());
-        properties.put(PROPERTY_REDIRECTS, "");
-        properties.put(PROPERTY_TITLES, constructListTitles(redirectPages));
-        result.executeRedirect(properties, redirectPages);
+        List<Collection<Page>> splitRedirectsList = splitListPages(
+            redirectPages, getMaxPagesPerQuery(), false);
+        for (Collection<Page> splitRedirects : splitRedirectsList) {
+          properties = getProperties(ACTION_QUERY, result.getFormat());
+          properties.put(PROPERTY_REDIRECTS, "");
+          properties.put(PROPERTY_TITLES, constructListTitles(splitRedirects));
+          result.executeRedirect(properties, new ArrayList<Page>(splitRedirects));
+        }
       }
     }
   }
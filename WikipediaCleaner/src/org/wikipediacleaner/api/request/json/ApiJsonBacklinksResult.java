@@ -0,0 +1,128 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.request.json;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.httpclient.HttpClient;
+import org.wikipediacleaner.api.APIException;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.data.DataManager;
+import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.request.ApiBacklinksResult;
+import org.wikipediacleaner.api.request.ApiRequest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+
+/**
+ * MediaWiki API JSON back links results.
+ */
+public class ApiJsonBacklinksResult extends ApiJsonResult implements ApiBacklinksResult {
+
+  /**
+   * @param wiki Wiki on which requests are made.
+   * @param httpClient HTTP client for making requests.
+   */
+  public ApiJsonBacklinksResult(
+      EnumWikipedia wiki,
+      HttpClient httpClient) {
+    super(wiki, httpClient);
+  }
+
+  /**
+   * Execute back links request.
+   * 
+   * @param properties Properties defining request.
+   * @param page Page.
+   * @param list List of pages to be filled with the back links.
+   * @return True if request should be continued.
+   * @throws APIException
+   */
+  @Override
+  public boolean executeBacklinks(
+      Map<String, String> properties,
+      final Page page,
+      final List<Page> list)
+          throws APIException {
+
+    // Retrieve back links
+    return getStream(
+        properties,
+        new ApiJsonStreamHandler() {
+
+          /** Back links found in the answer, with links through redirects */
+          private final Map<Page, List<Page>> links = new LinkedHashMap<Page, List<Page>>();
+
+          /** Back links found in the answer that are redirects to the page */
+          private final List<Page> redirects = new ArrayList<Page>();
+
+          /** Pages found in the answer */
+          private final List<Page> tmpList = new ArrayList<Page>();
+
+          @Override
+          public void startDocument() {
+            links.clear();
+            redirects.clear();
+            tmpList.clear();
+          }
+
+          @Override
+          public void endDocument() {
+            for (Page tmpLink : tmpList) {
+              if (!list.contains(tmpLink)) {
+                list.add(tmpLink);
+              }
+            }
+            for (Page redirect : redirects) {
+              redirect.addRedirect(page);
+            }
+            for (Map.Entry<Page, List<Page>> entry : links.entrySet()) {
+              entry.getKey().setRelatedPages(Page.RelatedPages.BACKLINKS, entry.getValue());
+            }
+          }
+
+          @Override
+          public void handleElement(String name, JsonNode node) {
+            if ("backlinks".equals(name)) {
+              Page link = createLink(node);
+              if (isSet(node, "redirect")) {
+                redirects.add(link);
+              }
+
+              // Links through redirects
+              List<Page> linkList = new ArrayList<Page>();
+              for (JsonNode redirLink : node.path("redirlinks")) {
+                Page link2 = createLink(redirLink);
+                if (!linkList.contains(link2)) {
+                  linkList.add(link2);
+                }
+              }
+              links.put(link, linkList);
+            }
+          }
+
+          /**
+           * @param node Back link node.
+           * @return Back link.
+           */
+          private Page createLink(JsonNode node) {
+            Page tmpLink = DataManager.getPage(
+                getWiki(), getValue(node, "title"), null, null, null);
+            tmpLink.setNamespace(getValue(node, "ns"));
+            tmpLink.setPageId(getValue(node, "pageid"));
+            tmpList.add(tmpLink);
+            return tmpLink;
+          }
+        },
+        ApiRequest.MAX_ATTEMPTS);
+  }
+}
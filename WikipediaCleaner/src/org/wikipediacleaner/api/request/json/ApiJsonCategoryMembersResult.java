@@ -0,0 +1,132 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.request.json;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.httpclient.HttpClient;
+import org.wikipediacleaner.api.APIException;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.data.DataManager;
+import org.wikipediacleaner.api.data.Namespace;
+import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.request.ApiCategoryMembersResult;
+import org.wikipediacleaner.api.request.ApiRequest;
+import org.wikipediacleaner.utils.CompactStringSet;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+
+/**
+ * MediaWiki API JSON category members results.
+ */
+public class ApiJsonCategoryMembersResult extends ApiJsonResult implements ApiCategoryMembersResult {
+
+  /**
+   * @param wiki Wiki on which requests are made.
+   * @param httpClient HTTP client for making requests.
+   */
+  public ApiJsonCategoryMembersResult(
+      EnumWikipedia wiki,
+      HttpClient httpClient) {
+    super(wiki, httpClient);
+  }
+
+  /**
+   * Execute category members request.
+   * 
+   * @param properties Properties defining request.
+   * @param list List to be filled with category members.
+   * @param categories Map of categories to be analyzed with their depth.
+   * @param depth Current depth of the analysis.
+   * @return True if request should be continued.
+   * @throws APIException
+   */
+  @Override
+  public boolean executeCategoryMembers(
+      Map<String, String> properties,
+      final List<Page> list,
+      final Map<Page, Integer> categories, final int depth) throws APIException {
+
+    // Retrieve category members
+    return getStream(
+        properties,
+        new ApiJsonStreamHandler() {
+
+          /** Category members found in the answer */
+          private final List<Page> tmpList = new ArrayList<Page>();
+
+          /** Sub-categories found in the answer */
+          private final Map<Page, Integer> tmpCategories = new LinkedHashMap<Page, Integer>();
+
+          @Override
+          public void startDocument() {
+            tmpList.clear();
+            tmpCategories.clear();
+          }
+
+          @Override
+          public void endDocument() {
+            for (Page page : tmpList) {
+              if (!list.contains(page)) {
+                list.add(page);
+              }
+            }
+            categories.putAll(tmpCategories);
+          }
+
+          @Override
+          public void handleElement(String name, JsonNode node) {
+            if ("categorymembers".equals(name)) {
+              Page page = DataManager.getPage(
+                  getWiki(), getValue(node, "title"), null, null, null);
+              page.setNamespace(getValue(node, "ns"));
+              page.setPageId(getValue(node, "pageid"));
+              if ((page.getNamespace() != null) &&
+                  (page.getNamespace().intValue() == Namespace.CATEGORY)) {
+                tmpCategories.put(page, depth + 1);
+              } else {
+                tmpList.add(page);
+              }
+            }
+          }
+        },
+        ApiRequest.MAX_ATTEMPTS);
+  }
+
+  /**
+   * Execute category members request for titles only.
+   * 
+   * @param properties Properties defining request.
+   * @param titles Builder to be filled with the titles of category members.
+   * @return True if request should be continued.
+   * @throws APIException
+   */
+  @Override
+  public boolean executeCategoryMemberTitles(
+      Map<String, String> properties,
+      final CompactStringSet.Builder titles) throws APIException {
+
+    // Retrieve category members (titles read again are merged when the set is built)
+    return getStream(
+        properties,
+        new ApiJsonStreamHandler() {
+
+          @Override
+          public void handleElement(String name, JsonNode node) {
+            if ("categorymembers".equals(name)) {
+              titles.add(getValue(node, "title"));
+            }
+          }
+        },
+        ApiRequest.MAX_ATTEMPTS);
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.request.json;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.httpclient.HttpClient;
+import org.wikipediacleaner.api.APIException;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.data.DataManager;
+import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.request.ApiEmbeddedInResult;
+import org.wikipediacleaner.api.request.ApiRequest;
+import org.wikipediacleaner.utils.CompactStringSet;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+
+/**
+ * MediaWiki API JSON embedded in results.
+ */
+public class ApiJsonEmbeddedInResult extends ApiJsonResult implements ApiEmbeddedInResult {
+
+  /**
+   * @param wiki Wiki on which requests are made.
+   * @param httpClient HTTP client for making requests.
+   */
+  public ApiJsonEmbeddedInResult(
+      EnumWikipedia wiki,
+      HttpClient httpClient) {
+    super(wiki, httpClient);
+  }
+
+  /**
+   * Execute embedded in request.
+   * 
+   * @param properties Properties defining request.
+   * @param list List to be filled with embedding pages.
+   * @return True if request should be continued.
+   * @throws APIException
+   */
+  @Override
+  public boolean executeEmbeddedIn(
+      Map<String, String> properties,
+      List<Page> list) throws APIException {
+
+    // Retrieve embedding pages
+    final List<Page> tmpList = new ArrayList<Page>();
+    boolean shouldContinue = getStream(
+        properties,
+        new ApiJsonStreamHandler() {
+
+          @Override
+          public void startDocument() {
+            tmpList.clear();
+          }
+
+          @Override
+          public void handleElement(String name, JsonNode node) {
+            if ("embeddedin".equals(name)) {
+              Page page = DataManager.getPage(
+                  getWiki(), getValue(node, "title"), null, null, null);
+              page.setNamespace(getValue(node, "ns"));
+              page.setPageId(getValue(node, "pageid"));
+              tmpList.add(page);
+            }
+          }
+        },
+        ApiRequest.MAX_ATTEMPTS);
+    list.addAll(tmpList);
+
+    // Retrieve continue
+    return shouldContinue;
+  }
+
+  /**
+   * Execute embedded in request for titles only.
+   * 
+   * @param properties Properties defining request.
+   * @param titles Builder to be filled with the titles of embedding pages.
+   * @return True if request should be continued.
+   * @throws APIException
+   */
+  @Override
+  public boolean executeEmbeddedInTitles(
+      Map<String, String> properties,
+      final CompactStringSet.Builder titles) throws APIException {
+
+    // Retrieve embedding pages (titles read again are merged when the set is built)
+    return getStream(
+        properties,
+        new ApiJsonStreamHandler() {
+
+          @Override
+          public void handleElement(String name, JsonNode node) {
+            if ("embeddedin".equals(name)) {
+              titles.add(getValue(node, "title"));
+            }
+          }
+        },
+        ApiRequest.MAX_ATTEMPTS);
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.request.json;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.apache.commons.httpclient.HttpClient;
+import org.wikipediacleaner.api.APIException;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.request.ApiInfoResult;
+import org.wikipediacleaner.api.request.ApiRequest;
+
+
+/**
+ * MediaWiki API JSON information results.
+ */
+public class ApiJsonInfoResult extends ApiJsonPropertiesResult implements ApiInfoResult {
+
+  /**
+   * @param wiki Wiki on which requests are made.
+   * @param httpClient HTTP client for making requests.
+   */
+  public ApiJsonInfoResult(
+      EnumWikipedia wiki,
+      HttpClient httpClient) {
+    super(wiki, httpClient);
+  }
+
+  /**
+   * Execute informations request.
+   * 
+   * @param properties Properties defining request.
+   * @param pages Pages to be filled with informations.
+   * @return True if request should be continued.
+   * @throws APIException
+   */
+  @Override
+  public boolean executeInformations(
+      Map<String, String> properties,
+      Collection<Page> pages) throws APIException {
+
+    // Manage redirects and missing pages
+    getStream(properties, new PagesHandler(pages, false), ApiRequest.MAX_ATTEMPTS);
+
+    // Retrieve continue
+    return false;
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.request.json;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.httpclient.HttpClient;
+import org.wikipediacleaner.api.APIException;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.data.DataManager;
+import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.request.ApiLinksResult;
+import org.wikipediacleaner.api.request.ApiRequest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+
+/**
+ * MediaWiki API JSON links results.
+ */
+public class ApiJsonLinksResult extends ApiJsonPropertiesResult implements ApiLinksResult {
+
+  /**
+   * @param wiki Wiki on which requests are made.
+   * @param httpClient HTTP client for making requests.
+   */
+  public ApiJsonLinksResult(
+      EnumWikipedia wiki,
+      HttpClient httpClient) {
+    super(wiki, httpClient);
+  }
+
+  /**
+   * Execute links request.
+   * 
+   * @param properties Properties defining request.
+   * @param lists Map of lists to be filled with links.
+   * @param normalization Map containing information about title normalization (From => To).
+   * @return True if request should be continued.
+   * @throws APIException
+   */
+  @Override
+  public boolean executeLinks(
+      Map<String, String> properties,
+      final Map<String, List<Page>> lists,
+      final Map<String, String> normalization) throws APIException {
+
+    // Retrieve links
+    return getStream(
+        properties,
+        new ApiJsonStreamHandler() {
+
+          /** Links found in the answer, by page title */
+          private final Map<String, List<Page>> tmpLists = new LinkedHashMap<String, List<Page>>();
+
+          /** Information about title normalization found in the answer */
+          private final Map<String, String> tmpNormalization = new HashMap<String, String>();
+
+          @Override
+          public void startDocument() {
+            tmpLists.clear();
+            tmpNormalization.clear();
+          }
+
+          @Override
+          public void endDocument() {
+            for (Map.Entry<String, List<Page>> entry : tmpLists.entrySet()) {
+              List<Page> links = lists.get(entry.getKey());
+              if (links == null) {
+                links = new ArrayList<Page>();
+                lists.put(entry.getKey(), links);
+              }
+              links.addAll(entry.getValue());
+            }
+            if (normalization != null) {
+              normalization.putAll(tmpNormalization);
+            }
+          }
+
+          @Override
+          public void handleElement(String name, JsonNode node) {
+            if ("pages".equals(name)) {
+              String pageTitle = getValue(node, "title");
+              List<Page> links = tmpLists.get(pageTitle);
+              if (links == null) {
+                links = new ArrayList<Page>();
+                tmpLists.put(pageTitle, links);
+              }
+              for (JsonNode linkNode : node.path("links")) {
+                Page link = DataManager.getPage(
+                    getWiki(), getValue(linkNode, "title"), null, null, null);
+                link.setNamespace(getValue(linkNode, "ns"));
+                links.add(link);
+              }
+            } else if ("normalized".equals(name)) {
+              retrieveNormalization(node, tmpNormalization);
+            }
+          }
+        },
+        ApiRequest.MAX_ATTEMPTS);
+  }
+
+  /**
+   * Execute links request.
+   * 
+   * @param properties Properties defining request.
+   * @param links List to be filled with links.
+   * @param knownPages Already known pages.
+   * @param normalization Map containing information about title normalization (From => To).
+   * @param redirects List of redirects filled by the method.
+   * @param useDisambig Flag indicating if disambiguation property should be used.
+   * @return True if request should be continued.
+   * @throws APIException
+   */
+  @Override
+  public boolean executeLinks(
+      Map<String, String> properties,
+      final List<Page> links,
+      final List<Page> knownPages,
+      final Map<String, String> normalization,
+      final List<Page> redirects, final boolean useDisambig) throws APIException {
+
+    // Retrieve links
+    return getStream(
+        properties,
+        new ApiJsonStreamHandler() {
+
+          /** Links found in the answer */
+          private final List<Page> tmpLinks = new ArrayList<Page>();
+
+          /** Redirects found in the answer */
+          private final List<Page> tmpRedirects = new ArrayList<Page>();
+
+          /** Information about title normalization found in the answer */
+          private final Map<String, String> tmpNormalization = new HashMap<String, String>();
+
+          @Override
+          public void startDocument() {
+            tmpLinks.clear();
+            tmpRedirects.clear();
+            tmpNormalization.clear();
+          }
+
+          @Override
+          public void endDocument() {
+            links.addAll(tmpLinks);
+            if (redirects != null) {
+              redirects.addAll(tmpRedirects);
+            }
+            if (normalization != null) {
+              normalization.putAll(tmpNormalization);
+            }
+          }
+
+          @Override
+          public void handleElement(String name, JsonNode node) {
+            if ("pages".equals(name)) {
+              Page link = getPage(getWiki(), node, knownPages, useDisambig);
+              if (link.isRedirect()) {
+                tmpRedirects.add(link);
+              }
+              tmpLinks.add(link);
+            } else if ("normalized".equals(name)) {
+              retrieveNormalization(node, tmpNormalization);
+            }
+          }
+        },
+        ApiRequest.MAX_ATTEMPTS);
+  }
+}
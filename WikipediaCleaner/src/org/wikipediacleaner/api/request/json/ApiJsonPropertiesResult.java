@@ -0,0 +1,158 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.request.json;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.httpclient.HttpClient;
+import org.wikipediacleaner.api.APIException;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.request.ApiPagesInformation;
+import org.wikipediacleaner.api.request.ApiPropertiesResult;
+import org.wikipediacleaner.api.request.ApiRequest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+
+/**
+ * MediaWiki API JSON results for properties.
+ */
+public class ApiJsonPropertiesResult extends ApiJsonResult implements ApiPropertiesResult {
+
+  /**
+   * @param wiki Wiki on which requests are made.
+   * @param httpClient HTTP client for making requests.
+   */
+  public ApiJsonPropertiesResult(
+      EnumWikipedia wiki,
+      HttpClient httpClient) {
+    super(wiki, httpClient);
+  }
+
+  /**
+   * Execute redirect request.
+   * 
+   * @param properties Properties defining request.
+   * @param pages Pages to be filled with redirect information.
+   * @throws APIException
+   */
+  @Override
+  public void executeRedirect(
+      Map<String, String> properties,
+      List<Page> pages) throws APIException {
+
+    // Manage redirects and missing pages
+    getStream(properties, new PagesHandler(pages, false), ApiRequest.MAX_ATTEMPTS);
+  }
+
+  /**
+   * Retrieve information about page title normalization.
+   * 
+   * @param node Normalization node.
+   * @param normalization Map containing information about title normalization (From => To).
+   */
+  protected static void retrieveNormalization(
+      JsonNode node,
+      Map<String, String> normalization) {
+    if (normalization == null) {
+      return;
+    }
+    String from = getValue(node, "from");
+    String to = getValue(node, "to");
+    if ((from != null) && (to != null)) {
+      normalization.put(from, to);
+    }
+  }
+
+  /**
+   * Handler for updating redirect and missing information of a list of pages
+   * while the answer is read.
+   * 
+   * Information is collected while the answer is read,
+   * and pages are updated once the whole answer has been read.
+   * Subclasses can extract more information from each page node.
+   */
+  protected static class PagesHandler extends ApiJsonStreamHandler {
+
+    /** Pages to be updated */
+    private final Collection<Page> pages;
+
+    /** True if all information about the page nodes should be used */
+    private final boolean fullInformation;
+
+    /** Information about the pages in the answer */
+    private final ApiPagesInformation information;
+
+    /**
+     * @param pages Pages to be updated.
+     * @param fullInformation True if all information about the page nodes should be used,
+     *        false if only redirects and missing pages are updated.
+     */
+    public PagesHandler(Collection<Page> pages, boolean fullInformation) {
+      this.pages = pages;
+      this.fullInformation = fullInformation;
+      this.information = new ApiPagesInformation();
+    }
+
+    /**
+     * @see org.wikipediacleaner.api.request.json.ApiJsonStreamHandler#startDocument()
+     */
+    @Override
+    public void startDocument() {
+      information.clear();
+    }
+
+    /**
+     * @see org.wikipediacleaner.api.request.json.ApiJsonStreamHandler#endDocument()
+     */
+    @Override
+    public void endDocument() {
+      information.updatePages(pages, fullInformation);
+    }
+
+    /**
+     * @param name Name of the member in the query.
+     * @param node Item of the list.
+     * @throws APIException
+     * @see org.wikipediacleaner.api.request.json.ApiJsonStreamHandler#handleElement(java.lang.String, com.fasterxml.jackson.databind.JsonNode)
+     */
+    @Override
+    public void handleElement(String name, JsonNode node) throws APIException {
+      if ("pages".equals(name)) {
+        ApiPagesInformation.PageNode pageNode = information.addPage(
+            getValue(node, "title"),
+            getValue(node, "pageid"),
+            getValue(node, "ns"),
+            isSet(node, "missing"));
+        if (isSet(node, "redirect")) {
+          pageNode.setRedirect();
+        }
+        handlePage(node, pageNode);
+      } else if ("normalized".equals(name)) {
+        information.addNormalization(getValue(node, "from"), getValue(node, "to"));
+      } else if ("redirects".equals(name)) {
+        information.addRedirect(getValue(node, "from"), getValue(node, "to"));
+      }
+    }
+
+    /**
+     * Analyze a page node.
+     * 
+     * @param node Page node.
+     * @param pageNode Information about the page node, to be completed.
+     * @throws APIException
+     */
+    protected void handlePage(
+        JsonNode node, ApiPagesInformation.PageNode pageNode) throws APIException {
+      // Nothing more to do by default
+    }
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.request.json;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.httpclient.HttpClient;
+import org.wikipediacleaner.api.APIException;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.data.RecentChange;
+import org.wikipediacleaner.api.request.ApiRecentChangesResult;
+import org.wikipediacleaner.api.request.ApiRequest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+
+/**
+ * MediaWiki API JSON recent changes results.
+ */
+public class ApiJsonRecentChangesResult extends ApiJsonResult implements ApiRecentChangesResult {
+
+  /**
+   * @param wiki Wiki on which requests are made.
+   * @param httpClient HTTP client for making requests.
+   */
+  public ApiJsonRecentChangesResult(
+      EnumWikipedia wiki,
+      HttpClient httpClient) {
+    super(wiki, httpClient);
+  }
+
+  /**
+   * Execute recent changes request.
+   * 
+   * @param properties Properties defining request.
+   * @param recentChanges The list of recent changes to be filled.
+   * @return The timestamp to use as a starting point for the next call.
+   * @throws APIException
+   */
+  @Override
+  public String executeRecentChanges(
+      Map<String, String> properties,
+      final List<RecentChange> recentChanges) throws APIException {
+
+    // Get recent changes list
+    final String[] nextStart = new String[] { null };
+    getStream(
+        properties,
+        new ApiJsonStreamHandler() {
+
+          /** Recent changes found in the answer */
+          private final List<RecentChange> tmpList = new ArrayList<RecentChange>();
+
+          @Override
+          public void startDocument() {
+            tmpList.clear();
+            nextStart[0] = null;
+          }
+
+          @Override
+          public void endDocument() {
+            recentChanges.addAll(0, tmpList);
+          }
+
+          @Override
+          public void handleElement(String name, JsonNode node) {
+            if (!"recentchanges".equals(name)) {
+              return;
+            }
+            String timestamp = getValue(node, "timestamp");
+            if (nextStart[0] == null) {
+              nextStart[0] = timestamp;
+            }
+            try {
+              RecentChange rc = new RecentChange(
+                  Integer.valueOf(getValue(node, "rcid")),
+                  Integer.valueOf(getValue(node, "ns")),
+                  getValue(node, "title"),
+                  Integer.valueOf(getValue(node, "pageid")),
+                  Integer.valueOf(getValue(node, "revid")));
+              rc.setAnonymous(isSet(node, "anon"));
+              rc.setBot(isSet(node, "bot"));
+              rc.setComment(getValue(node, "comment"));
+              rc.setLogAction(getValue(node, "logaction"));
+              rc.setLogType(getValue(node, "logtype"));
+              rc.setMinor(isSet(node, "minor"));
+              rc.setNew(isSet(node, "new"));
+              rc.setRedirect(isSet(node, "redirect"));
+              rc.setTimestamp(timestamp);
+              rc.setType(getValue(node, "type"));
+              rc.setUser(getValue(node, "user"));
+              tmpList.add(0, rc);
+            } catch (NumberFormatException e) {
+              log.error("Error loading recent changes", e);
+            }
+          }
+        },
+        ApiRequest.MAX_ATTEMPTS);
+
+    return nextStart[0];
+  }
+}
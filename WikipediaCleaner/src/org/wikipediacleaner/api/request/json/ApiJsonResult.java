@@ -8,8 +8,10 @@
 package org.wikipediacleaner.api.request.json;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -20,8 +22,6 @@ import org.apache.commons.httpclient.Header;
 import org.apache.commons.httpclient.HttpClient;
 import org.apache.commons.httpclient.HttpMethod;
 import org.apache.commons.httpclient.HttpStatus;
-import org.jdom.Attribute;
-import org.jdom.Element;
 import org.jdom.input.JDOMParseException;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
@@ -33,6 +33,9 @@ import org.wikipediacleaner.utils.Configuration;
 import org.wikipediacleaner.utils.ConfigurationValueBoolean;
 
 import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -56,6 +59,11 @@ public abstract class ApiJsonResult extends BasicApiResult {
    */
   protected final static JsonFactory factory = new JsonFactory();
 
+  /**
+   * JSON mapper, used for reading trees.
+   */
+  protected final static ObjectMapper mapper = new ObjectMapper(factory);
+
   /**
    * Update configuration.
    */
@@ -123,7 +131,6 @@ public abstract class ApiJsonResult extends BasicApiResult {
 
         // Read the response
         if (statusCode == HttpStatus.SC_OK){
-          ObjectMapper mapper = new ObjectMapper(factory);
           root = mapper.readValue(stream, JsonNode.class);
           traceDocument(root);
           checkForError(root);
@@ -186,6 +193,223 @@ public abstract class ApiJsonResult extends BasicApiResult {
     }
   }
 
+  /**
+   * Send a request to MediaWiki API and analyze the answer as a stream.
+   * 
+   * The answer is requested with format version 2
+   * (without modifying the properties given by the caller).
+   * Errors and warnings are detected while reading the answer,
+   * and continuation information is stored in the properties.
+   * 
+   * @param properties Properties defining the request.
+   * @param handler Handler for the members of the query.
+   * @param maxTry Maximum number of tries.
+   * @return True if request should be continued.
+   * @throws APIException
+   */
+  protected boolean getStream(
+      Map<String, String> properties,
+      ApiJsonStreamHandler handler,
+      int maxTry) throws APIException {
+    Map<String, String> requestProperties = new HashMap<String, String>(properties);
+    requestProperties.put(ApiRequest.FORMAT_VERSION, ApiRequest.FORMAT_VERSION_2);
+    int attempt = 0;
+    for (;;) {
+      HttpMethod method = null;
+      InputStream stream = null;
+      try {
+        // Executing HTTP method
+        attempt++;
+        method = createHttpMethod(requestProperties);
+        int statusCode = getHttpClient().executeMethod(method);
+
+        // Accessing response
+        stream = method.getResponseBodyAsStream();
+        stream = new BufferedInputStream(stream);
+        Header contentEncoding = method.getResponseHeader("Content-Encoding");
+        if (contentEncoding != null) {
+          if (contentEncoding.getValue().equals("gzip")) {
+            stream = new GZIPInputStream(stream);
+          }
+        }
+
+        // Read the response
+        if (statusCode == HttpStatus.SC_OK) {
+          Map<String, String> continueProperties = new HashMap<String, String>();
+          if (parseStream(stream, handler, continueProperties)) {
+            properties.putAll(continueProperties);
+            return true;
+          }
+          return false;
+        }
+        try {
+          while (stream.read() >= 0) {
+            //
+          }
+        } catch (IOException e) {
+          //
+        }
+
+        // Act depending on the status
+        String message = "URL access returned " + HttpStatus.getStatusText(statusCode);
+        log.error(message);
+        if (attempt > maxTry) {
+          log.warn("Error. Maximum attempts count reached.");
+          throw new APIException(message);
+        }
+        try {
+          Thread.sleep(30000);
+        } catch (InterruptedException e) {
+          // Nothing
+        }
+      } catch (IOException e) {
+        String message = "IOException: " + e.getMessage();
+        log.error(message);
+        if (attempt > maxTry) {
+          log.warn("Error. Maximum attempts count reached.");
+          throw new APIException("Error accessing MediaWiki", e);
+        }
+        try {
+          Thread.sleep(30000);
+        } catch (InterruptedException e2) {
+          // Nothing
+        }
+      } catch (APIException e) {
+        if (!e.shouldRetry() || (attempt > e.getMaxRetry())) {
+          throw e;
+        }
+        e.waitForRetry();
+      } finally {
+        if (stream != null) {
+          try {
+            stream.close();
+          } catch (IOException e) {
+            log.warn("Error closing stream");
+          }
+        }
+        if (method != null) {
+          method.releaseConnection();
+        }
+      }
+      log.warn("Error. Trying again");
+    }
+  }
+
+  /**
+   * Analyze an answer of MediaWiki API as a stream.
+   * 
+   * @param stream Answer of MediaWiki API.
+   * @param handler Handler for the members of the query.
+   * @param continueProperties Map to be filled with continuation information.
+   * @return True if request should be continued.
+   * @throws IOException
+   * @throws APIException
+   */
+  protected boolean parseStream(
+      InputStream stream,
+      ApiJsonStreamHandler handler,
+      Map<String, String> continueProperties)
+      throws IOException, APIException {
+    JsonParser parser = null;
+    if (DEBUG_JSON) {
+      ByteArrayOutputStream document = new ByteArrayOutputStream();
+      byte[] buffer = new byte[8192];
+      int count = 0;
+      while ((count = stream.read(buffer)) >= 0) {
+        document.write(buffer, 0, count);
+      }
+      System.out.println("********** START OF DOCUMENT **********");
+      System.out.println(document.toString("UTF-8"));
+      System.out.println("**********  END OF DOCUMENT  **********");
+      parser = factory.createParser(document.toByteArray());
+    } else {
+      parser = factory.createParser(stream);
+    }
+    try {
+      if (handler != null) {
+        handler.startDocument();
+      }
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new JsonParseException("Object expected", parser.getCurrentLocation());
+      }
+      boolean result = false;
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String name = parser.getCurrentName();
+        JsonToken token = parser.nextToken();
+        if ("error".equals(name)) {
+          JsonNode error = mapper.readTree(parser);
+          String code = error.path("code").asText("?");
+          String info = error.path("info").asText("?");
+          String text = "Error reported: " + code + " - " + info;
+          log.warn(text);
+          throw new APIException(text, code);
+        } else if ("warnings".equals(name)) {
+          JsonNode warnings = mapper.readTree(parser);
+          Iterator<Entry<String, JsonNode>> itWarnings = warnings.fields();
+          while (itWarnings.hasNext()) {
+            Entry<String, JsonNode> warning = itWarnings.next();
+            JsonNode text = warning.getValue().path("warnings");
+            if (text.isMissingNode()) {
+              text = warning.getValue().path("*");
+            }
+            log.warn("Warning reported: " + warning.getKey() + " - " + text.asText());
+          }
+        } else if ("continue".equals(name)) {
+          JsonNode continueNode = mapper.readTree(parser);
+          Iterator<Entry<String, JsonNode>> itContinue = continueNode.fields();
+          while (itContinue.hasNext()) {
+            Entry<String, JsonNode> continueElement = itContinue.next();
+            String value = continueElement.getValue().asText();
+            continueProperties.put(continueElement.getKey(), value);
+            if (!"".equals(value)) {
+              result = true;
+            }
+          }
+        } else if ("query".equals(name) && (token == JsonToken.START_OBJECT)) {
+          parseQuery(parser, handler);
+        } else {
+          parser.skipChildren();
+        }
+      }
+      if (handler != null) {
+        handler.endDocument();
+      }
+      return result;
+    } finally {
+      parser.close();
+    }
+  }
+
+  /**
+   * Analyze the query member of an answer, reporting each item to the handler.
+   * 
+   * @param parser Parser positioned on the start of the query.
+   * @param handler Handler for the members of the query.
+   * @throws IOException
+   * @throws APIException
+   */
+  private void parseQuery(
+      JsonParser parser, ApiJsonStreamHandler handler)
+      throws IOException, APIException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String name = parser.getCurrentName();
+      JsonToken token = parser.nextToken();
+      if (handler == null) {
+        parser.skipChildren();
+      } else if (token == JsonToken.START_ARRAY) {
+        handler.startList(name);
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+          JsonNode item = mapper.readTree(parser);
+          handler.handleElement(name, item);
+        }
+        handler.endList(name);
+      } else {
+        JsonNode value = mapper.readTree(parser);
+        handler.handleElement(name, value);
+      }
+    }
+  }
+
   /**
    * Check for errors reported by the API.
    * 
@@ -266,41 +490,74 @@ public abstract class ApiJsonResult extends BasicApiResult {
    */
   protected static Page getPage(
       EnumWikipedia wiki,
-      Element pageNode, List<Page> knownPages,
+      JsonNode pageNode, List<Page> knownPages,
       boolean useDisambig) {
     if (pageNode == null) {
       return null;
     }
-    String title = pageNode.getAttributeValue("title");
-    Attribute pageIdAttr = pageNode.getAttribute("pageid");
+    String title = getValue(pageNode, "title");
+    String pageIdValue = getValue(pageNode, "pageid");
     Integer pageId = null;
-    if (pageIdAttr != null) {
+    if (pageIdValue != null) {
       try {
-        String tmp = pageIdAttr.getValue();
-        pageId = Integer.valueOf(tmp);
+        pageId = Integer.valueOf(pageIdValue);
       } catch (NumberFormatException e) {
         //
       }
     }
-    String revisionId = pageNode.getAttributeValue("lastrevid");
+    String revisionId = getValue(pageNode, "lastrevid");
     Page page = DataManager.getPage(wiki, title, pageId, revisionId, knownPages);
-    page.setNamespace(pageNode.getAttributeValue("ns"));
-    if (pageNode.getAttribute("missing") != null) {
+    page.setNamespace(getValue(pageNode, "ns"));
+    if (isSet(pageNode, "missing")) {
       page.setExisting(Boolean.FALSE);
     } else if (pageId != null) {
       page.setExisting(Boolean.TRUE);
     }
-    if (pageNode.getAttribute("redirect") != null) {
+    if (isSet(pageNode, "redirect")) {
       page.isRedirect(true);
     }
     if (useDisambig) {
-      Element pageProps = pageNode.getChild("pageprops");
-      boolean dabPage = (pageProps != null) && (pageProps.getAttribute("disambiguation") != null);
+      JsonNode pageProps = pageNode.get("pageprops");
+      boolean dabPage = (pageProps != null) && isSet(pageProps, "disambiguation");
       page.setDisambiguationPage(Boolean.valueOf(dabPage));
     }
     return page;
   }
 
+  /**
+   * @param node JSON node.
+   * @param name Name of the member.
+   * @return Value of the member as text, or null if the member is missing.
+   */
+  protected static String getValue(JsonNode node, String name) {
+    JsonNode value = node.get(name);
+    if ((value == null) || value.isNull()) {
+      return null;
+    }
+    return value.asText();
+  }
+
+  /**
+   * Check if a flag is set.
+   * 
+   * With format version 2, flags are booleans.
+   * With format version 1, they are empty strings present only when set.
+   * 
+   * @param node JSON node.
+   * @param name Name of the flag.
+   * @return True if the flag is set.
+   */
+  protected static boolean isSet(JsonNode node, String name) {
+    JsonNode value = node.get(name);
+    if ((value == null) || value.isNull()) {
+      return false;
+    }
+    if (value.isBoolean()) {
+      return value.booleanValue();
+    }
+    return true;
+  }
+
   /**
    * Trace a document contents.
    * 
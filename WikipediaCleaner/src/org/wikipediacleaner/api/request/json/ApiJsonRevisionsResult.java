@@ -0,0 +1,107 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.request.json;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.apache.commons.httpclient.HttpClient;
+import org.wikipediacleaner.api.APIException;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.request.ApiPagesInformation;
+import org.wikipediacleaner.api.request.ApiRequest;
+import org.wikipediacleaner.api.request.ApiRevisionsResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+
+/**
+ * MediaWiki API JSON revisions results.
+ */
+public class ApiJsonRevisionsResult extends ApiJsonPropertiesResult implements ApiRevisionsResult {
+
+  /**
+   * @param wiki Wiki on which requests are made.
+   * @param httpClient HTTP client for making requests.
+   */
+  public ApiJsonRevisionsResult(
+      EnumWikipedia wiki,
+      HttpClient httpClient) {
+    super(wiki, httpClient);
+  }
+
+  /**
+   * Execute last revision request.
+   * 
+   * @param properties Properties defining request.
+   * @param pages Pages to be filled with last revision content.
+   * @return True if request should be continued.
+   * @throws APIException
+   */
+  @Override
+  public boolean executeLastRevision(
+      Map<String, String> properties,
+      Collection<Page> pages) throws APIException {
+    return getStream(
+        properties, new LastRevisionHandler(pages),
+        ApiRequest.MAX_ATTEMPTS);
+  }
+
+  /**
+   * Handler for filling pages with their last revision while the answer is read.
+   */
+  private static class LastRevisionHandler extends PagesHandler {
+
+    /**
+     * @param pages Pages to be filled with last revision content.
+     */
+    public LastRevisionHandler(Collection<Page> pages) {
+      super(pages, true);
+    }
+
+    /**
+     * Retrieve information from a page node.
+     * 
+     * @param node Page node.
+     * @param pageNode Information about the page node, to be completed.
+     * @see org.wikipediacleaner.api.request.json.ApiJsonPropertiesResult.PagesHandler#handlePage(com.fasterxml.jackson.databind.JsonNode, org.wikipediacleaner.api.request.ApiPagesInformation.PageNode)
+     */
+    @Override
+    protected void handlePage(JsonNode node, ApiPagesInformation.PageNode pageNode) {
+
+      // Page information
+      pageNode.setStartTimestamp(getValue(node, "starttimestamp"));
+      if (isSet(node, "redirect")) {
+        pageNode.setRedirect();
+      }
+
+      // Protection information
+      for (JsonNode protection : node.path("protection")) {
+        if ("edit".equals(getValue(protection, "type"))) {
+          pageNode.setEditProtectionLevel(getValue(protection, "level"));
+        }
+      }
+
+      // Last revision
+      JsonNode revision = node.path("revisions").path(0);
+      if (revision.isMissingNode()) {
+        return;
+      }
+      String contents = getValue(revision, "content");
+      if (contents == null) {
+        contents = getValue(revision.path("slots").path("main"), "content");
+      }
+      if (contents == null) {
+        contents = getValue(revision, "*");
+      }
+      pageNode.setRevision(
+          getValue(revision, "revid"), getValue(revision, "timestamp"), contents);
+    }
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.request.json;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.httpclient.HttpClient;
+import org.wikipediacleaner.api.APIException;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.data.DataManager;
+import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.request.ApiRequest;
+import org.wikipediacleaner.api.request.ApiSearchResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+
+/**
+ * MediaWiki API JSON search results.
+ */
+public class ApiJsonSearchResult extends ApiJsonResult implements ApiSearchResult {
+
+  /**
+   * @param wiki Wiki on which requests are made.
+   * @param httpClient HTTP client for making requests.
+   */
+  public ApiJsonSearchResult(
+      EnumWikipedia wiki,
+      HttpClient httpClient) {
+    super(wiki, httpClient);
+  }
+
+  /**
+   * Execute search request.
+   * 
+   * @param properties Properties defining request.
+   * @param list List to be filled with back links.
+   * @return True if request should be continued.
+   * @throws APIException
+   */
+  @Override
+  public boolean executeSearch(
+      Map<String, String> properties,
+      final List<Page> list)
+          throws APIException {
+
+    // Retrieve search results
+    return getStream(
+        properties,
+        new ApiJsonStreamHandler() {
+
+          /** Pages found in the answer */
+          private final List<Page> tmpList = new ArrayList<Page>();
+
+          @Override
+          public void startDocument() {
+            tmpList.clear();
+          }
+
+          @Override
+          public void endDocument() {
+            list.addAll(tmpList);
+          }
+
+          @Override
+          public void handleElement(String name, JsonNode node) {
+            if ("search".equals(name)) {
+              Page similarPage = DataManager.getPage(
+                  getWiki(), getValue(node, "title"), null, null, null);
+              similarPage.setNamespace(getValue(node, "ns"));
+              tmpList.add(similarPage);
+            }
+          }
+        },
+        ApiRequest.MAX_ATTEMPTS);
+  }
+}
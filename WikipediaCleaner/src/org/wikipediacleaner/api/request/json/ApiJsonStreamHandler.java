@@ -0,0 +1,78 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.request.json;
+
+import org.wikipediacleaner.api.APIException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+
+/**
+ * Handler for MediaWiki API JSON results analyzed as a stream.
+ *
+ * Members of the <code>query</code> object are reported while the response
+ * is being read: each item of a list (for example each page of
+ * <code>query.pages</code>) is reported separately, so only one item
+ * is kept in memory at a time.
+ * Errors, warnings and continuation members are managed by ApiJsonResult
+ * and are not reported to the handler.
+ *
+ * An answer may be read several times when an error occurs while reading it:
+ * handlers should only keep results in their own state,
+ * reset it in {@link #startDocument()} and publish it in {@link #endDocument()}.
+ */
+public abstract class ApiJsonStreamHandler {
+
+  /**
+   * Called before an answer is read.
+   *
+   * @throws APIException
+   */
+  public void startDocument() throws APIException {
+    // Nothing to do by default
+  }
+
+  /**
+   * Called after an answer has been completely read.
+   *
+   * @throws APIException
+   */
+  public void endDocument() throws APIException {
+    // Nothing to do by default
+  }
+
+  /**
+   * Called when a list starts.
+   *
+   * @param name Name of the list in the query (for example <code>pages</code>).
+   * @throws APIException
+   */
+  public void startList(String name) throws APIException {
+    // Nothing to do by default
+  }
+
+  /**
+   * Called for each item of a list, or for a member of the query which is not a list.
+   *
+   * @param name Name of the member in the query.
+   * @param node Item of the list, or value of the member.
+   * @throws APIException
+   */
+  public abstract void handleElement(
+      String name, JsonNode node) throws APIException;
+
+  /**
+   * Called when a list ends.
+   *
+   * @param name Name of the list in the query.
+   * @throws APIException
+   */
+  public void endList(String name) throws APIException {
+    // Nothing to do by default
+  }
+}
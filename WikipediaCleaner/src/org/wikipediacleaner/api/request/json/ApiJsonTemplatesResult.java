@@ -0,0 +1,157 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.request.json;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.httpclient.HttpClient;
+import org.wikipediacleaner.api.APIException;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.data.DataManager;
+import org.wikipediacleaner.api.data.Namespace;
+import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.request.ApiPagesInformation;
+import org.wikipediacleaner.api.request.ApiRequest;
+import org.wikipediacleaner.api.request.ApiTemplatesResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+
+/**
+ * MediaWiki API JSON templates results.
+ */
+public class ApiJsonTemplatesResult extends ApiJsonPropertiesResult implements ApiTemplatesResult {
+
+  /**
+   * @param wiki Wiki on which requests are made.
+   * @param httpClient HTTP client for making requests.
+   */
+  public ApiJsonTemplatesResult(
+      EnumWikipedia wiki,
+      HttpClient httpClient) {
+    super(wiki, httpClient);
+  }
+
+  /**
+   * Execute templates request.
+   * 
+   * @param properties Properties defining request.
+   * @param page Page.
+   * @param list List of pages to be filled with the templates.
+   * @return True if request should be continued.
+   * @throws APIException
+   */
+  @Override
+  public boolean executeTemplates(
+      Map<String, String> properties,
+      Page page,
+      final List<Page> list)
+          throws APIException {
+
+    // Retrieve templates
+    return getStream(
+        properties,
+        new ApiJsonStreamHandler() {
+
+          /** Templates found in the answer */
+          private final List<Page> tmpList = new ArrayList<Page>();
+
+          @Override
+          public void startDocument() {
+            tmpList.clear();
+          }
+
+          @Override
+          public void endDocument() {
+            for (Page template : tmpList) {
+              if (!list.contains(template)) {
+                list.add(template);
+              }
+            }
+          }
+
+          @Override
+          public void handleElement(String name, JsonNode node) {
+            if ("pages".equals(name)) {
+              Page template = DataManager.getPage(
+                  getWiki(), getValue(node, "title"), null, null, null);
+              template.setNamespace(getValue(node, "ns"));
+              template.setPageId(getValue(node, "pageid"));
+              if (isSet(node, "missing")) {
+                template.setExisting(Boolean.FALSE);
+              }
+              tmpList.add(template);
+            }
+          }
+        },
+        ApiRequest.MAX_ATTEMPTS);
+  }
+
+  /**
+   * Set disambiguation status of a list of pages.
+   * 
+   * @param properties Properties defining request.
+   * @param pages List of pages for which disambiguation status needs to be set.
+   * @return True if request should be continued.
+   * @throws APIException
+   */
+  @Override
+  public boolean setDiambiguationStatus(
+      Map<String, String> properties,
+      Collection<Page> pages) throws APIException {
+
+    // Manage redirects, missing pages and disambiguation status
+    return getStream(
+        properties, new DisambiguationStatusHandler(pages),
+        ApiRequest.MAX_ATTEMPTS);
+  }
+
+  /**
+   * Handler for setting disambiguation status while the answer is read.
+   */
+  private static class DisambiguationStatusHandler extends PagesHandler {
+
+    /**
+     * @param pages List of pages for which disambiguation status needs to be set.
+     */
+    public DisambiguationStatusHandler(Collection<Page> pages) {
+      super(pages, false);
+    }
+
+    /**
+     * Retrieve disambiguation status from a page node.
+     * 
+     * @param node Page node.
+     * @param pageNode Information about the page node, to be completed.
+     * @see org.wikipediacleaner.api.request.json.ApiJsonPropertiesResult.PagesHandler#handlePage(com.fasterxml.jackson.databind.JsonNode, org.wikipediacleaner.api.request.ApiPagesInformation.PageNode)
+     */
+    @Override
+    protected void handlePage(JsonNode node, ApiPagesInformation.PageNode pageNode) {
+      if (hasTemplate(node)) {
+        pageNode.setDisambiguation();
+      }
+    }
+
+    /**
+     * @param pageNode Page node.
+     * @return True if the page uses a template.
+     */
+    private boolean hasTemplate(JsonNode pageNode) {
+      String namespace = Integer.toString(Namespace.TEMPLATE);
+      for (JsonNode template : pageNode.path("templates")) {
+        if (namespace.equals(getValue(template, "ns"))) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+}
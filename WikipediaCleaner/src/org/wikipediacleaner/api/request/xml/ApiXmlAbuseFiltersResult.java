@@ -53,7 +53,7 @@ public class ApiXmlAbuseFiltersResult extends ApiXmlResult implements ApiAbuseFi
       Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
 
       // Retrieve category members
-      XPath xpa = XPath.newInstance("/api/query/abusefilters/filter");
+      XPath xpa = XPathCache.get("/api/query/abusefilters/filter");
       List results = xpa.selectNodes(root);
       Iterator iter = results.iterator();
       while (iter.hasNext()) {
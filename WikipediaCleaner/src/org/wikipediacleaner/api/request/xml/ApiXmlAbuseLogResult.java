@@ -54,7 +54,7 @@ public class ApiXmlAbuseLogResult extends ApiXmlResult implements ApiAbuseLogRes
       Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
 
       // Retrieve category members
-      XPath xpa = XPath.newInstance("/api/query/abuselog/item");
+      XPath xpa = XPathCache.get("/api/query/abuselog/item");
       List results = xpa.selectNodes(root);
       Iterator iter = results.iterator();
       while (iter.hasNext()) {
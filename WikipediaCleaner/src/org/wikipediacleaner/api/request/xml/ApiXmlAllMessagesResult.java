@@ -49,7 +49,7 @@ public class ApiXmlAllMessagesResult extends ApiXmlResult implements ApiAllMessa
       Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
 
       // Retrieve general information
-      XPath xpa = XPath.newInstance("/api/query/allmessages/message");
+      XPath xpa = XPathCache.get("/api/query/allmessages/message");
       Element generalNode = (Element) xpa.selectSingleNode(root);
       if (generalNode != null) {
         return generalNode.getValue();
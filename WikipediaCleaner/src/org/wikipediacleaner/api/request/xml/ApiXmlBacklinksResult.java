@@ -8,14 +8,13 @@
 package org.wikipediacleaner.api.request.xml;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.xml.stream.XMLStreamReader;
+
 import org.apache.commons.httpclient.HttpClient;
-import org.jdom.Element;
-import org.jdom.JDOMException;
-import org.jdom.xpath.XPath;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.DataManager;
@@ -51,62 +50,94 @@ public class ApiXmlBacklinksResult extends ApiXmlResult implements ApiBacklinksR
   @Override
   public boolean executeBacklinks(
       Map<String, String> properties,
-      Page page,
-      List<Page> list)
+      final Page page,
+      final List<Page> list)
           throws APIException {
-    try {
-      Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
-
-      // Retrieve back links
-      XPath xpa = XPath.newInstance("/api/query/backlinks/bl");
-      List listBacklinks = xpa.selectNodes(root);
-      Iterator itBacklink = listBacklinks.iterator();
-      XPath xpaPageId = XPath.newInstance("./@pageid");
-      XPath xpaNs = XPath.newInstance("./@ns");
-      XPath xpaTitle = XPath.newInstance("./@title");
-      XPath xpaRedirLinks = XPath.newInstance("redirlinks/bl");
-      while (itBacklink.hasNext()) {
-        Element currentBacklink = (Element) itBacklink.next();
-        Page link = DataManager.getPage(
-            getWiki(), xpaTitle.valueOf(currentBacklink), null, null, null);
-        link.setNamespace(xpaNs.valueOf(currentBacklink));
-        link.setPageId(xpaPageId.valueOf(currentBacklink));
-        if (currentBacklink.getAttribute("redirect") != null) {
-          link.addRedirect(page);
-        }
-        if (!list.contains(link)) {
-          list.add(link);
-        }
-
-        // Links through redirects
-        List listRedirLinks = xpaRedirLinks.selectNodes(currentBacklink);
-        if (listRedirLinks != null) {
-          List<Page> linkList = new ArrayList<Page>();
-          Iterator itRedirLink = listRedirLinks.iterator();
-          while (itRedirLink.hasNext()) {
-            currentBacklink = (Element) itRedirLink.next();
-            Page link2 = DataManager.getPage(
-                getWiki(), xpaTitle.valueOf(currentBacklink), null, null, null);
-            link2.setNamespace(xpaNs.valueOf(currentBacklink));
-            link2.setPageId(xpaPageId.valueOf(currentBacklink));
-            if (!list.contains(link2)) {
-              list.add(link2);
+
+    // Retrieve back links
+    return getStream(
+        properties, "/api/query-continue/backlinks",
+        new ApiXmlStreamHandler() {
+
+          /** Back links found in the answer, with links through redirects */
+          private final Map<Page, List<Page>> links = new LinkedHashMap<Page, List<Page>>();
+
+          /** Back links found in the answer that are redirects to the page */
+          private final List<Page> redirects = new ArrayList<Page>();
+
+          /** Pages found in the answer */
+          private final List<Page> tmpList = new ArrayList<Page>();
+
+          /** Current back link */
+          private Page link;
+
+          /** Links through redirects for the current back link */
+          private List<Page> linkList;
+
+          @Override
+          public void startDocument() {
+            links.clear();
+            redirects.clear();
+            tmpList.clear();
+            link = null;
+            linkList = null;
+          }
+
+          @Override
+          public void endDocument() {
+            for (Page tmpLink : tmpList) {
+              if (!list.contains(tmpLink)) {
+                list.add(tmpLink);
+              }
             }
-            if (!linkList.contains(link2)) {
-              linkList.add(link2);
+            for (Page redirect : redirects) {
+              redirect.addRedirect(page);
             }
+            for (Map.Entry<Page, List<Page>> entry : links.entrySet()) {
+              entry.getKey().setRelatedPages(Page.RelatedPages.BACKLINKS, entry.getValue());
+            }
+          }
+
+          @Override
+          public void startElement(String path, XMLStreamReader reader) {
+            if ("/api/query/backlinks/bl".equals(path)) {
+              link = createLink(reader);
+              if (reader.getAttributeValue(null, "redirect") != null) {
+                redirects.add(link);
+              }
+              linkList = new ArrayList<Page>();
+
+            // Links through redirects
+            } else if ("/api/query/backlinks/bl/redirlinks/bl".equals(path)) {
+              Page link2 = createLink(reader);
+              if (!linkList.contains(link2)) {
+                linkList.add(link2);
+              }
+            }
+          }
+
+          @Override
+          public void endElement(String path) {
+            if ("/api/query/backlinks/bl".equals(path)) {
+              links.put(link, linkList);
+              link = null;
+              linkList = null;
+            }
+          }
+
+          /**
+           * @param reader Reader positioned on a back link.
+           * @return Back link.
+           */
+          private Page createLink(XMLStreamReader reader) {
+            Page tmpLink = DataManager.getPage(
+                getWiki(), reader.getAttributeValue(null, "title"), null, null, null);
+            tmpLink.setNamespace(reader.getAttributeValue(null, "ns"));
+            tmpLink.setPageId(reader.getAttributeValue(null, "pageid"));
+            tmpList.add(tmpLink);
+            return tmpLink;
           }
-          link.setRelatedPages(Page.RelatedPages.BACKLINKS, linkList);
-        }
-      }
-
-      // Retrieve continue
-      return shouldContinue(
-          root, "/api/query-continue/backlinks",
-          properties);
-    } catch (JDOMException e) {
-      log.error("Error loading back links", e);
-      throw new APIException("Error parsing XML", e);
-    }
+        },
+        ApiRequest.MAX_ATTEMPTS);
   }
 }
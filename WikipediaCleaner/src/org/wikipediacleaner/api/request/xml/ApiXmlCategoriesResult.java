@@ -59,7 +59,7 @@ public class ApiXmlCategoriesResult extends ApiXmlPropertiesResult implements Ap
       Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
 
       // Retrieve back links
-      XPath xpa = XPath.newInstance("/api/query/pages/page/categories/cl");
+      XPath xpa = XPathCache.get("/api/query/pages/page/categories/cl");
       List listCategories = xpa.selectNodes(root);
       Iterator itCategory = listCategories.iterator();
       while (itCategory.hasNext()) {
@@ -108,10 +108,10 @@ public class ApiXmlCategoriesResult extends ApiXmlPropertiesResult implements Ap
       updateRedirect(root, pages);
 
       // Set disambiguation status
-      XPath xpa = XPath.newInstance("/api/query/pages/page");
+      XPath xpa = XPathCache.get("/api/query/pages/page");
       List results = xpa.selectNodes(root);
       Iterator iter = results.iterator();
-      XPath xpaTitle = XPath.newInstance("./@title");
+      XPath xpaTitle = XPathCache.get("./@title");
       XPath xpaCategory = createXPath("categories/cl", "ns", "" + Namespace.CATEGORY);
       List<Page> tmpPages = new ArrayList<Page>();
       while (iter.hasNext()) {
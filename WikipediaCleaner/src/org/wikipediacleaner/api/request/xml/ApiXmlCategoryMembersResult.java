@@ -7,14 +7,14 @@
 
 package org.wikipediacleaner.api.request.xml;
 
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.xml.stream.XMLStreamReader;
+
 import org.apache.commons.httpclient.HttpClient;
-import org.jdom.Element;
-import org.jdom.JDOMException;
-import org.jdom.xpath.XPath;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.DataManager;
@@ -22,6 +22,7 @@ import org.wikipediacleaner.api.data.Namespace;
 import org.wikipediacleaner.api.data.Page;
 import org.wikipediacleaner.api.request.ApiCategoryMembersResult;
 import org.wikipediacleaner.api.request.ApiRequest;
+import org.wikipediacleaner.utils.CompactStringSet;
 
 
 /**
@@ -52,41 +53,80 @@ public class ApiXmlCategoryMembersResult extends ApiXmlResult implements ApiCate
   @Override
   public boolean executeCategoryMembers(
       Map<String, String> properties,
-      List<Page> list,
-      Map<Page, Integer> categories, int depth) throws APIException {
-    try {
-      Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
-
-      // Retrieve category members
-      XPath xpa = XPath.newInstance("/api/query/categorymembers/cm");
-      List results = xpa.selectNodes(root);
-      Iterator iter = results.iterator();
-      XPath xpaPageId = XPath.newInstance("./@pageid");
-      XPath xpaNs = XPath.newInstance("./@ns");
-      XPath xpaTitle = XPath.newInstance("./@title");
-      while (iter.hasNext()) {
-        Element currentNode = (Element) iter.next();
-        Page page = DataManager.getPage(
-            getWiki(), xpaTitle.valueOf(currentNode), null, null, null);
-        page.setNamespace(xpaNs.valueOf(currentNode));
-        page.setPageId(xpaPageId.valueOf(currentNode));
-        if ((page.getNamespace() != null) &&
-            (page.getNamespace().intValue() == Namespace.CATEGORY)) {
-          categories.put(page, depth + 1);
-        } else {
-          if (!list.contains(page)) {
-            list.add(page);
+      final List<Page> list,
+      final Map<Page, Integer> categories, final int depth) throws APIException {
+
+    // Retrieve category members
+    return getStream(
+        properties, "/api/query-continue/categorymembers",
+        new ApiXmlStreamHandler() {
+
+          /** Category members found in the answer */
+          private final List<Page> tmpList = new ArrayList<Page>();
+
+          /** Sub-categories found in the answer */
+          private final Map<Page, Integer> tmpCategories = new LinkedHashMap<Page, Integer>();
+
+          @Override
+          public void startDocument() {
+            tmpList.clear();
+            tmpCategories.clear();
+          }
+
+          @Override
+          public void endDocument() {
+            for (Page page : tmpList) {
+              if (!list.contains(page)) {
+                list.add(page);
+              }
+            }
+            categories.putAll(tmpCategories);
+          }
+
+          @Override
+          public void startElement(String path, XMLStreamReader reader) {
+            if ("/api/query/categorymembers/cm".equals(path)) {
+              Page page = DataManager.getPage(
+                  getWiki(), reader.getAttributeValue(null, "title"), null, null, null);
+              page.setNamespace(reader.getAttributeValue(null, "ns"));
+              page.setPageId(reader.getAttributeValue(null, "pageid"));
+              if ((page.getNamespace() != null) &&
+                  (page.getNamespace().intValue() == Namespace.CATEGORY)) {
+                tmpCategories.put(page, depth + 1);
+              } else {
+                tmpList.add(page);
+              }
+            }
+          }
+        },
+        ApiRequest.MAX_ATTEMPTS);
+  }
+
+  /**
+   * Execute category members request for titles only.
+   * 
+   * @param properties Properties defining request.
+   * @param titles Builder to be filled with the titles of category members.
+   * @return True if request should be continued.
+   * @throws APIException
+   */
+  @Override
+  public boolean executeCategoryMemberTitles(
+      Map<String, String> properties,
+      final CompactStringSet.Builder titles) throws APIException {
+
+    // Retrieve category members (titles read again are merged when the set is built)
+    return getStream(
+        properties, "/api/query-continue/categorymembers",
+        new ApiXmlStreamHandler() {
+
+          @Override
+          public void startElement(String path, XMLStreamReader reader) {
+            if ("/api/query/categorymembers/cm".equals(path)) {
+              titles.add(reader.getAttributeValue(null, "title"));
+            }
           }
-        }
-      }
-
-      // Retrieve continue
-      return shouldContinue(
-          root, "/api/query-continue/categorymembers",
-          properties);
-    } catch (JDOMException e) {
-      log.error("Error loading category members list", e);
-      throw new APIException("Error parsing XML", e);
-    }
+        },
+        ApiRequest.MAX_ATTEMPTS);
   }
 }
@@ -7,20 +7,20 @@
 
 package org.wikipediacleaner.api.request.xml;
 
-import java.util.Iterator;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import javax.xml.stream.XMLStreamReader;
+
 import org.apache.commons.httpclient.HttpClient;
-import org.jdom.Element;
-import org.jdom.JDOMException;
-import org.jdom.xpath.XPath;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.DataManager;
 import org.wikipediacleaner.api.data.Page;
 import org.wikipediacleaner.api.request.ApiEmbeddedInResult;
 import org.wikipediacleaner.api.request.ApiRequest;
+import org.wikipediacleaner.utils.CompactStringSet;
 
 
 /**
@@ -50,32 +50,61 @@ public class ApiXmlEmbeddedInResult extends ApiXmlResult implements ApiEmbeddedI
   public boolean executeEmbeddedIn(
       Map<String, String> properties,
       List<Page> list) throws APIException {
-    try {
-      Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
 
-      // Retrieve embedding pages
-      XPath xpa = XPath.newInstance("/api/query/embeddedin/ei");
-      List results = xpa.selectNodes(root);
-      Iterator iter = results.iterator();
-      XPath xpaPageId = XPath.newInstance("./@pageid");
-      XPath xpaNs = XPath.newInstance("./@ns");
-      XPath xpaTitle = XPath.newInstance("./@title");
-      while (iter.hasNext()) {
-        Element currentNode = (Element) iter.next();
-        Page page = DataManager.getPage(
-            getWiki(), xpaTitle.valueOf(currentNode), null, null, null);
-        page.setNamespace(xpaNs.valueOf(currentNode));
-        page.setPageId(xpaPageId.valueOf(currentNode));
-        list.add(page);
-      }
+    // Retrieve embedding pages
+    final List<Page> tmpList = new ArrayList<Page>();
+    boolean shouldContinue = getStream(
+        properties, "/api/query-continue/embeddedin",
+        new ApiXmlStreamHandler() {
+
+          @Override
+          public void startDocument() {
+            tmpList.clear();
+          }
+
+          @Override
+          public void startElement(String path, XMLStreamReader reader) {
+            if ("/api/query/embeddedin/ei".equals(path)) {
+              Page page = DataManager.getPage(
+                  getWiki(), reader.getAttributeValue(null, "title"), null, null, null);
+              page.setNamespace(reader.getAttributeValue(null, "ns"));
+              page.setPageId(reader.getAttributeValue(null, "pageid"));
+              tmpList.add(page);
+            }
+          }
+        },
+        ApiRequest.MAX_ATTEMPTS);
+    list.addAll(tmpList);
+
+    // Retrieve continue
+    return shouldContinue;
+  }
+
+  /**
+   * Execute embedded in request for titles only.
+   * 
+   * @param properties Properties defining request.
+   * @param titles Builder to be filled with the titles of embedding pages.
+   * @return True if request should be continued.
+   * @throws APIException
+   */
+  @Override
+  public boolean executeEmbeddedInTitles(
+      Map<String, String> properties,
+      final CompactStringSet.Builder titles) throws APIException {
+
+    // Retrieve embedding pages (titles read again are merged when the set is built)
+    return getStream(
+        properties, "/api/query-continue/embeddedin",
+        new ApiXmlStreamHandler() {
 
-      // Retrieve continue
-      return shouldContinue(
-          root, "/api/query-continue/embeddedin",
-          properties);
-    } catch (JDOMException e) {
-      log.error("Error loading embedded in list", e);
-      throw new APIException("Error parsing XML", e);
-    }
+          @Override
+          public void startElement(String path, XMLStreamReader reader) {
+            if ("/api/query/embeddedin/ei".equals(path)) {
+              titles.add(reader.getAttributeValue(null, "title"));
+            }
+          }
+        },
+        ApiRequest.MAX_ATTEMPTS);
   }
 }
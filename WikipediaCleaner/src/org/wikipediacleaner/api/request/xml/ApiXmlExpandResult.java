@@ -46,7 +46,7 @@ public class ApiXmlExpandResult extends ApiXmlResult implements ApiExpandResult
       Map<String, String> properties)
           throws APIException {
     try {
-      XPath xpaContents = XPath.newInstance("/api/expandtemplates/.");
+      XPath xpaContents = XPathCache.get("/api/expandtemplates/.");
       Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
       return xpaContents.valueOf(root);
     } catch (JDOMException e) {
@@ -8,11 +8,14 @@
 package org.wikipediacleaner.api.request.xml;
 
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.httpclient.HttpClient;
 import org.jdom.Element;
 import org.jdom.JDOMException;
+import org.jdom.xpath.XPath;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.Page;
@@ -52,6 +55,18 @@ public class ApiXmlInfoResult extends ApiXmlPropertiesResult implements ApiInfoR
 
       // Manage redirects and missing pages
       updateRedirect(root, pages);
+      XPath xpa = XPathCache.get("/api/query/pages/page[@redirect]");
+      List results = xpa.selectNodes(root);
+      Iterator iter = results.iterator();
+      while (iter.hasNext()) {
+        Element currentNode = (Element) iter.next();
+        String title = currentNode.getAttributeValue("title");
+        for (Page page : pages) {
+          if (Page.areSameTitle(page.getTitle(), title)) {
+            page.isRedirect(true);
+          }
+        }
+      }
 
       // Retrieve continue
       return false;
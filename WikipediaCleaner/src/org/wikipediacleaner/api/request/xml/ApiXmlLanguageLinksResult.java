@@ -52,11 +52,11 @@ public class ApiXmlLanguageLinksResult extends ApiXmlPropertiesResult implements
       Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
 
       // Set disambiguation status
-      XPath xpa = XPath.newInstance("/api/query/pages/page/langlinks/ll");
+      XPath xpa = XPathCache.get("/api/query/pages/page/langlinks/ll");
       List results = xpa.selectNodes(root);
       Iterator iter = results.iterator();
-      XPath xpaTitle = XPath.newInstance(".");
-      XPath xpaLang = XPath.newInstance("./@lang");
+      XPath xpaTitle = XPathCache.get(".");
+      XPath xpaLang = XPathCache.get("./@lang");
       while (iter.hasNext()) {
         Element currentNode = (Element) iter.next();
         String title = xpaTitle.valueOf(currentNode);
@@ -60,10 +60,10 @@ public class ApiXmlLinksResult extends ApiXmlPropertiesResult implements ApiLink
       retrieveNormalization(root, normalization);
 
       // Retrieve back links
-      XPath xpaPages = XPath.newInstance("/api/query/pages/page");
+      XPath xpaPages = XPathCache.get("/api/query/pages/page");
       List listPages = xpaPages.selectNodes(root);
       Iterator itPage = listPages.iterator();
-      XPath xpaLinks = XPath.newInstance("links/pl");
+      XPath xpaLinks = XPathCache.get("links/pl");
       while (itPage.hasNext()) {
         Element pageNode = (Element) itPage.next();
         String pageTitle = pageNode.getAttributeValue("title");
@@ -119,7 +119,7 @@ public class ApiXmlLinksResult extends ApiXmlPropertiesResult implements ApiLink
       retrieveNormalization(root, normalization);
 
       // Retrieve back links
-      XPath xpaPages = XPath.newInstance("/api/query/pages/page");
+      XPath xpaPages = XPathCache.get("/api/query/pages/page");
       List listLinks = xpaPages.selectNodes(root);
       Iterator itLinks = listLinks.iterator();
       while (itLinks.hasNext()) {
@@ -71,26 +71,26 @@ public class ApiXmlLoginResult extends ApiXmlResult implements ApiLoginResult {
   private LoginResult constructLogin(Element root)
       throws APIException {
     try {
-      XPath xpa = XPath.newInstance("/api/login");
+      XPath xpa = XPathCache.get("/api/login");
       Element node = (Element) xpa.selectSingleNode(root);
       if (node != null) {
-        XPath xpaResult = XPath.newInstance("./@result");
+        XPath xpaResult = XPathCache.get("./@result");
         String result = xpaResult.valueOf(node);
         if ("Success".equalsIgnoreCase(result)) {
-          XPath xpaUserid = XPath.newInstance("./@lguserid");
-          XPath xpaUsername = XPath.newInstance("./@lgusername");
-          XPath xpaToken = XPath.newInstance("./@lgtoken");
+          XPath xpaUserid = XPathCache.get("./@lguserid");
+          XPath xpaUsername = XPathCache.get("./@lgusername");
+          XPath xpaToken = XPathCache.get("./@lgtoken");
           getWiki().getConnection().setLgInformation(
               xpaToken.valueOf(node),
               xpaUsername.valueOf(node),
               xpaUserid.valueOf(node));
           return LoginResult.createCorrectLogin();
         } else if (EnumLoginResult.NEED_TOKEN.getCode().equalsIgnoreCase(result)) {
-          XPath xpaToken = XPath.newInstance("./@token");
+          XPath xpaToken = XPathCache.get("./@token");
           return LoginResult.createNeedTokenLogin(xpaToken.valueOf(node));
         }
-        XPath xpaWait = XPath.newInstance("./@wait");
-        XPath xpaDetails = XPath.newInstance("./@details");
+        XPath xpaWait = XPathCache.get("./@wait");
+        XPath xpaDetails = XPathCache.get("./@details");
         return LoginResult.createErrorLogin(result, xpaDetails.valueOf(node), xpaWait.valueOf(node));
       }
     } catch (JDOMException e) {
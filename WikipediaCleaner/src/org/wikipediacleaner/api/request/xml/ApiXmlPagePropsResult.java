@@ -58,7 +58,7 @@ public class ApiXmlPagePropsResult extends ApiXmlPropertiesResult implements Api
       updateRedirect(root, pages);
 
       // Set disambiguation status
-      XPath xpa = XPath.newInstance("/api/query/pages/page");
+      XPath xpa = XPathCache.get("/api/query/pages/page");
       List results = xpa.selectNodes(root);
       Iterator iter = results.iterator();
       List<Page> tmpPages = new ArrayList<Page>();
@@ -11,6 +11,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
+import javax.xml.stream.XMLStreamReader;
+
 import org.apache.commons.httpclient.HttpClient;
 import org.jdom.Element;
 import org.jdom.JDOMException;
@@ -21,6 +23,7 @@ import org.wikipediacleaner.api.data.DataManager;
 import org.wikipediacleaner.api.data.Page;
 import org.wikipediacleaner.api.request.ApiPagesWithPropResult;
 import org.wikipediacleaner.api.request.ApiRequest;
+import org.wikipediacleaner.utils.CompactStringSet;
 
 
 /**
@@ -54,7 +57,7 @@ public class ApiXmlPagesWithPropResult extends ApiXmlResult implements ApiPagesW
       Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
 
       // Retrieve embedding pages
-      XPath xpa = XPath.newInstance("/api/query/pageswithprop/page");
+      XPath xpa = XPathCache.get("/api/query/pageswithprop/page");
       List results = xpa.selectNodes(root);
       Iterator iter = results.iterator();
       while (iter.hasNext()) {
@@ -84,4 +87,52 @@ public class ApiXmlPagesWithPropResult extends ApiXmlResult implements ApiPagesW
       throw new APIException("Error parsing XML", e);
     }
   }
+
+  /**
+   * Execute pages with property request for titles only.
+   * 
+   * @param properties Properties defining request.
+   * @param namespaces List of name spaces to restrict result.
+   * @param titles Builder to be filled with the titles of pages.
+   * @return True if request should be continued.
+   * @throws APIException
+   */
+  @Override
+  public boolean executePagesWithPropTitles(
+      Map<String, String> properties,
+      final List<Integer> namespaces,
+      final CompactStringSet.Builder titles) throws APIException {
+
+    // Retrieve pages (titles read again are merged when the set is built)
+    return getStream(
+        properties, "/api/query-continue/pageswithprop",
+        new ApiXmlStreamHandler() {
+
+          @Override
+          public void startElement(String path, XMLStreamReader reader) {
+            if ("/api/query/pageswithprop/page".equals(path)) {
+              if ((namespaces == null) || namespaces.isEmpty() ||
+                  namespaces.contains(getNamespace(reader.getAttributeValue(null, "ns")))) {
+                titles.add(reader.getAttributeValue(null, "title"));
+              }
+            }
+          }
+        },
+        ApiRequest.MAX_ATTEMPTS);
+  }
+
+  /**
+   * @param namespace Name space.
+   * @return Name space as an integer.
+   */
+  private static Integer getNamespace(String namespace) {
+    if (namespace == null) {
+      return null;
+    }
+    try {
+      return Integer.valueOf(namespace);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
 }
@@ -52,7 +52,7 @@ public class ApiXmlParseResult extends ApiXmlResult implements ApiParseResult {
       Map<String, String> properties)
           throws APIException {
     try {
-      XPath xpaContents = XPath.newInstance("/api/parse/text/.");
+      XPath xpaContents = XPathCache.get("/api/parse/text/.");
       Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
       return xpaContents.valueOf(root);
     } catch (JDOMException e) {
@@ -85,7 +85,7 @@ public class ApiXmlParseResult extends ApiXmlResult implements ApiParseResult {
       }
 
       // Retrieve sections
-      XPath xpaSections = XPath.newInstance("/api/parse/sections/s");
+      XPath xpaSections = XPathCache.get("/api/parse/sections/s");
       List listSections = xpaSections.selectNodes(root);
       List<Section> result = new ArrayList<Section>(listSections.size());
       Iterator itSection = listSections.iterator();
@@ -105,7 +105,7 @@ public class ApiXmlParseResult extends ApiXmlResult implements ApiParseResult {
       }
 
       // Retrieve revision id
-      XPath xpaPage = XPath.newInstance("/api/parse");
+      XPath xpaPage = XPathCache.get("/api/parse");
       Element parseNode = (Element) xpaPage.selectSingleNode(root);
       if ((parseNode != null) && (parseNode.getAttributeValue("revid") != null)) {
         page.setRevisionId(parseNode.getAttributeValue("revid"));
@@ -70,10 +70,10 @@ public class ApiXmlPropertiesResult extends ApiXmlResult implements ApiPropertie
     }
 
     // Retrieve protection information
-    XPath xpaProtection = XPath.newInstance("protection/pr[@type=\"edit\"]");
+    XPath xpaProtection = XPathCache.get("protection/pr[@type=\"edit\"]");
     Element protectionNode = (Element) xpaProtection.selectSingleNode(node);
     if (protectionNode != null) {
-      XPath xpaLevel = XPath.newInstance("./@level");
+      XPath xpaLevel = XPathCache.get("./@level");
       page.setEditProtectionLevel(xpaLevel.valueOf(protectionNode));
     }
   }
@@ -113,14 +113,14 @@ public class ApiXmlPropertiesResult extends ApiXmlResult implements ApiPropertie
     if (normalization == null) {
       return;
     }
-    XPath xpaNormalized = XPath.newInstance("/api/query/normalized/n");
+    XPath xpaNormalized = XPathCache.get("/api/query/normalized/n");
     List listNormalized = xpaNormalized.selectNodes(root);
     if ((listNormalized == null) || (listNormalized.isEmpty())) {
       return;
     }
     Iterator itNormalized = listNormalized.iterator();
-    XPath xpaFrom = XPath.newInstance("./@from");
-    XPath xpaTo = XPath.newInstance("./@to");
+    XPath xpaFrom = XPathCache.get("./@from");
+    XPath xpaTo = XPathCache.get("./@to");
     while (itNormalized.hasNext()) {
       Element normalized = (Element) itNormalized.next();
       String from = xpaFrom.valueOf(normalized);
@@ -159,17 +159,17 @@ public class ApiXmlPropertiesResult extends ApiXmlResult implements ApiPropertie
   public void updateRedirect(Element root, Collection<Page> pages) throws JDOMException {
 
     // Retrieving redirects
-    XPath xpaRedirects = XPath.newInstance("/api/query/redirects/r");
+    XPath xpaRedirects = XPathCache.get("/api/query/redirects/r");
     List listRedirects = xpaRedirects.selectNodes(root);
-    XPath xpaFrom = XPath.newInstance("./@from");
-    XPath xpaTo = XPath.newInstance("./@to");
+    XPath xpaFrom = XPathCache.get("./@from");
+    XPath xpaTo = XPathCache.get("./@to");
 
     // Retrieving pages
-    XPath xpaPages = XPath.newInstance("/api/query/pages");
+    XPath xpaPages = XPathCache.get("/api/query/pages");
     Element listPages = (Element) xpaPages.selectSingleNode(root);
-    XPath xpaPageId = XPath.newInstance("./@pageid");
-    XPath xpaNamespace = XPath.newInstance("./@ns");
-    XPath xpaTitle = XPath.newInstance("./@title");
+    XPath xpaPageId = XPathCache.get("./@pageid");
+    XPath xpaNamespace = XPathCache.get("./@ns");
+    XPath xpaTitle = XPathCache.get("./@title");
 
     // Retrieving normalization information
     Map<String, String> normalization = new HashMap<String, String>();
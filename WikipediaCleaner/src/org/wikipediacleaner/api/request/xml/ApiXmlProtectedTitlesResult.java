@@ -54,7 +54,7 @@ public class ApiXmlProtectedTitlesResult extends ApiXmlResult implements ApiProt
       Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
 
       // Retrieve embedding pages
-      XPath xpa = XPath.newInstance("/api/query/protectedtitles/pt");
+      XPath xpa = XPathCache.get("/api/query/protectedtitles/pt");
       List results = xpa.selectNodes(root);
       Iterator iter = results.iterator();
       while (iter.hasNext()) {
@@ -54,7 +54,7 @@ public class ApiXmlQueryPageResult extends ApiXmlResult implements ApiQueryPageR
       Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
 
       // Retrieve query pages
-      XPath xpa = XPath.newInstance("/api/query/querypage/results/page");
+      XPath xpa = XPathCache.get("/api/query/querypage/results/page");
       List results = xpa.selectNodes(root);
       Iterator iter = results.iterator();
       while (iter.hasNext()) {
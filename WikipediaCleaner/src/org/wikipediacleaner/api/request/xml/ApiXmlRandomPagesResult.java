@@ -54,12 +54,12 @@ public class ApiXmlRandomPagesResult extends ApiXmlResult implements ApiRandomPa
       Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
 
       // Get random list
-      XPath xpa = XPath.newInstance("/api/query/random/page");
+      XPath xpa = XPathCache.get("/api/query/random/page");
       List results = xpa.selectNodes(root);
       Iterator iter = results.iterator();
-      XPath xpaPageId = XPath.newInstance("./@id");
-      XPath xpaNs = XPath.newInstance("./@ns");
-      XPath xpaTitle = XPath.newInstance("./@title");
+      XPath xpaPageId = XPathCache.get("./@id");
+      XPath xpaNs = XPathCache.get("./@ns");
+      XPath xpaTitle = XPathCache.get("./@title");
       while (iter.hasNext()) {
         Element currentNode = (Element) iter.next();
         Page page = DataManager.getPage(
@@ -55,10 +55,10 @@ public class ApiXmlRawWatchlistResult extends ApiXmlResult implements ApiRawWatc
       Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
 
       // Retrieve watch list
-      XPath xpa = XPath.newInstance("/api/watchlistraw/wr");
+      XPath xpa = XPathCache.get("/api/watchlistraw/wr");
       List results = xpa.selectNodes(root);
       Iterator iter = results.iterator();
-      XPath xpaTitle = XPath.newInstance("./@title");
+      XPath xpaTitle = XPathCache.get("./@title");
       while (iter.hasNext()) {
         Element currentNode = (Element) iter.next();
         Page page = DataManager.getPage(
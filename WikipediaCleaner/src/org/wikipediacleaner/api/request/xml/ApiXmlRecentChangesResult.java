@@ -54,7 +54,7 @@ public class ApiXmlRecentChangesResult extends ApiXmlResult implements ApiRecent
       Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
 
       // Get recent changes list
-      XPath xpa = XPath.newInstance("/api/query/recentchanges/rc");
+      XPath xpa = XPathCache.get("/api/query/recentchanges/rc");
       List results = xpa.selectNodes(root);
       Iterator iter = results.iterator();
       while (iter.hasNext()) {
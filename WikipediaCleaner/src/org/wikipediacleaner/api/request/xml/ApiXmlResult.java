@@ -8,13 +8,22 @@
 package org.wikipediacleaner.api.request.xml;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.zip.GZIPInputStream;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.apache.commons.httpclient.Header;
 import org.apache.commons.httpclient.HttpClient;
 import org.apache.commons.httpclient.HttpMethod;
@@ -201,6 +210,252 @@ public abstract class ApiXmlResult extends BasicApiResult {
     }
   }
 
+  /**
+   * Path to the error node.
+   */
+  private final static String PATH_ERROR = "/api/error";
+
+  /**
+   * Path to the warnings node.
+   */
+  private final static String PATH_WARNINGS = "/api/warnings";
+
+  /**
+   * Path to the continue node.
+   */
+  private final static String PATH_CONTINUE = "/api/continue";
+
+  /**
+   * Factory for streaming XML readers.
+   */
+  private static final XMLInputFactory xmlInputFactory = createXMLInputFactory();
+
+  /**
+   * @return Factory for streaming XML readers.
+   */
+  private static XMLInputFactory createXMLInputFactory() {
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+    return factory;
+  }
+
+  /**
+   * Send a request to MediaWiki API and analyze the answer as a stream.
+   * 
+   * Errors and warnings are detected while reading the answer,
+   * and continuation information is stored in the properties.
+   * 
+   * @param properties Properties defining the request.
+   * @param queryContinue Path to the query-continue node.
+   * @param handler Handler for the elements of the answer.
+   * @param maxTry Maximum number of tries.
+   * @return True if request should be continued.
+   * @throws APIException
+   */
+  protected boolean getStream(
+      Map<String, String> properties,
+      String queryContinue,
+      ApiXmlStreamHandler handler,
+      int maxTry) throws APIException {
+    int attempt = 0;
+    for (;;) {
+      HttpMethod method = null;
+      InputStream stream = null;
+      try {
+        // Executing HTTP method
+        attempt++;
+        method = createHttpMethod(properties);
+        int statusCode = getHttpClient().executeMethod(method);
+
+        // Accessing response
+        stream = method.getResponseBodyAsStream();
+        stream = new BufferedInputStream(stream);
+        Header contentEncoding = method.getResponseHeader("Content-Encoding");
+        if (contentEncoding != null) {
+          if (contentEncoding.getValue().equals("gzip")) {
+            stream = new GZIPInputStream(stream);
+          }
+        }
+
+        // Read the response
+        if (statusCode == HttpStatus.SC_OK) {
+          Map<String, String> continueProperties = new HashMap<String, String>();
+          if (parseStream(stream, queryContinue, handler, continueProperties)) {
+            properties.putAll(continueProperties);
+            return true;
+          }
+          return false;
+        }
+        try {
+          while (stream.read() >= 0) {
+            //
+          }
+        } catch (IOException e) {
+          //
+        }
+
+        // Act depending on the status
+        String message = "URL access returned " + HttpStatus.getStatusText(statusCode);
+        log.error(message);
+        if (attempt > maxTry) {
+          log.warn("Error. Maximum attempts count reached.");
+          throw new APIException(message);
+        }
+        try {
+          Thread.sleep(30000);
+        } catch (InterruptedException e) {
+          // Nothing
+        }
+      } catch (XMLStreamException e) {
+        String message = "XMLStreamException: " + e.getMessage();
+        log.error(message);
+        if (attempt > maxTry) {
+          log.warn("Error. Maximum attempts count reached.");
+          throw new APIException("Error parsing XML result", e);
+        }
+        try {
+          Thread.sleep(30000);
+        } catch (InterruptedException e2) {
+          // Nothing
+        }
+      } catch (IOException e) {
+        String message = "IOException: " + e.getMessage();
+        log.error(message);
+        if (attempt > maxTry) {
+          log.warn("Error. Maximum attempts count reached.");
+          throw new APIException("Error accessing MediaWiki", e);
+        }
+        try {
+          Thread.sleep(30000);
+        } catch (InterruptedException e2) {
+          // Nothing
+        }
+      } catch (APIException e) {
+        if (!e.shouldRetry() || (attempt > e.getMaxRetry())) {
+          throw e;
+        }
+        e.waitForRetry();
+      } finally {
+        if (stream != null) {
+          try {
+            stream.close();
+          } catch (IOException e) {
+            log.warn("Error closing stream");
+          }
+        }
+        if (method != null) {
+          method.releaseConnection();
+        }
+      }
+      log.warn("Error. Trying again");
+    }
+  }
+
+  /**
+   * Analyze an answer of MediaWiki API as a stream.
+   * 
+   * @param stream Answer of MediaWiki API.
+   * @param queryContinue Path to the query-continue node.
+   * @param handler Handler for the elements of the answer.
+   * @param continueProperties Map to be filled with continuation information.
+   * @return True if request should be continued.
+   * @throws XMLStreamException
+   * @throws IOException
+   * @throws APIException
+   */
+  protected boolean parseStream(
+      InputStream stream, String queryContinue,
+      ApiXmlStreamHandler handler,
+      Map<String, String> continueProperties)
+      throws XMLStreamException, IOException, APIException {
+    XMLStreamReader reader = null;
+    if (DEBUG_XML) {
+      ByteArrayOutputStream document = new ByteArrayOutputStream();
+      byte[] buffer = new byte[8192];
+      int count = 0;
+      while ((count = stream.read(buffer)) >= 0) {
+        document.write(buffer, 0, count);
+      }
+      System.out.println("********** START OF DOCUMENT **********");
+      System.out.println(document.toString("UTF-8"));
+      System.out.println("**********  END OF DOCUMENT  **********");
+      reader = xmlInputFactory.createXMLStreamReader(
+          new ByteArrayInputStream(document.toByteArray()), "UTF-8");
+    } else {
+      reader = xmlInputFactory.createXMLStreamReader(stream, "UTF-8");
+    }
+    try {
+      if (handler != null) {
+        handler.startDocument();
+      }
+      List<String> paths = new ArrayList<String>();
+      boolean queryContinueFound = false;
+      Map<String, String> otherContinue = new HashMap<String, String>();
+      while (reader.hasNext()) {
+        int event = reader.next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+          String parent = paths.isEmpty() ? "" : paths.get(paths.size() - 1);
+          String path = parent + "/" + reader.getLocalName();
+          paths.add(path);
+          if (PATH_ERROR.equals(path)) {
+            String code = reader.getAttributeValue(null, "code");
+            String info = reader.getAttributeValue(null, "info");
+            String text = "Error reported: " + code + " - " + info;
+            log.warn(text);
+            throw new APIException(text, code);
+          } else if (PATH_WARNINGS.equals(parent)) {
+            String name = reader.getLocalName();
+            log.warn("Warning reported: " + name + " - " + ApiXmlStreamHandler.readText(reader));
+          } else if ((queryContinue != null) && queryContinue.equals(path)) {
+            queryContinueFound = true;
+            addAttributes(reader, continueProperties);
+          } else if (PATH_CONTINUE.equals(path)) {
+            addAttributes(reader, otherContinue);
+          } else if (handler != null) {
+            handler.startElement(path, reader);
+          }
+          if (reader.getEventType() == XMLStreamConstants.END_ELEMENT) {
+            if (handler != null) {
+              handler.endElement(path);
+            }
+            paths.remove(paths.size() - 1);
+          }
+        } else if (event == XMLStreamConstants.END_ELEMENT) {
+          if (handler != null) {
+            handler.endElement(paths.get(paths.size() - 1));
+          }
+          paths.remove(paths.size() - 1);
+        }
+      }
+      if (handler != null) {
+        handler.endDocument();
+      }
+      if (queryContinue == null) {
+        return false;
+      }
+      if (!queryContinueFound) {
+        continueProperties.putAll(otherContinue);
+      }
+      return !continueProperties.isEmpty();
+    } finally {
+      reader.close();
+    }
+  }
+
+  /**
+   * Add all attributes of the current element to a map.
+   * 
+   * @param reader Reader positioned on the start of an element.
+   * @param values Map to be filled with the attributes.
+   */
+  private static void addAttributes(
+      XMLStreamReader reader, Map<String, String> values) {
+    for (int i = 0; i < reader.getAttributeCount(); i++) {
+      values.put(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+    }
+  }
+
   /**
    * Check for errors reported by the API.
    * 
@@ -214,12 +469,12 @@ public abstract class ApiXmlResult extends BasicApiResult {
     
     // Check for errors
     try {
-      XPath xpa = XPath.newInstance("/api/error");
+      XPath xpa = XPathCache.get("/api/error");
       List listErrors = xpa.selectNodes(root);
       if (listErrors != null) {
         Iterator iterErrors = listErrors.iterator();
-        XPath xpaCode = XPath.newInstance("./@code");
-        XPath xpaInfo = XPath.newInstance("./@info");
+        XPath xpaCode = XPathCache.get("./@code");
+        XPath xpaInfo = XPathCache.get("./@info");
         while (iterErrors.hasNext()) {
           Element currentNode = (Element) iterErrors.next();
           String text = "Error reported: " + xpaCode.valueOf(currentNode) + " - " + xpaInfo.valueOf(currentNode);
@@ -233,7 +488,7 @@ public abstract class ApiXmlResult extends BasicApiResult {
     
     // Check for warnings
     try {
-      XPath xpa = XPath.newInstance("/api/warnings/*");
+      XPath xpa = XPathCache.get("/api/warnings/*");
       List listWarnings = xpa.selectNodes(root);
       if (listWarnings != null) {
         Iterator iterWarnings = listWarnings.iterator();
@@ -263,10 +518,10 @@ public abstract class ApiXmlResult extends BasicApiResult {
     }
     boolean result = false;
     try {
-      XPath xpa = XPath.newInstance(queryContinue);
+      XPath xpa = XPathCache.get(queryContinue);
       List results = xpa.selectNodes(root);
       if ((results == null) || (results.isEmpty())) {
-        xpa = XPath.newInstance("/api/continue");
+        xpa = XPathCache.get("/api/continue");
         results = xpa.selectNodes(root);
       }
       if (results != null) {
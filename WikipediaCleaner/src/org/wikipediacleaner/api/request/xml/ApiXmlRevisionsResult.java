@@ -8,17 +8,16 @@
 package org.wikipediacleaner.api.request.xml;
 
 import java.util.Collection;
-import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.apache.commons.httpclient.HttpClient;
-import org.jdom.Element;
-import org.jdom.JDOMException;
-import org.jdom.xpath.XPath;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.request.ApiPagesInformation;
 import org.wikipediacleaner.api.request.ApiRequest;
 import org.wikipediacleaner.api.request.ApiRevisionsResult;
 
@@ -50,66 +49,94 @@ public class ApiXmlRevisionsResult extends ApiXmlPropertiesResult implements Api
   public boolean executeLastRevision(
       Map<String, String> properties,
       Collection<Page> pages) throws APIException {
-    try {
-      Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
-
-      // Manage redirects and missing pages
-      updateRedirect(root, pages);
-
-      // Retrieve pages
-      XPath xpa = XPath.newInstance("/api/query/pages/page");
-      List results = xpa.selectNodes(root);
-      Iterator iter = results.iterator();
-      while (iter.hasNext()) {
-        Element pageNode = (Element) iter.next();
-        String title = pageNode.getAttributeValue("title");
-        Integer pageId = null;
-        try {
-          String pageIdValue = pageNode.getAttributeValue("pageid");
-          if (pageIdValue != null) {
-            pageId = Integer.valueOf(pageIdValue);
-          }
-        } catch (NumberFormatException e) {
-          System.err.println("Incorrect page id");
+    return getStream(
+        properties, "/api/query-continue/revisions",
+        new LastRevisionHandler(pages),
+        ApiRequest.MAX_ATTEMPTS);
+  }
+
+  /**
+   * Handler for filling pages with their last revision while the answer is read.
+   * 
+   * Information is collected while the answer is read,
+   * and pages are updated once the whole answer has been read.
+   */
+  private static class LastRevisionHandler extends ApiXmlStreamHandler {
+
+    /** Pages to be filled with last revision content */
+    private final Collection<Page> pages;
+
+    /** Information about the pages in the answer */
+    private final ApiPagesInformation information;
+
+    /** Current page node */
+    private ApiPagesInformation.PageNode pageNode;
+
+    /**
+     * @param pages Pages to be filled with last revision content.
+     */
+    public LastRevisionHandler(Collection<Page> pages) {
+      this.pages = pages;
+      this.information = new ApiPagesInformation();
+    }
+
+    /**
+     * @see org.wikipediacleaner.api.request.xml.ApiXmlStreamHandler#startDocument()
+     */
+    @Override
+    public void startDocument() {
+      information.clear();
+      pageNode = null;
+    }
+
+    /**
+     * @see org.wikipediacleaner.api.request.xml.ApiXmlStreamHandler#endDocument()
+     */
+    @Override
+    public void endDocument() {
+      information.updatePages(pages, true);
+    }
+
+    /**
+     * @param path Absolute path of the element.
+     * @param reader Reader positioned on the start of the element.
+     * @throws XMLStreamException
+     * @see org.wikipediacleaner.api.request.xml.ApiXmlStreamHandler#startElement(java.lang.String, javax.xml.stream.XMLStreamReader)
+     */
+    @Override
+    public void startElement(String path, XMLStreamReader reader)
+        throws XMLStreamException {
+      if ("/api/query/pages/page/revisions/rev".equals(path)) {
+        if (pageNode != null) {
+          pageNode.setRevision(
+              reader.getAttributeValue(null, "revid"),
+              reader.getAttributeValue(null, "timestamp"),
+              readText(reader));
         }
-        String namespace = pageNode.getAttributeValue("ns");
-        for (Page tmpPage : pages) {
-          Iterator<Page> itPage = tmpPage.getRedirectIteratorWithPage();
-          while (itPage.hasNext()) {
-            Page page = itPage.next();
-            boolean samePage = false;
-            if ((pageId != null) && (page.getPageId() != null)) {
-              samePage = pageId.equals(page.getPageId());
-            } else {
-              samePage = Page.areSameTitle(page.getTitle(), title);
-            }
-            if (samePage) {
-              page.setNamespace(namespace);
-              updatePageInformation(pageNode, page);
-  
-              // Retrieve revisions
-              if (!Boolean.FALSE.equals(page.isExisting())) {
-                XPath xpaRevisions = XPath.newInstance("revisions/rev");
-                Element revNode = (Element) xpaRevisions.selectSingleNode(pageNode);
-                if (revNode != null) {
-                  page.setContents(revNode.getText());
-                  page.setExisting(Boolean.TRUE);
-                  page.setRevisionId(revNode.getAttributeValue("revid"));
-                  page.setContentsTimestamp(revNode.getAttributeValue("timestamp"));
-                }
-              }
-            }
-          }
+      } else if ("/api/query/pages/page".equals(path)) {
+        pageNode = information.addPage(
+            reader.getAttributeValue(null, "title"),
+            reader.getAttributeValue(null, "pageid"),
+            reader.getAttributeValue(null, "ns"),
+            reader.getAttributeValue(null, "missing") != null);
+        pageNode.setStartTimestamp(reader.getAttributeValue(null, "starttimestamp"));
+        if (reader.getAttributeValue(null, "redirect") != null) {
+          pageNode.setRedirect();
         }
+      } else if ("/api/query/pages/page/protection/pr".equals(path)) {
+        if ((pageNode != null) &&
+            "edit".equals(reader.getAttributeValue(null, "type"))) {
+          pageNode.setEditProtectionLevel(reader.getAttributeValue(null, "level"));
+        }
+      } else if ("/api/query/normalized/n".equals(path)) {
+        information.addNormalization(
+            reader.getAttributeValue(null, "from"),
+            reader.getAttributeValue(null, "to"));
+      } else if ("/api/query/redirects/r".equals(path)) {
+        information.addRedirect(
+            reader.getAttributeValue(null, "from"),
+            reader.getAttributeValue(null, "to"));
       }
-
-      // Retrieve continue
-      return shouldContinue(
-          root, "/api/query-continue/revisions",
-          properties);
-    } catch (JDOMException e) {
-      log.error("Error loading revisions", e);
-      throw new APIException("Error parsing XML", e);
     }
   }
 }
@@ -55,11 +55,11 @@ public class ApiXmlSearchResult extends ApiXmlResult implements ApiSearchResult
       Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
 
       // Retrieve search results
-      XPath xpa = XPath.newInstance("/api/query/search/p");
+      XPath xpa = XPathCache.get("/api/query/search/p");
       List results = xpa.selectNodes(root);
       Iterator iter = results.iterator();
-      XPath xpaNs = XPath.newInstance("./@ns");
-      XPath xpaTitle = XPath.newInstance("./@title");
+      XPath xpaNs = XPathCache.get("./@ns");
+      XPath xpaTitle = XPathCache.get("./@title");
       while (iter.hasNext()) {
         Element currentNode = (Element) iter.next();
         Page similarPage = DataManager.getPage(
@@ -7,16 +7,23 @@
 
 package org.wikipediacleaner.api.request.xml;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import org.apache.commons.httpclient.HttpClient;
 import org.jdom.Element;
 import org.jdom.JDOMException;
+import org.jdom.input.SAXBuilder;
+import org.jdom.output.XMLOutputter;
 import org.jdom.xpath.XPath;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.constants.EnumCaseSensitiveness;
@@ -28,6 +35,7 @@ import org.wikipediacleaner.api.data.MagicWord;
 import org.wikipediacleaner.api.data.Namespace;
 import org.wikipediacleaner.api.request.ApiSiteInfoResult;
 import org.wikipediacleaner.api.request.ApiRequest;
+import org.wikipediacleaner.utils.FileCache;
 
 
 /**
@@ -56,11 +64,11 @@ public class ApiXmlSiteInfoResult extends ApiXmlResult implements ApiSiteInfoRes
       Map<String, String> properties)
           throws APIException {
     try {
-      Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
+      Element root = getSiteInfoRoot(properties);
       WikiConfiguration wikiConfiguration = getWiki().getWikiConfiguration();
 
       // Retrieve general information
-      XPath xpa = XPath.newInstance("/api/query/general");
+      XPath xpa = XPathCache.get("/api/query/general");
       Element generalNode = (Element) xpa.selectSingleNode(root);
       if (generalNode != null) {
         wikiConfiguration.setArticlePath(generalNode.getAttributeValue("articlepath"));
@@ -70,7 +78,7 @@ public class ApiXmlSiteInfoResult extends ApiXmlResult implements ApiSiteInfoRes
 
       // Retrieve name spaces
       HashMap<Integer, Namespace> namespaces = null;
-      xpa = XPath.newInstance("/api/query/namespaces/ns");
+      xpa = XPathCache.get("/api/query/namespaces/ns");
       List results = xpa.selectNodes(root);
       Iterator iter = results.iterator();
       namespaces = new HashMap<Integer, Namespace>();
@@ -86,7 +94,7 @@ public class ApiXmlSiteInfoResult extends ApiXmlResult implements ApiSiteInfoRes
       }
 
       // Retrieve name space aliases
-      xpa = XPath.newInstance("/api/query/namespacealiases/ns");
+      xpa = XPathCache.get("/api/query/namespacealiases/ns");
       results = xpa.selectNodes(root);
       iter = results.iterator();
       while (iter.hasNext()) {
@@ -109,7 +117,7 @@ public class ApiXmlSiteInfoResult extends ApiXmlResult implements ApiSiteInfoRes
 
       // Retrieve languages
       List<Language> languages = new ArrayList<Language>();
-      xpa = XPath.newInstance("/api/query/languages/lang");
+      xpa = XPathCache.get("/api/query/languages/lang");
       results = xpa.selectNodes(root);
       iter = results.iterator();
       while (iter.hasNext()) {
@@ -122,7 +130,7 @@ public class ApiXmlSiteInfoResult extends ApiXmlResult implements ApiSiteInfoRes
 
       // Retrieve interwikis
       List<Interwiki> interwikis = new ArrayList<Interwiki>();
-      xpa = XPath.newInstance("/api/query/interwikimap/iw");
+      xpa = XPathCache.get("/api/query/interwikimap/iw");
       results = xpa.selectNodes(root);
       iter = results.iterator();
       while (iter.hasNext()) {
@@ -137,11 +145,11 @@ public class ApiXmlSiteInfoResult extends ApiXmlResult implements ApiSiteInfoRes
 
       // Retrieve magic words
       Map<String, MagicWord> magicWords = new HashMap<String, MagicWord>();
-      xpa = XPath.newInstance("/api/query/magicwords/magicword");
+      xpa = XPathCache.get("/api/query/magicwords/magicword");
       results = xpa.selectNodes(root);
       iter = results.iterator();
-      XPath xpaAlias = XPath.newInstance("./aliases/alias");
-      XPath xpaAliasValue = XPath.newInstance(".");
+      XPath xpaAlias = XPathCache.get("./aliases/alias");
+      XPath xpaAliasValue = XPathCache.get(".");
       while (iter.hasNext()) {
         Element currentNode = (Element) iter.next();
         String magicWord = currentNode.getAttributeValue("name");
@@ -164,4 +172,36 @@ public class ApiXmlSiteInfoResult extends ApiXmlResult implements ApiSiteInfoRes
       throw new APIException("Error parsing XML", e);
     }
   }
+
+  /**
+   * Retrieve site information, using the answer kept on disk for the current day.
+   * 
+   * Site information has no revision identifier, so the answer is retrieved again each day.
+   * 
+   * @param properties Properties defining request.
+   * @return Root of the answer.
+   * @throws JDOMException
+   * @throws APIException
+   */
+  private Element getSiteInfoRoot(
+      Map<String, String> properties)
+          throws JDOMException, APIException {
+    FileCache cache = new FileCache(getWiki(), "siteinfo");
+    String key = new TreeMap<String, String>(properties).toString();
+    String version = new SimpleDateFormat("yyyy-MM-dd").format(new Date());
+    String xml = cache.get(key, version);
+    if (xml != null) {
+      try {
+        SAXBuilder sxb = new SAXBuilder();
+        return sxb.build(new StringReader(xml)).getRootElement();
+      } catch (JDOMException e) {
+        log.warn("Unable to use site information kept on disk: " + e.getMessage());
+      } catch (IOException e) {
+        log.warn("Unable to use site information kept on disk: " + e.getMessage());
+      }
+    }
+    Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
+    cache.put(key, version, new XMLOutputter().outputString(root));
+    return root;
+  }
 }
@@ -0,0 +1,120 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.request.xml;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.wikipediacleaner.api.APIException;
+
+
+/**
+ * Handler for MediaWiki API XML results analyzed as a stream.
+ *
+ * Elements are reported with their absolute path (for example
+ * <code>/api/query/pages/page</code>) while the response is being read,
+ * so results can be used without building a tree for the whole document.
+ * Errors, warnings and continuation elements are managed by ApiXmlResult
+ * and are not reported to the handler.
+ *
+ * An answer may be read several times when an error occurs while reading it:
+ * handlers should only keep results in their own state,
+ * reset it in {@link #startDocument()} and publish it in {@link #endDocument()}.
+ */
+public abstract class ApiXmlStreamHandler {
+
+  /**
+   * Called before an answer is read.
+   *
+   * @throws APIException
+   */
+  public void startDocument() throws APIException {
+    // Nothing to do by default
+  }
+
+  /**
+   * Called after an answer has been completely read.
+   *
+   * @throws APIException
+   */
+  public void endDocument() throws APIException {
+    // Nothing to do by default
+  }
+
+  /**
+   * Called when an element starts.
+   *
+   * The reader is positioned on the start of the element:
+   * attributes can be read directly, and the text of the element can be
+   * consumed with {@link #readText(XMLStreamReader)}.
+   *
+   * @param path Absolute path of the element.
+   * @param reader Reader positioned on the start of the element.
+   * @throws XMLStreamException
+   * @throws APIException
+   */
+  public abstract void startElement(
+      String path, XMLStreamReader reader)
+      throws XMLStreamException, APIException;
+
+  /**
+   * Called when an element ends.
+   *
+   * @param path Absolute path of the element.
+   * @throws APIException
+   */
+  public void endElement(String path) throws APIException {
+    // Nothing to do by default
+  }
+
+  /**
+   * Read the full text of the current element, including the text of its children.
+   *
+   * At the end, the reader is positioned on the end of the element.
+   *
+   * @param reader Reader positioned on the start of an element.
+   * @return Text of the element.
+   * @throws XMLStreamException
+   */
+  public static String readText(XMLStreamReader reader) throws XMLStreamException {
+    String text = null;
+    StringBuilder buffer = null;
+    int depth = 1;
+    while (depth > 0) {
+      int event = reader.next();
+      switch (event) {
+      case XMLStreamConstants.START_ELEMENT:
+        depth++;
+        break;
+      case XMLStreamConstants.END_ELEMENT:
+        depth--;
+        break;
+      case XMLStreamConstants.CHARACTERS:
+      case XMLStreamConstants.CDATA:
+      case XMLStreamConstants.SPACE:
+      case XMLStreamConstants.ENTITY_REFERENCE:
+        if (text == null) {
+          text = reader.getText();
+        } else {
+          if (buffer == null) {
+            buffer = new StringBuilder(text);
+          }
+          buffer.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+        }
+        break;
+      case XMLStreamConstants.END_DOCUMENT:
+        throw new XMLStreamException("Unexpected end of document");
+      }
+    }
+    if (buffer != null) {
+      return buffer.toString();
+    }
+    return (text != null) ? text : "";
+  }
+}
@@ -60,7 +60,7 @@ public class ApiXmlTemplatesResult extends ApiXmlPropertiesResult implements Api
       Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
 
       // Retrieve back links
-      XPath xpa = XPath.newInstance("/api/query/pages/page");
+      XPath xpa = XPathCache.get("/api/query/pages/page");
       List listTemplates = xpa.selectNodes(root);
       Iterator itTemplate = listTemplates.iterator();
       while (itTemplate.hasNext()) {
@@ -109,10 +109,10 @@ public class ApiXmlTemplatesResult extends ApiXmlPropertiesResult implements Api
       updateRedirect(root, pages);
 
       // Set disambiguation status
-      XPath xpa = XPath.newInstance("/api/query/pages/page");
+      XPath xpa = XPathCache.get("/api/query/pages/page");
       List results = xpa.selectNodes(root);
       Iterator iter = results.iterator();
-      XPath xpaTitle = XPath.newInstance("./@title");
+      XPath xpaTitle = XPathCache.get("./@title");
       XPath xpaTemplate = createXPath("templates/tl", "ns", "" + Namespace.TEMPLATE);
       List<Page> tmpPages = new ArrayList<Page>();
       while (iter.hasNext()) {
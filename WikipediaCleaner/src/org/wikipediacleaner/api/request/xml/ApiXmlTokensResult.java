@@ -50,7 +50,7 @@ public class ApiXmlTokensResult extends ApiXmlResult implements ApiTokensResult
       Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
 
       // Get recent changes list
-      XPath xpa = XPath.newInstance("/api/tokens");
+      XPath xpa = XPathCache.get("/api/tokens");
       List results = xpa.selectNodes(root);
       Iterator iter = results.iterator();
       while (iter.hasNext()) {
@@ -52,14 +52,14 @@ public class ApiXmlUsersResult extends ApiXmlResult implements ApiUsersResult {
       Element root = getRoot(properties, ApiRequest.MAX_ATTEMPTS);
 
       // Get recent changes list
-      XPath xpa = XPath.newInstance("/api/query/users/user");
+      XPath xpa = XPathCache.get("/api/query/users/user");
       List results = xpa.selectNodes(root);
       Iterator iter = results.iterator();
       while (iter.hasNext()) {
         Element currentNode = (Element) iter.next();
         User user = new User(currentNode.getAttributeValue("name"));
         List<String> groups = new ArrayList<String>();
-        XPath xpaGroups = XPath.newInstance("./groups/g");
+        XPath xpaGroups = XPathCache.get("./groups/g");
         List resultGroups = xpaGroups.selectNodes(currentNode);
         Iterator itGroups = resultGroups.iterator();
         while (itGroups.hasNext()) {
@@ -67,7 +67,7 @@ public class ApiXmlUsersResult extends ApiXmlResult implements ApiUsersResult {
         }
         user.setGroups(groups);
         List<String> rights = new ArrayList<String>();
-        XPath xpaRights = XPath.newInstance("./rights/r");
+        XPath xpaRights = XPathCache.get("./rights/r");
         List resultRights = xpaRights.selectNodes(currentNode);
         Iterator itRights = resultRights.iterator();
         while (itRights.hasNext()) {
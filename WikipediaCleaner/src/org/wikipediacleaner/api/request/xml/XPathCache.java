@@ -0,0 +1,65 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.request.xml;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jdom.JDOMException;
+import org.jdom.xpath.XPath;
+
+
+/**
+ * Registry of compiled XPath expressions for analyzing MediaWiki API results.
+ *
+ * JDOM XPath objects keep the current context while they are evaluated,
+ * so they can't be shared between threads: each thread has its own set
+ * of compiled expressions, created the first time they are used.
+ * Only constant expressions should be requested here,
+ * expressions built from values should be compiled with XPath.newInstance().
+ */
+public class XPathCache {
+
+  /**
+   * Compiled expressions for each thread.
+   */
+  private final static ThreadLocal<Map<String, XPath>> cache =
+      new ThreadLocal<Map<String, XPath>>() {
+
+        /**
+         * @return Empty set of compiled expressions.
+         * @see java.lang.ThreadLocal#initialValue()
+         */
+        @Override
+        protected Map<String, XPath> initialValue() {
+          return new HashMap<String, XPath>();
+        }
+      };
+
+  /**
+   * @param expression XPath expression.
+   * @return Compiled XPath expression.
+   * @throws JDOMException
+   */
+  public static XPath get(String expression) throws JDOMException {
+    Map<String, XPath> xpaths = cache.get();
+    XPath xpath = xpaths.get(expression);
+    if (xpath == null) {
+      xpath = XPath.newInstance(expression);
+      xpaths.put(expression, xpath);
+    }
+    return xpath;
+  }
+
+  /**
+   * Utility class.
+   */
+  private XPathCache() {
+    // Nothing to do
+  }
+}
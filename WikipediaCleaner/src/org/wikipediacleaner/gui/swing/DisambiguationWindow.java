@@ -37,6 +37,7 @@ import javax.swing.WindowConstants;
 
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.CompositeComparator;
+import org.wikipediacleaner.api.data.KnownPages;
 import org.wikipediacleaner.api.data.Namespace;
 import org.wikipediacleaner.api.data.Page;
 import org.wikipediacleaner.api.data.PageComparator;
@@ -116,7 +117,7 @@ public class DisambiguationWindow extends OnePageWindow {
               Configuration config = Configuration.getConfiguration();
               List<String> filtered = config.getStringList(wikipedia, Configuration.ARRAY_FILTER_NS);
               disambig.modelLinks.setFilterNamespace(filtered);
-              disambig.knownPages = new ArrayList<Page>();
+              disambig.knownPages = new KnownPages();
             }
           }
           @Override
@@ -507,7 +508,7 @@ public class DisambiguationWindow extends OnePageWindow {
     // Construct list of known pages
     knownPages.clear();
     if (getPage() != null) {
-      knownPages = new ArrayList<Page>(1);
+      knownPages = new KnownPages(1);
       knownPages.add(getPage());
       for (Page backLink : getPage().getBackLinksWithRedirects()) {
         if ((backLink != null) &&
@@ -21,7 +21,6 @@ import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.Callable;
 
 import javax.swing.JButton;
 import javax.swing.JCheckBox;
@@ -37,7 +36,6 @@ import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
 
 import org.wikipediacleaner.api.APIFactory;
-import org.wikipediacleaner.api.MediaWikiController;
 import org.wikipediacleaner.api.check.CheckError;
 import org.wikipediacleaner.api.check.CheckErrorPage;
 import org.wikipediacleaner.api.check.CheckWiki;
@@ -1175,6 +1173,7 @@ public abstract class OnePageWindow
 
   /**
    * Mark a page as fixed for an error.
+   * The notification is sent in the background by Check Wiki.
    * 
    * @param errorNumber Error number.
    * @param pageFixed Page.
@@ -1182,17 +1181,10 @@ public abstract class OnePageWindow
   static public void markPageAsFixed(
       final String errorNumber, final Page pageFixed) {
     if (pageFixed != null) {
-      MediaWikiController.addSimpleTask(new Callable<Page>() {
-  
-        @Override
-        public Page call() throws Exception
-        {
-          CheckWiki checkWiki = APIFactory.getCheckWiki();
-          if (checkWiki != null) {
-            checkWiki.markAsFixed(pageFixed, errorNumber);
-          }
-          return pageFixed;
-        }});
+      CheckWiki checkWiki = APIFactory.getCheckWiki();
+      if (checkWiki != null) {
+        checkWiki.markAsFixed(pageFixed, errorNumber);
+      }
     }
   }
 
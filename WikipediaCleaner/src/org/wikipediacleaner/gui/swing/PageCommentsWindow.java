@@ -28,6 +28,7 @@ import javax.swing.SwingConstants;
 import javax.swing.WindowConstants;
 
 import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.data.DataManager;
 import org.wikipediacleaner.api.data.Page;
 import org.wikipediacleaner.api.data.PageComment;
 import org.wikipediacleaner.gui.swing.action.ActionDispose;
@@ -35,7 +36,6 @@ import org.wikipediacleaner.gui.swing.basic.BasicWindow;
 import org.wikipediacleaner.gui.swing.basic.DefaultBasicWindowListener;
 import org.wikipediacleaner.gui.swing.basic.Utilities;
 import org.wikipediacleaner.i18n.GT;
-import org.wikipediacleaner.utils.Configuration;
 
 
 /**
@@ -347,9 +347,7 @@ public class PageCommentsWindow extends BasicWindow {
       } catch (NumberFormatException e) {
         comment.setMaxOtherArticles(null);
       }
-      page.setComment(comment);
-      Configuration config = Configuration.getConfiguration();
-      config.addPojo(page.getWikipedia(), Configuration.POJO_PAGE_COMMENTS, comment, page.getTitle());
+      DataManager.addPageComment(page, comment);
     }
     dispose();
   }
@@ -359,9 +357,7 @@ public class PageCommentsWindow extends BasicWindow {
    */
   public void actionRemove() {
     if (page != null) {
-      page.setComment(null);
-      Configuration config = Configuration.getConfiguration();
-      config.removePojo(page.getWikipedia(), Configuration.POJO_PAGE_COMMENTS, page.getTitle());
+      DataManager.removePageComment(page);
     }
     dispose();
   }
@@ -7,6 +7,10 @@
 
 package org.wikipediacleaner.gui.swing.basic;
 
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.MediaWikiListener;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 
@@ -150,6 +154,33 @@ public class BasicWorker extends SwingWorker implements MediaWikiListener {
     }
   }
 
+  /**
+   * Wait for a task in the background.
+   * 
+   * @param task Task.
+   * @throws APIException Exception thrown by the task, or if the wait is interrupted.
+   */
+  protected static void waitFor(Future<?> task) throws APIException {
+    try {
+      task.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new APIException("Interrupted", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof APIException) {
+        throw (APIException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new APIException("Error", cause);
+    }
+  }
+
   /**
    * @return Associated window.
    */
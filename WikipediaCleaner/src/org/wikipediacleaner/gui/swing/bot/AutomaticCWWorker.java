@@ -8,8 +8,13 @@
 package org.wikipediacleaner.gui.swing.bot;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.wikipediacleaner.api.API;
 import org.wikipediacleaner.api.APIException;
@@ -61,12 +66,30 @@ public class AutomaticCWWorker extends BasicWorker {
   /** Count of modified pages. */
   private int countModified;
 
-  /** Count of marked pages. */
+  /** Count of marked pages (updated by the thread marking pages as fixed). */
   private int countMarked;
 
-  /** Count of marked pages for other algorithms. */
+  /** Count of marked pages for other algorithms (updated by the thread marking pages as fixed). */
   private int countMarkedOther;
 
+  /** Number of pages for which contents are retrieved at once. */
+  private final static int BATCH_SIZE = 20;
+
+  /** Maximum number of pages retrieved and analyzed in advance. */
+  private final static int MAX_PAGES_AHEAD = 5 * BATCH_SIZE;
+
+  /** Maximum time to wait for pages to be marked as fixed at the end (in seconds). */
+  private final static int FLUSH_TIMEOUT = 60;
+
+  /** Executor for retrieving page contents. */
+  private ExecutorService contentsExecutor;
+
+  /** Executor for analyzing and fixing pages. */
+  private ExecutorService analysisExecutor;
+
+  /** Executor for marking pages as fixed. */
+  private ExecutorService markExecutor;
+
   /**
    * @param wiki Wiki.
    * @param window Window.
@@ -101,146 +124,360 @@ public class AutomaticCWWorker extends BasicWorker {
   /** 
    * Compute the value to be returned by the <code>get</code> method. 
    * 
+   * Lists of pages are retrieved simultaneously for all algorithms,
+   * and processed in the order of the algorithms.
+   * Pages are processed through a pipeline:
+   * contents are retrieved in batches, pages are analyzed and fixed by several threads,
+   * modifications are saved by the worker thread in the order of the pages
+   * (so the edit rate is limited as before),
+   * and pages are marked as fixed in the background.
+   * 
    * @return Object returned by the <code>get</code> method.
    * @see org.wikipediacleaner.gui.swing.basic.BasicWorker#construct()
    */
   @Override
   public Object construct() {
-    List<CheckError> errors = new ArrayList<CheckError>();
+    contentsExecutor = Executors.newSingleThreadExecutor();
+    analysisExecutor = Executors.newFixedThreadPool(
+        Runtime.getRuntime().availableProcessors());
+    markExecutor = Executors.newSingleThreadExecutor();
+    List<List<CheckError>> errorsLists = new ArrayList<List<CheckError>>();
+    List<Future<Void>> results = new ArrayList<Future<Void>>();
     try {
       CheckWiki checkWiki = APIFactory.getCheckWiki();
       for (CheckErrorAlgorithm algorithm : selectedAlgorithms) {
+        int maxSize = max;
+        if (noLimit && algorithm.hasSpecialList()) {
+          maxSize = Integer.MAX_VALUE;
+        }
+        List<CheckError> errors = new ArrayList<CheckError>();
+        errorsLists.add(errors);
+        results.add(checkWiki.retrievePagesInBackground(
+            algorithm, maxSize, getWikipedia(), errors));
+      }
+      for (int numAlgorithm = 0; numAlgorithm < selectedAlgorithms.size(); numAlgorithm++) {
         if (!shouldContinue()) {
           return null;
         }
+        CheckErrorAlgorithm algorithm = selectedAlgorithms.get(numAlgorithm);
         setText(
             GT._("Checking for errors n°{0}", Integer.toString(algorithm.getErrorNumber())) +
             " - " + algorithm.getShortDescriptionReplaced());
-        errors.clear();
-        int maxSize = max;
-        if (noLimit && algorithm.hasSpecialList()) {
-          maxSize = Integer.MAX_VALUE;
-        }
-        checkWiki.retrievePages(algorithm, maxSize, getWikipedia(), errors);
-        while (!errors.isEmpty()) {
+        waitFor(results.get(numAlgorithm));
+        List<CheckError> errors = errorsLists.get(numAlgorithm);
+        while (!errors.isEmpty() && shouldContinue()) {
           CheckError error = errors.remove(0);
-          int maxErrors = error.getPageCount();
-          for (int numPage = 0;
-              (error.getPageCount() > 0) && shouldContinue();
-              numPage++) {
-            try {
-              Page page = error.getPage(0);
-              error.remove(page);
-              analyzePage(
-                  page, algorithm,
-                  algorithm.getErrorNumberString() + " - " + (numPage + 1) + "/" + maxErrors);
-            } catch (APIException e) {
-              //
-            }
+          List<Page> pages = new ArrayList<Page>(error.getPageCount());
+          while (error.getPageCount() > 0) {
+            Page page = error.getPage(0);
+            error.remove(page);
+            pages.add(page);
           }
+          fixPages(pages, algorithm);
         }
       }
     } catch (APIException e) {
       return e;
+    } finally {
+      for (Future<Void> result : results) {
+        result.cancel(true);
+      }
+      contentsExecutor.shutdownNow();
+      analysisExecutor.shutdownNow();
+      markExecutor.shutdown();
+      try {
+        while (!markExecutor.awaitTermination(1, TimeUnit.SECONDS)) {
+          // Waiting for pages to be marked as fixed
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+
+      // Notifications are sent in the background, the bot may exit right after
+      APIFactory.getCheckWiki().flushMarkAsFixed(FLUSH_TIMEOUT);
     }
     return null;
   }
 
   /**
-   * Analyze and fix a page.
+   * Analyze and fix a list of pages.
    * 
-   * @param page Page.
+   * @param pages Pages.
+   * @param algorithm Main algorithm.
+   */
+  private void fixPages(List<Page> pages, CheckErrorAlgorithm algorithm) {
+    List<Future<PageFix>> fixes = new ArrayList<Future<PageFix>>(pages.size());
+    try {
+      for (int numPage = 0;
+          (numPage < pages.size()) && shouldContinue();
+          numPage++) {
+
+        // Retrieve and analyze pages in advance
+        while ((fixes.size() < pages.size()) &&
+               (fixes.size() < numPage + MAX_PAGES_AHEAD)) {
+          List<Page> batch = new ArrayList<Page>(pages.subList(
+              fixes.size(), Math.min(pages.size(), fixes.size() + BATCH_SIZE)));
+          Future<Void> contents = contentsExecutor.submit(new ContentsRetriever(batch));
+          for (Page page : batch) {
+            fixes.add(analysisExecutor.submit(new PageFixer(page, algorithm, contents)));
+          }
+        }
+
+        // Save modifications in the order of the pages
+        Page page = pages.get(numPage);
+        String prefix = algorithm.getErrorNumberString() + " - " + (numPage + 1) + "/" + pages.size();
+        setText(prefix + " - " + GT._("Analyzing page {0}", page.getTitle()));
+        try {
+          savePage(fixes.get(numPage).get(), algorithm, prefix);
+        } catch (ExecutionException e) {
+          //
+        } catch (APIException e) {
+          //
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      for (Future<PageFix> fix : fixes) {
+        fix.cancel(true);
+      }
+    }
+  }
+
+  /**
+   * Save modifications made to a page.
+   * 
+   * @param fix Result of the analysis of the page.
    * @param algorithm Main algorithm.
    * @param prefix Prefix for the message
    * @throws APIException
    */
-  private void analyzePage(
-      Page page,
+  private void savePage(
+      PageFix fix,
       CheckErrorAlgorithm algorithm,
       String prefix) throws APIException {
+    Page page = fix.page;
 
-    setText(prefix + " - " + GT._("Analyzing page {0}", page.getTitle()));
-
-    // Retrieve page content 
-    API api = APIFactory.getAPI();
-    api.retrieveContents(getWikipedia(), Collections.singletonList(page), true, false);
-    PageAnalysis analysis = page.getAnalysis(page.getContents(), true);
-
-    // Check that robots are authorized to change this page
-    if (saveModifications) {
-      WPCConfiguration config = getWikipedia().getConfiguration();
-      List<String[]> nobotTemplates = config.getStringArrayList(
-          WPCConfigurationStringList.NOBOT_TEMPLATES);
-      if ((nobotTemplates != null) && (!nobotTemplates.isEmpty())) {
-        for (String[] nobotTemplate : nobotTemplates) {
-          String templateName = nobotTemplate[0];
-          List<PageElementTemplate> templates = analysis.getTemplates(templateName);
-          if ((templates != null) && (!templates.isEmpty())) {
-            if (analyzeNonFixed) {
-              Controller.runFullAnalysis(page.getTitle(), null, getWikipedia());
-            }
+    // Save page if errors have been fixed
+    if (fix.newContents != null) {
+      setText(prefix + " - " + GT._("Fixing page {0}", page.getTitle()));
+      API api = APIFactory.getAPI();
+      api.updatePage(
+          getWikipedia(), page, fix.newContents,
+          fix.comment,
+          true, false);
+      countModified++;
+      for (CheckErrorAlgorithm usedAlgorithm : fix.fixedAlgorithms) {
+        markAsFixed(page, usedAlgorithm, false);
+      }
+    }
+
+    // Mark page as fixed if the error is not detected any more
+    if (fix.checkDetection) {
+      markAsFixed(page, algorithm, true);
+    }
+
+    // Analyze page that couldn't be fixed
+    if (fix.fullAnalysis) {
+      Controller.runFullAnalysis(page.getTitle(), null, getWikipedia());
+    }
+  }
+
+  /**
+   * Mark a page as fixed in the background.
+   * 
+   * @param page Page.
+   * @param algorithm Algorithm.
+   * @param checkDetection True if the error should first be checked as not detected any more.
+   */
+  private void markAsFixed(
+      final Page page, final CheckErrorAlgorithm algorithm,
+      final boolean checkDetection) {
+    markExecutor.execute(new Runnable() {
+
+      /**
+       * @see java.lang.Runnable#run()
+       */
+      @Override
+      public void run() {
+        CheckWiki checkWiki = APIFactory.getCheckWiki();
+        if (checkDetection) {
+          Boolean errorDetected = checkWiki.isErrorDetected(
+              page, algorithm.getErrorNumber());
+          if (!Boolean.FALSE.equals(errorDetected)) {
             return;
           }
         }
+        checkWiki.markAsFixed(page, algorithm.getErrorNumberString());
+        if (selectedAlgorithms.contains(algorithm)) {
+          countMarked++;
+        } else {
+          countMarkedOther++;
+        }
       }
+    });
+  }
+
+  /**
+   * Result of the analysis of a page.
+   */
+  private static class PageFix {
+
+    /** Page. */
+    final Page page;
+
+    /** New contents to save (null if the page shouldn't be saved). */
+    String newContents;
+
+    /** Comment for the modification. */
+    String comment;
+
+    /** Algorithms for which the errors are fixed by the modification. */
+    final List<CheckErrorAlgorithm> fixedAlgorithms;
+
+    /** True if the error should be marked as fixed if it's not detected any more. */
+    boolean checkDetection;
+
+    /** True if a full analysis of the page should be done. */
+    boolean fullAnalysis;
+
+    /**
+     * @param page Page.
+     */
+    PageFix(Page page) {
+      this.page = page;
+      this.fixedAlgorithms = new ArrayList<CheckErrorAlgorithm>();
     }
+  }
 
-    // Analyze page to check if an error has been found
-    CheckErrorPage errorPage = CheckError.analyzeError(algorithm, analysis);
-    boolean found = false;
-    if (errorPage != null) {
-      if (errorPage.getErrorFound()) {
-        found = true;
-      }
+  /**
+   * Retrieve contents for a batch of pages.
+   */
+  private class ContentsRetriever implements Callable<Void> {
+
+    /** Pages. */
+    private final List<Page> pages;
+
+    /**
+     * @param pages Pages.
+     */
+    public ContentsRetriever(List<Page> pages) {
+      this.pages = pages;
+    }
+
+    /**
+     * @return Nothing.
+     * @throws APIException
+     * @see java.util.concurrent.Callable#call()
+     */
+    @Override
+    public Void call() throws APIException {
+      API api = APIFactory.getAPI();
+      api.retrieveContents(getWikipedia(), pages, true, false);
+      return null;
     }
+  }
+
+  /**
+   * Analyze and fix a page.
+   */
+  private class PageFixer implements Callable<PageFix> {
+
+    /** Page. */
+    private final Page page;
+
+    /** Main algorithm. */
+    private final CheckErrorAlgorithm algorithm;
+
+    /** Retrieval of the page contents. */
+    private final Future<Void> contents;
+
+    /**
+     * @param page Page.
+     * @param algorithm Main algorithm.
+     * @param contents Retrieval of the page contents.
+     */
+    public PageFixer(
+        Page page, CheckErrorAlgorithm algorithm,
+        Future<Void> contents) {
+      this.page = page;
+      this.algorithm = algorithm;
+      this.contents = contents;
+    }
+
+    /**
+     * @return Result of the analysis of the page.
+     * @throws Exception
+     * @see java.util.concurrent.Callable#call()
+     */
+    @Override
+    public PageFix call() throws Exception {
+      PageFix fix = new PageFix(page);
+
+      // Wait for page content
+      contents.get();
+      PageAnalysis analysis = page.getAnalysis(page.getContents(), true);
 
-    CheckWiki checkWiki = APIFactory.getCheckWiki();
-    if (found) {
-      if (!saveModifications) {
-        return;
+      // Check that robots are authorized to change this page
+      if (saveModifications) {
+        WPCConfiguration config = getWikipedia().getConfiguration();
+        List<String[]> nobotTemplates = config.getStringArrayList(
+            WPCConfigurationStringList.NOBOT_TEMPLATES);
+        if ((nobotTemplates != null) && (!nobotTemplates.isEmpty())) {
+          for (String[] nobotTemplate : nobotTemplates) {
+            String templateName = nobotTemplate[0];
+            List<PageElementTemplate> templates = analysis.getTemplates(templateName);
+            if ((templates != null) && (!templates.isEmpty())) {
+              fix.fullAnalysis = analyzeNonFixed;
+              return fix;
+            }
+          }
+        }
+      }
+
+      // Analyze page to check if an error has been found
+      CheckErrorPage errorPage = CheckError.analyzeError(algorithm, analysis);
+      boolean found = false;
+      if (errorPage != null) {
+        if (errorPage.getErrorFound()) {
+          found = true;
+        }
       }
 
-      // Fix all errors that can be fixed
-      String newContents = page.getContents();
-      List<CheckErrorAlgorithm> usedAlgorithms = new ArrayList<CheckErrorAlgorithm>();
-      newContents = AutomaticFormatter.tidyArticle(page, newContents, allAlgorithms, true, usedAlgorithms);
-
-      // Save page if errors have been fixed
-      if ((!newContents.equals(page.getContents())) &&
-          (usedAlgorithms.contains(algorithm))) {
-        StringBuilder comment = new StringBuilder();
-        if ((extraComment != null) && (extraComment.trim().length() > 0)) {
-          comment.append(extraComment.trim());
-          comment.append(" - ");
+      if (found) {
+        if (!saveModifications) {
+          return fix;
         }
-        comment.append(getWikipedia().getCWConfiguration().getComment(usedAlgorithms));
-        setText(prefix + " - " + GT._("Fixing page {0}", page.getTitle()));
-        api.updatePage(
-            getWikipedia(), page, newContents,
-            comment.toString(),
-            true, false);
-        countModified++;
-        for (CheckErrorAlgorithm usedAlgorithm : usedAlgorithms) {
-          errorPage = CheckError.analyzeError(usedAlgorithm, page.getAnalysis(newContents, true));
-          if ((errorPage != null) && (!errorPage.getErrorFound())) {
-            checkWiki.markAsFixed(page, usedAlgorithm.getErrorNumberString());
-            if (selectedAlgorithms.contains(usedAlgorithm)) {
-              countMarked++;
-            } else {
-              countMarkedOther++;
+
+        // Fix all errors that can be fixed
+        String newContents = page.getContents();
+        List<CheckErrorAlgorithm> usedAlgorithms = new ArrayList<CheckErrorAlgorithm>();
+        newContents = AutomaticFormatter.tidyArticle(page, newContents, allAlgorithms, true, usedAlgorithms);
+
+        // Prepare saving page if errors have been fixed
+        if ((!newContents.equals(page.getContents())) &&
+            (usedAlgorithms.contains(algorithm))) {
+          StringBuilder comment = new StringBuilder();
+          if ((extraComment != null) && (extraComment.trim().length() > 0)) {
+            comment.append(extraComment.trim());
+            comment.append(" - ");
+          }
+          comment.append(getWikipedia().getCWConfiguration().getComment(usedAlgorithms));
+          fix.newContents = newContents;
+          fix.comment = comment.toString();
+          for (CheckErrorAlgorithm usedAlgorithm : usedAlgorithms) {
+            errorPage = CheckError.analyzeError(usedAlgorithm, page.getAnalysis(newContents, true));
+            if ((errorPage != null) && (!errorPage.getErrorFound())) {
+              fix.fixedAlgorithms.add(usedAlgorithm);
             }
           }
+        } else {
+          fix.fullAnalysis = analyzeNonFixed;
         }
-      } else if (analyzeNonFixed) {
-        Controller.runFullAnalysis(page.getTitle(), null, getWikipedia());
-      }
-    } else if (algorithm.getErrorNumber() < CheckErrorAlgorithm.MAX_ERROR_NUMBER_WITH_LIST) {
-      Boolean errorDetected = checkWiki.isErrorDetected(
-          page, algorithm.getErrorNumber());
-      if (Boolean.FALSE.equals(errorDetected)) {
-        checkWiki.markAsFixed(page, algorithm.getErrorNumberString());
-        countMarked++;
+      } else if (algorithm.getErrorNumber() < CheckErrorAlgorithm.MAX_ERROR_NUMBER_WITH_LIST) {
+        fix.checkDetection = true;
       }
+      return fix;
     }
   }
 
@@ -269,6 +506,14 @@ public class AutomaticCWWorker extends BasicWorker {
           "{0} page has been marked as fixed for other algorithms",
           "{0} pages have been marked as fixed for other algorithms",
           countMarkedOther, Integer.toString(countMarkedOther)));
+      int backlog = APIFactory.getCheckWiki().getMarkAsFixedBacklog();
+      if (backlog > 0) {
+        message.append("\n");
+        message.append(GT.__(
+            "{0} page is still waiting to be marked as fixed",
+            "{0} pages are still waiting to be marked as fixed",
+            backlog, Integer.toString(backlog)));
+      }
       Utilities.displayInformationMessage(
           getWindow().getParentComponent(), message.toString());
     }
@@ -7,34 +7,43 @@
 
 package org.wikipediacleaner.gui.swing.bot;
 
+import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.concurrent.Callable;
-import java.util.concurrent.Future;
-
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.wikipediacleaner.api.API;
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.APIFactory;
-import org.wikipediacleaner.api.MediaWikiController;
-import org.wikipediacleaner.api.MediaWikiListener;
 import org.wikipediacleaner.api.check.CheckErrorResult;
 import org.wikipediacleaner.api.check.algorithm.CheckErrorAlgorithm;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
 import org.wikipediacleaner.api.data.DataManager;
+import org.wikipediacleaner.api.data.Namespace;
 import org.wikipediacleaner.api.data.Page;
 import org.wikipediacleaner.api.data.PageAnalysis;
 import org.wikipediacleaner.api.data.PageElementInternalLink;
 import org.wikipediacleaner.api.dump.DumpProcessor;
 import org.wikipediacleaner.api.dump.PageProcessor;
-import org.wikipediacleaner.api.execution.MediaWikiCallable;
 import org.wikipediacleaner.gui.swing.basic.BasicWindow;
 import org.wikipediacleaner.gui.swing.basic.BasicWorker;
 import org.wikipediacleaner.gui.swing.basic.Utilities;
@@ -46,6 +55,8 @@ import org.wikipediacleaner.i18n.GT;
  */
 public class ListCWWorker extends BasicWorker {
 
+  final static Log log = LogFactory.getLog(ListCWWorker.class);
+
   /** File containing the dump */
   private final File dumpFile;
 
@@ -55,11 +66,29 @@ public class ListCWWorker extends BasicWorker {
   /** Algorithms for which to analyze pages */
   final List<CheckErrorAlgorithm> selectedAlgorithms;
 
-  /** List of errors found for each algorithm */
+  /** List of errors found for each algorithm (access synchronized on the map) */
   final Map<CheckErrorAlgorithm, List<Detection>> detections;
 
   /** Count of pages analyzed */
-  int countAnalyzed;
+  final AtomicInteger countAnalyzed;
+
+  /** Time spent analyzing the dump (in milliseconds) */
+  private long analysisTime;
+
+  /** Identifier of the last page analyzed before resuming from a checkpoint */
+  Integer resumePageId;
+
+  /** Count of pages analyzed before resuming from a checkpoint */
+  int resumeCount;
+
+  /** Maximum number of pages waiting for analysis, for each analysis thread */
+  private final static int QUEUE_SIZE_PER_THREAD = 10;
+
+  /** Number of pages between two updates of the progress message */
+  private final static int PROGRESS_INTERVAL = 1000;
+
+  /** Minimum time between two checkpoints (in milliseconds) */
+  final static long CHECKPOINT_INTERVAL = 10 * 60 * 1000;
 
   /**
    * @param wiki Wiki.
@@ -77,7 +106,10 @@ public class ListCWWorker extends BasicWorker {
     this.outputDir = outputDir;
     this.selectedAlgorithms = selectedAlgorithms;
     this.detections = new HashMap<CheckErrorAlgorithm, List<Detection>>();
-    this.countAnalyzed = 0;
+    this.countAnalyzed = new AtomicInteger(0);
+    this.analysisTime = 0;
+    this.resumePageId = null;
+    this.resumeCount = 0;
   }
 
   /** 
@@ -97,15 +129,20 @@ public class ListCWWorker extends BasicWorker {
     if ((selectedAlgorithms == null) || selectedAlgorithms.isEmpty()) {
       return null;
     }
+    readCheckpoint();
+    if (resumePageId != null) {
+      setText(GT._("Resuming analysis after page {0}", resumePageId.toString()));
+    }
+    long startTime = System.currentTimeMillis();
     CWPageProcessor pageProcessor = new CWPageProcessor(getWikipedia());
     DumpProcessor dumpProcessor = new DumpProcessor(pageProcessor);
-    dumpProcessor.processDump(dumpFile);
-    while (!pageProcessor.hasFinished()) {
-      try {
-        Thread.sleep(100);
-      } catch (InterruptedException e) {
-        // Nothing to do
-      }
+    boolean completed = dumpProcessor.processDump(dumpFile, resumePageId);
+    pageProcessor.waitForEnd();
+    analysisTime = System.currentTimeMillis() - startTime;
+    if (completed && !shouldStop()) {
+      deleteCheckpoint();
+    } else {
+      writeCheckpoint(pageProcessor.getLastPageId());
     }
     for (Entry<CheckErrorAlgorithm, List<Detection>> error : detections.entrySet()) {
       if ((error != null) && (error.getKey() != null) && (error.getValue() != null)) {
@@ -168,10 +205,15 @@ public class ListCWWorker extends BasicWorker {
     super.finished();
     if (getWindow() != null) {
       StringBuilder message = new StringBuilder();
+      int count = countAnalyzed.get();
       message.append(GT.__(
           "{0} page has been analyzed",
           "{0} pages have been analyzed",
-          countAnalyzed, Integer.toString(countAnalyzed)));
+          count, Integer.toString(count)));
+      message.append("\n");
+      message.append(GT._(
+          "Throughput: {0} pages/s",
+          Long.toString(getThroughput(count - resumeCount, analysisTime))));
       for (Entry<CheckErrorAlgorithm, List<Detection>> error : detections.entrySet()) {
         if ((error != null) && (error.getKey() != null) && (error.getValue() != null)) {
           CheckErrorAlgorithm algorithm = error.getKey();
@@ -191,126 +233,339 @@ public class ListCWWorker extends BasicWorker {
   }
 
   /**
-   * Controller for background tasks.
+   * @param count Count of pages analyzed.
+   * @param time Time spent (in milliseconds).
+   * @return Count of pages analyzed per second.
    */
-  private class CWController extends MediaWikiController {
-
-    /**
-     * @param listener Listener to MediaWiki events.
-     */
-    public CWController(MediaWikiListener listener) {
-      super(listener);
+  static long getThroughput(int count, long time) {
+    if (time <= 0) {
+      return 0;
     }
+    return (count * 1000L) / time;
+  }
 
-    /**
-     * @param task Task to be performed in background.
-     * @see org.wikipediacleaner.api.MediaWikiController#addTask(java.util.concurrent.Callable)
-     */
-    @Override
-    public void addTask(Callable<?> task) {
-      hasFinished(); // To clean up done tasks
-      super.addTask(task);
+  // ==========================================================================
+  // Checkpoints
+  // ==========================================================================
+
+  /**
+   * @return File containing the checkpoint of the analysis.
+   */
+  private File getCheckpointFile() {
+    return new File(
+        outputDir,
+        "CW_" + getWikipedia().getSettings().getCodeCheckWiki() + "_checkpoint.txt");
+  }
+
+  /**
+   * @return Description of the dump (name, size and last modification time).
+   */
+  private String getDumpDescription() {
+    return dumpFile.getName() + "|" + dumpFile.length() + "|" + dumpFile.lastModified();
+  }
+
+  /**
+   * @return Description of the selected algorithms (error numbers).
+   */
+  private String getAlgorithmsDescription() {
+    List<String> numbers = new ArrayList<>();
+    for (CheckErrorAlgorithm algorithm : selectedAlgorithms) {
+      numbers.add(algorithm.getErrorNumberString());
     }
+    Collections.sort(numbers);
+    StringBuilder result = new StringBuilder();
+    for (String number : numbers) {
+      if (result.length() > 0) {
+        result.append(",");
+      }
+      result.append(number);
+    }
+    return result.toString();
+  }
 
-    /**
-     * @return True if all tasks are completed.
-     */
-    public boolean hasFinished() {
-      while (hasRemainingTask()) {
-        Future<?> result = getNextDoneResult();
-        if (result == null) {
-          return false;
+  /**
+   * Resume from the checkpoint of a previous analysis, if any.
+   * 
+   * The checkpoint is used only if it has been written for the same dump
+   * (same name, size and last modification time) and the same algorithms,
+   * otherwise it's discarded and the analysis starts from the beginning.
+   */
+  private void readCheckpoint() {
+    File checkpointFile = getCheckpointFile();
+    if (!checkpointFile.isFile()) {
+      return;
+    }
+    BufferedReader reader = null;
+    try {
+      reader = new BufferedReader(new InputStreamReader(
+          new FileInputStream(checkpointFile), "UTF-8"));
+      Integer pageId = null;
+      int count = 0;
+      boolean sameDump = false;
+      boolean sameAlgorithms = false;
+      List<String[]> savedDetections = new ArrayList<>();
+      String line = null;
+      while ((line = reader.readLine()) != null) {
+        String[] values = line.split("\t", -1);
+        for (int i = 0; i < values.length; i++) {
+          values[i] = unescape(values[i]);
+        }
+        if ("dump".equals(values[0]) && (values.length > 1)) {
+          sameDump = getDumpDescription().equals(values[1]);
+        } else if ("algorithms".equals(values[0]) && (values.length > 1)) {
+          sameAlgorithms = getAlgorithmsDescription().equals(values[1]);
+        } else if ("page".equals(values[0]) && (values.length > 1)) {
+          pageId = Integer.valueOf(values[1]);
+        } else if ("count".equals(values[0]) && (values.length > 1)) {
+          count = Integer.parseInt(values[1]);
+        } else if ("detection".equals(values[0]) && (values.length > 2)) {
+          savedDetections.add(values);
+        }
+      }
+      if (!sameDump || !sameAlgorithms || (pageId == null)) {
+        log.info("Checkpoint " + checkpointFile.getName() + " discarded: written for a different analysis");
+        return;
+      }
+      for (String[] values : savedDetections) {
+        for (CheckErrorAlgorithm algorithm : selectedAlgorithms) {
+          if (algorithm.getErrorNumberString().equals(values[1])) {
+            Page page = DataManager.getPage(getWikipedia(), values[2], null, null, null);
+            String[] notices = new String[values.length - 3];
+            System.arraycopy(values, 3, notices, 0, notices.length);
+            addDetection(algorithm, new Detection(page, notices));
+          }
+        }
+      }
+      resumePageId = pageId;
+      resumeCount = count;
+      countAnalyzed.set(count);
+    } catch (IOException e) {
+      log.error("Error reading checkpoint " + checkpointFile.getName(), e);
+    } catch (NumberFormatException e) {
+      log.error("Error reading checkpoint " + checkpointFile.getName(), e);
+    } finally {
+      if (reader != null) {
+        try {
+          reader.close();
+        } catch (IOException e) {
+          // Nothing to do
         }
       }
-      return true;
     }
   }
 
   /**
-   * Background task.
+   * Write a checkpoint of the analysis.
+   * 
+   * @param lastPageId Identifier of the last page analyzed,
+   *        all pages before it in the dump have also been analyzed.
    */
-  private class CWPageCallable extends MediaWikiCallable<Page> {
+  void writeCheckpoint(Integer lastPageId) {
+    if (lastPageId == null) {
+      return;
+    }
+    File checkpointFile = getCheckpointFile();
+    File tmpFile = new File(outputDir, checkpointFile.getName() + ".tmp");
+    BufferedWriter writer = null;
+    try {
+      writer = new BufferedWriter(new OutputStreamWriter(
+          new FileOutputStream(tmpFile, false), "UTF-8"));
+      writer.write("dump\t" + escape(getDumpDescription()) + "\n");
+      writer.write("algorithms\t" + escape(getAlgorithmsDescription()) + "\n");
+      writer.write("page\t" + lastPageId + "\n");
+      writer.write("count\t" + countAnalyzed.get() + "\n");
+      synchronized (detections) {
+        for (Entry<CheckErrorAlgorithm, List<Detection>> error : detections.entrySet()) {
+          for (Detection detection : error.getValue()) {
+            writer.write("detection\t");
+            writer.write(escape(error.getKey().getErrorNumberString()));
+            writer.write("\t");
+            writer.write(escape(detection.page.getTitle()));
+            for (String notice : detection.notices) {
+              writer.write("\t");
+              writer.write(escape(notice));
+            }
+            writer.write("\n");
+          }
+        }
+      }
+      writer.close();
+      writer = null;
+      if (checkpointFile.exists() && !checkpointFile.delete()) {
+        log.warn("Unable to replace checkpoint " + checkpointFile.getName());
+        return;
+      }
+      if (!tmpFile.renameTo(checkpointFile)) {
+        log.warn("Unable to write checkpoint " + checkpointFile.getName());
+      }
+    } catch (IOException e) {
+      log.error("Error writing checkpoint " + checkpointFile.getName(), e);
+    } finally {
+      if (writer != null) {
+        try {
+          writer.close();
+        } catch (IOException e) {
+          // Nothing to do
+        }
+      }
+    }
+  }
 
-    /** Page to analyze */
-    private final Page page;
+  /**
+   * Delete the checkpoint of the analysis.
+   */
+  private void deleteCheckpoint() {
+    File checkpointFile = getCheckpointFile();
+    if (checkpointFile.exists() && !checkpointFile.delete()) {
+      log.warn("Unable to delete checkpoint " + checkpointFile.getName());
+    }
+  }
 
-    /**
-     * @param wikipedia Wikipedia.
-     * @param listener Listener of MediaWiki events.
-     * @param api MediaWiki API.
-     * @param page Page.
-     */
-    public CWPageCallable(
-        EnumWikipedia wiki, MediaWikiListener listener, API api,
-        Page page) {
-      super(wiki, listener, api);
-      this.page = page;
+  /**
+   * @param value Value.
+   * @return Value with tabulations, new lines and backslashes escaped.
+   */
+  private static String escape(String value) {
+    if (value == null) {
+      return "";
     }
+    StringBuilder result = new StringBuilder(value.length());
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+      case '\\':
+        result.append("\\\\");
+        break;
+      case '\t':
+        result.append("\\t");
+        break;
+      case '\n':
+        result.append("\\n");
+        break;
+      case '\r':
+        result.append("\\r");
+        break;
+      default:
+        result.append(c);
+      }
+    }
+    return result.toString();
+  }
 
-    /* (non-Javadoc)
-     * @see java.util.concurrent.Callable#call()
-     */
-    @Override
-    public Page call() throws APIException {
-      EnumWikipedia wiki = getWikipedia();
-      PageAnalysis analysis = page.getAnalysis(page.getContents(), false);
-      Page currentPage = null;
-      PageAnalysis currentAnalysis = null; 
-      for (CheckErrorAlgorithm algorithm : selectedAlgorithms) {
-        List<CheckErrorResult> errors = new ArrayList<>();
-        if (algorithm.analyze(analysis, errors, false)) {
-          try {
-            if (currentPage == null) {
-              currentPage = DataManager.getPage(wiki, page.getTitle(), null, null, null);
-            }
-            if (currentAnalysis == null) {
-              api.retrieveContents(wiki, Collections.singleton(currentPage), false, false);
-              currentAnalysis = currentPage.getAnalysis(currentPage.getContents(), false);
-            }
-            errors.clear();
-            if (algorithm.analyze(currentAnalysis, errors, false)) {
-              System.out.println(
-                  "Detection confirmed for " + page.getTitle() +
-                  ": " + algorithm.getErrorNumberString() +
-                  " - " + algorithm.getShortDescription());
-              List<Detection> pages = detections.get(algorithm);
-              if (pages == null) {
-                pages = new ArrayList<>();
-                detections.put(algorithm, pages);
-              }
-              pages.add(new Detection(currentPage, errors));
-            }
-          } catch (APIException e) {
-            // Nothing to do
-          }
+  /**
+   * @param value Value escaped by {@link #escape(String)}.
+   * @return Original value.
+   */
+  private static String unescape(String value) {
+    if (value.indexOf('\\') < 0) {
+      return value;
+    }
+    StringBuilder result = new StringBuilder(value.length());
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if ((c == '\\') && (i + 1 < value.length())) {
+        i++;
+        c = value.charAt(i);
+        switch (c) {
+        case 't':
+          c = '\t';
+          break;
+        case 'n':
+          c = '\n';
+          break;
+        case 'r':
+          c = '\r';
+          break;
         }
       }
-      countAnalyzed++;
-      return page;
+      result.append(c);
+    }
+    return result.toString();
+  }
+
+  // ==========================================================================
+  // Analysis
+  // ==========================================================================
+
+  /**
+   * Memorize a detection.
+   * 
+   * @param algorithm Algorithm.
+   * @param detection Detection.
+   */
+  void addDetection(CheckErrorAlgorithm algorithm, Detection detection) {
+    synchronized (detections) {
+      List<Detection> pages = detections.get(algorithm);
+      if (pages == null) {
+        pages = new ArrayList<>();
+        detections.put(algorithm, pages);
+      }
+      pages.add(detection);
     }
   }
 
   /**
    * Process pages in the dump.
+   * 
+   * Pages are sent through a bounded queue to a set of analysis threads:
+   * when the analysis is slower than the reading of the dump,
+   * the dump reader waits for room in the queue,
+   * so the number of pages in memory doesn't depend on the size of the dump.
    */
   private class CWPageProcessor implements PageProcessor {
 
     /** Wiki */
     private final EnumWikipedia wiki;
 
-    /** Controller for background tasks */
-    private final CWController controller;
-
     /** API */
     private final API api;
 
+    /** Pages waiting for analysis */
+    private final BlockingQueue<Page> queue;
+
+    /** Executor for analysis threads */
+    private final ExecutorService executor;
+
+    /** Time when the analysis started */
+    private final long startTime;
+
+    /** True when all the pages of the dump have been queued */
+    private volatile boolean dumpFinished;
+
+    /** Count of pages queued and not yet analyzed (access synchronized on pendingLock) */
+    private int pendingPages;
+
+    /** Lock for waiting for the analysis of queued pages */
+    private final Object pendingLock;
+
+    /** True when the last page analyzed before resuming has been found in the dump */
+    private boolean resumePageFound;
+
+    /** Identifier of the last page queued */
+    private Integer lastPageId;
+
+    /** Time of the last checkpoint */
+    private long lastCheckpoint;
+
     /**
      * @param wiki Wiki.
      */
     public CWPageProcessor(EnumWikipedia wiki) {
       this.wiki = wiki;
-      this.controller = new CWController(null);
       this.api = APIFactory.getAPI();
+      int threadCount = Runtime.getRuntime().availableProcessors();
+      this.queue = new ArrayBlockingQueue<Page>(threadCount * QUEUE_SIZE_PER_THREAD);
+      this.executor = Executors.newFixedThreadPool(threadCount);
+      this.startTime = System.currentTimeMillis();
+      this.dumpFinished = false;
+      this.pendingPages = 0;
+      this.pendingLock = new Object();
+      this.resumePageFound = (resumePageId == null);
+      this.lastPageId = resumePageId;
+      this.lastCheckpoint = startTime;
+      for (int thread = 0; thread < threadCount; thread++) {
+        executor.execute(new CWPageAnalyzer(this));
+      }
     }
 
     /**
@@ -323,21 +578,221 @@ public class ListCWWorker extends BasicWorker {
     }
 
     /**
+     * Select pages in the main namespace, not already analyzed before resuming.
+     * 
+     * When resuming, pages are skipped until the last page analyzed before
+     * is found: the checkpoint is only used for the same dump,
+     * so pages are read in the same order, whatever their identifiers.
+     * 
+     * @param namespace Namespace of the page.
+     * @param title Title of the page.
+     * @param pageId Page identifier.
+     * @return True if the page should be processed.
+     * @see org.wikipediacleaner.api.dump.PageProcessor#isPageSelected(java.lang.Integer, java.lang.String, java.lang.Integer)
+     */
+    @Override
+    public boolean isPageSelected(Integer namespace, String title, Integer pageId) {
+      if ((namespace == null) || (namespace.intValue() != Namespace.MAIN)) {
+        return false;
+      }
+      if (!resumePageFound) {
+        if (resumePageId.equals(pageId)) {
+          resumePageFound = true;
+        }
+        return false;
+      }
+      return !shouldStop();
+    }
+
+    /**
+     * Queue a page for analysis, waiting if the queue is full.
+     * 
      * @param page Page.
      * @see org.wikipediacleaner.api.dump.PageProcessor#processPage(org.wikipediacleaner.api.data.Page)
      */
     @Override
     public void processPage(Page page) {
-      if ((page != null) && page.isInMainNamespace()) {
-        controller.addTask(new CWPageCallable(wiki, null, api, page));
+      if ((page != null) && page.isInMainNamespace() && !shouldStop()) {
+        synchronized (pendingLock) {
+          pendingPages++;
+        }
+        try {
+          queue.put(page);
+          if (page.getPageId() != null) {
+            lastPageId = page.getPageId();
+          }
+        } catch (InterruptedException e) {
+          pageDone();
+          Thread.currentThread().interrupt();
+          return;
+        }
+        long now = System.currentTimeMillis();
+        if (now - lastCheckpoint > CHECKPOINT_INTERVAL) {
+          waitForPendingPages();
+          writeCheckpoint(lastPageId);
+          lastCheckpoint = System.currentTimeMillis();
+        }
+      }
+    }
+
+    /**
+     * Wait for the analysis of all queued pages.
+     */
+    private void waitForPendingPages() {
+      synchronized (pendingLock) {
+        while (pendingPages > 0) {
+          try {
+            pendingLock.wait();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+          }
+        }
       }
     }
 
     /**
-     * @return True if all tasks are completed.
+     * Memorize that a queued page doesn't need to be waited for anymore.
      */
-    public boolean hasFinished() {
-      return controller.hasFinished();
+    private void pageDone() {
+      synchronized (pendingLock) {
+        pendingPages--;
+        if (pendingPages <= 0) {
+          pendingLock.notifyAll();
+        }
+      }
+    }
+
+    /**
+     * @return Identifier of the last page queued.
+     */
+    public Integer getLastPageId() {
+      return lastPageId;
+    }
+
+    /**
+     * @return Next page to analyze, or null if all pages have been analyzed.
+     */
+    Page getNextPage() {
+      try {
+        while (!dumpFinished || !queue.isEmpty()) {
+          Page page = queue.poll(100, TimeUnit.MILLISECONDS);
+          if (page != null) {
+            return page;
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return null;
+    }
+
+    /**
+     * Update progress after the analysis of a page.
+     */
+    void pageAnalyzed() {
+      pageDone();
+      int count = countAnalyzed.incrementAndGet();
+      if (count % PROGRESS_INTERVAL == 0) {
+        long throughput = getThroughput(
+            count - resumeCount, System.currentTimeMillis() - startTime);
+        setText(GT.__(
+            "{0} page analyzed ({1} pages/s)",
+            "{0} pages analyzed ({1} pages/s)",
+            count, new Object[] { Integer.valueOf(count), Long.valueOf(throughput) }));
+      }
+    }
+
+    /**
+     * Wait for the analysis of all the pages to be completed.
+     */
+    public void waitForEnd() {
+      dumpFinished = true;
+      executor.shutdown();
+      try {
+        while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+          // Waiting for the analysis threads
+        }
+      } catch (InterruptedException e) {
+        executor.shutdownNow();
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    /**
+     * @return API.
+     */
+    API getAPI() {
+      return api;
+    }
+  }
+
+  /**
+   * Analysis thread: analyze pages from the queue until the dump is finished.
+   */
+  private class CWPageAnalyzer implements Runnable {
+
+    /** Page processor */
+    private final CWPageProcessor processor;
+
+    /**
+     * @param processor Page processor.
+     */
+    public CWPageAnalyzer(CWPageProcessor processor) {
+      this.processor = processor;
+    }
+
+    /**
+     * @see java.lang.Runnable#run()
+     */
+    @Override
+    public void run() {
+      Page page = null;
+      while ((page = processor.getNextPage()) != null) {
+        try {
+          analyzePage(page);
+        } catch (RuntimeException e) {
+          log.error("Error analyzing " + page.getTitle(), e);
+        }
+        processor.pageAnalyzed();
+      }
+    }
+
+    /**
+     * Analyze a page.
+     * 
+     * @param page Page.
+     */
+    private void analyzePage(Page page) {
+      EnumWikipedia wiki = processor.getWiki();
+      API api = processor.getAPI();
+      PageAnalysis analysis = page.getAnalysis(page.getContents(), false);
+      Page currentPage = null;
+      PageAnalysis currentAnalysis = null; 
+      for (CheckErrorAlgorithm algorithm : selectedAlgorithms) {
+        List<CheckErrorResult> errors = new ArrayList<>();
+        if (algorithm.analyze(analysis, errors, false)) {
+          try {
+            if (currentPage == null) {
+              currentPage = DataManager.getPage(wiki, page.getTitle(), null, null, null);
+            }
+            if (currentAnalysis == null) {
+              api.retrieveContents(wiki, Collections.singleton(currentPage), false, false);
+              currentAnalysis = currentPage.getAnalysis(currentPage.getContents(), false);
+            }
+            errors.clear();
+            if (algorithm.analyze(currentAnalysis, errors, false)) {
+              System.out.println(
+                  "Detection confirmed for " + page.getTitle() +
+                  ": " + algorithm.getErrorNumberString() +
+                  " - " + algorithm.getShortDescription());
+              addDetection(algorithm, new Detection(currentPage, errors));
+            }
+          } catch (APIException e) {
+            // Nothing to do
+          }
+        }
+      }
     }
   }
 
@@ -370,6 +825,18 @@ public class ListCWWorker extends BasicWorker {
       }
     }
 
+    /**
+     * @param page Page.
+     * @param notices List of notices.
+     */
+    public Detection(Page page, String[] notices) {
+      this.page = page;
+      this.notices = new ArrayList<>();
+      if (notices != null) {
+        Collections.addAll(this.notices, notices);
+      }
+    }
+
     /**
      * @param o
      * @return
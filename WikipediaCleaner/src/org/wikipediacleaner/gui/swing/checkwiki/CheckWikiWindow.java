@@ -815,7 +815,7 @@ public class CheckWikiWindow extends OnePageWindow implements CheckWikiListener
   /**
    * Analyze the Check Wiki page contents.
    */
-  private void analyzeCheckWiki() {
+  void analyzeCheckWiki() {
     //String contents = projectPage.getContents();
     //errors = CheckError.initCheckErrors(getWikipedia(), contents);
     if (modelAllErrors != null) {
@@ -830,12 +830,14 @@ public class CheckWikiWindow extends OnePageWindow implements CheckWikiListener
           ConfigurationValueBoolean.CHECK_SHOW_0_ERRORS);
       int selectedIndex = -1;
       if (errors != null) {
-        for (CheckError error : errors) {
-          if ((error.getPageCount() > 0) || (showAllErrors)) {
-            if (error.getErrorNumber() == selectedError) {
-              selectedIndex = modelAllErrors.getSize();
+        synchronized (errors) {
+          for (CheckError error : errors) {
+            if ((error.getPageCount() > 0) || (showAllErrors)) {
+              if (error.getErrorNumber() == selectedError) {
+                selectedIndex = modelAllErrors.getSize();
+              }
+              modelAllErrors.addElement(error);
             }
-            modelAllErrors.addElement(error);
           }
         }
         if (!getPagesWithSeveralErrors().isEmpty()) {
@@ -858,14 +860,16 @@ public class CheckWikiWindow extends OnePageWindow implements CheckWikiListener
   private List<String> getPagesWithSeveralErrors() {
     Set<String> pagesWithMultipleErrors = new HashSet<String>();
     Set<String> pagesWithError = new HashSet<String>();
-    for (CheckError error : errors) {
-      for (int pageNumber = 0; pageNumber < error.getPageCount(); pageNumber++) {
-        Page page = error.getPage(pageNumber);
-        String title = page.getTitle();
-        if (pagesWithError.contains(title)) {
-          pagesWithMultipleErrors.add(title);
-        } else {
-          pagesWithError.add(title);
+    synchronized (errors) {
+      for (CheckError error : errors) {
+        for (int pageNumber = 0; pageNumber < error.getPageCount(); pageNumber++) {
+          Page page = error.getPage(pageNumber);
+          String title = page.getTitle();
+          if (pagesWithError.contains(title)) {
+            pagesWithMultipleErrors.add(title);
+          } else {
+            pagesWithError.add(title);
+          }
         }
       }
     }
@@ -1350,6 +1354,7 @@ public class CheckWikiWindow extends OnePageWindow implements CheckWikiListener
         getWikipedia(), this, errors, selectedAlgorithms,
         true, modelMaxErrors.getNumber().intValue());
     setupReloadWorker(reloadWorker);
+    APIFactory.getCheckWiki().addListener(this);
     reloadWorker.start();
   }
 
@@ -1389,6 +1394,26 @@ public class CheckWikiWindow extends OnePageWindow implements CheckWikiListener
     requestUpdate();
   }
 
+  /**
+   * Callback called when a list of pages is added to a list of errors.
+   * 
+   * @param errorsRetrieved List of errors.
+   * @see org.wikipediacleaner.api.check.CheckWikiListener#errorsRetrieved(java.util.List)
+   */
+  @Override
+  public void errorsRetrieved(List<CheckError> errorsRetrieved) {
+    if (errorsRetrieved != errors) {
+      return;
+    }
+    SwingUtilities.invokeLater(new Runnable() {
+
+      @Override
+      public void run() {
+        analyzeCheckWiki();
+      }
+    });
+  }
+
   private boolean updateNeeded = false;
 
   /**
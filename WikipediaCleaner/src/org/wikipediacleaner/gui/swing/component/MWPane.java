@@ -13,6 +13,9 @@ import java.awt.event.InputEvent;
 import java.awt.event.KeyEvent;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 import javax.swing.AbstractButton;
 import javax.swing.ActionMap;
@@ -20,6 +23,7 @@ import javax.swing.InputMap;
 import javax.swing.JComponent;
 import javax.swing.JTextPane;
 import javax.swing.KeyStroke;
+import javax.swing.SwingUtilities;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import javax.swing.text.StyledDocument;
@@ -30,6 +34,7 @@ import org.wikipediacleaner.api.data.PageAnalysis;
 import org.wikipediacleaner.gui.swing.action.FindTextAction;
 import org.wikipediacleaner.gui.swing.action.ReplaceLinkAction;
 import org.wikipediacleaner.gui.swing.basic.BasicWindow;
+import org.wikipediacleaner.gui.swing.component.MWPaneFormatter.FormattedDocument;
 
 
 /**
@@ -147,6 +152,7 @@ public class MWPane
        */
       @Override
       public void insertUpdate(@SuppressWarnings("unused") DocumentEvent e) {
+        textVersion++;
         changeDocument();
       }
 
@@ -155,6 +161,7 @@ public class MWPane
        */
       @Override
       public void removeUpdate(@SuppressWarnings("unused") DocumentEvent e) {
+        textVersion++;
         changeDocument();
       }
 
@@ -306,9 +313,41 @@ public class MWPane
     return formatter;
   }
 
+  /**
+   * Executor for formatting documents in the background (shared by all panes).
+   */
+  private final static ExecutorService formattingExecutor =
+      Executors.newSingleThreadExecutor(new ThreadFactory() {
+
+        /**
+         * @param r Runnable.
+         * @return Daemon thread.
+         * @see java.util.concurrent.ThreadFactory#newThread(java.lang.Runnable)
+         */
+        @Override
+        public Thread newThread(Runnable r) {
+          Thread thread = new Thread(r, "MWPane formatting");
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+
+  /**
+   * Version of the text, incremented at each modification of the text.
+   */
+  int textVersion;
+
+  /**
+   * Version of the formatting, incremented at each formatting request.
+   */
+  volatile int formattingVersion;
+
   /**
    * Reset attributes of the document.
    * This method should be called after modifications are done.
+   * 
+   * The text is analyzed and formatted in the background,
+   * and the formatting is applied only if the text hasn't been modified since.
    */
   public void resetAttributes() {
 
@@ -317,18 +356,108 @@ public class MWPane
       return;
     }
 
+    // Format document in the background
+    requestFormatting();
+
+    if (!isInInternalModification) {
+      undoManager.validateCurrentText();
+    }
+  }
+
+  /**
+   * Request formatting of the current text in the background.
+   */
+  private void requestFormatting() {
+    formattingVersion++;
+    formattingExecutor.execute(new Formatting(
+        formatter, page, getText(), textVersion, formattingVersion));
+  }
+
+  /**
+   * Apply formatting computed in the background.
+   * 
+   * @param formatting Formatting.
+   * @param formatted Formatted document.
+   */
+  void applyFormatting(Formatting formatting, FormattedDocument formatted) {
+    if ((formatting.formattingVersion != formattingVersion) ||
+        (formatting.formatter != formatter)) {
+      return;
+    }
+
+    // Text modified since the formatting was requested: format it again
+    if (formatting.textVersion != textVersion) {
+      requestFormatting();
+      return;
+    }
+
     boolean oldState = isInInternalModification;
     isInInternalModification = true;
+    formatter.format(this, formatted);
+    isInInternalModification = oldState;
+  }
 
-    // First remove MediaWiki styles
-    String contents = getText();
-    PageAnalysis pageAnalysis = (page != null) ? page.getAnalysis(contents, true) : null;
-    formatter.format(this, pageAnalysis);
+  /**
+   * Formatting of the document in the background.
+   */
+  private class Formatting implements Runnable {
+
+    /** Formatter. */
+    final MWPaneFormatter formatter;
+
+    /** Page. */
+    private final Page page;
+
+    /** Text to be formatted. */
+    private final String contents;
+
+    /** Version of the text. */
+    final int textVersion;
+
+    /** Version of the formatting. */
+    final int formattingVersion;
+
+    /**
+     * @param formatter Formatter.
+     * @param page Page.
+     * @param contents Text to be formatted.
+     * @param textVersion Version of the text.
+     * @param formattingVersion Version of the formatting.
+     */
+    Formatting(
+        MWPaneFormatter formatter,
+        Page page, String contents,
+        int textVersion, int formattingVersion) {
+      this.formatter = formatter;
+      this.page = page;
+      this.contents = contents;
+      this.textVersion = textVersion;
+      this.formattingVersion = formattingVersion;
+    }
 
-    isInInternalModification = oldState;
+    /**
+     * @see java.lang.Runnable#run()
+     */
+    @Override
+    public void run() {
 
-    if (!isInInternalModification) {
-      undoManager.validateCurrentText();
+      // Skip formatting if a new one has already been requested
+      if (formattingVersion != MWPane.this.formattingVersion) {
+        return;
+      }
+      PageAnalysis pageAnalysis = (page != null) ? page.getAnalysis(contents, true) : null;
+      final FormattedDocument formatted = formatter.createFormattedDocument(
+          contents, pageAnalysis);
+      SwingUtilities.invokeLater(new Runnable() {
+
+        /**
+         * @see java.lang.Runnable#run()
+         */
+        @Override
+        public void run() {
+          applyFormatting(Formatting.this, formatted);
+        }
+      });
     }
   }
 
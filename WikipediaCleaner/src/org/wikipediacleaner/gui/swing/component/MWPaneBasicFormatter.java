@@ -22,23 +22,16 @@ public class MWPaneBasicFormatter extends MWPaneFormatter {
    * 
    * @param doc Document to be formatted.
    * @param pageAnalysis Page analysis.
+   * @param caretPositions Positions where the caret can be moved after formatting.
    */
   @Override
-  public void format(StyledDocument doc, PageAnalysis pageAnalysis) {
+  public void format(
+      StyledDocument doc, PageAnalysis pageAnalysis,
+      @SuppressWarnings("unused") CaretPositions caretPositions) {
     // Clean formatting
     cleanFormat(doc);
 
     // Format comments
     defaultFormatElements(doc, pageAnalysis);
   }
-
-  /**
-   * Move caret.
-   * 
-   * @param pane MediaWikiPane.
-   */
-  @Override
-  protected void moveCaret(MWPane pane) {
-    //
-  }
 }
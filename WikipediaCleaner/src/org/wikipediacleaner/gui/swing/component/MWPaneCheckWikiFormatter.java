@@ -40,22 +40,21 @@ public class MWPaneCheckWikiFormatter extends MWPaneFormatter {
    * 
    * @param doc Document to be formatted.
    * @param pageAnalysis Page analysis.
+   * @param caretPositions Positions where the caret can be moved after formatting.
    */
   @Override
   public void format(
       StyledDocument doc,
-      PageAnalysis pageAnalysis) {
+      PageAnalysis pageAnalysis,
+      CaretPositions caretPositions) {
     // Clean formatting
     cleanFormat(doc);
 
-    // Reset caret informations
-    resetCaretPosition();
-
     // Format comments
     defaultFormatElements(doc, pageAnalysis);
 
     // Format Check Wiki errors
-    formatCheckWikiErrors(doc, pageAnalysis);
+    formatCheckWikiErrors(doc, pageAnalysis, caretPositions);
   }
 
   /**
@@ -63,10 +62,12 @@ public class MWPaneCheckWikiFormatter extends MWPaneFormatter {
    * 
    * @param doc Document to be formatted.
    * @param pageAnalysis Page analysis.
+   * @param caretPositions Positions where the caret can be moved after formatting.
    */
   private void formatCheckWikiErrors(
       StyledDocument doc,
-      PageAnalysis pageAnalysis) {
+      PageAnalysis pageAnalysis,
+      CaretPositions caretPositions) {
     if ((doc == null) ||
         (pageAnalysis == null) || (algorithm == null)) {
       return;
@@ -74,7 +75,7 @@ public class MWPaneCheckWikiFormatter extends MWPaneFormatter {
     CheckErrorPage errorPage = CheckError.analyzeError(algorithm, pageAnalysis);
     if ((errorPage != null) && (errorPage.getResults() != null)) {
       for (CheckErrorResult error : errorPage.getResults()) {
-        formatCheckWikiError(doc, error);
+        formatCheckWikiError(doc, error, caretPositions);
       }
     }
   }
@@ -84,10 +85,12 @@ public class MWPaneCheckWikiFormatter extends MWPaneFormatter {
    * 
    * @param doc Document to be formatted.
    * @param error Check Wiki error to be formatted.
+   * @param caretPositions Positions where the caret can be moved after formatting.
    */
   private void formatCheckWikiError(
       StyledDocument doc,
-      CheckErrorResult error) {
+      CheckErrorResult error,
+      CaretPositions caretPositions) {
 
     // Basic verifications
     if ((doc == null) || (error == null)) {
@@ -115,68 +118,14 @@ public class MWPaneCheckWikiFormatter extends MWPaneFormatter {
         attributes, false);
 
     // Manage position
+    int priority = CaretPositions.FIRST;
     if (error.getErrorLevel() == CheckErrorResult.ErrorLevel.CORRECT) {
-      if (error.getStartPosition() < thirdStartPosition) {
-        thirdStartPosition = error.getStartPosition();
-        thirdEndPosition = error.getEndPosition();
-      }
+      priority = CaretPositions.THIRD;
     } else if (error.getErrorLevel() == CheckErrorResult.ErrorLevel.WARNING) {
-      if (error.getStartPosition() < secondStartPosition) {
-        secondStartPosition = error.getStartPosition();
-        secondEndPosition = error.getEndPosition();
-      }
-    } else {
-      if (error.getStartPosition() < startPosition) {
-        startPosition = error.getStartPosition();
-        endPosition = error.getEndPosition();
-      }
-    }
-  }
-
-  /* ======================================================================== */
-  /* Caret management                                                         */
-  /* ======================================================================== */
-
-  private int startPosition;
-  private int endPosition;
-  private int secondStartPosition;
-  private int secondEndPosition;
-  private int thirdStartPosition;
-  private int thirdEndPosition;
-
-  /**
-   * Reset caret positions. 
-   */
-  private void resetCaretPosition() {
-    startPosition = Integer.MAX_VALUE;
-    endPosition = Integer.MAX_VALUE;
-    secondStartPosition = Integer.MAX_VALUE;
-    secondEndPosition = Integer.MAX_VALUE;
-    thirdStartPosition = Integer.MAX_VALUE;
-    thirdEndPosition = Integer.MAX_VALUE;
-  }
-
-  /**
-   * Move caret.
-   * 
-   * @param pane MediaWikiPane.
-   */
-  @Override
-  protected void moveCaret(MWPane pane) {
-    if (pane == null) {
-      return;
-    }
-
-    if (startPosition < Integer.MAX_VALUE) {
-      pane.setCaretPosition(startPosition);
-      pane.moveCaretPosition(endPosition);
-    } else if (secondStartPosition < Integer.MAX_VALUE) {
-      pane.setCaretPosition(secondStartPosition);
-      pane.moveCaretPosition(secondEndPosition);
-    } else if (thirdStartPosition < Integer.MAX_VALUE) {
-      pane.setCaretPosition(thirdStartPosition);
-      pane.moveCaretPosition(thirdEndPosition);
+      priority = CaretPositions.SECOND;
     }
+    caretPositions.addPosition(
+        priority, error.getStartPosition(), error.getEndPosition());
   }
 
   /* ======================================================================== */
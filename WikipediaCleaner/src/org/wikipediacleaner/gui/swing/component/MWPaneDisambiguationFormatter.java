@@ -49,24 +49,24 @@ public class MWPaneDisambiguationFormatter extends
    * 
    * @param doc Document to be formatted.
    * @param pageAnalysis Page analysis.
+   * @param caretPositions Positions where the caret can be moved after formatting.
    */
   @Override
-  public void format(StyledDocument doc, PageAnalysis pageAnalysis) {
+  public void format(
+      StyledDocument doc, PageAnalysis pageAnalysis,
+      CaretPositions caretPositions) {
 
     // Clean formatting
     cleanFormat(doc);
 
-    // Reset caret informations
-    resetCaretPosition();
-
     // Format comments
     defaultFormatElements(doc, pageAnalysis);
 
     // Format internal links
-    formatInternalLinks(doc, pageAnalysis);
+    formatInternalLinks(doc, pageAnalysis, caretPositions);
 
     // Format templates
-    formatTemplates(doc, pageAnalysis);
+    formatTemplates(doc, pageAnalysis, caretPositions);
   }
 
   /**
@@ -74,15 +74,17 @@ public class MWPaneDisambiguationFormatter extends
    * 
    * @param doc Document to be formatted.
    * @param pageAnalysis Page analysis.
+   * @param caretPositions Positions where the caret can be moved after formatting.
    */
   private void formatInternalLinks(
       StyledDocument doc,
-      PageAnalysis pageAnalysis) {
+      PageAnalysis pageAnalysis,
+      CaretPositions caretPositions) {
     if ((doc == null) || (pageAnalysis == null)) {
       return;
     }
     for (PageElementInternalLink link : pageAnalysis.getInternalLinks()) {
-      formatInternalLink(doc, link, pageAnalysis);
+      formatInternalLink(doc, link, pageAnalysis, caretPositions);
     }
   }
 
@@ -92,11 +94,13 @@ public class MWPaneDisambiguationFormatter extends
    * @param doc Document to be formatted.
    * @param internalLink Internal link to be formatted.
    * @param pageAnalysis Page analysis.
+   * @param caretPositions Positions where the caret can be moved after formatting.
    */
   private void formatInternalLink(
       StyledDocument doc,
       PageElementInternalLink internalLink,
-      PageAnalysis pageAnalysis) {
+      PageAnalysis pageAnalysis,
+      CaretPositions caretPositions) {
 
     // Basic verifications
     if ((doc == null) || (internalLink == null)) {
@@ -189,10 +193,7 @@ public class MWPaneDisambiguationFormatter extends
     attr.addAttribute(ATTRIBUTE_TEXT, text);
     attr.addAttribute(ATTRIBUTE_UUID, UUID.randomUUID());
     doc.setCharacterAttributes(start, end - start, attr, true);
-    if (start < startPosition) {
-      startPosition = start;
-      endPosition = end;
-    }
+    caretPositions.addPosition(CaretPositions.FIRST, start, end);
   }
 
   /**
@@ -200,15 +201,17 @@ public class MWPaneDisambiguationFormatter extends
    * 
    * @param doc Document to be formatted.
    * @param pageAnalysis Page analysis.
+   * @param caretPositions Positions where the caret can be moved after formatting.
    */
   private void formatTemplates(
       StyledDocument doc,
-      PageAnalysis pageAnalysis) {
+      PageAnalysis pageAnalysis,
+      CaretPositions caretPositions) {
     if (pageAnalysis == null) {
       return;
     }
     for (PageElementTemplate template : pageAnalysis.getTemplates()) {
-      formatTemplate(doc, pageAnalysis, template);
+      formatTemplate(doc, pageAnalysis, template, caretPositions);
     }
   }
 
@@ -218,11 +221,13 @@ public class MWPaneDisambiguationFormatter extends
    * @param doc Document to be formatted.
    * @param pageAnalysis Page analysis.
    * @param template Template to be formatted.
+   * @param caretPositions Positions where the caret can be moved after formatting.
    */
   private void formatTemplate(
       StyledDocument doc,
       PageAnalysis pageAnalysis,
-      PageElementTemplate template) {
+      PageElementTemplate template,
+      CaretPositions caretPositions) {
 
     // Basic verifications
     if ((doc == null) ||
@@ -242,7 +247,7 @@ public class MWPaneDisambiguationFormatter extends
       if (linkTo != null) {
         Page link = findPage(linkTo);
         if (link != null) {
-          formatTemplate(doc, link, template, matcher);
+          formatTemplate(doc, link, template, matcher, caretPositions);
           return;
         }
       }
@@ -256,12 +261,14 @@ public class MWPaneDisambiguationFormatter extends
    * @param link Page linked.
    * @param template Template to be formatted.
    * @param matcher Template matcher.
+   * @param caretPositions Positions where the caret can be moved after formatting.
    */
   private void formatTemplate(
       StyledDocument doc,
       Page link,
       PageElementTemplate template,
-      TemplateMatcher matcher) {
+      TemplateMatcher matcher,
+      CaretPositions caretPositions) {
 
     // Basic verifications
     if ((doc == null) ||
@@ -271,11 +278,11 @@ public class MWPaneDisambiguationFormatter extends
 
     // Format template
     if (matcher.isGood() || Boolean.FALSE.equals(link.isDisambiguationPage())) {
-      formatTemplateGood(doc, link, template, matcher);
+      formatTemplateGood(doc, link, template, matcher, caretPositions);
     } else if (matcher.isHelpNeeded()) {
-      formatTemplateHelpRequested(doc, link, template, matcher);
+      formatTemplateHelpRequested(doc, link, template, matcher, caretPositions);
     } else {
-      formatTemplateDisambiguation(doc, link, template, matcher);
+      formatTemplateDisambiguation(doc, link, template, matcher, caretPositions);
     }
   }
 
@@ -286,12 +293,14 @@ public class MWPaneDisambiguationFormatter extends
    * @param link Page linked.
    * @param template Template to be formatted.
    * @param matcher Template matcher.
+   * @param caretPositions Positions where the caret can be moved after formatting.
    */
   private void formatTemplateGood(
       StyledDocument doc,
       Page link,
       PageElementTemplate template,
-      TemplateMatcher matcher) {
+      TemplateMatcher matcher,
+      CaretPositions caretPositions) {
 
     // Basic verifications
     if ((doc == null) ||
@@ -309,10 +318,7 @@ public class MWPaneDisambiguationFormatter extends
     attr.addAttribute(ATTRIBUTE_TEMPLATE_MATCHER, matcher);
     attr.addAttribute(ATTRIBUTE_UUID, UUID.randomUUID());
     doc.setCharacterAttributes(start, end - start, attr, true);
-    if (start < thirdStartPosition) {
-      thirdStartPosition = start;
-      thirdEndPosition = end;
-    }
+    caretPositions.addPosition(CaretPositions.THIRD, start, end);
   }
 
   /**
@@ -322,12 +328,14 @@ public class MWPaneDisambiguationFormatter extends
    * @param link Page linked.
    * @param template Template to be formatted.
    * @param matcher Template matcher.
+   * @param caretPositions Positions where the caret can be moved after formatting.
    */
   private void formatTemplateHelpRequested(
       StyledDocument doc,
       Page link,
       PageElementTemplate template,
-      TemplateMatcher matcher) {
+      TemplateMatcher matcher,
+      CaretPositions caretPositions) {
 
     // Basic verifications
     if ((doc == null) || (template == null) || (matcher == null)) {
@@ -351,10 +359,7 @@ public class MWPaneDisambiguationFormatter extends
       attr.addAttribute(ATTRIBUTE_TEMPLATE_MATCHER, matcher);
     }
     doc.setCharacterAttributes(start, end - start, attr, true);
-    if (start < secondStartPosition) {
-      secondStartPosition = start;
-      secondEndPosition = end;
-    }
+    caretPositions.addPosition(CaretPositions.SECOND, start, end);
   }
 
   /**
@@ -364,12 +369,14 @@ public class MWPaneDisambiguationFormatter extends
    * @param link Page linked.
    * @param template Template to be formatted.
    * @param matcher Template matcher.
+   * @param caretPositions Positions where the caret can be moved after formatting.
    */
   private void formatTemplateDisambiguation(
       StyledDocument doc,
       Page link,
       PageElementTemplate template,
-      TemplateMatcher matcher) {
+      TemplateMatcher matcher,
+      CaretPositions caretPositions) {
 
     // Basic verifications
     if ((doc == null) || (template == null) || (matcher == null)) {
@@ -386,56 +393,7 @@ public class MWPaneDisambiguationFormatter extends
     attr.addAttribute(ATTRIBUTE_TEMPLATE_MATCHER, matcher);
     attr.addAttribute(ATTRIBUTE_UUID, UUID.randomUUID());
     doc.setCharacterAttributes(start, end - start, attr, true);
-    if (start < startPosition) {
-      startPosition = start;
-      endPosition = end;
-    }
-  }
-
-  /* ======================================================================== */
-  /* Caret management                                                         */
-  /* ======================================================================== */
-
-  private int startPosition;
-  private int endPosition;
-  private int secondStartPosition;
-  private int secondEndPosition;
-  private int thirdStartPosition;
-  private int thirdEndPosition;
-
-  /**
-   * Reset caret positions. 
-   */
-  private void resetCaretPosition() {
-    startPosition = Integer.MAX_VALUE;
-    endPosition = Integer.MAX_VALUE;
-    secondStartPosition = Integer.MAX_VALUE;
-    secondEndPosition = Integer.MAX_VALUE;
-    thirdStartPosition = Integer.MAX_VALUE;
-    thirdEndPosition = Integer.MAX_VALUE;
-  }
-
-  /**
-   * Move caret.
-   * 
-   * @param pane MediaWikiPane.
-   */
-  @Override
-  protected void moveCaret(MWPane pane) {
-    if (pane == null) {
-      return;
-    }
-
-    if (startPosition < Integer.MAX_VALUE) {
-      pane.setCaretPosition(startPosition);
-      pane.moveCaretPosition(endPosition);
-    } else if (secondStartPosition < Integer.MAX_VALUE) {
-      pane.setCaretPosition(secondStartPosition);
-      pane.moveCaretPosition(secondEndPosition);
-    } else if (thirdStartPosition < Integer.MAX_VALUE) {
-      pane.setCaretPosition(thirdStartPosition);
-      pane.moveCaretPosition(thirdEndPosition);
-    }
+    caretPositions.addPosition(CaretPositions.FIRST, start, end);
   }
 
   /* ======================================================================== */
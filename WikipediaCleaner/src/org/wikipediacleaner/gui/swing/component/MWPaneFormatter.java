@@ -7,9 +7,12 @@
 
 package org.wikipediacleaner.gui.swing.component;
 
+import java.util.Arrays;
 import java.util.List;
 
 import javax.swing.JTextPane;
+import javax.swing.text.AttributeSet;
+import javax.swing.text.BadLocationException;
 import javax.swing.text.DefaultStyledDocument;
 import javax.swing.text.Element;
 import javax.swing.text.Style;
@@ -96,13 +99,6 @@ public abstract class MWPaneFormatter {
         true);
   }
 
-  /**
-   * Move caret.
-   * 
-   * @param pane MediaWikiPane.
-   */
-  protected abstract void moveCaret(MWPane pane);
-
   /**
    * Replace the default formatting by highlighting non wiki text.
    */
@@ -273,27 +269,86 @@ public abstract class MWPaneFormatter {
     }
   }
 
+  /**
+   * Format text in a separate document.
+   * This method doesn't use the MediaWikiPane,
+   * so it can be called outside the event dispatch thread.
+   * 
+   * @param contents Text to be formatted.
+   * @param pageAnalysis Page analysis.
+   * @return Formatted document, with the positions where the caret can be moved.
+   */
+  public final FormattedDocument createFormattedDocument(
+      String contents, PageAnalysis pageAnalysis) {
+    StyledDocument doc = createDocument();
+    try {
+      doc.insertString(0, contents, null);
+    } catch (BadLocationException e) {
+      //
+    }
+    CaretPositions caretPositions = new CaretPositions();
+    format(doc, pageAnalysis, caretPositions);
+    return new FormattedDocument(doc, caretPositions);
+  }
+
   /**
    * Format text in a MediaWikiPane.
    * 
    * @param pane MediaWikiPane to be formatted.
-   * @param pageAnalysis Page analysis.
+   * @param formatted Document with the same text, already formatted.
    */
-  public final void format(MWPane pane, PageAnalysis pageAnalysis) {
-    if (pane == null) {
+  public final void format(MWPane pane, FormattedDocument formatted) {
+    if ((pane == null) || (formatted == null)) {
       return;
     }
-    // TODO: Detach document from Pane to speed up formatting
-    StyledDocument doc = pane.getStyledDocument();
-    //StyledDocument tmpDoc = new DefaultStyledDocument();
-    //pane.setDocument(tmpDoc);
 
     // Format document
-    format(doc, pageAnalysis);
+    copyFormat(formatted.document, pane.getStyledDocument());
 
-    // Attach document again before moving caret
-    //pane.setDocument(doc);
-    moveCaret(pane);
+    // Move caret
+    formatted.caretPositions.moveCaret(pane);
+  }
+
+  /**
+   * Copy formatting between documents with the same text.
+   * Only the ranges with different attributes are modified,
+   * each range of identical attributes at once.
+   * 
+   * @param source Formatted document.
+   * @param target Document to be formatted.
+   */
+  private static void copyFormat(StyledDocument source, StyledDocument target) {
+    int length = Math.min(source.getLength(), target.getLength());
+    int beginIndex = 0;
+    while (beginIndex < length) {
+
+      // Find range of identical attributes
+      Element element = source.getCharacterElement(beginIndex);
+      AttributeSet attributes = element.getAttributes();
+      int endIndex = element.getEndOffset();
+      while (endIndex < length) {
+        element = source.getCharacterElement(endIndex);
+        if (!attributes.isEqual(element.getAttributes())) {
+          break;
+        }
+        endIndex = element.getEndOffset();
+      }
+      endIndex = Math.min(endIndex, length);
+
+      // Modify attributes if needed
+      int currentIndex = beginIndex;
+      while (currentIndex < endIndex) {
+        element = target.getCharacterElement(currentIndex);
+        if (!attributes.isEqual(element.getAttributes())) {
+          target.setCharacterAttributes(
+              beginIndex, endIndex - beginIndex, attributes, true);
+          currentIndex = endIndex;
+        } else {
+          currentIndex = element.getEndOffset();
+        }
+      }
+      beginIndex = endIndex;
+    }
   }
 
   /**
@@ -301,8 +356,91 @@ public abstract class MWPaneFormatter {
    * 
    * @param doc Document to be formatted.
    * @param pageAnalysis Page analysis.
+   * @param caretPositions Positions where the caret can be moved after formatting.
    */
-  public abstract void format(StyledDocument doc, PageAnalysis pageAnalysis);
+  public abstract void format(
+      StyledDocument doc, PageAnalysis pageAnalysis,
+      CaretPositions caretPositions);
+
+  /**
+   * Document formatted in the background, to be applied to a MediaWikiPane.
+   */
+  public static class FormattedDocument {
+
+    /** Formatted document. */
+    final StyledDocument document;
+
+    /** Positions where the caret can be moved. */
+    final CaretPositions caretPositions;
+
+    /**
+     * @param document Formatted document.
+     * @param caretPositions Positions where the caret can be moved.
+     */
+    FormattedDocument(StyledDocument document, CaretPositions caretPositions) {
+      this.document = document;
+      this.caretPositions = caretPositions;
+    }
+  }
+
+  /**
+   * Positions where the caret can be moved after formatting.
+   * For each priority, the first position in the text is kept.
+   */
+  public static class CaretPositions {
+
+    /** Highest priority. */
+    public final static int FIRST = 0;
+
+    /** Second priority. */
+    public final static int SECOND = 1;
+
+    /** Third priority. */
+    public final static int THIRD = 2;
+
+    /** Begin of the positions, by priority. */
+    private final int[] startPositions;
+
+    /** End of the positions, by priority. */
+    private final int[] endPositions;
+
+    /**
+     * Create an empty list of positions.
+     */
+    public CaretPositions() {
+      startPositions = new int[THIRD + 1];
+      endPositions = new int[THIRD + 1];
+      Arrays.fill(startPositions, Integer.MAX_VALUE);
+      Arrays.fill(endPositions, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param priority Priority (FIRST, SECOND or THIRD).
+     * @param start Begin of the position.
+     * @param end End of the position.
+     */
+    public void addPosition(int priority, int start, int end) {
+      if (start < startPositions[priority]) {
+        startPositions[priority] = start;
+        endPositions[priority] = end;
+      }
+    }
+
+    /**
+     * Move caret to the first position of the highest priority.
+     * 
+     * @param pane MediaWikiPane.
+     */
+    void moveCaret(MWPane pane) {
+      for (int priority = FIRST; priority <= THIRD; priority++) {
+        if (startPositions[priority] < Integer.MAX_VALUE) {
+          pane.setCaretPosition(startPositions[priority]);
+          pane.moveCaretPosition(endPositions[priority]);
+          return;
+        }
+      }
+    }
+  }
 
   // ==========================================================================
   // Element management
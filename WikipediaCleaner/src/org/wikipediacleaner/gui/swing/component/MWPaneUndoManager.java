@@ -27,8 +27,8 @@ public class MWPaneUndoManager implements ActionListener {
   MWPaneUndoManager(MWPane textPane) {
     this.textPane = textPane;
     this.undoLevels = 0;
-    this.undoTexts = new LinkedList<String>();
-    this.redoTexts = new LinkedList<String>();
+    this.undoTexts = new TextStack();
+    this.redoTexts = new TextStack();
   }
 
   /* ======================================================================= */
@@ -51,15 +51,25 @@ public class MWPaneUndoManager implements ActionListener {
   /* Text management                                                         */
   /* ======================================================================= */
 
+  /**
+   * Maximum number of characters memorized for the previous texts (besides the last ones).
+   */
+  private final static int MAX_MEMORIZED_CHARACTERS = 4 * 1024 * 1024;
+
   /**
    * Previous texts for Undo.
    */
-  private LinkedList<String> undoTexts;
+  private TextStack undoTexts;
 
   /**
    * Previous texts for Redo.
    */
-  private LinkedList<String> redoTexts;
+  private TextStack redoTexts;
+
+  /**
+   * Version of the text when it was last validated.
+   */
+  private int validatedVersion;
 
   /**
    * Clear Undo/Redo texts.
@@ -92,6 +102,10 @@ public class MWPaneUndoManager implements ActionListener {
     }
 
     // Check if memorizing text is useful
+    if (!undoTexts.isEmpty() && (validatedVersion == textPane.textVersion)) {
+      return;
+    }
+    validatedVersion = textPane.textVersion;
     String currentText = textPane.getText();
     if (!undoTexts.isEmpty() && currentText.equals(undoTexts.getLast())) {
       return;
@@ -99,7 +113,8 @@ public class MWPaneUndoManager implements ActionListener {
 
     // Adding text
     undoTexts.addLast(currentText);
-    while (undoTexts.size() > undoLevels) {
+    while ((undoTexts.size() > undoLevels) ||
+           (undoTexts.getMemorizedCharacters() > MAX_MEMORIZED_CHARACTERS)) {
       undoTexts.removeFirst();
     }
     redoTexts.clear();
@@ -124,6 +139,9 @@ public class MWPaneUndoManager implements ActionListener {
     }
     undoTexts.removeLast();
     redoTexts.addLast(oldText);
+    while (redoTexts.getMemorizedCharacters() > MAX_MEMORIZED_CHARACTERS) {
+      redoTexts.removeFirst();
+    }
     textPane.changeText(newText);
     updateUndoButtons();
   }
@@ -146,6 +164,9 @@ public class MWPaneUndoManager implements ActionListener {
     }
     redoTexts.removeLast();
     undoTexts.addLast(oldText);
+    while (undoTexts.getMemorizedCharacters() > MAX_MEMORIZED_CHARACTERS) {
+      undoTexts.removeFirst();
+    }
     textPane.changeText(newText);
     updateUndoButtons();
   }
@@ -221,4 +242,174 @@ public class MWPaneUndoManager implements ActionListener {
     }
     updateUndoButtons();
   }
+
+  /* ======================================================================= */
+  /* Texts memorization                                                      */
+  /* ======================================================================= */
+
+  /**
+   * Stack of texts.
+   * 
+   * Only the last text is memorized completely,
+   * each previous text is memorized as the differences with the text after it:
+   * the common prefix and suffix are shared, only the middle part is kept.
+   */
+  private static class TextStack {
+
+    /**
+     * Last text (null if the stack is empty).
+     */
+    private String lastText;
+
+    /**
+     * Differences to go from each text to the previous one (last one for the last text).
+     */
+    private final LinkedList<TextDifference> differences;
+
+    /**
+     * Number of characters memorized in the differences.
+     */
+    private int memorizedCharacters;
+
+    TextStack() {
+      this.differences = new LinkedList<TextDifference>();
+    }
+
+    /**
+     * @return True if the stack is empty.
+     */
+    boolean isEmpty() {
+      return (lastText == null);
+    }
+
+    /**
+     * @return Number of texts in the stack.
+     */
+    int size() {
+      return (lastText == null) ? 0 : differences.size() + 1;
+    }
+
+    /**
+     * @return Number of characters memorized for the texts before the last one.
+     */
+    int getMemorizedCharacters() {
+      return memorizedCharacters;
+    }
+
+    /**
+     * @return Last text.
+     */
+    String getLast() {
+      return lastText;
+    }
+
+    /**
+     * @param text Text to add at the end of the stack.
+     */
+    void addLast(String text) {
+      if (lastText != null) {
+        TextDifference difference = new TextDifference(text, lastText);
+        differences.addLast(difference);
+        memorizedCharacters += difference.getMemorizedCharacters();
+      }
+      lastText = text;
+    }
+
+    /**
+     * Remove the last text of the stack.
+     */
+    void removeLast() {
+      if (differences.isEmpty()) {
+        lastText = null;
+        return;
+      }
+      TextDifference difference = differences.removeLast();
+      memorizedCharacters -= difference.getMemorizedCharacters();
+      lastText = difference.apply(lastText);
+    }
+
+    /**
+     * Remove the first text of the stack.
+     */
+    void removeFirst() {
+      if (differences.isEmpty()) {
+        lastText = null;
+        return;
+      }
+      TextDifference difference = differences.removeFirst();
+      memorizedCharacters -= difference.getMemorizedCharacters();
+    }
+
+    /**
+     * Remove all texts.
+     */
+    void clear() {
+      lastText = null;
+      differences.clear();
+      memorizedCharacters = 0;
+    }
+  }
+
+  /**
+   * Difference between a text and the previous one.
+   */
+  private static class TextDifference {
+
+    /**
+     * Length of the common prefix.
+     */
+    private final int prefixLength;
+
+    /**
+     * Length of the common suffix.
+     */
+    private final int suffixLength;
+
+    /**
+     * Middle part of the previous text.
+     */
+    private final String middle;
+
+    /**
+     * @param text Text.
+     * @param previousText Previous text.
+     */
+    TextDifference(String text, String previousText) {
+      int maxLength = Math.min(text.length(), previousText.length());
+      int prefix = 0;
+      while ((prefix < maxLength) &&
+             (text.charAt(prefix) == previousText.charAt(prefix))) {
+        prefix++;
+      }
+      int suffix = 0;
+      while ((suffix < maxLength - prefix) &&
+             (text.charAt(text.length() - 1 - suffix) ==
+              previousText.charAt(previousText.length() - 1 - suffix))) {
+        suffix++;
+      }
+      this.prefixLength = prefix;
+      this.suffixLength = suffix;
+      this.middle = previousText.substring(prefix, previousText.length() - suffix);
+    }
+
+    /**
+     * @return Number of characters memorized.
+     */
+    int getMemorizedCharacters() {
+      return middle.length();
+    }
+
+    /**
+     * @param text Text.
+     * @return Previous text.
+     */
+    String apply(String text) {
+      StringBuilder result = new StringBuilder(
+          prefixLength + middle.length() + suffixLength);
+      result.append(text, 0, prefixLength);
+      result.append(middle);
+      result.append(text, text.length() - suffixLength, text.length());
+      return result.toString();
+    }
+  }
 }
@@ -9,11 +9,11 @@ package org.wikipediacleaner.gui.swing.component;
 
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.util.ArrayList;
 
 import javax.swing.JList;
 
 import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.data.KnownPages;
 import org.wikipediacleaner.api.data.Page;
 import org.wikipediacleaner.gui.swing.OnePageAnalysisWindow;
 import org.wikipediacleaner.gui.swing.OnePageWindow;
@@ -56,10 +56,10 @@ public class PageListAnalyzeListener extends MouseAdapter {
       return;
     }
     Page page = (Page) object;
-    ArrayList<Page> knownPages = null;
+    KnownPages knownPages = null;
     if ((pageWindow != null) && (pageWindow.getPage() != null)) {
       Page basePage = pageWindow.getPage();
-      knownPages = new ArrayList<Page>(1);
+      knownPages = new KnownPages(1);
       knownPages.add(basePage);
       for (Page backLink : basePage.getBackLinksWithRedirects()) {
         if ((backLink != null) &&
@@ -84,6 +84,15 @@ public class GeneralOptionsPanel extends OptionsPanel {
     add(chk, constraints);
     constraints.gridy++;
 
+    // Use JSON format for MediaWiki API calls
+    chk = createJCheckBox(
+        GT._("Use JSON format for MediaWiki API calls"),
+        ConfigurationValueBoolean.JSON_API);
+    constraints.gridx = 0;
+    constraints.weightx = 0;
+    add(chk, constraints);
+    constraints.gridy++;
+
     // Use secure URL in external viewer
     chk = createJCheckBox(
         GT._("Use secure URL in external viewer (https)"),
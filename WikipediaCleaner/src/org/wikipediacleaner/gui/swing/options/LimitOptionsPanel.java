@@ -18,6 +18,7 @@ import javax.swing.JPanel;
 import javax.swing.JSpinner;
 import javax.swing.SwingConstants;
 
+import org.wikipediacleaner.api.check.CheckWiki;
 import org.wikipediacleaner.gui.swing.basic.Utilities;
 import org.wikipediacleaner.i18n.GT;
 import org.wikipediacleaner.utils.ConfigurationValueInteger;
@@ -114,6 +115,24 @@ public class LimitOptionsPanel extends OptionsPanel {
     add(spin, constraints);
     constraints.gridy++;
 
+    // Simultaneous requests for Check Wiki
+    spin = createJSpinner(
+        ConfigurationValueInteger.CHECK_NB_THREADS,
+        1, CheckWiki.MAX_CONNECTIONS, 1);
+    JLabel labelThreadsCheckWiki = Utilities.createJLabel(
+        GT._("Maximum number of simultaneous requests for Check Wiki :"));
+    labelThreadsCheckWiki.setLabelFor(spin);
+    labelThreadsCheckWiki.setHorizontalAlignment(SwingConstants.TRAILING);
+    constraints.gridwidth = 2;
+    constraints.gridx = 0;
+    constraints.weightx = 0;
+    add(labelThreadsCheckWiki, constraints);
+    constraints.gridwidth = 1;
+    constraints.gridx = 2;
+    constraints.weightx = 1;
+    add(spin, constraints);
+    constraints.gridy++;
+
     // Time between edits
     spin = createJSpinner(
         ConfigurationValueInteger.TIME_BETWEEN_EDIT,
@@ -7,13 +7,17 @@
 
 package org.wikipediacleaner.gui.swing.worker;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.wikipediacleaner.api.APIException;
 import org.wikipediacleaner.api.APIFactory;
 import org.wikipediacleaner.api.check.CheckError;
 import org.wikipediacleaner.api.check.CheckErrorComparator;
+import org.wikipediacleaner.api.check.CheckWiki;
 import org.wikipediacleaner.api.check.algorithm.CheckErrorAlgorithm;
 import org.wikipediacleaner.api.constants.CWConfigurationError;
 import org.wikipediacleaner.api.constants.EnumWikipedia;
@@ -61,25 +65,47 @@ public class CheckWikiProjectWorker extends BasicWorker {
   @Override
   public Object construct() {
 
-    // Retrieving errors
+    // Retrieving errors (lists are retrieved simultaneously and added as soon as they arrive)
     boolean errorLoaded = false;
     APIException exception = null;
     if (selectedAlgorithms != null) {
-      for (final CheckErrorAlgorithm algorithm : selectedAlgorithms) {
-        try {
-          
+      CheckWiki checkWiki = APIFactory.getCheckWiki();
+      List<CheckErrorAlgorithm> algorithms = new ArrayList<CheckErrorAlgorithm>();
+      List<Future<Void>> results = new ArrayList<Future<Void>>();
+      try {
+        for (CheckErrorAlgorithm algorithm : selectedAlgorithms) {
           if ((algorithm != null) &&
               (algorithm.isAvailable()) &&
               (algorithm.getPriority() != CWConfigurationError.PRIORITY_BOT_ONLY)) {
-            // Retrieving list of pages for the error number
-            setText(
-                GT._("Checking for errors n°{0}", Integer.toString(algorithm.getErrorNumber())) +
-                " - " + algorithm.getShortDescriptionReplaced());
-            APIFactory.getCheckWiki().retrievePages(algorithm, errorLimit, getWikipedia(), errors);
+            algorithms.add(algorithm);
+            results.add(checkWiki.retrievePagesInBackground(
+                algorithm, errorLimit, getWikipedia(), errors));
+          }
+        }
+        for (int numAlgorithm = 0; numAlgorithm < algorithms.size(); numAlgorithm++) {
+          CheckErrorAlgorithm algorithm = algorithms.get(numAlgorithm);
+          setText(
+              GT._("Checking for errors n°{0}", Integer.toString(algorithm.getErrorNumber())) +
+              " - " + algorithm.getShortDescriptionReplaced());
+          try {
+            results.get(numAlgorithm).get();
             errorLoaded = true;
+          } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof APIException) {
+              exception = (APIException) cause;
+            } else if (cause instanceof RuntimeException) {
+              throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+              throw (Error) cause;
+            }
           }
-        } catch (APIException e) {
-          exception = e;
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        for (Future<Void> result : results) {
+          result.cancel(true);
         }
       }
     }
@@ -89,7 +115,9 @@ public class CheckWikiProjectWorker extends BasicWorker {
 
     // Sorting errors by priority
     setText(GT._("Sorting errors by priority"));
-    Collections.sort(errors, new CheckErrorComparator());
+    synchronized (errors) {
+      Collections.sort(errors, new CheckErrorComparator());
+    }
 
     return null;
   }
@@ -9,7 +9,13 @@
 package org.wikipediacleaner.gui.swing.worker;
 
 import java.awt.Component;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.wikipediacleaner.api.API;
 import org.wikipediacleaner.api.APIException;
@@ -84,12 +90,15 @@ public class LoginWorker extends BasicWorker {
    */
   @Override
   public Object construct() {
+    ExecutorService executor = Executors.newCachedThreadPool();
+    List<Future<Void>> tasks = new ArrayList<Future<Void>>();
     try {
       setText(GT._("Retrieving MediaWiki API"));
       API api = APIFactory.getAPI();
       EnumWikipedia wiki = getWikipedia();
 
       // Login
+      Future<Void> tokens = null;
       if (!reloadOnly) {
         setText(GT._("Login"));
         LoginResult result = api.login(wiki, username, new String(password), login);
@@ -98,17 +107,25 @@ public class LoginWorker extends BasicWorker {
             throw new APIException("Login unsuccessful: " + ((result != null) ? result.toString() : ""));
           }
         }
+        tokens = executor.submit(new TokensRetriever(api, wiki));
+        tasks.add(tokens);
         User user = api.retrieveUser(wiki, username);
         username = (user != null) ? user.getName() : null;
         wiki.getConnection().setUser(user);
-        api.retrieveTokens(wiki);
         logged = true;
       }
 
-      // Load configuration
+      // Load configuration (pages not modified since last session are read from disk)
       setText(GT._("Loading configuration"));
       api.loadConfiguration(wiki, username);
 
+      // Retrieving disambiguation templates and suggestions in the background
+      // (suggestions from pages not modified since last session are read from disk)
+      Future<Void> dabTemplates = executor.submit(new DisambiguationTemplatesRetriever(api, wiki));
+      tasks.add(dabTemplates);
+      Future<Void> suggestions = executor.submit(new SuggestionsRetriever(api, wiki));
+      tasks.add(suggestions);
+
       // Saving settings
       Configuration configuration = Configuration.getConfiguration();
       configuration.setWikipedia(wiki);
@@ -132,14 +149,6 @@ public class LoginWorker extends BasicWorker {
       }
       Configuration.getConfiguration().save();
 
-      // Retrieving disambiguation templates
-      setText(GT._("Retrieving disambiguation templates"));
-      wiki.initDisambiguationTemplates(api);
-
-      // Retrieving suggestions for text replacements
-      setText(GT._("Retrieving suggestions for text replacements"));
-      wiki.getConfiguration().initSuggestions(api, reloadOnly);
-
       // Retrieving Check Wiki configuration
       setText(GT._("Retrieving Check Wiki configuration"));
       APIFactory.getCheckWiki().retrieveConfiguration(wiki, this);
@@ -151,8 +160,22 @@ public class LoginWorker extends BasicWorker {
           CheckErrorAlgorithms.isAlgorithmActive(wiki, 524)) {
         ((CheckErrorAlgorithm524) algo524).setTrackingCategory(api.loadMessage(wiki, "duplicate-args-category"));
       }
+
+      // Wait for tasks in the background
+      setText(GT._("Retrieving disambiguation templates"));
+      waitFor(dabTemplates);
+      setText(GT._("Retrieving suggestions for text replacements"));
+      waitFor(suggestions);
+      if (tokens != null) {
+        waitFor(tokens);
+      }
     } catch (APIException e) {
       return e;
+    } finally {
+      for (Future<Void> task : tasks) {
+        task.cancel(true);
+      }
+      executor.shutdown();
     }
     return null;
   }
@@ -163,4 +186,98 @@ public class LoginWorker extends BasicWorker {
   public boolean isLogged() {
     return logged;
   }
+
+  /**
+   * Retrieve tokens.
+   */
+  private static class TokensRetriever implements Callable<Void> {
+
+    /** Wiki API. */
+    private final API api;
+
+    /** Wiki. */
+    private final EnumWikipedia wiki;
+
+    /**
+     * @param api Wiki API.
+     * @param wiki Wiki.
+     */
+    public TokensRetriever(API api, EnumWikipedia wiki) {
+      this.api = api;
+      this.wiki = wiki;
+    }
+
+    /**
+     * @return Nothing.
+     * @throws APIException
+     * @see java.util.concurrent.Callable#call()
+     */
+    @Override
+    public Void call() throws APIException {
+      api.retrieveTokens(wiki);
+      return null;
+    }
+  }
+
+  /**
+   * Retrieve disambiguation templates.
+   */
+  private static class DisambiguationTemplatesRetriever implements Callable<Void> {
+
+    /** Wiki API. */
+    private final API api;
+
+    /** Wiki. */
+    private final EnumWikipedia wiki;
+
+    /**
+     * @param api Wiki API.
+     * @param wiki Wiki.
+     */
+    public DisambiguationTemplatesRetriever(API api, EnumWikipedia wiki) {
+      this.api = api;
+      this.wiki = wiki;
+    }
+
+    /**
+     * @return Nothing.
+     * @see java.util.concurrent.Callable#call()
+     */
+    @Override
+    public Void call() {
+      wiki.initDisambiguationTemplates(api);
+      return null;
+    }
+  }
+
+  /**
+   * Retrieve suggestions for text replacements.
+   */
+  private class SuggestionsRetriever implements Callable<Void> {
+
+    /** Wiki API. */
+    private final API api;
+
+    /** Wiki. */
+    private final EnumWikipedia wiki;
+
+    /**
+     * @param api Wiki API.
+     * @param wiki Wiki.
+     */
+    public SuggestionsRetriever(API api, EnumWikipedia wiki) {
+      this.api = api;
+      this.wiki = wiki;
+    }
+
+    /**
+     * @return Nothing.
+     * @see java.util.concurrent.Callable#call()
+     */
+    @Override
+    public Void call() {
+      wiki.getConfiguration().initSuggestions(api, reloadOnly);
+      return null;
+    }
+  }
 }
\ No newline at end of file
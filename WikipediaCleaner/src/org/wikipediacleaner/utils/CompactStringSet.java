@@ -0,0 +1,490 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+
+/**
+ * Compact immutable set of strings.
+ *
+ * Strings are stored sorted and UTF-8 encoded in a single buffer,
+ * by blocks in which each string only memorizes what differs from the previous one
+ * (front coding).
+ * Looking for a string is a binary search on the blocks followed by a scan of one block.
+ *
+ * The set can be written to a file and read back as a memory-mapped buffer,
+ * so that the strings are not kept in the heap.
+ */
+public class CompactStringSet implements Iterable<String> {
+
+  /**
+   * Number of strings in each block.
+   */
+  private final static int BLOCK_SIZE = 16;
+
+  /**
+   * Encoding used for the strings.
+   */
+  private final static Charset UTF8 = Charset.forName("UTF-8");
+
+  /**
+   * Identifier at the beginning of files.
+   */
+  private final static int FILE_MAGIC = 0x57504353;
+
+  /**
+   * Version of the file format.
+   */
+  private final static int FILE_VERSION = 1;
+
+  /**
+   * Size of the file header (magic, version, size, maximum length, blocks, data length).
+   */
+  private final static int FILE_HEADER_SIZE = 6 * 4;
+
+  /**
+   * Comparator for UTF-8 encoded strings.
+   */
+  private final static Comparator<byte[]> BYTES_COMPARATOR = new Comparator<byte[]>() {
+
+    @Override
+    public int compare(byte[] o1, byte[] o2) {
+      return compareBytes(o1, o1.length, o2);
+    }
+  };
+
+  /**
+   * Strings (front coded by blocks).
+   */
+  private final ByteBuffer data;
+
+  /**
+   * Offset of each block in the data.
+   */
+  private final int[] blocks;
+
+  /**
+   * Number of strings.
+   */
+  private final int size;
+
+  /**
+   * Length of the longest string (in bytes).
+   */
+  private final int maxLength;
+
+  /**
+   * @param strings Strings.
+   */
+  public CompactStringSet(Collection<String> strings) {
+    this(createEncoded(strings));
+  }
+
+  /**
+   * @param encoded UTF-8 encoded strings (emptied during the construction).
+   */
+  CompactStringSet(List<byte[]> encoded) {
+
+    // Sort the strings
+    Collections.sort(encoded, BYTES_COMPARATOR);
+
+    // Compute the size of the data
+    int dataLength = 0;
+    int tmpSize = 0;
+    int tmpMaxLength = 0;
+    byte[] previous = null;
+    for (byte[] current : encoded) {
+      if ((previous == null) || (compareBytes(previous, previous.length, current) != 0)) {
+        int prefix = ((tmpSize % BLOCK_SIZE) == 0) ? 0 : getCommonPrefix(previous, current);
+        dataLength +=
+            getVarIntLength(prefix) +
+            getVarIntLength(current.length - prefix) +
+            current.length - prefix;
+        tmpMaxLength = Math.max(tmpMaxLength, current.length);
+        tmpSize++;
+        previous = current;
+      }
+    }
+
+    // Store the strings
+    byte[] tmpData = new byte[dataLength];
+    blocks = new int[(tmpSize + BLOCK_SIZE - 1) / BLOCK_SIZE];
+    size = tmpSize;
+    maxLength = tmpMaxLength;
+    int offset = 0;
+    int index = 0;
+    previous = null;
+    for (int i = 0; i < encoded.size(); i++) {
+      byte[] current = encoded.get(i);
+      if ((previous == null) || (compareBytes(previous, previous.length, current) != 0)) {
+        int prefix = 0;
+        if ((index % BLOCK_SIZE) == 0) {
+          blocks[index / BLOCK_SIZE] = offset;
+        } else {
+          prefix = getCommonPrefix(previous, current);
+        }
+        offset = writeVarInt(tmpData, prefix, offset);
+        offset = writeVarInt(tmpData, current.length - prefix, offset);
+        System.arraycopy(current, prefix, tmpData, offset, current.length - prefix);
+        offset += current.length - prefix;
+        index++;
+        previous = current;
+      }
+      encoded.set(i, null);
+    }
+    encoded.clear();
+    data = ByteBuffer.wrap(tmpData);
+  }
+
+  /**
+   * @param data Strings (front coded by blocks).
+   * @param blocks Offset of each block in the data.
+   * @param size Number of strings.
+   * @param maxLength Length of the longest string (in bytes).
+   */
+  private CompactStringSet(ByteBuffer data, int[] blocks, int size, int maxLength) {
+    this.data = data;
+    this.blocks = blocks;
+    this.size = size;
+    this.maxLength = maxLength;
+  }
+
+  /**
+   * @param strings Strings.
+   * @return UTF-8 encoded strings.
+   */
+  private static List<byte[]> createEncoded(Collection<String> strings) {
+    List<byte[]> encoded = new ArrayList<byte[]>(strings.size());
+    for (String string : strings) {
+      if (string != null) {
+        encoded.add(string.getBytes(UTF8));
+      }
+    }
+    return encoded;
+  }
+
+  /**
+   * @return Number of strings.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @param string String.
+   * @return True if the string is in the set.
+   */
+  public boolean contains(String string) {
+    if ((string == null) || (size == 0)) {
+      return false;
+    }
+    byte[] key = string.getBytes(UTF8);
+    if (key.length > maxLength) {
+      return false;
+    }
+
+    // Find the block (first string of each block is stored entirely)
+    byte[] buffer = new byte[maxLength];
+    int[] position = new int[1];
+    int low = 0;
+    int high = blocks.length - 1;
+    while (low < high) {
+      int middle = (low + high + 1) >>> 1;
+      position[0] = blocks[middle];
+      readVarInt(position);
+      int length = readVarInt(position);
+      readBytes(position[0], buffer, 0, length);
+      int comparison = compareBytes(buffer, length, key);
+      if (comparison == 0) {
+        return true;
+      }
+      if (comparison < 0) {
+        low = middle;
+      } else {
+        high = middle - 1;
+      }
+    }
+
+    // Scan the block
+    position[0] = blocks[low];
+    int end = (low + 1 < blocks.length) ? blocks[low + 1] : data.limit();
+    int length = 0;
+    while (position[0] < end) {
+      int prefix = readVarInt(position);
+      int suffix = readVarInt(position);
+      readBytes(position[0], buffer, prefix, suffix);
+      position[0] += suffix;
+      length = prefix + suffix;
+      int comparison = compareBytes(buffer, length, key);
+      if (comparison == 0) {
+        return true;
+      }
+      if (comparison > 0) {
+        return false;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return Iterator on the strings (in the order of their UTF-8 encoding).
+   * @see java.lang.Iterable#iterator()
+   */
+  @Override
+  public Iterator<String> iterator() {
+    return new Iterator<String>() {
+
+      /** Buffer holding the current string */
+      private final byte[] buffer = new byte[maxLength];
+
+      /** Position of the next string in the data */
+      private final int[] position = new int[1];
+
+      /** Index of the next string */
+      private int index = 0;
+
+      @Override
+      public boolean hasNext() {
+        return index < size;
+      }
+
+      @Override
+      public String next() {
+        if (index >= size) {
+          throw new NoSuchElementException();
+        }
+        int prefix = readVarInt(position);
+        int suffix = readVarInt(position);
+        readBytes(position[0], buffer, prefix, suffix);
+        position[0] += suffix;
+        index++;
+        return new String(buffer, 0, prefix + suffix, UTF8);
+      }
+
+      @Override
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+    };
+  }
+
+  // ==========================================================================
+  // Files
+  // ==========================================================================
+
+  /**
+   * Write the set to a file.
+   *
+   * @param file File.
+   * @throws IOException
+   */
+  public void write(File file) throws IOException {
+    DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+    try {
+      output.writeInt(FILE_MAGIC);
+      output.writeInt(FILE_VERSION);
+      output.writeInt(size);
+      output.writeInt(maxLength);
+      output.writeInt(blocks.length);
+      output.writeInt(data.limit());
+      for (int block : blocks) {
+        output.writeInt(block);
+      }
+      for (int i = 0; i < data.limit(); i++) {
+        output.writeByte(data.get(i));
+      }
+    } finally {
+      output.close();
+    }
+  }
+
+  /**
+   * Read a set from a file written by {@link #write(File)}.
+   * The strings stay in the file which is memory-mapped.
+   *
+   * @param file File.
+   * @return Set of strings.
+   * @throws IOException
+   */
+  public static CompactStringSet read(File file) throws IOException {
+    RandomAccessFile input = new RandomAccessFile(file, "r");
+    try {
+      FileChannel channel = input.getChannel();
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if ((buffer.limit() < FILE_HEADER_SIZE) ||
+          (buffer.getInt() != FILE_MAGIC) ||
+          (buffer.getInt() != FILE_VERSION)) {
+        throw new IOException("Unknown format for " + file.getName());
+      }
+      int size = buffer.getInt();
+      int maxLength = buffer.getInt();
+      int blockCount = buffer.getInt();
+      int dataLength = buffer.getInt();
+      if ((size < 0) || (maxLength < 0) || (dataLength < 0) ||
+          (blockCount != (size + BLOCK_SIZE - 1) / BLOCK_SIZE) ||
+          ((long) buffer.limit() != FILE_HEADER_SIZE + 4L * blockCount + dataLength)) {
+        throw new IOException("Incorrect size for " + file.getName());
+      }
+      int[] blocks = new int[blockCount];
+      for (int i = 0; i < blockCount; i++) {
+        blocks[i] = buffer.getInt();
+        if ((blocks[i] < 0) || (blocks[i] >= dataLength)) {
+          throw new IOException("Incorrect block for " + file.getName());
+        }
+      }
+      return new CompactStringSet(buffer.slice(), blocks, size, maxLength);
+    } finally {
+      input.close();
+    }
+  }
+
+  // ==========================================================================
+  // Builder
+  // ==========================================================================
+
+  /**
+   * Builder for a set of strings, so that strings can be added
+   * as they are found without keeping them as String objects.
+   */
+  public static class Builder {
+
+    /**
+     * UTF-8 encoded strings.
+     */
+    private List<byte[]> encoded = new ArrayList<byte[]>();
+
+    /**
+     * @param string String to be added to the set.
+     */
+    public void add(String string) {
+      if (string != null) {
+        encoded.add(string.getBytes(UTF8));
+      }
+    }
+
+    /**
+     * @return Set of strings added to the builder.
+     */
+    public CompactStringSet build() {
+      CompactStringSet result = new CompactStringSet(encoded);
+      encoded = new ArrayList<byte[]>();
+      return result;
+    }
+  }
+
+  // ==========================================================================
+  // Utilities
+  // ==========================================================================
+
+  /**
+   * @param bytes1 First array.
+   * @param length1 Length of the first array.
+   * @param bytes2 Second array.
+   * @return Comparison of the arrays (unsigned bytes).
+   */
+  private static int compareBytes(byte[] bytes1, int length1, byte[] bytes2) {
+    int length = Math.min(length1, bytes2.length);
+    for (int i = 0; i < length; i++) {
+      int diff = (bytes1[i] & 0xFF) - (bytes2[i] & 0xFF);
+      if (diff != 0) {
+        return diff;
+      }
+    }
+    return length1 - bytes2.length;
+  }
+
+  /**
+   * @param bytes1 First array.
+   * @param bytes2 Second array.
+   * @return Length of the common prefix.
+   */
+  private static int getCommonPrefix(byte[] bytes1, byte[] bytes2) {
+    int length = Math.min(bytes1.length, bytes2.length);
+    int prefix = 0;
+    while ((prefix < length) && (bytes1[prefix] == bytes2[prefix])) {
+      prefix++;
+    }
+    return prefix;
+  }
+
+  /**
+   * @param value Value.
+   * @return Number of bytes for writing the value.
+   */
+  private static int getVarIntLength(int value) {
+    int length = 1;
+    while (value >= 0x80) {
+      value >>>= 7;
+      length++;
+    }
+    return length;
+  }
+
+  /**
+   * @param bytes Array in which the value is written.
+   * @param value Value.
+   * @param offset Offset where the value is written.
+   * @return Offset after the value.
+   */
+  private static int writeVarInt(byte[] bytes, int value, int offset) {
+    while (value >= 0x80) {
+      bytes[offset] = (byte) ((value & 0x7F) | 0x80);
+      offset++;
+      value >>>= 7;
+    }
+    bytes[offset] = (byte) value;
+    return offset + 1;
+  }
+
+  /**
+   * @param position Position where the value is read (updated to the position after the value).
+   * @return Value.
+   */
+  private int readVarInt(int[] position) {
+    int value = 0;
+    int shift = 0;
+    while (true) {
+      byte current = data.get(position[0]);
+      position[0]++;
+      value |= (current & 0x7F) << shift;
+      if ((current & 0x80) == 0) {
+        return value;
+      }
+      shift += 7;
+    }
+  }
+
+  /**
+   * @param offset Offset of the bytes in the data.
+   * @param buffer Buffer in which the bytes are copied.
+   * @param bufferOffset Offset in the buffer.
+   * @param length Number of bytes.
+   */
+  private void readBytes(int offset, byte[] buffer, int bufferOffset, int length) {
+    for (int i = 0; i < length; i++) {
+      buffer[bufferOffset + i] = data.get(offset + i);
+    }
+  }
+}
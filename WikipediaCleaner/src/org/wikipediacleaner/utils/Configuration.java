@@ -12,10 +12,12 @@ import java.awt.Component;
 import java.awt.Window;
 import java.awt.event.WindowEvent;
 import java.awt.event.WindowListener;
+import java.io.File;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -45,6 +47,7 @@ public class Configuration implements WindowListener {
   // Array properties
   public  final static String  ARRAY_CHECK_SELECTION     = "CheckWikiSelection";
   public  final static String  ARRAY_CHECK_BOT_SELECTION = "CheckBotSelection";
+  public  final static String  ARRAY_CHECK_MARK_PENDING  = "CheckMarkPending";
   public  final static String  ARRAY_FILTER_NS           = "FilterNS";
   public  final static String  ARRAY_INTERESTING_PAGES   = "InterestingPages";
   public  final static String  ARRAY_SORT_ORDERS         = "SortOrders";
@@ -602,6 +605,33 @@ public class Configuration implements WindowListener {
     }
   }
 
+  /**
+   * @param wikipedia Wikipedia.
+   * @param property Property name.
+   * @param valueClass Pojo class.
+   * @return Pojos indexed by their name.
+   */
+  public Map<String, Object> getPojoMap(
+      EnumWikipedia wikipedia, String property, Class<?> valueClass) {
+    Map<String, Object> result = new HashMap<String, Object>();
+    try {
+      if ((getPreferences(wikipedia) != null) &&
+          (property != null) &&
+          (getPreferences(wikipedia).nodeExists(property))) {
+        Preferences globalNode = getPreferences(wikipedia).node(property);
+        for (String name : globalNode.childrenNames()) {
+          Object value = getPojo(wikipedia, property, name, valueClass);
+          if (value != null) {
+            result.put(name, value);
+          }
+        }
+      }
+    } catch (BackingStoreException e) {
+      //
+    }
+    return result;
+  }
+
   /**
    * @param wikipedia Wikipedia.
    * @param property Property name.
@@ -1073,6 +1103,36 @@ public class Configuration implements WindowListener {
     }
   }
 
+  // ==========================================================================
+  // Cache management
+  // ==========================================================================
+
+  /**
+   * Name of the directory holding the cache (in the user home directory).
+   */
+  private final static String CACHE_DIRECTORY = ".WPCleaner" + File.separator + "cache";
+
+  /**
+   * @param wikipedia Wikipedia.
+   * @return Directory for the data kept between sessions for the wiki (null if not available).
+   */
+  public File getCacheDirectory(EnumWikipedia wikipedia) {
+    if (wikipedia == null) {
+      return null;
+    }
+    String home = System.getProperty("user.home");
+    if (home == null) {
+      return null;
+    }
+    File directory = new File(
+        new File(home, CACHE_DIRECTORY),
+        wikipedia.getSettings().getCode());
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      return null;
+    }
+    return directory;
+  }
+
   // ==========================================================================
   // Window management
   // ==========================================================================
@@ -43,6 +43,7 @@ public enum ConfigurationValueBoolean {
   IGNORE_DAB_USER_NS("IgnoreDabUserNS", false),
   FORCE_HTTP_API("ForceHttpApi", false),
   FORCE_WATCH("ForceWatch", false),
+  JSON_API("JsonApi", false),
   REMEMBER_LAST_PAGE("RememberLastPage", true),
   RESTORE_WINDOW("RestoreWindow", true),
   SAVE_LAST_REPLACEMENT("SaveLastReplacement", false),
@@ -19,6 +19,7 @@ public enum ConfigurationValueInteger {
   ANALYSIS_UNDO_LVL("AnalysisUndoLevels", 10),
   CHECK_BOT_NB_PAGES("CheckBotNbPages", 100),
   CHECK_NB_ERRORS("CheckNbErrors", 100),
+  CHECK_NB_THREADS("CheckNbThreads", 4),
   CONFIG_VERSION("ConfigurationVersion", 1),
   FONT_SIZE("FontSize", 0),
   INTERROG_THREAD("InterrogationThreads", 30),
@@ -0,0 +1,299 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+
+
+/**
+ * Cache of values kept in files between sessions.
+ *
+ * Each value is memorized with a version (for example the revision id of a page),
+ * and is only returned for the same version.
+ */
+public class FileCache {
+
+  private final static Log log = LogFactory.getLog(FileCache.class);
+
+  /**
+   * Encoding of the files.
+   */
+  private final static Charset UTF8 = Charset.forName("UTF-8");
+
+  /**
+   * Suffix of the files.
+   */
+  private final static String SUFFIX = ".txt";
+
+  /**
+   * Directory holding the files (null if not available).
+   */
+  private final File directory;
+
+  /**
+   * @param wiki Wiki.
+   * @param name Name of the cache.
+   */
+  public FileCache(EnumWikipedia wiki, String name) {
+    File tmpDirectory = Configuration.getConfiguration().getCacheDirectory(wiki);
+    if (tmpDirectory != null) {
+      tmpDirectory = new File(tmpDirectory, name);
+      if (!tmpDirectory.isDirectory() && !tmpDirectory.mkdirs()) {
+        tmpDirectory = null;
+      }
+    }
+    directory = tmpDirectory;
+  }
+
+  /**
+   * @param key Key.
+   * @param version Version.
+   * @return Value memorized for the key and the version (null if not available).
+   */
+  public String get(String key, String version) {
+    if ((directory == null) || (key == null) || (version == null)) {
+      return null;
+    }
+    File file = getFile(key);
+    if ((file == null) || !file.isFile()) {
+      return null;
+    }
+    String text = null;
+    try {
+      text = readFile(file);
+    } catch (IOException e) {
+      log.warn("Unable to read " + file.getName() + ": " + e.getMessage());
+      return null;
+    }
+
+    // Check key and version, written on the first two lines
+    int keyEnd = text.indexOf('\n');
+    if (keyEnd < 0) {
+      return null;
+    }
+    int versionEnd = text.indexOf('\n', keyEnd + 1);
+    if ((versionEnd < 0) ||
+        !encode(key).equals(text.substring(0, keyEnd)) ||
+        !encode(version).equals(text.substring(keyEnd + 1, versionEnd))) {
+      return null;
+    }
+    return text.substring(versionEnd + 1);
+  }
+
+  /**
+   * @param key Key.
+   * @param version Version.
+   * @param value Value to be memorized for the key and the version.
+   */
+  public void put(String key, String version, String value) {
+    if ((directory == null) || (key == null) || (version == null) || (value == null)) {
+      return;
+    }
+    File file = getFile(key);
+    if (file == null) {
+      return;
+    }
+    File tmpFile = null;
+    try {
+      tmpFile = File.createTempFile("cache", ".tmp", directory);
+      Writer writer = new OutputStreamWriter(new FileOutputStream(tmpFile), UTF8);
+      try {
+        writer.write(encode(key));
+        writer.write('\n');
+        writer.write(encode(version));
+        writer.write('\n');
+        writer.write(value);
+      } finally {
+        writer.close();
+      }
+      if (!tmpFile.renameTo(file)) {
+        file.delete();
+        if (!tmpFile.renameTo(file)) {
+          throw new IOException("Unable to rename " + tmpFile.getName());
+        }
+      }
+    } catch (IOException e) {
+      log.warn("Unable to write " + file.getName() + ": " + e.getMessage());
+      if (tmpFile != null) {
+        tmpFile.delete();
+      }
+    }
+  }
+
+  /**
+   * @param key Key.
+   * @param version Version.
+   * @return Records memorized for the key and the version (null if not available).
+   */
+  public List<String[]> getRecords(String key, String version) {
+    String text = get(key, version);
+    if (text == null) {
+      return null;
+    }
+    List<String[]> records = new ArrayList<String[]>();
+    int begin = 0;
+    while (begin < text.length()) {
+      int end = text.indexOf('\n', begin);
+      if (end < 0) {
+        end = text.length();
+      }
+      String[] fields = text.substring(begin, end).split("\t", -1);
+      for (int i = 0; i < fields.length; i++) {
+        fields[i] = decode(fields[i]);
+      }
+      records.add(fields);
+      begin = end + 1;
+    }
+    return records;
+  }
+
+  /**
+   * @param key Key.
+   * @param version Version.
+   * @param records Records to be memorized for the key and the version.
+   */
+  public void putRecords(String key, String version, List<String[]> records) {
+    if (records == null) {
+      return;
+    }
+    StringBuilder text = new StringBuilder();
+    for (String[] fields : records) {
+      for (int i = 0; i < fields.length; i++) {
+        if (i > 0) {
+          text.append('\t');
+        }
+        text.append(encode(fields[i]));
+      }
+      text.append('\n');
+    }
+    put(key, version, text.toString());
+  }
+
+  /**
+   * @param key Key.
+   * @return File for the key (named after a digest of the key).
+   */
+  private File getFile(String key) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-1");
+      byte[] hash = digest.digest(key.getBytes(UTF8));
+      StringBuilder name = new StringBuilder(hash.length * 2 + SUFFIX.length());
+      for (byte b : hash) {
+        name.append(Character.forDigit((b >> 4) & 0xF, 16));
+        name.append(Character.forDigit(b & 0xF, 16));
+      }
+      name.append(SUFFIX);
+      return new File(directory, name.toString());
+    } catch (NoSuchAlgorithmException e) {
+      return null;
+    }
+  }
+
+  /**
+   * @param file File.
+   * @return Contents of the file.
+   * @throws IOException
+   */
+  private static String readFile(File file) throws IOException {
+    Reader reader = new InputStreamReader(new FileInputStream(file), UTF8);
+    try {
+      StringBuilder buffer = new StringBuilder((int) Math.min(file.length(), Integer.MAX_VALUE));
+      char[] chars = new char[4096];
+      int count;
+      while ((count = reader.read(chars)) >= 0) {
+        buffer.append(chars, 0, count);
+      }
+      return buffer.toString();
+    } finally {
+      reader.close();
+    }
+  }
+
+  /**
+   * @param value Value.
+   * @return Value on a single line without tabulations.
+   */
+  static String encode(String value) {
+    if (value == null) {
+      return "\\0";
+    }
+    StringBuilder result = new StringBuilder(value.length());
+    for (int i = 0; i < value.length(); i++) {
+      char current = value.charAt(i);
+      switch (current) {
+      case '\\':
+        result.append("\\\\");
+        break;
+      case '\t':
+        result.append("\\t");
+        break;
+      case '\n':
+        result.append("\\n");
+        break;
+      case '\r':
+        result.append("\\r");
+        break;
+      default:
+        result.append(current);
+      }
+    }
+    return result.toString();
+  }
+
+  /**
+   * @param value Value encoded by {@link #encode(String)}.
+   * @return Original value.
+   */
+  static String decode(String value) {
+    if ("\\0".equals(value)) {
+      return null;
+    }
+    if (value.indexOf('\\') < 0) {
+      return value;
+    }
+    StringBuilder result = new StringBuilder(value.length());
+    for (int i = 0; i < value.length(); i++) {
+      char current = value.charAt(i);
+      if ((current == '\\') && (i + 1 < value.length())) {
+        i++;
+        switch (value.charAt(i)) {
+        case 't':
+          result.append('\t');
+          break;
+        case 'n':
+          result.append('\n');
+          break;
+        case 'r':
+          result.append('\r');
+          break;
+        default:
+          result.append(value.charAt(i));
+        }
+      } else {
+        result.append(current);
+      }
+    }
+    return result.toString();
+  }
+}
@@ -0,0 +1,188 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.utils;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+
+/**
+ * Matcher for finding several strings at once in a text (Aho-Corasick automaton).
+ *
+ * The text is read only once, whatever the number of strings to find.
+ */
+public class MultipleStringMatcher {
+
+  /**
+   * For each state, characters leading to a child state (sorted).
+   */
+  private final char[][] childChars;
+
+  /**
+   * For each state, child states (same order as childChars).
+   */
+  private final int[][] childStates;
+
+  /**
+   * For each state, state for the longest proper suffix of the state.
+   */
+  private final int[] failures;
+
+  /**
+   * For each state, strings ending at this state (null if none).
+   */
+  private final int[][] outputs;
+
+  /**
+   * For each state, next state with strings ending at it in the suffix chain (-1 if none).
+   */
+  private final int[] outputLinks;
+
+  /**
+   * @param strings Strings to find.
+   *        Each string is identified by its position in the list.
+   */
+  public MultipleStringMatcher(List<String> strings) {
+
+    // Build the trie
+    List<TreeMap<Character, Integer>> tmpChildren = new ArrayList<TreeMap<Character, Integer>>();
+    List<List<Integer>> tmpOutputs = new ArrayList<List<Integer>>();
+    tmpChildren.add(new TreeMap<Character, Integer>());
+    tmpOutputs.add(null);
+    for (int num = 0; num < strings.size(); num++) {
+      String string = strings.get(num);
+      if ((string == null) || (string.length() == 0)) {
+        continue;
+      }
+      int state = 0;
+      for (int i = 0; i < string.length(); i++) {
+        Character c = Character.valueOf(string.charAt(i));
+        Integer child = tmpChildren.get(state).get(c);
+        if (child == null) {
+          child = Integer.valueOf(tmpChildren.size());
+          tmpChildren.add(new TreeMap<Character, Integer>());
+          tmpOutputs.add(null);
+          tmpChildren.get(state).put(c, child);
+        }
+        state = child.intValue();
+      }
+      if (tmpOutputs.get(state) == null) {
+        tmpOutputs.set(state, new ArrayList<Integer>());
+      }
+      tmpOutputs.get(state).add(Integer.valueOf(num));
+    }
+
+    // Compact the trie
+    int size = tmpChildren.size();
+    childChars = new char[size][];
+    childStates = new int[size][];
+    outputs = new int[size][];
+    for (int state = 0; state < size; state++) {
+      Map<Character, Integer> children = tmpChildren.get(state);
+      childChars[state] = new char[children.size()];
+      childStates[state] = new int[children.size()];
+      int i = 0;
+      for (Map.Entry<Character, Integer> child : children.entrySet()) {
+        childChars[state][i] = child.getKey().charValue();
+        childStates[state][i] = child.getValue().intValue();
+        i++;
+      }
+      List<Integer> output = tmpOutputs.get(state);
+      if (output != null) {
+        outputs[state] = new int[output.size()];
+        for (i = 0; i < output.size(); i++) {
+          outputs[state][i] = output.get(i).intValue();
+        }
+      }
+    }
+
+    // Compute failure and output links (breadth first)
+    failures = new int[size];
+    outputLinks = new int[size];
+    outputLinks[0] = -1;
+    LinkedList<Integer> queue = new LinkedList<Integer>();
+    for (int child : childStates[0]) {
+      failures[child] = 0;
+      outputLinks[child] = -1;
+      queue.add(Integer.valueOf(child));
+    }
+    while (!queue.isEmpty()) {
+      int state = queue.removeFirst().intValue();
+      for (int i = 0; i < childChars[state].length; i++) {
+        char c = childChars[state][i];
+        int child = childStates[state][i];
+        int failure = failures[state];
+        int next = getChild(failure, c);
+        while ((next < 0) && (failure != 0)) {
+          failure = failures[failure];
+          next = getChild(failure, c);
+        }
+        failures[child] = (next >= 0) ? next : 0;
+        int failureState = failures[child];
+        outputLinks[child] = (outputs[failureState] != null) ?
+            failureState : outputLinks[failureState];
+        queue.add(Integer.valueOf(child));
+      }
+    }
+  }
+
+  /**
+   * Find which strings are present in an area of a text.
+   *
+   * @param text Text.
+   * @param begin Begin of the area.
+   * @param end End of the area.
+   * @param found Strings entirely in the area (by their position in the list).
+   */
+  public void find(CharSequence text, int begin, int end, BitSet found) {
+    int state = 0;
+    for (int index = begin; index < end; index++) {
+      char c = text.charAt(index);
+      int next = getChild(state, c);
+      while ((next < 0) && (state != 0)) {
+        state = failures[state];
+        next = getChild(state, c);
+      }
+      state = (next >= 0) ? next : 0;
+      int output = (outputs[state] != null) ? state : outputLinks[state];
+      while (output >= 0) {
+        for (int num : outputs[output]) {
+          found.set(num);
+        }
+        output = outputLinks[output];
+      }
+    }
+  }
+
+  /**
+   * @param state Current state.
+   * @param c Character.
+   * @return Child state for the character (-1 if none).
+   */
+  private int getChild(int state, char c) {
+    char[] chars = childChars[state];
+    int low = 0;
+    int high = chars.length - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      char value = chars[middle];
+      if (value < c) {
+        low = middle + 1;
+      } else if (value > c) {
+        high = middle - 1;
+      } else {
+        return childStates[state][middle];
+      }
+    }
+    return -1;
+  }
+}
@@ -92,18 +92,7 @@ public class TextProviderUrlTitle implements TextProvider {
           for (Pattern pTitle : pTitles) {
             m = pTitle.matcher(text);
             if (m.find() == true) {
-              String title = m.group(1).trim();
-              for (HtmlCharacters htmlChar : HtmlCharacters.values()) {
-                if (!HtmlCharacters.SYMBOL_AMPERSAND.equals(htmlChar)) {
-                  title = title.replaceAll("&#" + htmlChar.getNumber() + ";", "" + htmlChar.getValue());
-                  if (htmlChar.getNumber() != htmlChar.getAlternativeNumber()) {
-                    title = title.replaceAll("&#" + htmlChar.getAlternativeNumber() + ";", "" + htmlChar.getValue());
-                  }
-                  if (htmlChar.getName() != null) {
-                    title = title.replaceAll("&" + htmlChar.getName() + ";", "" + htmlChar.getValue());
-                  }
-                }
-              }
+              String title = replaceHtmlCharacters(m.group(1).trim());
               result.add(title);
             }
           }
@@ -132,4 +121,48 @@ public class TextProviderUrlTitle implements TextProvider {
     return result;
   }
 
+  /**
+   * Replace HTML entities (except ampersand) by their values.
+   * 
+   * @param text Text.
+   * @return Text with HTML entities replaced.
+   */
+  private static String replaceHtmlCharacters(String text) {
+    int ampersandIndex = text.indexOf('&');
+    if (ampersandIndex < 0) {
+      return text;
+    }
+    StringBuilder buffer = new StringBuilder(text.length());
+    int lastIndex = 0;
+    while (ampersandIndex >= 0) {
+      int semicolonIndex = text.indexOf(';', ampersandIndex + 1);
+      if (semicolonIndex < 0) {
+        break;
+      }
+      HtmlCharacters htmlChar = null;
+      String entity = text.substring(ampersandIndex + 1, semicolonIndex);
+      if (entity.startsWith("#")) {
+        if ((entity.length() > 1) && (entity.length() < 8) &&
+            (entity.charAt(1) >= '1') && (entity.charAt(1) <= '9')) {
+          try {
+            htmlChar = HtmlCharacters.getCharacterByEntityNumber(Integer.parseInt(entity.substring(1)));
+          } catch (NumberFormatException e) {
+            // Not a numeric entity
+          }
+        }
+      } else {
+        htmlChar = HtmlCharacters.getCharacterByEntityName(entity);
+      }
+      if ((htmlChar != null) && !HtmlCharacters.SYMBOL_AMPERSAND.equals(htmlChar)) {
+        buffer.append(text, lastIndex, ampersandIndex);
+        buffer.append(htmlChar.getValue());
+        lastIndex = semicolonIndex + 1;
+        ampersandIndex = text.indexOf('&', lastIndex);
+      } else {
+        ampersandIndex = text.indexOf('&', ampersandIndex + 1);
+      }
+    }
+    buffer.append(text, lastIndex, text.length());
+    return buffer.toString();
+  }
 }
@@ -0,0 +1,160 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.check.algorithm;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.wikipediacleaner.api.check.Actionnable;
+import org.wikipediacleaner.api.check.CheckErrorResult;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.constants.TestWikiConfiguration;
+import org.wikipediacleaner.api.constants.WPCConfiguration;
+import org.wikipediacleaner.api.data.DataManager;
+import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.data.PageAnalysis;
+import org.wikipediacleaner.api.data.Suggestion;
+import org.wikipediacleaner.api.data.SuggestionMatcher;
+
+
+/**
+ * Test class for CheckErrorAlgorithm501.
+ */
+public class CheckErrorAlgorithm501Test {
+
+  /**
+   * Suggestions: pattern, true for AWB patterns, replacement.
+   */
+  private final static String[][] SUGGESTIONS = {
+    { "\\b(T|t)eh\\b", "false", "$1he" },
+    { "\\b(A|a)bsense\\b", "false", "$1bsence" },
+    { "\\b(A|a)ccessable\\b", "false", "$1ccessible" },
+    { "\\b(U|u)ntill\\b", "false", "$1ntil" },
+    { "\\b(A|a)lot\\b", "false", "$1 lot" },
+    { "\\b(the|The) the\\b", "false", "$1" },
+    { "\\b(R|r)ecieve(d|s)?\\b", "false", "$1eceive$2" },
+    { "(?i)\\bfortifcations\\b", "false", "fortifications" },
+    { "\\[\\[teh ", "false", "[[the " },
+    { "\\{\\{(C|c)ite book \\|", "false", "{{$1ite book|" },
+    { "<ref name=\"prison\" />", "false", "<ref name=prison />" },
+    { "\\b(A|a)ccomodat(e|ed|es|ing|ion|ions)\\b", "true", "$1ccommodat$2" },
+    { "\\b([Oo])ccurence\\b", "true", "$1ccurrence" },
+  };
+
+  /**
+   * Text of the page.
+   */
+  private String pageText;
+
+  /**
+   * Wiki.
+   */
+  private EnumWikipedia wiki;
+
+  @Before
+  public void beforeTest() throws Exception {
+    File testFile = new File("test/org/wikipediacleaner/api/check/algorithm/CheckErrorAlgorithm501Test_1.txt");
+    Reader reader = new InputStreamReader(new FileInputStream(testFile), "UTF-8");
+    try {
+      StringBuilder buffer = new StringBuilder();
+      char[] chars = new char[4096];
+      int count;
+      while ((count = reader.read(chars)) >= 0) {
+        buffer.append(chars, 0, count);
+      }
+      pageText = buffer.toString();
+    } catch (IOException e) {
+      fail("Error reading file: " + testFile + "\n" + e.getMessage());
+    } finally {
+      reader.close();
+    }
+
+    // Configure suggestions
+    wiki = TestWikiConfiguration.getWiki();
+    Map<String, Suggestion> suggestions = new HashMap<String, Suggestion>();
+    for (String[] element : SUGGESTIONS) {
+      Suggestion suggestion = Suggestion.createSuggestion(
+          element[0], Boolean.parseBoolean(element[1]), "Test#Test");
+      suggestion.addReplacement(element[2], false);
+      suggestion.setComment(element[0]);
+      suggestions.put(element[0], suggestion);
+    }
+    setField(wiki.getConfiguration(), "suggestions", suggestions);
+    setField(wiki.getConfiguration(), "suggestionMatcher", null);
+    wiki.getCWConfiguration().setGeneralConfiguration(
+        new StringReader("error_501_prio_script=3 END"));
+  }
+
+  @Test
+  public void testSameResultsWithoutMatcher() throws Exception {
+    List<String> withMatcher = analyze();
+    assertFalse(withMatcher.isEmpty());
+
+    // A matcher built without suggestions lets every suggestion be tried everywhere
+    setField(
+        wiki.getConfiguration(), "suggestionMatcher",
+        new SuggestionMatcher(new ArrayList<Suggestion>()));
+    List<String> withoutMatcher = analyze();
+    assertEquals(withoutMatcher, withMatcher);
+  }
+
+  /**
+   * @return Description of the errors found in the page.
+   */
+  private List<String> analyze() {
+    Page page = DataManager.getPage(wiki, "Saint-Martin-de-Ré", null, null, null);
+    PageAnalysis analysis = page.getAnalysis(pageText, false);
+    analysis.shouldCheckSpelling(true);
+    List<CheckErrorResult> errors = new ArrayList<CheckErrorResult>();
+    CheckErrorAlgorithm501 algorithm = new CheckErrorAlgorithm501();
+    algorithm.setConfiguration(wiki.getCWConfiguration().getErrorConfiguration(501));
+    algorithm.analyze(analysis, errors, false);
+    Collections.sort(errors);
+    List<String> result = new ArrayList<String>();
+    for (CheckErrorResult error : errors) {
+      StringBuilder description = new StringBuilder();
+      description.append(error.getStartPosition());
+      description.append("-");
+      description.append(error.getEndPosition());
+      description.append(": ");
+      description.append(pageText.substring(error.getStartPosition(), error.getEndPosition()));
+      for (Actionnable action : error.getPossibleActions()) {
+        description.append(" | ");
+        description.append(action.getName());
+      }
+      result.add(description.toString());
+    }
+    return result;
+  }
+
+  /**
+   * @param object Object.
+   * @param name Name of the field.
+   * @param value Value of the field.
+   * @throws Exception
+   */
+  private static void setField(Object object, String name, Object value) throws Exception {
+    Field field = object.getClass().getDeclaredField(name);
+    field.setAccessible(true);
+    field.set(object, value);
+  }
+}
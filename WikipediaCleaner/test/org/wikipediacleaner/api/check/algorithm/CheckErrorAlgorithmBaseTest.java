@@ -0,0 +1,106 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.check.algorithm;
+
+import static org.junit.Assert.*;
+
+import java.util.Collection;
+
+import org.junit.Test;
+import org.wikipediacleaner.api.check.CheckErrorResult;
+import org.wikipediacleaner.api.constants.TestWikiConfiguration;
+import org.wikipediacleaner.api.data.DataManager;
+import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.data.PageAnalysis;
+
+
+/**
+ * Test class for the global fixes of CheckErrorAlgorithmBase.
+ */
+public class CheckErrorAlgorithmBaseTest {
+
+  /**
+   * Algorithm reporting fixed errors: begin, end and replacement.
+   */
+  private static class FixedAlgorithm extends CheckErrorAlgorithmBase {
+
+    /** Errors */
+    private final Object[][] fixedErrors;
+
+    /**
+     * @param fixedErrors Errors: begin, end and replacement.
+     */
+    FixedAlgorithm(Object[][] fixedErrors) {
+      super("Test");
+      this.fixedErrors = fixedErrors;
+    }
+
+    /**
+     * @param analysis Page analysis.
+     * @param errors Errors found in the page.
+     * @param onlyAutomatic True if analysis could be restricted to errors automatically fixed.
+     * @return Flag indicating if the error was found.
+     * @see org.wikipediacleaner.api.check.algorithm.CheckErrorAlgorithm#analyze(org.wikipediacleaner.api.data.PageAnalysis, java.util.Collection, boolean)
+     */
+    @Override
+    public boolean analyze(
+        PageAnalysis analysis,
+        Collection<CheckErrorResult> errors, boolean onlyAutomatic) {
+      for (Object[] fixedError : fixedErrors) {
+        CheckErrorResult error = new CheckErrorResult(
+            this, analysis.getPage(),
+            ((Integer) fixedError[0]).intValue(), ((Integer) fixedError[1]).intValue());
+        error.addReplacement((String) fixedError[2], true);
+        errors.add(error);
+      }
+      return (fixedErrors.length > 0);
+    }
+  }
+
+  /**
+   * @param text Text.
+   * @return Analysis of the text.
+   */
+  private static PageAnalysis createAnalysis(String text) {
+    Page page = DataManager.getPage(
+        TestWikiConfiguration.getWiki(), "Test", null, null, null);
+    return page.getAnalysis(text, false);
+  }
+
+  @Test
+  public void testReplacements() {
+    FixedAlgorithm algorithm = new FixedAlgorithm(new Object[][] {
+        { 0, 3, "A" }, { 10, 15, "red" }, { 40, 43, "cat" } });
+    PageAnalysis analysis = createAnalysis("The quick brown fox jumps over the lazy dog.");
+    String expected = "A quick red fox jumps over the lazy cat.";
+    assertEquals(expected, algorithm.fixUsingFirstReplacement(null, analysis));
+    assertEquals(expected, algorithm.fixUsingAutomaticReplacement(analysis));
+    assertEquals(expected, algorithm.fixUsingAutomaticBotReplacement(analysis));
+    assertEquals(" quick  fox jumps over the lazy .", algorithm.fixUsingRemove(null, analysis));
+  }
+
+  @Test
+  public void testInsertionsAtSameIndex() {
+    // Insertions at the same index are applied in the order of the errors
+    FixedAlgorithm algorithm = new FixedAlgorithm(new Object[][] {
+        { 9, 9, "</ref>" }, { 9, 9, "</small>" }, { 9, 9, "</ref>" } });
+    PageAnalysis analysis = createAnalysis("Text<ref>Ref\n");
+    assertEquals("Text<ref></ref></small>Ref\n", algorithm.fixUsingFirstReplacement(null, analysis));
+  }
+
+  @Test
+  public void testOverlappingErrors() {
+    // Only the first of overlapping errors is fixed
+    FixedAlgorithm algorithm = new FixedAlgorithm(new Object[][] {
+        { 4, 15, "slow brown" }, { 10, 19, "red cat" }, { 20, 25, "runs" } });
+    PageAnalysis analysis = createAnalysis("The quick brown fox jumps over the lazy dog.");
+    assertEquals(
+        "The slow brown fox runs over the lazy dog.",
+        algorithm.fixUsingFirstReplacement(null, analysis));
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.constants;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.wikipediacleaner.api.data.Interwiki;
+import org.wikipediacleaner.api.data.Language;
+import org.wikipediacleaner.api.data.MagicWord;
+import org.wikipediacleaner.api.data.Namespace;
+
+
+/**
+ * Configuration of a wiki for tests, without retrieving it from the wiki.
+ *
+ * English Wikipedia is configured with its usual namespaces,
+ * a few languages and interwikis, and all magic words.
+ */
+public class TestWikiConfiguration {
+
+  /**
+   * Titles of the namespaces.
+   */
+  private final static String[] NAMESPACES = {
+    "", "Talk", "User", "User talk", "Wikipedia", "Wikipedia talk",
+    "File", "File talk", "MediaWiki", "MediaWiki talk",
+    "Template", "Template talk", "Help", "Help talk",
+    "Category", "Category talk",
+  };
+
+  /**
+   * True if the configuration has been done.
+   */
+  private static boolean initialized = false;
+
+  /**
+   * @return Wiki configured for tests.
+   */
+  public static synchronized EnumWikipedia getWiki() {
+    EnumWikipedia wiki = EnumWikipedia.EN;
+    if (initialized) {
+      return wiki;
+    }
+    WikiConfiguration config = wiki.getWikiConfiguration();
+
+    // Namespaces
+    List<Namespace> namespaces = new ArrayList<Namespace>();
+    for (int i = 0; i < NAMESPACES.length; i++) {
+      namespaces.add(new Namespace(
+          Integer.toString(i), NAMESPACES[i], NAMESPACES[i],
+          EnumCaseSensitiveness.FIRST_LETTER, (i % 2) == 1));
+    }
+    namespaces.get(Namespace.IMAGE).addAlias("Image");
+    config.setNamespaces(namespaces);
+
+    // Languages and interwikis
+    config.setLanguages(Arrays.asList(
+        new Language("en", "English"),
+        new Language("fr", "French"),
+        new Language("de", "German")));
+    config.setInterwikis(Arrays.asList(
+        new Interwiki("en", true, "en", "//en.wikipedia.org/wiki/$1"),
+        new Interwiki("fr", true, "fr", "//fr.wikipedia.org/wiki/$1"),
+        new Interwiki("de", true, "de", "//de.wikipedia.org/wiki/$1"),
+        new Interwiki("wikt", true, null, "//en.wiktionary.org/wiki/$1")));
+
+    // Magic words
+    Map<String, MagicWord> magicWords = new HashMap<String, MagicWord>();
+    for (Field field : MagicWord.class.getFields()) {
+      if (Modifier.isStatic(field.getModifiers()) &&
+          (field.getType() == String.class)) {
+        try {
+          String name = (String) field.get(null);
+          String upperName = name.toUpperCase();
+          magicWords.put(name, new MagicWord(name, Arrays.asList(
+              upperName, "__" + upperName + "__", upperName + ":",
+              "#" + name + ":", "#" + name), false));
+        } catch (IllegalAccessException e) {
+          // Public field
+        }
+      }
+    }
+    config.setMagicWords(magicWords);
+
+    initialized = true;
+    return wiki;
+  }
+
+  /**
+   * Utility class.
+   */
+  private TestWikiConfiguration() {
+    // Nothing to do
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.data;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.constants.TestWikiConfiguration;
+
+
+/**
+ * Test class for KnownPages.
+ */
+public class KnownPagesTest {
+
+  @Test
+  public void testGetPage() {
+    EnumWikipedia wiki = TestWikiConfiguration.getWiki();
+    Page paris = new Page(wiki, "Paris");
+    Page lyon = new Page(wiki, "Lyon");
+    KnownPages knownPages = new KnownPages();
+    knownPages.add(paris);
+    knownPages.add(lyon);
+
+    // Pages found through the index
+    assertSame(paris, DataManager.getPage(wiki, "Paris", null, null, knownPages));
+    assertSame(paris, DataManager.getPage(wiki, "paris", null, null, knownPages));
+    assertSame(lyon, DataManager.getPage(wiki, "Lyon", null, null, knownPages));
+    Page page = DataManager.getPage(wiki, "Nantes", null, null, knownPages);
+    assertNotSame(lyon, page);
+    assertEquals("Nantes", page.getTitle());
+
+    // Modifications of the list
+    Page nantes = new Page(wiki, "Nantes");
+    knownPages.add(nantes);
+    assertSame(nantes, DataManager.getPage(wiki, "Nantes", null, null, knownPages));
+    Page marseille = new Page(wiki, "Marseille");
+    knownPages.set(1, marseille);
+    assertSame(marseille, DataManager.getPage(wiki, "Marseille", null, null, knownPages));
+    assertNotSame(lyon, DataManager.getPage(wiki, "Lyon", null, null, knownPages));
+    knownPages.clear();
+    knownPages.add(lyon);
+    knownPages.add(marseille);
+    knownPages.add(nantes);
+    assertNotSame(paris, DataManager.getPage(wiki, "Paris", null, null, knownPages));
+    assertSame(lyon, DataManager.getPage(wiki, "Lyon", null, null, knownPages));
+
+    // Modifications of the titles
+    lyon.setTitle("Lyon (France)");
+    assertSame(lyon, DataManager.getPage(wiki, "Lyon (France)", null, null, knownPages));
+    assertNotSame(lyon, DataManager.getPage(wiki, "Lyon", null, null, knownPages));
+  }
+}
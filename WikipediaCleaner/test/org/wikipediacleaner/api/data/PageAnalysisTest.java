@@ -0,0 +1,293 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.data;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.constants.TestWikiConfiguration;
+
+
+/**
+ * Test class for the incremental analysis of PageAnalysis.
+ *
+ * The incremental analysis of a modified text must give the same result
+ * as the full analysis of the text.
+ */
+public class PageAnalysisTest {
+
+  /**
+   * Texts that can be inserted by random modifications.
+   */
+  private final static String[] INSERTIONS = {
+    "a", " ", "text", "\n", "\n\n", "[", "]", "[[", "]]", "{{", "}}", "{{{", "}}}",
+    "|", "=", "==", ":", "__", "__NOTOC__", "[[Paris]]", "{{lang|fr|Paris}}",
+    "[http://www.example.org/ link]", "http://www.example.org/ ",
+    "\n== Title ==\n", "[[File:Example.jpg|thumb|Caption]]", "{{#if:x|y}}",
+  };
+
+  @Test
+  public void testModifications() throws IOException {
+    String text = readFile("PageAnalysisTest_1.txt");
+
+    // Modifications of simple text
+    checkIncremental(text, "painter, lived", "painter, who lived", true);
+    checkIncremental(text, "Tourism is now", "Tourism has become", true);
+    checkIncremental(text, "Official website", "", true);
+
+    // Modifications of the structure of the page
+    checkIncremental(text, "the association", "the [[association (France)|association]]", true);
+    checkIncremental(text, "{{citation needed|date=March 2013}}", "", true);
+    checkIncremental(text, "main activity.", "main activity.\n\n== Economy ==\nTourism.", true);
+    checkIncremental(text, "|postal code            = 17630", "|postal code = [[17630]]", true);
+    checkIncremental(text, "{{fr icon}}", "{{fr icon}} {{{1}}}", true);
+    checkIncremental(text, "[[Category:Île de Ré|Flotte]]", "[[Category:Île de Ré]]", true);
+
+    // Modifications that can't be analyzed incrementally
+    checkIncremental(text, "{{Reflist|30em}}", "{{Reflist|30em", null);
+    checkIncremental(text, "[[Marie Durand]]", "[[Marie Durand", null);
+  }
+
+  @Test
+  public void testUnmatchedOpenings() throws IOException {
+    String text = readFile("PageAnalysisTest_2.txt");
+
+    // Before unmatched openings, the structure can be modified
+    checkIncremental(text, "| Country ||", "| [[Country]] ||", true);
+
+    // After unmatched openings, only simple text can be modified
+    checkIncremental(text, "Name of the item", "Name of the element", true);
+    checkIncremental(text, "Name of the item", "Name of the ]] item", false);
+    checkIncremental(text, "Text of the quote.", "Text of the }} quote.", false);
+  }
+
+  @Test
+  public void testRandomModifications() throws IOException {
+    for (String fileName : new String[] { "PageAnalysisTest_1.txt", "PageAnalysisTest_2.txt" }) {
+      String originalText = readFile(fileName);
+      Random random = new Random(fileName.hashCode());
+      String text = originalText;
+      for (int test = 0; test < 200; test++) {
+        if (test % 20 == 0) {
+          text = originalText;
+        }
+        int beginIndex = random.nextInt(text.length() + 1);
+        int endIndex = Math.min(text.length(), beginIndex + random.nextInt(3) * random.nextInt(10));
+        String newText =
+            text.substring(0, beginIndex) +
+            INSERTIONS[random.nextInt(INSERTIONS.length)] +
+            text.substring(endIndex);
+        checkIncremental(text, newText, null);
+        text = newText;
+      }
+    }
+  }
+
+  /**
+   * Check that the incremental analysis gives the same result as the full analysis.
+   *
+   * @param text Text.
+   * @param oldString String to be replaced in the text.
+   * @param newString Replacement string.
+   * @param incremental True if the analysis should be incremental (null if not known).
+   */
+  private static void checkIncremental(
+      String text, String oldString, String newString,
+      Boolean incremental) {
+    int index = text.indexOf(oldString);
+    assertTrue("Text not found: " + oldString, index >= 0);
+    String newText =
+        text.substring(0, index) + newString +
+        text.substring(index + oldString.length());
+    checkIncremental(text, newText, incremental);
+  }
+
+  /**
+   * Check that the incremental analysis gives the same result as the full analysis.
+   *
+   * @param text Text.
+   * @param newText Modified text.
+   * @param incremental True if the analysis should be incremental (null if not known).
+   */
+  private static void checkIncremental(
+      String text, String newText, Boolean incremental) {
+    EnumWikipedia wiki = TestWikiConfiguration.getWiki();
+    Page page = DataManager.getPage(wiki, "La Flotte", null, null, null);
+    PageAnalysis previous = new PageAnalysis(page, text);
+    previous.getInternalLinks();
+    PageAnalysis analysis = new PageAnalysis(page, newText, previous);
+    PageAnalysis fullAnalysis = new PageAnalysis(page, newText);
+    assertEquals(
+        "Modification: " + describeModification(text, newText),
+        describe(fullAnalysis), describe(analysis));
+    if (incremental != null) {
+      assertEquals(
+          "Incremental analysis: " + describeModification(text, newText),
+          incremental.booleanValue(), isIncremental(previous, analysis));
+    }
+  }
+
+  /**
+   * @param previous Previous analysis.
+   * @param analysis Current analysis.
+   * @return True if the current analysis kept elements of the previous analysis.
+   */
+  private static boolean isIncremental(PageAnalysis previous, PageAnalysis analysis) {
+    List<List<? extends PageElement>> previousElements = getElements(previous);
+    List<List<? extends PageElement>> elements = getElements(analysis);
+    for (int i = 0; i < elements.size(); i++) {
+      if (!elements.get(i).isEmpty() && !previousElements.get(i).isEmpty() &&
+          (elements.get(i).get(0) == previousElements.get(i).get(0))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @param analysis Page analysis.
+   * @return Lists of elements found by the analysis.
+   */
+  private static List<List<? extends PageElement>> getElements(PageAnalysis analysis) {
+    List<List<? extends PageElement>> result = new ArrayList<List<? extends PageElement>>();
+    result.add(analysis.getInternalLinks());
+    result.add(analysis.getImages());
+    result.add(analysis.getCategories());
+    result.add(analysis.getInterwikiLinks());
+    result.add(analysis.getLanguageLinks());
+    result.add(analysis.getTemplates());
+    result.add(analysis.getFunctions());
+    result.add(analysis.getMagicWords());
+    result.add(analysis.getParameters());
+    result.add(analysis.getTitles());
+    result.add(analysis.getExternalLinks());
+    return result;
+  }
+
+  /**
+   * @param analysis Page analysis.
+   * @return Description of the elements found by the analysis.
+   */
+  private static List<String> describe(PageAnalysis analysis) {
+    List<String> result = new ArrayList<String>();
+    for (List<? extends PageElement> elements : getElements(analysis)) {
+      for (PageElement element : elements) {
+        StringBuilder description = new StringBuilder();
+        description.append(element.getClass().getSimpleName());
+        description.append(" ");
+        description.append(element.getBeginIndex());
+        description.append("-");
+        description.append(element.getEndIndex());
+        if (element instanceof PageElementTemplate) {
+          PageElementTemplate template = (PageElementTemplate) element;
+          description.append(" ");
+          description.append(template.getTemplateName());
+          for (int i = 0; i < template.getParameterCount(); i++) {
+            description.append(" |");
+            description.append(template.getParameterPipeIndex(i));
+            description.append(",");
+            description.append(template.getParameterNameStartIndex(i));
+            description.append(",");
+            description.append(template.getParameterValueStartIndex(i));
+          }
+        } else if (element instanceof PageElementFunction) {
+          PageElementFunction function = (PageElementFunction) element;
+          description.append(" ");
+          description.append(function.getFunctionName());
+          for (int i = 0; i < function.getParameterCount(); i++) {
+            description.append(" |");
+            description.append(function.getParameterSeparatorOffset(i));
+            description.append(",");
+            description.append(function.getParameterNameOffset(i));
+            description.append(",");
+            description.append(function.getParameterValueOffset(i));
+          }
+        } else if (element instanceof PageElementParameter) {
+          PageElementParameter parameter = (PageElementParameter) element;
+          description.append(" ");
+          description.append(parameter.getParameterName());
+          for (int i = 0; i < parameter.getParameterCount(); i++) {
+            description.append(" |");
+            description.append(parameter.getParameterPipeOffset(i));
+            description.append(",");
+            description.append(parameter.getParameterNameOffset(i));
+            description.append(",");
+            description.append(parameter.getParameterValueOffset(i));
+          }
+        } else if (element instanceof PageElementInternalLink) {
+          description.append(" ");
+          description.append(((PageElementInternalLink) element).getLink());
+          description.append(" ");
+          description.append(((PageElementInternalLink) element).getTextOffset());
+        } else if (element instanceof PageElementExternalLink) {
+          description.append(" ");
+          description.append(((PageElementExternalLink) element).getLink());
+          description.append(" ");
+          description.append(((PageElementExternalLink) element).getTextOffset());
+        }
+        result.add(description.toString());
+      }
+    }
+    for (PageElementAreas.Area area : analysis.getAreas().getAreas()) {
+      result.add("Area " + area.getBeginIndex() + "-" + area.getEndIndex());
+    }
+    return result;
+  }
+
+  /**
+   * @param text Text.
+   * @param newText Modified text.
+   * @return Description of the modification.
+   */
+  private static String describeModification(String text, String newText) {
+    int begin = 0;
+    while ((begin < text.length()) && (begin < newText.length()) &&
+           (text.charAt(begin) == newText.charAt(begin))) {
+      begin++;
+    }
+    int end = 0;
+    while ((end < text.length() - begin) && (end < newText.length() - begin) &&
+           (text.charAt(text.length() - 1 - end) == newText.charAt(newText.length() - 1 - end))) {
+      end++;
+    }
+    return
+        begin + ": \"" + text.substring(begin, text.length() - end) +
+        "\" -> \"" + newText.substring(begin, newText.length() - end) + "\"";
+  }
+
+  /**
+   * @param fileName Name of the file.
+   * @return Contents of the file.
+   * @throws IOException
+   */
+  private static String readFile(String fileName) throws IOException {
+    File testFile = new File("test/org/wikipediacleaner/api/data/" + fileName);
+    Reader reader = new InputStreamReader(new FileInputStream(testFile), "UTF-8");
+    try {
+      StringBuilder buffer = new StringBuilder();
+      char[] chars = new char[4096];
+      int count;
+      while ((count = reader.read(chars)) >= 0) {
+        buffer.append(chars, 0, count);
+      }
+      return buffer.toString();
+    } finally {
+      reader.close();
+    }
+  }
+}
@@ -0,0 +1,252 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.data;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+
+/**
+ * Test class for PageElementIndex.
+ */
+public class PageElementIndexTest {
+
+  /**
+   * Simple page element.
+   */
+  private static class Element extends PageElement {
+
+    /**
+     * @param beginIndex Begin index.
+     * @param endIndex End index.
+     */
+    Element(int beginIndex, int endIndex) {
+      super(beginIndex, endIndex);
+    }
+
+    /**
+     * @return Description of the element.
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+      return "[" + getBeginIndex() + "," + getEndIndex() + "]";
+    }
+  }
+
+  @Test
+  public void testEmpty() {
+    PageElementIndex<Element> index = new PageElementIndex<Element>(null);
+    assertEquals(0, index.size());
+    assertNull(index.getNext(0));
+    assertNull(index.getInnermost(0));
+    assertNull(index.getOutermost(0));
+  }
+
+  @Test
+  public void testGetNext() {
+    Element e1 = new Element(10, 20);
+    Element e2 = new Element(30, 40);
+    Element e3 = new Element(30, 35);
+    PageElementIndex<Element> index = new PageElementIndex<Element>(
+        Arrays.asList(e2, e1, e3));
+    assertEquals(3, index.size());
+    assertSame(e1, index.getNext(0));
+    assertSame(e1, index.getNext(10));
+    assertSame(e2, index.getNext(11));
+    assertSame(e2, index.getNext(30));
+    assertNull(index.getNext(31));
+  }
+
+  @Test
+  public void testBoundaries() {
+    Element e1 = new Element(10, 20);
+    PageElementIndex<Element> index = new PageElementIndex<Element>(Arrays.asList(e1));
+    assertNull(index.getInnermost(9));
+    assertSame(e1, index.getInnermost(10));
+    assertSame(e1, index.getInnermost(19));
+    assertNull(index.getInnermost(20));
+    assertNull(index.getOutermost(9));
+    assertSame(e1, index.getOutermost(10));
+    assertSame(e1, index.getOutermost(19));
+    assertNull(index.getOutermost(20));
+  }
+
+  @Test
+  public void testNested() {
+    // {{A|{{B|{{C}}}} {{D}} }} {{E}}
+    Element a = new Element(0, 100);
+    Element b = new Element(10, 50);
+    Element c = new Element(20, 30);
+    Element d = new Element(60, 70);
+    Element e = new Element(110, 120);
+    PageElementIndex<Element> index = new PageElementIndex<Element>(
+        Arrays.asList(a, b, c, d, e));
+    assertSame(a, index.getInnermost(5));
+    assertSame(b, index.getInnermost(15));
+    assertSame(c, index.getInnermost(25));
+    assertSame(b, index.getInnermost(35));
+    assertSame(a, index.getInnermost(55));
+    assertSame(d, index.getInnermost(65));
+    assertSame(a, index.getInnermost(75));
+    assertNull(index.getInnermost(105));
+    assertSame(e, index.getInnermost(115));
+    assertSame(a, index.getOutermost(25));
+    assertSame(a, index.getOutermost(65));
+    assertSame(e, index.getOutermost(115));
+  }
+
+  @Test
+  public void testEnclosingChain() {
+    // Elements ending before the index must be skipped through the enclosing chain
+    Element a = new Element(0, 100);
+    Element b = new Element(10, 20);
+    Element c = new Element(30, 40);
+    Element d = new Element(32, 35);
+    Element e = new Element(50, 60);
+    PageElementIndex<Element> index = new PageElementIndex<Element>(
+        Arrays.asList(a, b, c, d, e));
+    assertSame(a, index.getInnermost(45));
+    assertSame(c, index.getInnermost(38));
+    assertSame(c, index.getInnermost(36));
+    assertSame(d, index.getInnermost(33));
+    assertSame(a, index.getInnermost(99));
+  }
+
+  @Test
+  public void testSameBeginning() {
+    // Elements beginning at the same index keep the original order
+    Element outer = new Element(10, 50);
+    Element inner = new Element(10, 20);
+    PageElementIndex<Element> index = new PageElementIndex<Element>(
+        Arrays.asList(outer, inner));
+    assertSame(outer, index.getNext(10));
+    assertSame(inner, index.getInnermost(15));
+    assertSame(outer, index.getInnermost(25));
+    assertSame(outer, index.getOutermost(15));
+  }
+
+  @Test
+  public void testAdd() {
+    Element a = new Element(0, 100);
+    Element b = new Element(10, 50);
+    Element c = new Element(60, 70);
+    PageElementIndex<Element> index = new PageElementIndex<Element>(null);
+    index.add(a);
+    assertSame(a, index.getInnermost(15));
+    index.add(b);
+    assertSame(b, index.getInnermost(15));
+    assertSame(a, index.getInnermost(65));
+    index.add(c);
+    assertSame(c, index.getInnermost(65));
+    assertEquals(3, index.size());
+
+    // Element not in order
+    Element d = new Element(20, 30);
+    index.add(d);
+    assertEquals(4, index.size());
+    assertSame(d, index.getInnermost(25));
+    assertSame(b, index.getInnermost(35));
+    assertSame(d, index.getNext(11));
+  }
+
+  @Test
+  public void testRandom() {
+    Random random = new Random(42);
+    for (int test = 0; test < 200; test++) {
+      List<Element> elements = new ArrayList<Element>();
+      createNested(random, 0, 1000, 3, elements);
+      PageElementIndex<Element> index = new PageElementIndex<Element>(elements);
+      PageElementIndex<Element> added = new PageElementIndex<Element>(null);
+      for (Element element : elements) {
+        added.add(element);
+      }
+      for (int i = -1; i <= 1001; i++) {
+        assertSame(getInnermost(elements, i), index.getInnermost(i));
+        assertSame(getInnermost(elements, i), added.getInnermost(i));
+        assertSame(getOutermost(elements, i), index.getOutermost(i));
+        assertSame(getNext(elements, i), index.getNext(i));
+      }
+    }
+  }
+
+  /**
+   * Create nested elements, in the order of the analysis of a page.
+   *
+   * @param random Random generator.
+   * @param begin Begin of the area.
+   * @param end End of the area.
+   * @param depth Maximum depth of nested elements.
+   * @param elements Elements.
+   */
+  private static void createNested(
+      Random random, int begin, int end, int depth, List<Element> elements) {
+    int current = begin;
+    while ((depth > 0) && (current + 2 < end)) {
+      int elementBegin = current + random.nextInt(Math.min(20, end - current - 1));
+      int elementEnd = elementBegin + 1 + random.nextInt(Math.min(200, end - elementBegin - 1));
+      if (elementEnd > end) {
+        return;
+      }
+      elements.add(new Element(elementBegin, elementEnd));
+      createNested(random, elementBegin, elementEnd, depth - 1, elements);
+      current = elementEnd;
+    }
+  }
+
+  /**
+   * @param elements Elements.
+   * @param index Index.
+   * @return Last element containing the index.
+   */
+  private static Element getInnermost(List<Element> elements, int index) {
+    Element result = null;
+    for (Element element : elements) {
+      if ((element.getBeginIndex() <= index) && (element.getEndIndex() > index)) {
+        result = element;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @param elements Elements.
+   * @param index Index.
+   * @return First element containing the index.
+   */
+  private static Element getOutermost(List<Element> elements, int index) {
+    for (Element element : elements) {
+      if ((element.getBeginIndex() <= index) && (element.getEndIndex() > index)) {
+        return element;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @param elements Elements.
+   * @param index Index.
+   * @return First element beginning at or after the index.
+   */
+  private static Element getNext(List<Element> elements, int index) {
+    Element result = null;
+    for (Element element : elements) {
+      if ((element.getBeginIndex() >= index) &&
+          ((result == null) || (element.getBeginIndex() < result.getBeginIndex()))) {
+        result = element;
+      }
+    }
+    return result;
+  }
+}
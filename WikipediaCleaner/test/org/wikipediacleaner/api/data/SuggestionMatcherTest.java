@@ -0,0 +1,150 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.data;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+
+/**
+ * Test class for SuggestionMatcher.
+ */
+public class SuggestionMatcherTest {
+
+  /**
+   * Patterns (typos as written in WPCleaner and AWB configuration pages),
+   * with their expected required texts (null if none) and texts matched by them.
+   */
+  private final static Object[][] PATTERNS = {
+    // Literal texts and classes
+    { "[Dd]ébut", new String[] { "ébut" }, new String[] { "Début", "début" } },
+    { "[^a-z]teh[^a-z]", new String[] { "teh" }, new String[] { " teh " } },
+    { "[\\[\\]]abc", new String[] { "abc" }, new String[] { "[abc", "]abc" } },
+    { "\\{\\{[Ll]ang\\|", new String[] { "ang|" }, new String[] { "{{lang|", "{{Lang|" } },
+    { "\\p{Lu}\\.\\p{Lu}\\.", new String[] { "." }, new String[] { "U.S." } },
+    { "\\u00e9t\\u00e9", new String[] { "t" }, new String[] { "été" } },
+
+    // Alternatives
+    { "teh|hte", new String[] { "teh", "hte" }, new String[] { "teh", "hte" } },
+    { "abc|\\d+", null, new String[] { "abc", "12" } },
+    { "\\b(A|a)bsense\\b", new String[] { "bsense" }, new String[] { "absense", "Absense" } },
+    { "\\b(?:A|a)ccomodat(e|ed|es|ing|ion|ions)\\b", new String[] { "ccomodat" },
+      new String[] { "accomodate", "Accomodations" } },
+    { "(?:aa|bbb)+xy", new String[] { "aa", "bbb" }, new String[] { "aaxy", "bbbaaxy" } },
+    { "z(?:abc|de){2}", new String[] { "abc", "de" }, new String[] { "zabcde", "zdede" } },
+
+    // Optional parts
+    { "\\b([Aa])cc?ess?ible\\b", new String[] { "ible" },
+      new String[] { "accessible", "acesible", "Accesible" } },
+    { "\\b(?:the )?recieve(?:d|s)?\\b", new String[] { "recieve" },
+      new String[] { "the recieved", "recieve" } },
+    { "(a|)bc", new String[] { "bc" }, new String[] { "abc", "bc" } },
+    { "\\bcolou{0,1}r\\b", new String[] { "colo" }, new String[] { "color", "colour" } },
+    { "(?:ab){0,3}c", new String[] { "c" }, new String[] { "c", "ababc" } },
+    { "\\ba{2,3}rgh\\b", new String[] { "rgh" }, new String[] { "aargh", "aaargh" } },
+
+    // Lookarounds
+    { "(?<=\\s)alot(?=\\s)", new String[] { "alot" }, new String[] { " alot " } },
+    { "(?<![Tt]he )occurence", new String[] { "occurence" }, new String[] { "an occurence" } },
+    { "(?=abc)\\w+", null, new String[] { "abcd" } },
+
+    // Quoted texts
+    { "\\Q[[Category:\\E", new String[] { "[[Category:" }, new String[] { "[[Category:" } },
+    { "\\Q{{\\Eciter", new String[] { "{{citer" }, new String[] { "{{citer" } },
+    { "\\Qab\\E?c", new String[] { "c" }, new String[] { "ac", "abc" } },
+
+    // Back references
+    { "\\b(\\w+) \\1\\b", new String[] { " " }, new String[] { "the the" } },
+    { "(very) \\1", new String[] { "very" }, new String[] { "very very" } },
+    { "(?<name>foo)bar\\k<name>", new String[] { "foo" }, new String[] { "foobarfoo" } },
+    { "\\[\\[([^\\]|]*)\\|\\1\\]\\]", new String[] { "[[" }, new String[] { "[[Paris|Paris]]" } },
+
+    // Flags
+    { "(?i)teh", null, new String[] { "TEH" } },
+  };
+
+  @Test
+  public void testRequiredTexts() {
+    for (Object[] test : PATTERNS) {
+      String patternText = (String) test[0];
+      String[] expected = (String[]) test[1];
+      String[] requiredTexts = SuggestionMatcher.getRequiredTexts(Pattern.compile(patternText));
+      if (expected == null) {
+        assertNull(patternText, requiredTexts);
+      } else {
+        assertNotNull(patternText, requiredTexts);
+        assertEquals(patternText, Arrays.asList(expected), Arrays.asList(requiredTexts));
+      }
+    }
+  }
+
+  @Test
+  public void testRequiredTextsInMatches() {
+    for (Object[] test : PATTERNS) {
+      String patternText = (String) test[0];
+      String[] texts = (String[]) test[2];
+      Pattern pattern = Pattern.compile(patternText);
+      String[] requiredTexts = SuggestionMatcher.getRequiredTexts(pattern);
+      for (String text : texts) {
+        Matcher matcher = pattern.matcher(text);
+        assertTrue(patternText + " / " + text, matcher.find());
+        if (requiredTexts != null) {
+          boolean found = false;
+          for (String requiredText : requiredTexts) {
+            if (matcher.group().contains(requiredText)) {
+              found = true;
+            }
+          }
+          assertTrue(patternText + " / " + text, found);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testFlags() {
+    assertNull(SuggestionMatcher.getRequiredTexts(Pattern.compile("teh", Pattern.CASE_INSENSITIVE)));
+    assertNull(SuggestionMatcher.getRequiredTexts(null));
+  }
+
+  @Test
+  public void testCandidates() {
+    Suggestion s1 = Suggestion.createSuggestion("\\bteh\\b", false, "Test#1");
+    Suggestion s2 = Suggestion.createSuggestion("\\b(A|a)bsense\\b", false, "Test#1");
+    Suggestion s3 = Suggestion.createSuggestion("\\d+", false, "Test#1");
+    List<Suggestion> suggestions = new ArrayList<Suggestion>();
+    suggestions.add(s1);
+    suggestions.add(s2);
+    suggestions.add(s3);
+    SuggestionMatcher matcher = new SuggestionMatcher(suggestions);
+
+    String text = "In teh absense of data. Absense";
+    Set<Suggestion> candidates = matcher.findCandidates(text, 0, text.length());
+    assertTrue(matcher.mayMatch(s1, candidates));
+    assertTrue(matcher.mayMatch(s2, candidates));
+    assertTrue(matcher.mayMatch(s3, candidates));
+
+    // Required texts must be entirely in the area
+    candidates = matcher.findCandidates(text, 4, 24);
+    assertFalse(matcher.mayMatch(s1, candidates));
+    assertTrue(matcher.mayMatch(s2, candidates));
+    assertTrue(matcher.mayMatch(s3, candidates));
+    candidates = matcher.findCandidates(text, 0, 5);
+    assertFalse(matcher.mayMatch(s1, candidates));
+    assertFalse(matcher.mayMatch(s2, candidates));
+    assertTrue(matcher.mayMatch(s3, candidates));
+  }
+}
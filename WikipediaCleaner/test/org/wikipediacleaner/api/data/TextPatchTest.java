@@ -0,0 +1,152 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.data;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+
+/**
+ * Test class for TextPatch and TextEdit.
+ */
+public class TextPatchTest {
+
+  /**
+   * Text used for the tests.
+   */
+  private final static String TEXT = "The quick brown fox jumps over the lazy dog.";
+
+  @Test
+  public void testEmpty() {
+    TextPatch patch = new TextPatch();
+    assertTrue(patch.isEmpty());
+    assertEquals(TEXT, patch.apply(TEXT));
+    assertNull(patch.apply(null));
+    assertEquals(10, patch.getNewIndex(10));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidEdit() {
+    new TextEdit(10, 5, "x");
+  }
+
+  @Test
+  public void testConflicts() {
+    TextPatch patch = new TextPatch();
+    assertTrue(patch.addEdit(10, 15, "red"));
+
+    // Overlapping edits
+    assertFalse(patch.addEdit(8, 11, "x"));
+    assertFalse(patch.addEdit(14, 20, "x"));
+    assertFalse(patch.addEdit(11, 13, "x"));
+    assertFalse(patch.addEdit(5, 25, "x"));
+    assertFalse(patch.addEdit(10, 15, "blue"));
+    assertFalse(patch.addEdit(12, 12, "x"));
+
+    // Adjacent edits
+    assertTrue(patch.addEdit(4, 10, "slow "));
+    assertTrue(patch.addEdit(15, 16, "_"));
+    assertTrue(patch.addEdit(10, 10, "dark "));
+    assertTrue(patch.addEdit(16, 16, "-"));
+
+    // Identical edit
+    assertTrue(patch.addEdit(10, 15, "red"));
+    assertEquals(5, patch.getEdits().size());
+    assertFalse(patch.addEdit(null));
+    assertEquals("The slow dark red_-fox jumps over the lazy dog.", patch.apply(TEXT));
+  }
+
+  @Test
+  public void testApply() {
+    TextPatch patch = new TextPatch();
+    assertTrue(patch.addEdit(40, 43, "cat"));
+    assertTrue(patch.addEdit(0, 3, "A"));
+    assertTrue(patch.addEdit(16, 20, null));
+    assertTrue(patch.addEdit(44, 44, ".."));
+    assertFalse(patch.isEmpty());
+    assertEquals("A quick brown jumps over the lazy cat...", patch.apply(TEXT));
+  }
+
+  @Test
+  public void testInsertionsAtSameIndex() {
+    TextPatch patch = new TextPatch();
+    assertTrue(patch.addEdit(4, 4, "very "));
+    assertTrue(patch.addEdit(4, 9, "fast"));
+    assertTrue(patch.addEdit(4, 4, "very "));
+    assertTrue(patch.addEdit(4, 4, "very, "));
+    assertTrue(patch.addEdit(9, 9, ","));
+    assertEquals("The very very, fast, brown fox jumps over the lazy dog.", patch.apply(TEXT));
+    assertEquals(4, patch.getEdits().size());
+  }
+
+  @Test
+  public void testGetNewIndex() {
+    TextPatch patch = new TextPatch();
+    patch.addEdit(4, 9, "slow");
+    patch.addEdit(16, 16, "red ");
+    patch.addEdit(35, 40, null);
+    String newText = patch.apply(TEXT);
+    assertEquals("The slow brown red fox jumps over the dog.", newText);
+
+    // Before, inside and after a replacement
+    assertEquals(0, patch.getNewIndex(0));
+    assertEquals(4, patch.getNewIndex(4));
+    assertEquals(4, patch.getNewIndex(6));
+    assertEquals(8, patch.getNewIndex(9));
+
+    // Index where text is inserted
+    assertEquals(TEXT.charAt(16), newText.charAt(patch.getNewIndex(16)));
+    assertEquals(19, patch.getNewIndex(16));
+
+    // Inside and after a deletion
+    assertEquals(38, patch.getNewIndex(35));
+    assertEquals(38, patch.getNewIndex(39));
+    assertEquals(TEXT.charAt(40), newText.charAt(patch.getNewIndex(40)));
+    assertEquals(newText.length(), patch.getNewIndex(TEXT.length()));
+  }
+
+  @Test
+  public void testCreatePatch() {
+    assertTrue(TextPatch.createPatch(TEXT, TEXT).isEmpty());
+    assertTrue(TextPatch.createPatch(null, TEXT).isEmpty());
+
+    String oldText = "line 1\nline 2\nline 3\nline 4\nline 5\n";
+    String newText = "line 1\nline two\nline 3\nline 4\nnew line\nline 5\n";
+    TextPatch patch = TextPatch.createPatch(oldText, newText);
+    assertEquals(2, patch.getEdits().size());
+    assertEquals(newText, patch.apply(oldText));
+
+    Random random = new Random(42);
+    for (int test = 0; test < 500; test++) {
+      oldText = randomText(random);
+      newText = randomText(random);
+      patch = TextPatch.createPatch(oldText, newText);
+      assertEquals(newText, patch.apply(oldText));
+    }
+  }
+
+  /**
+   * @param random Random generator.
+   * @return Random text made of a few different lines.
+   */
+  private static String randomText(Random random) {
+    StringBuilder buffer = new StringBuilder();
+    int count = random.nextInt(30);
+    for (int i = 0; i < count; i++) {
+      buffer.append("line ");
+      buffer.append(random.nextInt(5));
+      if (random.nextInt(10) > 0) {
+        buffer.append('\n');
+      }
+    }
+    return buffer.toString();
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.request;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.httpclient.HttpClient;
+import org.apache.commons.httpclient.methods.GetMethod;
+import org.wikipediacleaner.api.APIException;
+
+
+/**
+ * Utilities for measuring MediaWiki API result classes
+ * on answers sent by a {@link LocalApiServer}.
+ *
+ * Requests traces written on the standard output are discarded during measures.
+ */
+public class ApiResultBenchmark {
+
+  /**
+   * Number of iterations before measuring.
+   */
+  private final static int WARMUP_ITERATIONS = 200;
+
+  /**
+   * Number of measured iterations.
+   */
+  private final static int MEASURED_ITERATIONS = 1000;
+
+  /**
+   * @param format Format of the answer.
+   * @param name Name of the property selecting the data.
+   * @param value Value of the property.
+   * @return Properties for a query request.
+   */
+  public static Map<String, String> createProperties(
+      String format, String name, String value) {
+    Map<String, String> properties = new HashMap<String, String>();
+    properties.put(ApiRequest.ACTION, ApiRequest.ACTION_QUERY);
+    properties.put(ApiRequest.FORMAT, format);
+    properties.put(name, value);
+    return properties;
+  }
+
+  /**
+   * Download an answer without analyzing it.
+   *
+   * @param httpClient HTTP client.
+   * @return Size of the answer.
+   * @throws IOException
+   */
+  public static int download(HttpClient httpClient) throws IOException {
+    GetMethod method = new GetMethod("http://localhost/w/api.php");
+    try {
+      httpClient.executeMethod(method);
+      InputStream stream = method.getResponseBodyAsStream();
+      byte[] buffer = new byte[8192];
+      int size = 0;
+      int count = 0;
+      while ((count = stream.read(buffer)) >= 0) {
+        size += count;
+      }
+      return size;
+    } finally {
+      method.releaseConnection();
+    }
+  }
+
+  /**
+   * Measure the average time of an action and display it.
+   *
+   * @param name Name of the action.
+   * @param action Action.
+   * @throws IOException
+   * @throws APIException
+   */
+  public static void measure(String name, Action action) throws IOException, APIException {
+    PrintStream out = System.out;
+    System.setOut(new PrintStream(new OutputStream() {
+
+      @Override
+      public void write(int b) {
+        // Discard traces
+      }
+    }));
+    int result = 0;
+    long duration = 0;
+    try {
+      for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+        result = action.run();
+      }
+      long start = System.nanoTime();
+      for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+        result = action.run();
+      }
+      duration = System.nanoTime() - start;
+    } finally {
+      System.setOut(out);
+    }
+    System.out.println(
+        name + ": " + (duration / 1000 / MEASURED_ITERATIONS) + " microseconds/answer" +
+        " (result size: " + result + ")");
+  }
+
+  /**
+   * Action to be measured.
+   */
+  public static interface Action {
+
+    /**
+     * @return Size of the result, to check that actions give the same result.
+     * @throws IOException
+     * @throws APIException
+     */
+    int run() throws IOException, APIException;
+  }
+
+  /**
+   * Utility class.
+   */
+  private ApiResultBenchmark() {
+    // Nothing to do
+  }
+}
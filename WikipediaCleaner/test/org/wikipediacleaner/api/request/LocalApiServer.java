@@ -0,0 +1,133 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.request;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+
+import org.apache.commons.httpclient.HttpClient;
+import org.apache.commons.httpclient.HttpException;
+import org.apache.commons.httpclient.HttpMethod;
+import org.apache.commons.httpclient.URI;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+
+/**
+ * Local HTTP server answering every request with the same response,
+ * so that MediaWiki API result classes can be used without a wiki.
+ */
+public class LocalApiServer {
+
+  /**
+   * HTTP server.
+   */
+  private final HttpServer server;
+
+  /**
+   * Response sent for every request.
+   */
+  volatile byte[] response;
+
+  /**
+   * Start a server on a free local port.
+   *
+   * @throws IOException
+   */
+  public LocalApiServer() throws IOException {
+    response = new byte[0];
+    // Avoid waiting for delayed acknowledgements between requests
+    System.setProperty("sun.net.httpserver.nodelay", "true");
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/", new HttpHandler() {
+
+      /**
+       * @param exchange HTTP request and response.
+       * @throws IOException
+       * @see com.sun.net.httpserver.HttpHandler#handle(com.sun.net.httpserver.HttpExchange)
+       */
+      @Override
+      public void handle(HttpExchange exchange) throws IOException {
+        InputStream input = exchange.getRequestBody();
+        while (input.read() >= 0) {
+          //
+        }
+        byte[] bytes = response;
+        exchange.sendResponseHeaders(200, bytes.length);
+        OutputStream output = exchange.getResponseBody();
+        output.write(bytes);
+        output.close();
+      }
+    });
+    server.start();
+  }
+
+  /**
+   * @param bytes Response sent for every request.
+   */
+  public void setResponse(byte[] bytes) {
+    response = bytes;
+  }
+
+  /**
+   * @return HTTP client sending all requests to the local server.
+   */
+  public HttpClient createHttpClient() {
+    final int port = server.getAddress().getPort();
+    return new HttpClient() {
+
+      /**
+       * @param method HTTP method.
+       * @return HTTP status.
+       * @throws IOException
+       * @see org.apache.commons.httpclient.HttpClient#executeMethod(org.apache.commons.httpclient.HttpMethod)
+       */
+      @Override
+      public int executeMethod(HttpMethod method) throws IOException, HttpException {
+        String query = method.getURI().getEscapedQuery();
+        method.setURI(new URI(
+            "http://localhost:" + port + "/w/api.php" + ((query != null) ? "?" + query : ""),
+            true));
+        return super.executeMethod(method);
+      }
+    };
+  }
+
+  /**
+   * Stop the server.
+   */
+  public void stop() {
+    server.stop(0);
+  }
+
+  /**
+   * @param fileName Name of a file.
+   * @return Contents of the file.
+   * @throws IOException
+   */
+  public static byte[] readFile(String fileName) throws IOException {
+    InputStream input = new FileInputStream(fileName);
+    try {
+      ByteArrayOutputStream output = new ByteArrayOutputStream();
+      byte[] buffer = new byte[8192];
+      int count = 0;
+      while ((count = input.read(buffer)) >= 0) {
+        output.write(buffer, 0, count);
+      }
+      return output.toByteArray();
+    } finally {
+      input.close();
+    }
+  }
+}
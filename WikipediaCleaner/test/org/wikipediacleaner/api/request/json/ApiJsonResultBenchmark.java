@@ -0,0 +1,166 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.request.json;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.httpclient.HttpClient;
+import org.wikipediacleaner.api.APIException;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.data.RecentChange;
+import org.wikipediacleaner.api.request.ApiLinksResult;
+import org.wikipediacleaner.api.request.ApiListRequest;
+import org.wikipediacleaner.api.request.ApiPropertiesRequest;
+import org.wikipediacleaner.api.request.ApiRecentChangesResult;
+import org.wikipediacleaner.api.request.ApiRequest;
+import org.wikipediacleaner.api.request.ApiResultBenchmark;
+import org.wikipediacleaner.api.request.LocalApiServer;
+import org.wikipediacleaner.api.request.xml.ApiXmlLinksResult;
+import org.wikipediacleaner.api.request.xml.ApiXmlRecentChangesResult;
+
+
+/**
+ * Benchmark comparing the MediaWiki API result classes
+ * for XML format and for JSON format (links and recent changes).
+ *
+ * The result classes are used as in WPCleaner, but requests are answered
+ * by a local server with the contents of ApiJsonResultBenchmark_*.json files
+ * in this package and ApiXmlResultBenchmark_*.xml files in the xml package.
+ * These files are synthetic answers (generated titles, users and comments)
+ * with the structure and the size of real answers,
+ * each JSON file containing the same data as the matching XML file.
+ */
+public class ApiJsonResultBenchmark {
+
+  /**
+   * Directory containing the answers.
+   */
+  private final static String DIRECTORY = "test/org/wikipediacleaner/api/request/";
+
+  /**
+   * Wiki.
+   */
+  private final static EnumWikipedia WIKI = EnumWikipedia.EN;
+
+  /**
+   * Run the benchmark.
+   *
+   * @param args Command line arguments.
+   * @throws IOException
+   * @throws APIException
+   */
+  public static void main(String[] args) throws IOException, APIException {
+    LocalApiServer server = new LocalApiServer();
+    try {
+      HttpClient httpClient = server.createHttpClient();
+
+      // Links
+      server.setResponse(LocalApiServer.readFile(DIRECTORY + "xml/ApiXmlResultBenchmark_links.xml"));
+      ApiResultBenchmark.measure(
+          "links: XML",
+          new LinksAction(new ApiXmlLinksResult(WIKI, httpClient), ApiRequest.FORMAT_XML));
+      server.setResponse(LocalApiServer.readFile(DIRECTORY + "json/ApiJsonResultBenchmark_links.json"));
+      ApiResultBenchmark.measure(
+          "links: JSON",
+          new LinksAction(new ApiJsonLinksResult(WIKI, httpClient), ApiRequest.FORMAT_JSON));
+
+      // Recent changes
+      server.setResponse(LocalApiServer.readFile(DIRECTORY + "xml/ApiXmlResultBenchmark_recentchanges.xml"));
+      ApiResultBenchmark.measure(
+          "recentchanges: XML",
+          new RecentChangesAction(new ApiXmlRecentChangesResult(WIKI, httpClient), ApiRequest.FORMAT_XML));
+      server.setResponse(LocalApiServer.readFile(DIRECTORY + "json/ApiJsonResultBenchmark_recentchanges.json"));
+      ApiResultBenchmark.measure(
+          "recentchanges: JSON",
+          new RecentChangesAction(new ApiJsonRecentChangesResult(WIKI, httpClient), ApiRequest.FORMAT_JSON));
+    } finally {
+      server.stop();
+    }
+  }
+
+  /**
+   * Retrieve links.
+   */
+  private static class LinksAction implements ApiResultBenchmark.Action {
+
+    /** Result class */
+    private final ApiLinksResult result;
+
+    /** Format of the answer */
+    private final String format;
+
+    /**
+     * @param result Result class.
+     * @param format Format of the answer.
+     */
+    LinksAction(ApiLinksResult result, String format) {
+      this.result = result;
+      this.format = format;
+    }
+
+    /**
+     * @return Count of links.
+     * @throws APIException
+     * @see org.wikipediacleaner.api.request.ApiResultBenchmark.Action#run()
+     */
+    @Override
+    public int run() throws APIException {
+      Map<String, List<Page>> lists = new HashMap<String, List<Page>>();
+      result.executeLinks(
+          ApiResultBenchmark.createProperties(
+              format, ApiPropertiesRequest.PROPERTY_PROP, "links"),
+          lists, new HashMap<String, String>());
+      int count = 0;
+      for (List<Page> links : lists.values()) {
+        count += links.size();
+      }
+      return count;
+    }
+  }
+
+  /**
+   * Retrieve recent changes.
+   */
+  private static class RecentChangesAction implements ApiResultBenchmark.Action {
+
+    /** Result class */
+    private final ApiRecentChangesResult result;
+
+    /** Format of the answer */
+    private final String format;
+
+    /**
+     * @param result Result class.
+     * @param format Format of the answer.
+     */
+    RecentChangesAction(ApiRecentChangesResult result, String format) {
+      this.result = result;
+      this.format = format;
+    }
+
+    /**
+     * @return Count of recent changes.
+     * @throws APIException
+     * @see org.wikipediacleaner.api.request.ApiResultBenchmark.Action#run()
+     */
+    @Override
+    public int run() throws APIException {
+      List<RecentChange> recentChanges = new ArrayList<RecentChange>();
+      result.executeRecentChanges(
+          ApiResultBenchmark.createProperties(
+              format, ApiListRequest.PROPERTY_LIST, "recentchanges"),
+          recentChanges);
+      return recentChanges.size();
+    }
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.api.request.xml;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.httpclient.HttpClient;
+import org.wikipediacleaner.api.APIException;
+import org.wikipediacleaner.api.constants.EnumWikipedia;
+import org.wikipediacleaner.api.data.Page;
+import org.wikipediacleaner.api.data.RecentChange;
+import org.wikipediacleaner.api.request.ApiListRequest;
+import org.wikipediacleaner.api.request.ApiPropertiesRequest;
+import org.wikipediacleaner.api.request.ApiRequest;
+import org.wikipediacleaner.api.request.ApiResultBenchmark;
+import org.wikipediacleaner.api.request.LocalApiServer;
+
+
+/**
+ * Benchmark for the MediaWiki API XML result classes which analyze answers with XPath
+ * (links and recent changes).
+ *
+ * The result classes are used as in WPCleaner, but requests are answered
+ * by a local server with the contents of ApiXmlResultBenchmark_*.xml files.
+ * These files are synthetic answers (generated titles, users and comments)
+ * with the structure and the size of real answers.
+ *
+ * Run it on two revisions to compare them, for example before and after
+ * XPath expressions were cached by XPathCache.
+ * The time needed to only download an answer from the local server
+ * is displayed too, so that it can be deducted from the other times.
+ */
+public class ApiXmlResultBenchmark {
+
+  /**
+   * Directory containing the answers.
+   */
+  private final static String DIRECTORY = "test/org/wikipediacleaner/api/request/xml/";
+
+  /**
+   * Wiki.
+   */
+  private final static EnumWikipedia WIKI = EnumWikipedia.EN;
+
+  /**
+   * Run the benchmark.
+   *
+   * @param args Command line arguments.
+   * @throws IOException
+   * @throws APIException
+   */
+  public static void main(String[] args) throws IOException, APIException {
+    LocalApiServer server = new LocalApiServer();
+    try {
+      final HttpClient httpClient = server.createHttpClient();
+      ApiResultBenchmark.Action download = new ApiResultBenchmark.Action() {
+
+        @Override
+        public int run() throws IOException {
+          return ApiResultBenchmark.download(httpClient);
+        }
+      };
+
+      // Links
+      server.setResponse(LocalApiServer.readFile(DIRECTORY + "ApiXmlResultBenchmark_links.xml"));
+      final ApiXmlLinksResult linksResult = new ApiXmlLinksResult(WIKI, httpClient);
+      ApiResultBenchmark.measure("links: download only", download);
+      ApiResultBenchmark.measure("links: ApiXmlLinksResult", new ApiResultBenchmark.Action() {
+
+        @Override
+        public int run() throws APIException {
+          Map<String, List<Page>> lists = new HashMap<String, List<Page>>();
+          linksResult.executeLinks(
+              ApiResultBenchmark.createProperties(
+                  ApiRequest.FORMAT_XML, ApiPropertiesRequest.PROPERTY_PROP, "links"),
+              lists, new HashMap<String, String>());
+          int count = 0;
+          for (List<Page> links : lists.values()) {
+            count += links.size();
+          }
+          return count;
+        }
+      });
+
+      // Recent changes
+      server.setResponse(LocalApiServer.readFile(DIRECTORY + "ApiXmlResultBenchmark_recentchanges.xml"));
+      final ApiXmlRecentChangesResult rcResult = new ApiXmlRecentChangesResult(WIKI, httpClient);
+      ApiResultBenchmark.measure("recentchanges: download only", download);
+      ApiResultBenchmark.measure("recentchanges: ApiXmlRecentChangesResult", new ApiResultBenchmark.Action() {
+
+        @Override
+        public int run() throws APIException {
+          List<RecentChange> recentChanges = new ArrayList<RecentChange>();
+          rcResult.executeRecentChanges(
+              ApiResultBenchmark.createProperties(
+                  ApiRequest.FORMAT_XML, ApiListRequest.PROPERTY_LIST, "recentchanges"),
+              recentChanges);
+          return recentChanges.size();
+        }
+      });
+    } finally {
+      server.stop();
+    }
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.utils;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+
+/**
+ * Test class for CompactStringSet.
+ */
+public class CompactStringSetTest {
+
+  @Test
+  public void testEmpty() {
+    CompactStringSet set = new CompactStringSet(Collections.<String>emptyList());
+    assertEquals(0, set.size());
+    assertFalse(set.contains(""));
+    assertFalse(set.contains("Paris"));
+    assertFalse(set.contains(null));
+    assertFalse(set.iterator().hasNext());
+  }
+
+  @Test
+  public void testBlockBoundaries() {
+    // Sizes around the block size (16 strings)
+    for (int count : new int[] { 1, 15, 16, 17, 31, 32, 33, 100 }) {
+      List<String> strings = new ArrayList<String>();
+      for (int i = 0; i < count; i++) {
+        strings.add(String.format("Title %03d", Integer.valueOf(i)));
+      }
+      CompactStringSet set = new CompactStringSet(strings);
+      assertEquals(count, set.size());
+      for (String string : strings) {
+        assertTrue("Missing " + string + " in " + count, set.contains(string));
+      }
+      assertFalse(set.contains(String.format("Title %03d", Integer.valueOf(count))));
+      assertEquals(strings, toList(set));
+    }
+  }
+
+  @Test
+  public void testDuplicates() {
+    CompactStringSet set = new CompactStringSet(Arrays.asList(
+        "Paris", "Lyon", "Paris", "Paris", "Nantes", "Lyon", null));
+    assertEquals(3, set.size());
+    assertEquals(Arrays.asList("Lyon", "Nantes", "Paris"), toList(set));
+
+    // Duplicates across a block boundary
+    CompactStringSet.Builder builder = new CompactStringSet.Builder();
+    for (int i = 0; i < 40; i++) {
+      builder.add("Page " + (i / 2));
+    }
+    set = builder.build();
+    assertEquals(20, set.size());
+    for (int i = 0; i < 20; i++) {
+      assertTrue(set.contains("Page " + i));
+    }
+  }
+
+  @Test
+  public void testMultiByte() {
+    List<String> strings = Arrays.asList(
+        "Île de Ré", "Ile de Re", "Île-de-France", "Æsir", "Ōsaka", "大阪市",
+        "大阪府", "Москва", "Zürich", "Zurich", "😀 (emoji)", "~");
+    CompactStringSet set = new CompactStringSet(strings);
+    assertEquals(strings.size(), set.size());
+    for (String string : strings) {
+      assertTrue("Missing " + string, set.contains(string));
+    }
+    assertFalse(set.contains("Île"));
+    assertFalse(set.contains("大阪"));
+    assertFalse(set.contains("Zürich (city)"));
+
+    // Order of UTF-8 encoding: ASCII first, then by code point
+    List<String> result = toList(set);
+    assertEquals("Ile de Re", result.get(0));
+    assertEquals("😀 (emoji)", result.get(result.size() - 1));
+  }
+
+  @Test
+  public void testAbsentKeys() {
+    List<String> strings = new ArrayList<String>();
+    for (int i = 10; i < 90; i += 2) {
+      strings.add("B" + i);
+    }
+    CompactStringSet set = new CompactStringSet(strings);
+    assertFalse(set.contains("A"));            // Before the first string
+    assertFalse(set.contains("C"));            // After the last string
+    assertFalse(set.contains("B"));            // Prefix of strings
+    assertFalse(set.contains("B11"));          // Between two strings
+    assertFalse(set.contains("B100"));         // Extension of a string
+    assertFalse(set.contains("B10 "));         // Extension of the first string
+    assertFalse(set.contains("B88 "));         // Extension of the last string
+    assertFalse(set.contains(""));
+    assertFalse(set.contains("B10B10B10B10")); // Longer than all strings
+  }
+
+  @Test
+  public void testFile() throws IOException {
+    List<String> strings = new ArrayList<String>();
+    for (int i = 0; i < 1000; i++) {
+      strings.add("Title (" + i + ") é");
+    }
+    CompactStringSet set = new CompactStringSet(strings);
+    File file = File.createTempFile("CompactStringSetTest", ".idx");
+    try {
+      set.write(file);
+      CompactStringSet mappedSet = CompactStringSet.read(file);
+      assertEquals(set.size(), mappedSet.size());
+      for (String string : strings) {
+        assertTrue(mappedSet.contains(string));
+      }
+      assertFalse(mappedSet.contains("Title (1000) é"));
+      assertEquals(toList(set), toList(mappedSet));
+    } finally {
+      file.delete();
+    }
+  }
+
+  /**
+   * @param set Set of strings.
+   * @return List of the strings.
+   */
+  private static List<String> toList(CompactStringSet set) {
+    List<String> result = new ArrayList<String>();
+    for (String string : set) {
+      result.add(string);
+    }
+    return result;
+  }
+}
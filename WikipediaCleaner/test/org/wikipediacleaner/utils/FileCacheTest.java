@@ -0,0 +1,34 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+
+/**
+ * Test class for FileCache.
+ */
+public class FileCacheTest {
+
+  @Test
+  public void testEncode() {
+    String[] values = {
+        "", "Paris", "a\tb", "line 1\nline 2\r\n", "C:\\path\\0",
+        "\\", "\\0", "\\t", "Île\t大阪" };
+    for (String value : values) {
+      String encoded = FileCache.encode(value);
+      assertEquals(-1, encoded.indexOf('\t'));
+      assertEquals(-1, encoded.indexOf('\n'));
+      assertEquals(-1, encoded.indexOf('\r'));
+      assertEquals(value, FileCache.decode(encoded));
+    }
+    assertNull(FileCache.decode(FileCache.encode(null)));
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ *  WPCleaner: A tool to help on Wikipedia maintenance tasks.
+ *  Copyright (C) 2013  Nicolas Vervelle
+ *
+ *  See README.txt file for licensing information.
+ */
+
+package org.wikipediacleaner.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+
+/**
+ * Test class for MultipleStringMatcher.
+ */
+public class MultipleStringMatcherTest {
+
+  @Test
+  public void testOverlapping() {
+    MultipleStringMatcher matcher = new MultipleStringMatcher(
+        Arrays.asList("he", "she", "his", "hers"));
+    assertEquals(bits(0, 1, 3), find(matcher, "ushers"));
+    assertEquals(bits(0, 2), find(matcher, "this he"));
+    assertEquals(bits(), find(matcher, "h e s"));
+  }
+
+  @Test
+  public void testArea() {
+    MultipleStringMatcher matcher = new MultipleStringMatcher(
+        Arrays.asList("teh", "absense"));
+    String text = "In teh absense";
+    BitSet found = new BitSet();
+    matcher.find(text, 4, text.length(), found);
+    assertEquals(bits(1), found);
+    found = new BitSet();
+    matcher.find(text, 0, 13, found);
+    assertEquals(bits(0), found);
+    found = new BitSet();
+    matcher.find(text, 3, 6, found);
+    assertEquals(bits(0), found);
+    found = new BitSet();
+    matcher.find(text, 5, 5, found);
+    assertEquals(bits(), found);
+  }
+
+  @Test
+  public void testSpecialStrings() {
+    // Empty strings are ignored, duplicates are all reported
+    MultipleStringMatcher matcher = new MultipleStringMatcher(
+        Arrays.asList("", "abc", null, "abc", "été", "[["));
+    assertEquals(bits(1, 3), find(matcher, "xabcx"));
+    assertEquals(bits(4), find(matcher, "l'été"));
+    assertEquals(bits(5), find(matcher, "[[Paris]]"));
+    assertEquals(bits(), find(matcher, ""));
+
+    matcher = new MultipleStringMatcher(new ArrayList<String>());
+    assertEquals(bits(), find(matcher, "abc"));
+  }
+
+  @Test
+  public void testRandom() {
+    Random random = new Random(42);
+    for (int test = 0; test < 200; test++) {
+      List<String> strings = new ArrayList<String>();
+      int count = 1 + random.nextInt(20);
+      for (int i = 0; i < count; i++) {
+        strings.add(randomText(random, 1 + random.nextInt(4)));
+      }
+      MultipleStringMatcher matcher = new MultipleStringMatcher(strings);
+      String text = randomText(random, 200);
+      int begin = random.nextInt(50);
+      int end = begin + random.nextInt(150);
+      BitSet found = new BitSet();
+      matcher.find(text, begin, end, found);
+      String area = text.substring(begin, end);
+      for (int i = 0; i < strings.size(); i++) {
+        assertEquals(strings.get(i) + " in " + area, area.contains(strings.get(i)), found.get(i));
+      }
+    }
+  }
+
+  /**
+   * @param random Random generator.
+   * @param length Length of the text.
+   * @return Random text with few different characters.
+   */
+  private static String randomText(Random random, int length) {
+    StringBuilder buffer = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      buffer.append("abcé".charAt(random.nextInt(4)));
+    }
+    return buffer.toString();
+  }
+
+  /**
+   * @param matcher Matcher.
+   * @param text Text.
+   * @return Strings found in the text.
+   */
+  private static BitSet find(MultipleStringMatcher matcher, String text) {
+    BitSet found = new BitSet();
+    matcher.find(text, 0, text.length(), found);
+    return found;
+  }
+
+  /**
+   * @param values Positions of strings.
+   * @return Set of positions.
+   */
+  private static BitSet bits(int... values) {
+    BitSet result = new BitSet();
+    for (int value : values) {
+      result.set(value);
+    }
+    return result;
+  }
+}